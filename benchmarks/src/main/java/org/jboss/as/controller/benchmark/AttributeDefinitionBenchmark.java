@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ValueExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per operation work done by the controller outside of the operation handlers: parsing the address of
+ * an operation, and validating and resolving the attributes of a resource. Add {@code -prof gc} to also report the
+ * bytes allocated per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AttributeDefinitionBenchmark {
+
+    private ModelNode address;
+    private ModelNode addOperation;
+    private ModelNode model;
+    private ModelNode expressionModel;
+
+    @Setup
+    public void setup() {
+        address = PathAddress.pathAddress(PathElement.pathElement(ModelGenerator.SUBSYSTEM, "subsystem1"),
+                PathElement.pathElement(ModelGenerator.CHILD, "child1")).toModelNode();
+        addOperation = Util.createAddOperation(PathAddress.pathAddress(address));
+        addOperation.get(ModelControllerHarness.ATTRIBUTE.getName()).set(42);
+        addOperation.get(ModelControllerHarness.NAME.getName()).set("resource-1");
+        addOperation.get(ModelControllerHarness.ENABLED.getName()).set(true);
+        model = new ModelNode();
+        model.get(ModelControllerHarness.ATTRIBUTE.getName()).set(42);
+        expressionModel = new ModelNode();
+        expressionModel.get(ModelControllerHarness.ATTRIBUTE.getName()).set(new ValueExpression("${benchmark.attr:42}"));
+    }
+
+    @Benchmark
+    public PathAddress parseAddress() {
+        return PathAddress.pathAddress(address);
+    }
+
+    @Benchmark
+    public ModelNode validateAndSet() throws OperationFailedException {
+        final ModelNode result = new ModelNode();
+        ModelControllerHarness.ATTRIBUTE.validateAndSet(addOperation, result);
+        ModelControllerHarness.NAME.validateAndSet(addOperation, result);
+        ModelControllerHarness.ENABLED.validateAndSet(addOperation, result);
+        return result;
+    }
+
+    @Benchmark
+    public ModelNode resolveValue() throws OperationFailedException {
+        return ModelControllerHarness.ATTRIBUTE.resolveModelAttribute(ExpressionResolver.SIMPLE, model);
+    }
+
+    @Benchmark
+    public ModelNode resolveExpression() throws OperationFailedException {
+        return ModelControllerHarness.ATTRIBUTE.resolveModelAttribute(ExpressionResolver.SIMPLE, expressionModel);
+    }
+}
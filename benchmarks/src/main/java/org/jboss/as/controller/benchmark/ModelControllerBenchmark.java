@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.benchmark;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.CompositeOperationHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the management operations most commonly executed by clients against an in-VM controller booted by the
+ * {@link ModelControllerHarness}, as a function of the size of the model. Each operation goes through the whole
+ * {@code ModelController.execute} path, including the steps of the operation context and the publication of the model
+ * for writes.
+ * <p/>
+ * The heap is fixed so the results are comparable between runs. Add {@code -prof gc} to also report the allocation
+ * rate and the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ModelControllerBenchmark {
+
+    private static final int CHILDREN_PER_SUBSYSTEM = 100;
+
+    /** Total number of resources in the model */
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private ModelControllerHarness harness;
+    private PathAddress subsystem;
+    private PathAddress child;
+    private ModelNode readResource;
+    private ModelNode recursiveReadResource;
+    private ModelNode recursiveReadRoot;
+    private ModelNode composite;
+    private int value;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        harness = ModelControllerHarness.boot(size, CHILDREN_PER_SUBSYSTEM);
+        final int subsystems = ModelGenerator.getSubsystemCount(size, CHILDREN_PER_SUBSYSTEM);
+        subsystem = PathAddress.pathAddress(ModelGenerator.SUBSYSTEM, ModelGenerator.SUBSYSTEM + subsystems / 2);
+        child = subsystem.append(PathElement.pathElement(ModelGenerator.CHILD, ModelGenerator.CHILD + CHILDREN_PER_SUBSYSTEM / 2));
+
+        readResource = Util.createEmptyOperation(READ_RESOURCE_OPERATION, child);
+        readResource.get(INCLUDE_RUNTIME).set(true);
+        recursiveReadResource = Util.createEmptyOperation(READ_RESOURCE_OPERATION, subsystem);
+        recursiveReadResource.get(RECURSIVE).set(true);
+        recursiveReadRoot = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.EMPTY_ADDRESS);
+        recursiveReadRoot.get(RECURSIVE).set(true);
+
+        // A typical client composite: read a few attributes and a resource, then write an attribute
+        composite = Util.createEmptyOperation(CompositeOperationHandler.NAME, PathAddress.EMPTY_ADDRESS);
+        final ModelNode steps = composite.get(STEPS);
+        steps.add(Util.getReadAttributeOperation(subsystem, ModelGenerator.ATTRIBUTE));
+        steps.add(Util.getReadAttributeOperation(child, ModelControllerHarness.NAME.getName()));
+        steps.add(Util.getReadAttributeOperation(child, ModelControllerHarness.ENABLED.getName()));
+        steps.add(readResource);
+        steps.add(Util.getWriteAttributeOperation(child, ModelGenerator.ATTRIBUTE, 1));
+
+        // Fail early rather than measuring failures
+        readResource();
+        recursiveReadResource();
+        composite();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        harness.close();
+    }
+
+    @Benchmark
+    public ModelNode readResource() {
+        return harness.execute(readResource);
+    }
+
+    @Benchmark
+    public ModelNode writeAttribute() {
+        return harness.execute(Util.getWriteAttributeOperation(child, ModelGenerator.ATTRIBUTE, value++ & Integer.MAX_VALUE));
+    }
+
+    @Benchmark
+    public ModelNode composite() {
+        return harness.execute(composite);
+    }
+
+    /**
+     * Reads a subsystem with its {@value #CHILDREN_PER_SUBSYSTEM} children.
+     */
+    @Benchmark
+    public ModelNode recursiveReadResource() {
+        return harness.execute(recursiveReadResource);
+    }
+
+    /**
+     * Reads the whole model.
+     */
+    @Benchmark
+    public ModelNode recursiveReadRoot() {
+        return harness.execute(recursiveReadRoot);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.benchmark;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractControllerService;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.CapabilityRegistry;
+import org.jboss.as.controller.CompositeOperationHandler;
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.ModelOnlyResourceDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
+import org.jboss.as.controller.access.management.ManagementSecurityIdentitySupplier;
+import org.jboss.as.controller.audit.AuditLogger;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.persistence.NullConfigurationPersister;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Boots a {@link ModelController} in the current VM, the same way the controller unit tests do, with a synthetic
+ * model of {@code subsystem=*} resources, each with {@code child=*} resources, as created by the
+ * {@link ModelGenerator}. The resources have model only handlers and are populated directly rather than by boot
+ * operations, so large models boot quickly.
+ */
+final class ModelControllerHarness implements AutoCloseable {
+
+    static final AttributeDefinition ATTRIBUTE = SimpleAttributeDefinitionBuilder.create(ModelGenerator.ATTRIBUTE, ModelType.INT)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(0, false, true))
+            .build();
+    static final AttributeDefinition NAME = SimpleAttributeDefinitionBuilder.create("name", ModelType.STRING)
+            .setAllowExpression(true)
+            .build();
+    static final AttributeDefinition ENABLED = SimpleAttributeDefinitionBuilder.create("enabled", ModelType.BOOLEAN)
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(true))
+            .build();
+
+    private final ServiceContainer container;
+    private final ModelController controller;
+
+    private ModelControllerHarness(final ServiceContainer container, final ModelController controller) {
+        this.container = container;
+        this.controller = controller;
+    }
+
+    /**
+     * Boots a controller with a model of about {@code size} resources.
+     */
+    static ModelControllerHarness boot(final int size, final int childrenPerSubsystem) throws InterruptedException {
+        final ServiceContainer container = ServiceContainer.Factory.create("benchmark");
+        final BenchmarkControllerService service = new BenchmarkControllerService(size, childrenPerSubsystem);
+        container.subTarget().addService(ServiceName.of("ModelController"), service).install();
+        if (!service.latch.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Failed to boot the controller");
+        }
+        return new ModelControllerHarness(container, service.getValue());
+    }
+
+    ModelController getController() {
+        return controller;
+    }
+
+    /**
+     * Executes an operation.
+     *
+     * @return the result of the operation
+     * @throws IllegalStateException if the operation failed
+     */
+    ModelNode execute(final ModelNode operation) {
+        final ModelNode response = controller.execute(operation, null, ModelController.OperationTransactionControl.COMMIT, null);
+        if (!SUCCESS.equals(response.get(OUTCOME).asString())) {
+            throw new IllegalStateException(response.get(FAILURE_DESCRIPTION).asString());
+        }
+        return response.get(RESULT);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        container.shutdown();
+        container.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private static final class BenchmarkControllerService extends AbstractControllerService {
+
+        private final int size;
+        private final int childrenPerSubsystem;
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private BenchmarkControllerService(final int size, final int childrenPerSubsystem) {
+            super(ProcessType.EMBEDDED_SERVER, new RunningModeControl(RunningMode.NORMAL), new NullConfigurationPersister(),
+                    new ControlledProcessState(true),
+                    ResourceBuilder.Factory.create(PathElement.pathElement("root"), new NonResolvingResourceDescriptionResolver()).build(),
+                    null, ExpressionResolver.TEST_RESOLVER, AuditLogger.NO_OP_LOGGER, new DelegatingConfigurableAuthorizer(),
+                    new ManagementSecurityIdentitySupplier(), new CapabilityRegistry(true));
+            this.size = size;
+            this.childrenPerSubsystem = childrenPerSubsystem;
+        }
+
+        @Override
+        protected void initModel(final ManagementModel managementModel, final Resource modelControllerResource) {
+            final ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+            GlobalOperationHandlers.registerGlobalOperations(rootRegistration, ProcessType.EMBEDDED_SERVER);
+            rootRegistration.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE);
+
+            final ManagementResourceRegistration subsystem = rootRegistration.registerSubModel(new ModelOnlyResourceDefinition(
+                    PathElement.pathElement(ModelGenerator.SUBSYSTEM), new NonResolvingResourceDescriptionResolver(),
+                    ATTRIBUTE, NAME, ENABLED));
+            subsystem.registerSubModel(new ModelOnlyResourceDefinition(PathElement.pathElement(ModelGenerator.CHILD),
+                    new NonResolvingResourceDescriptionResolver(), ATTRIBUTE, NAME, ENABLED));
+
+            ModelGenerator.addResources(managementModel.getRootResource(), size, childrenPerSubsystem);
+        }
+
+        @Override
+        protected void bootThreadDone() {
+            super.bootThreadDone();
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmark;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * Builds synthetic management models for the benchmarks.
+ */
+final class ModelGenerator {
+
+    static final String SUBSYSTEM = "subsystem";
+    static final String CHILD = "child";
+    static final String ATTRIBUTE = "attr";
+
+    private ModelGenerator() {
+    }
+
+    /**
+     * Creates a two level resource tree of {@code subsystem=*} resources, each with {@code childrenPerSubsystem}
+     * {@code child=*} resources, containing about {@code size} resources in total.
+     */
+    static Resource createResourceTree(int size, int childrenPerSubsystem) {
+        final Resource root = Resource.Factory.create();
+        addResources(root, size, childrenPerSubsystem);
+        return root;
+    }
+
+    /**
+     * Adds the resources of {@link #createResourceTree(int, int)} to an existing root resource.
+     */
+    static void addResources(Resource root, int size, int childrenPerSubsystem) {
+        final int subsystems = getSubsystemCount(size, childrenPerSubsystem);
+        for (int i = 0; i < subsystems; i++) {
+            final Resource subsystem = Resource.Factory.create();
+            populate(subsystem, i);
+            for (int j = 0; j < childrenPerSubsystem; j++) {
+                final Resource child = Resource.Factory.create();
+                populate(child, j);
+                subsystem.registerChild(PathElement.pathElement(CHILD, CHILD + j), child);
+            }
+            root.registerChild(PathElement.pathElement(SUBSYSTEM, SUBSYSTEM + i), subsystem);
+        }
+    }
+
+    static int getSubsystemCount(int size, int childrenPerSubsystem) {
+        return Math.max(1, size / (childrenPerSubsystem + 1));
+    }
+
+    private static void populate(Resource resource, int index) {
+        resource.getModel().get(ATTRIBUTE).set(index);
+        resource.getModel().get("name").set("resource-" + index);
+        resource.getModel().get("enabled").set(true);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.CopyOnWriteResource;
+import org.jboss.as.controller.registry.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of preparing a management resource tree for a single attribute write by
+ * {@link Resource#clone() deep cloning} it against {@link CopyOnWriteResource copying on write}, as a function
+ * of the size of the tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResourceCopyBenchmark {
+
+    private static final int CHILDREN_PER_SUBSYSTEM = 100;
+
+    /** Total number of resources in the tree */
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Resource root;
+    private PathAddress target;
+
+    @Setup
+    public void setup() {
+        root = ModelGenerator.createResourceTree(size, CHILDREN_PER_SUBSYSTEM);
+        int subsystems = ModelGenerator.getSubsystemCount(size, CHILDREN_PER_SUBSYSTEM);
+        target = PathAddress.pathAddress(PathElement.pathElement(ModelGenerator.SUBSYSTEM, "subsystem" + subsystems / 2),
+                PathElement.pathElement(ModelGenerator.CHILD, "child0"));
+    }
+
+    @Benchmark
+    public Resource cloneAndWrite() {
+        Resource clone = root.clone();
+        clone.navigate(target).getModel().get(ModelGenerator.ATTRIBUTE).set(1);
+        return clone;
+    }
+
+    @Benchmark
+    public Resource copyOnWrite() {
+        CopyOnWriteResource copy = CopyOnWriteResource.copyOf(root);
+        copy.navigate(target).getModel().get(ModelGenerator.ATTRIBUTE).set(1);
+        return copy.getCopy();
+    }
+}
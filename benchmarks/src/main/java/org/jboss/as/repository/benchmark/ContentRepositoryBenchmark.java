@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.repository.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.repository.ContentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of {@link ContentRepository#addContent(java.io.InputStream)} with several threads adding
+ * content at the same time. Each invocation adds new content, so every call hashes and copies the whole payload.
+ * Vary the number of threads with {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(8)
+public class ContentRepositoryBenchmark {
+
+    /** Size of each added content in bytes */
+    @Param({"65536", "1048576", "16777216"})
+    public int payloadSize;
+
+    private Path root;
+    private ContentRepository repository;
+
+    @Setup
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("content-repository-benchmark");
+        repository = ContentRepository.Factory.create(root.resolve("content").toFile(), root.resolve("tmp").toFile());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * The content added by one thread. A counter at the start of the payload makes each invocation add new content.
+     */
+    @State(Scope.Thread)
+    public static class Payload {
+        private byte[] bytes;
+        private long counter;
+
+        @Setup
+        public void setup(ContentRepositoryBenchmark benchmark) {
+            bytes = new byte[benchmark.payloadSize];
+            new Random().nextBytes(bytes);
+        }
+
+        ByteArrayInputStream next() {
+            ByteBuffer.wrap(bytes).putLong(counter++);
+            return new ByteArrayInputStream(bytes);
+        }
+    }
+
+    @Benchmark
+    public byte[] addContent(Payload payload) throws IOException {
+        return repository.addContent(payload.next());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.extension.requestcontroller.ControlPoint;
+import org.wildfly.extension.requestcontroller.RequestController;
+import org.wildfly.extension.requestcontroller.RunResult;
+
+/**
+ * Measures the throughput of the {@link RequestController} with as many threads as there are cores, unless
+ * overridden with {@code -t}:
+ * <ul>
+ *     <li>{@code request} admits a request through a control point shared by all threads and completes it, which is
+ *     what every request entering the server does.</li>
+ *     <li>{@code controlPointChurn} gets and removes a control point of a deployment of its own in each thread, as
+ *     done by deployments while they are deployed and undeployed.</li>
+ * </ul>
+ * The controller is not started, as neither queues tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(Threads.MAX)
+public class RequestControllerBenchmark {
+
+    /** Whether the active requests of each control point are counted, so a single deployment can be suspended */
+    @Param({"false", "true"})
+    public boolean trackIndividualControlPoints;
+
+    /** The maximum number of active requests, or -1 for no limit */
+    @Param({"-1", "1000000"})
+    public int maxRequestCount;
+
+    private RequestController controller;
+    private ControlPoint controlPoint;
+    private final AtomicInteger deployments = new AtomicInteger();
+
+    @Setup
+    public void setup() {
+        controller = new RequestController(trackIndividualControlPoints);
+        controller.setMaxRequestCount(maxRequestCount);
+        controlPoint = controller.getControlPoint("benchmark.war", "web");
+    }
+
+    /**
+     * The deployment used by one thread.
+     */
+    @State(Scope.Thread)
+    public static class Deployment {
+        private String name;
+
+        @Setup
+        public void setup(RequestControllerBenchmark benchmark) {
+            name = "deployment-" + benchmark.deployments.incrementAndGet() + ".war";
+        }
+    }
+
+    @Benchmark
+    public RunResult request() throws Exception {
+        final RunResult result = controlPoint.beginRequest();
+        if (result == RunResult.RUN) {
+            controlPoint.requestComplete();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ControlPoint controlPointChurn(Deployment deployment) {
+        final ControlPoint result = controller.getControlPoint(deployment.name, "web");
+        controller.removeControlPoint(result);
+        return result;
+    }
+}
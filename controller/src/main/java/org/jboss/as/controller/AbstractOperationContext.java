@@ -73,8 +73,10 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import org.jboss.as.controller.ConfigurationChangesCollector.ConfigurationChange;
+import org.jboss.as.controller.access.AuthorizationResult;
 import org.jboss.as.controller.access.Caller;
 import org.jboss.as.controller.access.Environment;
+import org.jboss.as.controller.access.ResourceAuthorization;
 import org.jboss.as.controller.audit.AuditLogger;
 import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistry;
 import org.jboss.as.controller.client.MessageSeverity;
@@ -96,6 +98,7 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceRegistry;
 import org.jboss.msc.service.ServiceTarget;
 
 import org.wildfly.common.Assert;
@@ -122,6 +125,11 @@ abstract class AbstractOperationContext implements OperationContext {
 
     /** Thread that initiated execution of the overall operation for which this context is the whole or a part */
     final Thread initiatingThread;
+    /**
+     * Lock held by the {@link ReadOnlyContext read-only contexts} delegating to this context while they call into it,
+     * as several of them may be executed concurrently on behalf of this context
+     */
+    final Object readOnlyDelegationLock = new Object();
     private final EnumMap<Stage, Deque<Step>> steps;
     private final ModelController.OperationTransactionControl transactionControl;
     final ControlledProcessState processState;
@@ -165,6 +173,11 @@ abstract class AbstractOperationContext implements OperationContext {
     private boolean executing;
     /** First response node provided to addStep  */
     ModelNode initialResponse;
+    /** The name of the operation whose stages are timed; null until its first step executes */
+    private String timedOperation;
+    /** The stage the time elapsed since {@code stageStartTime} is recorded to */
+    private Stage timedStage;
+    private long stageStartTime;
 
     /** Operations that were added by the controller, before execution started */
     private final List<ModelNode> controllerOperations = new ArrayList<ModelNode>(2);
@@ -379,6 +392,8 @@ abstract class AbstractOperationContext implements OperationContext {
         try {
             /** Execution has begun */
             executing = true;
+            timedStage = currentStage;
+            stageStartTime = System.nanoTime();
 
             processStages();
 
@@ -391,6 +406,8 @@ abstract class AbstractOperationContext implements OperationContext {
             handleUncaughtException(e);
             ControllerLogger.MGMT_OP_LOGGER.unexpectedOperationExecutionException(e, controllerOperations);
         } finally {
+            // The time since the last stage started, including the result handlers and persisting the model
+            recordStageTime(null);
             // On failure close any attached response streams
             if (resultAction != ResultAction.KEEP && !isBooting()) {
                 synchronized (this) {
@@ -414,6 +431,28 @@ abstract class AbstractOperationContext implements OperationContext {
         return resultAction;
     }
 
+    /**
+     * Gets whether the stages of the operation should be timed for the {@code service=management-operations}
+     * resource of the controller. Operations executed while booting are not timed.
+     */
+    boolean isTimed() {
+        return !booting && controller != null;
+    }
+
+    /**
+     * Records the time elapsed in the current timed stage, then starts timing the next one.
+     *
+     * @param next the stage timed from now on, or {@code null} if timing stops
+     */
+    private void recordStageTime(Stage next) {
+        if (timedStage != null && timedOperation != null && isTimed()) {
+            final long now = System.nanoTime();
+            controller.recordStageTime(timedOperation, timedStage, now - stageStartTime);
+            stageStartTime = now;
+        }
+        timedStage = next;
+    }
+
     /** Opportunity to do required cleanup after an exception propagated all the way to {@link #executeOperation()}.*/
     void handleUncaughtException(RuntimeException e) {
     }
@@ -588,6 +627,42 @@ abstract class AbstractOperationContext implements OperationContext {
 
     abstract Resource getModel();
 
+    /**
+     * Authorizes access to the resource targeted by a step of a {@link ReadOnlyContext} delegating to this context,
+     * rather than to the resource targeted by the active step of this context.
+     *
+     * @param step the step of the read-only context. Cannot be {@code null}
+     * @param attributes {@code true} if the attributes of the resource should be authorized as well
+     * @param isDefaultResource {@code true} if the default resource of a wildcard registration should be authorized
+     * @return the authorization, or {@code null} if the resource type does not exist
+     */
+    ResourceAuthorization authorizeResource(Step step, boolean attributes, boolean isDefaultResource) {
+        return authorizeResource(attributes, isDefaultResource);
+    }
+
+    /**
+     * Authorizes an operation on behalf of a step of a {@link ReadOnlyContext} delegating to this context, using the
+     * headers of the operation of that step.
+     *
+     * @param step the step of the read-only context. Cannot be {@code null}
+     * @param operation the operation to authorize. Cannot be {@code null}
+     * @return the authorization result
+     */
+    AuthorizationResult authorizeOperation(Step step, ModelNode operation) {
+        return authorizeOperation(operation);
+    }
+
+    /**
+     * Gets the service registry on behalf of a step of a {@link ReadOnlyContext} delegating to this context,
+     * authorizing read access to the runtime of the resource targeted by that step.
+     *
+     * @param step the step of the read-only context. Cannot be {@code null}
+     * @return the service registry
+     */
+    ServiceRegistry getServiceRegistry(Step step) {
+        return getServiceRegistry(false);
+    }
+
     /**
      * Indicates whether the capabilities associated with the resource addressed by the current step
      * require a reload or a restart before any Stage.RUNTIME execution can happen.
@@ -628,6 +703,7 @@ abstract class AbstractOperationContext implements OperationContext {
                 // Proceed to the next stage
                 if (currentStage.hasNext()) {
                     currentStage = currentStage.next();
+                    recordStageTime(currentStage);
                     if (currentStage == Stage.VERIFY) {
                         // a change was made to the runtime. Thus, we must wait
                         // for stability before resuming in to verify.
@@ -653,6 +729,7 @@ abstract class AbstractOperationContext implements OperationContext {
                 // The response to the first step is what goes to the outside caller
                 if (primaryResponse == null) {
                     primaryResponse = step.response;
+                    timedOperation = step.operationId.name;
                 }
                 // Execute the step, but make sure we always finalize any steps
                 Throwable toThrow = null;
@@ -21,7 +21,12 @@
 */
 package org.jboss.as.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
@@ -40,6 +45,15 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     private static final int GOT_DOLLAR = 1;
     private static final int GOT_OPEN_BRACE = 2;
 
+    /** Bounds the number of expression strings whose parsed form is cached */
+    private static final int MAX_COMPILED_EXPRESSIONS = 4096;
+    /**
+     * Expression strings parsed into their literal and expression parts, so resolving them again does not require
+     * parsing them. This only depends on the expression strings and not on the values they resolve to, so it remains
+     * valid when system properties or vault contents change.
+     */
+    private static final ConcurrentMap<String, CompiledExpression> compiledExpressions = new ConcurrentHashMap<>();
+
     private final boolean lenient;
 
     /**
@@ -74,35 +88,94 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      * @throws OperationFailedException if an expression cannot be resolved
      */
     private ModelNode resolveExpressionsRecursively(final ModelNode node) throws OperationFailedException {
+        final ModelNode resolved = resolveContainedExpressions(node);
+        if (resolved != null) {
+            return resolved;
+        }
+        // No expressions; still return a copy of a complex node, as the caller may modify it
+        ModelType type = node.getType();
+        return type == ModelType.OBJECT || type == ModelType.LIST || type == ModelType.PROPERTY ? node.clone() : node;
+    }
+
+    /**
+     * Resolves the expressions found within the given node. Only the parts of the node that contain expressions are
+     * copied, so resolving large nodes with few expressions does not copy all of their children again at each level.
+     *
+     * @param node the node
+     * @return a new node with all expressions resolved, or {@code null} if the node does not contain any expression
+     * @throws OperationFailedException if an expression cannot be resolved
+     */
+    private ModelNode resolveContainedExpressions(final ModelNode node) throws OperationFailedException {
         if (!node.isDefined()) {
-            return node;
+            return null;
         }
 
         ModelType type = node.getType();
-        ModelNode resolved;
         if (type == ModelType.EXPRESSION) {
-            resolved = resolveExpressionStringRecursively(node.asExpression().getExpressionString(), lenient, true);
+            return resolveExpressionStringRecursively(node.asExpression().getExpressionString(), lenient, true);
         } else if (type == ModelType.OBJECT) {
-            resolved = node.clone();
-            for (Property prop : resolved.asPropertyList()) {
-                resolved.get(prop.getName()).set(resolveExpressionsRecursively(prop.getValue()));
+            final Set<String> keys = node.keys();
+            ModelNode[] resolvedValues = null;
+            int i = 0;
+            for (String key : keys) {
+                final ModelNode resolvedValue = resolveContainedExpressions(node.get(key));
+                if (resolvedValue != null) {
+                    if (resolvedValues == null) {
+                        resolvedValues = new ModelNode[keys.size()];
+                    }
+                    resolvedValues[i] = resolvedValue;
+                }
+                i++;
             }
+            if (resolvedValues == null) {
+                return null;
+            }
+            final ModelNode resolved = new ModelNode();
+            resolved.setEmptyObject();
+            i = 0;
+            for (String key : keys) {
+                final ModelNode resolvedValue = resolvedValues[i++];
+                resolved.get(key).set(resolvedValue != null ? resolvedValue : node.get(key).clone());
+            }
+            return resolved;
         } else if (type == ModelType.LIST) {
-            resolved = node.clone();
-            ModelNode list = new ModelNode();
-            list.setEmptyList();
-            for (ModelNode current : resolved.asList()) {
-                list.add(resolveExpressionsRecursively(current));
+            final List<ModelNode> elements = node.asList();
+            List<ModelNode> resolvedElements = null;
+            for (int i = 0; i < elements.size(); i++) {
+                final ModelNode resolvedElement = resolveContainedExpressions(elements.get(i));
+                if (resolvedElement != null) {
+                    if (resolvedElements == null) {
+                        resolvedElements = new ArrayList<>(elements.size());
+                        for (int j = 0; j < i; j++) {
+                            resolvedElements.add(elements.get(j).clone());
+                        }
+                    }
+                    resolvedElements.add(resolvedElement);
+                } else if (resolvedElements != null) {
+                    resolvedElements.add(elements.get(i).clone());
+                }
+            }
+            if (resolvedElements == null) {
+                return null;
+            }
+            final ModelNode resolved = new ModelNode();
+            resolved.setEmptyList();
+            for (ModelNode resolvedElement : resolvedElements) {
+                resolved.add(resolvedElement);
             }
-            resolved = list;
+            return resolved;
         } else if (type == ModelType.PROPERTY) {
-            resolved = node.clone();
-            resolved.set(resolved.asProperty().getName(), resolveExpressionsRecursively(resolved.asProperty().getValue()));
+            final Property property = node.asProperty();
+            final ModelNode resolvedValue = resolveContainedExpressions(property.getValue());
+            if (resolvedValue == null) {
+                return null;
+            }
+            final ModelNode resolved = new ModelNode();
+            resolved.set(property.getName(), resolvedValue);
+            return resolved;
         } else {
-            resolved = node;
+            return null;
         }
-
-        return resolved;
     }
 
     /**
@@ -140,7 +213,10 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      */
     private ModelNode resolveExpressionStringRecursively(final String expressionString, final boolean ignoreDMRResolutionFailure,
                                                          final boolean initial) throws OperationFailedException {
-        ParseAndResolveResult resolved = parseAndResolve(expressionString, ignoreDMRResolutionFailure);
+        final CompiledExpression compiled = compile(expressionString);
+        ParseAndResolveResult resolved = compiled != null
+                ? resolveCompiled(compiled, expressionString, ignoreDMRResolutionFailure)
+                : parseAndResolve(expressionString, ignoreDMRResolutionFailure);
         if (resolved.recursive) {
             // Some part of expressionString resolved into a different expression.
             // So, start over, ignoring failures. Ignore failures because we don't require
@@ -316,6 +392,56 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         return new ParseAndResolveResult(builder.toString(), modified, false);
     }
 
+    /**
+     * Gets the parsed form of an expression string.
+     *
+     * @return the parsed form, or {@code null} if the string contains nested expressions or is not a complete
+     *         expression, in which case it must be resolved by {@link #parseAndResolve(String, boolean)}
+     */
+    private static CompiledExpression compile(final String expressionString) {
+        CompiledExpression compiled = compiledExpressions.get(expressionString);
+        if (compiled == null) {
+            compiled = CompiledExpression.compile(expressionString);
+            if (compiledExpressions.size() < MAX_COMPILED_EXPRESSIONS) {
+                compiledExpressions.putIfAbsent(expressionString, compiled);
+            }
+        }
+        return compiled == CompiledExpression.NOT_COMPILABLE ? null : compiled;
+    }
+
+    /**
+     * Equivalent of {@link #parseAndResolve(String, boolean)} for an expression string without nested expressions,
+     * which has already been parsed.
+     */
+    private ParseAndResolveResult resolveCompiled(final CompiledExpression compiled, final String initialValue, boolean lenient) throws OperationFailedException {
+        final StringBuilder builder = new StringBuilder(initialValue.length());
+        boolean modified = compiled.escaped;
+        for (int i = 0; i < compiled.expressions.length; i++) {
+            builder.append(compiled.literals[i]);
+            final String toResolve = compiled.expressions[i];
+            final String resolved = resolveExpressionString(toResolve);
+            // We only successfully resolved if toResolve != resolved
+            if (toResolve.equals(resolved)) {
+                if (lenient) {
+                    // just respond with the initial value
+                    return new ParseAndResolveResult(initialValue, false, false);
+                }
+                throw ControllerLogger.ROOT_LOGGER.cannotResolveExpression(initialValue);
+            }
+            if (EXPRESSION_PATTERN.matcher(resolved).matches()) {
+                // The resolved value is itself an expression, so there will need to be another pass, from
+                // initialValue with just this expression replaced so any escaped $ sequence keeps its escape char
+                final String result = initialValue.substring(0, compiled.startIndexes[i]) + resolved
+                        + initialValue.substring(compiled.endIndexes[i] + 1);
+                return new ParseAndResolveResult(result, true, true);
+            }
+            builder.append(resolved);
+            modified = true;
+        }
+        builder.append(compiled.literals[compiled.expressions.length]);
+        return new ParseAndResolveResult(builder.toString(), modified, false);
+    }
+
     private static Stack<OpenExpression> addToStack(Stack<OpenExpression> stack, int startIndex) {
         Stack<OpenExpression> result = stack == null ? new Stack<OpenExpression>() : stack;
         result.push(new OpenExpression(startIndex));
@@ -467,6 +593,91 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    /**
+     * An expression string without nested expressions, split into the {@code ${...}} expressions to resolve and the
+     * literal text around them.
+     */
+    private static final class CompiledExpression {
+
+        private static final CompiledExpression NOT_COMPILABLE = new CompiledExpression(null, null, null, null, false);
+
+        /** The literal text preceding each expression, then the text following the last one; with escapes applied */
+        private final String[] literals;
+        private final String[] expressions;
+        /** The indexes of the leading '$' and trailing '}' of each expression in the expression string */
+        private final int[] startIndexes;
+        private final int[] endIndexes;
+        /** Whether the literal text contains escaped '$' characters, in which case it differs from the expression string */
+        private final boolean escaped;
+
+        private CompiledExpression(String[] literals, String[] expressions, int[] startIndexes, int[] endIndexes, boolean escaped) {
+            this.literals = literals;
+            this.expressions = expressions;
+            this.startIndexes = startIndexes;
+            this.endIndexes = endIndexes;
+            this.escaped = escaped;
+        }
+
+        private static CompiledExpression compile(final String expressionString) {
+            final List<String> literals = new ArrayList<>(2);
+            final List<String> expressions = new ArrayList<>(1);
+            final List<Integer> startIndexes = new ArrayList<>(1);
+            final List<Integer> endIndexes = new ArrayList<>(1);
+            final StringBuilder literal = new StringBuilder();
+            boolean escaped = false;
+            final int len = expressionString.length();
+            int i = 0;
+            while (i < len) {
+                final char ch = expressionString.charAt(i);
+                if (ch != '$' || i == len - 1) {
+                    literal.append(ch);
+                    i++;
+                    continue;
+                }
+                final char next = expressionString.charAt(i + 1);
+                if (next == '$') {
+                    // An escaped '$'
+                    literal.append('$');
+                    escaped = true;
+                    i += 2;
+                } else if (next != '{') {
+                    // Not the start of an expression
+                    literal.append('$');
+                    i++;
+                } else {
+                    int end = i + 2;
+                    while (end < len && expressionString.charAt(end) != '}') {
+                        final char c = expressionString.charAt(end);
+                        if (c == '$' || c == '{') {
+                            // Possibly a nested expression, which can only be parsed along with its resolution
+                            return NOT_COMPILABLE;
+                        }
+                        end++;
+                    }
+                    if (end == len) {
+                        // Incomplete expression
+                        return NOT_COMPILABLE;
+                    }
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    expressions.add(expressionString.substring(i, end + 1));
+                    startIndexes.add(i);
+                    endIndexes.add(end);
+                    i = end + 1;
+                }
+            }
+            literals.add(literal.toString());
+            final int[] starts = new int[startIndexes.size()];
+            final int[] ends = new int[endIndexes.size()];
+            for (int j = 0; j < starts.length; j++) {
+                starts[j] = startIndexes.get(j);
+                ends[j] = endIndexes.get(j);
+            }
+            return new CompiledExpression(literals.toArray(new String[literals.size()]),
+                    expressions.toArray(new String[expressions.size()]), starts, ends, escaped);
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
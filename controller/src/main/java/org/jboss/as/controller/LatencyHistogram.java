@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COUNT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MEAN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P50;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P90;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P99;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P999;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * A histogram of durations in nanoseconds, with buckets of exponentially increasing width, in the style of an
+ * HdrHistogram: each power of two is split in {@value #SUB_BUCKETS} buckets, so a reported percentile is at most
+ * 1/{@value #SUB_BUCKETS} higher than the actual one. Durations longer than about 2.4 hours are counted in the last
+ * bucket.
+ * <p>
+ * Recording a duration only increments a few counters without locking, so it can be done on every operation. The
+ * statistics read from the histogram are not an atomic snapshot when durations are recorded concurrently.
+ *
+ * @see OperationTimings
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** The magnitude of the largest value with its own bucket, 2^43 ns being about 2.4 hours */
+    private static final int MAX_MAGNITUDE = 43;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(final long nanos) {
+        final long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(getBucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the statistics of the recorded durations: their {@code count}, {@code mean} and {@code max}, and their
+     * {@code p50}, {@code p90}, {@code p99} and {@code p999} percentiles.
+     */
+    ModelNode toModelNode() {
+        final ModelNode result = new ModelNode();
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        final long maxValue = max.get();
+        result.get(COUNT).set(total);
+        result.get(MEAN).set(total == 0 ? 0 : sum.sum() / Math.max(count.sum(), 1));
+        result.get(MAX).set(maxValue);
+        result.get(P50).set(getPercentile(counts, total, 0.5, maxValue));
+        result.get(P90).set(getPercentile(counts, total, 0.9, maxValue));
+        result.get(P99).set(getPercentile(counts, total, 0.99, maxValue));
+        result.get(P999).set(getPercentile(counts, total, 0.999, maxValue));
+        return result;
+    }
+
+    private static long getPercentile(final long[] counts, final long total, final double percentile, final long maxValue) {
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(getHighestValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    static int getBucket(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE) {
+            return BUCKET_COUNT - 1;
+        }
+        // The bits following the highest one select the sub-bucket
+        final int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the highest value counted in a bucket.
+     */
+    static long getHighestValue(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int magnitude = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        final long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        if (bucket == BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        return ((SUB_BUCKETS + subBucket + 1) << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+}
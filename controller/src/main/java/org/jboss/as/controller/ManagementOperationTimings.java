@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * A handle for the timings of the management operations executed by a controller, exposed by its
+ * {@code service=management-operations} resource.
+ */
+public interface ManagementOperationTimings {
+
+    /**
+     * Gets the statistics of the time spent by each operation in each execution stage.
+     *
+     * @return a list of the statistics of each operation name and stage
+     */
+    ModelNode getOperationTimings();
+
+    /**
+     * Gets the statistics of the time spent waiting to acquire the controller lock.
+     *
+     * @return the statistics
+     */
+    ModelNode getLockWaitTime();
+
+    /**
+     * Gets the statistics of the time spent persisting the configuration.
+     *
+     * @return the statistics
+     */
+    ModelNode getPersistenceTime();
+
+    /**
+     * Discards the recorded timings.
+     */
+    void resetTimings();
+}
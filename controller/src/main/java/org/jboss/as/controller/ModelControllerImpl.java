@@ -33,14 +33,21 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIME_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROCESS_STATE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
@@ -52,6 +59,7 @@ import static org.jboss.as.controller.operations.common.Util.validateOperation;
 import java.io.IOException;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
@@ -86,6 +94,8 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.NotificationSupport;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.CopyOnWriteResource;
 import org.jboss.as.controller.registry.DelegatingResource;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -109,6 +119,11 @@ import org.wildfly.security.auth.server.SecurityIdentity;
  */
 class ModelControllerImpl implements ModelController {
 
+    /** Operations that only read the model when they do not include runtime values */
+    private static final Set<String> MODEL_READ_OPERATIONS = new HashSet<>(Arrays.asList(READ_RESOURCE_OPERATION,
+            READ_ATTRIBUTE_OPERATION, READ_CHILDREN_NAMES_OPERATION, READ_CHILDREN_TYPES_OPERATION,
+            READ_CHILDREN_RESOURCES_OPERATION));
+
     private static final String INITIAL_BOOT_OPERATION = "initial-boot-operation";
     private static final String POST_EXTENSION_BOOT_OPERATION = "post-extension-boot-operation";
     static final ModelNode EMPTY_ADDRESS = new ModelNode().setEmptyList();
@@ -123,6 +138,7 @@ class ModelControllerImpl implements ModelController {
     private final ServiceRegistry serviceRegistry;
     private final ServiceTarget serviceTarget;
     private final ModelControllerLock controllerLock = new ModelControllerLock();
+    private final OperationTimings timings = new OperationTimings();
     private final ContainerStateMonitor stateMonitor;
     private final AtomicReference<ManagementModelImpl> managementModel = new AtomicReference<>();
     private final ConfigurationPersister persister;
@@ -292,9 +308,18 @@ class ModelControllerImpl implements ModelController {
     }
 
     protected ModelNode executeReadOnlyOperation(final ModelNode operation, final ManagementModelImpl model, final OperationTransactionControl control, final OperationStepHandler prepareStep, AbstractOperationContext delegateContext) {
-        final ModelNode response = new ModelNode();
         @SuppressWarnings("deprecation")
         final int operationId = CurrentOperationIdHolder.getCurrentOperationID();
+        return executeReadOnlyOperation(operation, model, control, prepareStep, delegateContext, operationId);
+    }
+
+    /**
+     * Executes a read-only operation on behalf of the operation with the given id, possibly on a thread other than
+     * the one executing that operation.
+     */
+    ModelNode executeReadOnlyOperation(final ModelNode operation, final ManagementModelImpl model, final OperationTransactionControl control,
+                                       final OperationStepHandler prepareStep, final AbstractOperationContext delegateContext, final int operationId) {
+        final ModelNode response = new ModelNode();
         final OperationTransactionControl txControl = control == null ? null : new OperationTransactionControl() {
             @Override
             public void operationPrepared(OperationTransaction transaction, ModelNode result) {
@@ -390,13 +415,20 @@ class ModelControllerImpl implements ModelController {
             return handleExternalRequestDuringBoot();
         }
 
+        // Reads of the model are executed against the model published when they start, and never need the lock.
+        // Operations attempting to get the lock are executed by the domain controller on behalf of other hosts, with a
+        // prepare step coordinating them across the domain rather than the handler of the operation, so they keep
+        // being executed against the current model and fail fast if another operation holds the lock
+        final ManagementModelImpl currentModel = managementModel.get();
+        final boolean modelRead = !attemptLock && !bootingFlag.get() && isModelRead(operation, currentModel);
+
         for (;;) {
             responseStreams = null;
             // Create a random operation-id
             final Integer operationID = random.nextInt();
             final OperationContextImpl context = new OperationContextImpl(operationID, operation.get(OP).asString(),
                     operation.get(OP_ADDR), this, processType, runningModeControl.getRunningMode(),
-                    contextFlags, handler, attachments, managementModel.get(), originalResultTxControl, processState, auditLogger,
+                    contextFlags, handler, attachments, modelRead ? currentModel.snapshot() : managementModel.get(), originalResultTxControl, processState, auditLogger,
                     bootingFlag.get(), hostServerGroupTracker, blockingTimeoutConfig, accessContext, notificationSupport,
                     false, extraValidationStepHandler, partialModel, securityIdentitySupplier);
             // Try again if the operation-id is already taken
@@ -406,7 +438,10 @@ class ModelControllerImpl implements ModelController {
                 boolean shouldUnlock = false;
                 try {
                     if (attemptLock) {
-                        if (!controllerLock.detectDeadlockAndGetLock(operationID)) {
+                        final long lockStart = System.nanoTime();
+                        final boolean locked = controllerLock.detectDeadlockAndGetLock(operationID);
+                        recordLockWait(lockStart);
+                        if (!locked) {
                             responseNode.get(OUTCOME).set(FAILED);
                             responseNode.get(FAILURE_DESCRIPTION).set(ControllerLogger.ROOT_LOGGER.cannotGetControllerLock());
                             return OperationResponse.Factory.createSimple(responseNode);
@@ -824,8 +859,11 @@ class ModelControllerImpl implements ModelController {
 
     ConfigurationPersister.PersistenceResource writeModel(final ManagementModelImpl model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
         ControllerLogger.MGMT_OP_LOGGER.tracef("persisting %s from %s", model.rootResource, model);
+        final long start = System.nanoTime();
         final ModelNode newModel = Resource.Tools.readModel(model.rootResource, model.resourceRegistration);
         final ConfigurationPersister.PersistenceResource delegate = persister.store(newModel, affectedAddresses);
+        // The persisters usually only write the configuration on commit
+        final long storeTime = System.nanoTime() - start;
         return new ConfigurationPersister.PersistenceResource() {
 
             @Override
@@ -836,13 +874,19 @@ class ModelControllerImpl implements ModelController {
                     hostServerGroupTracker.invalidate();
                 }
                 model.publish();
-                delegate.commit();
+                final long commitStart = System.nanoTime();
+                try {
+                    delegate.commit();
+                } finally {
+                    recordPersistence(storeTime + System.nanoTime() - commitStart);
+                }
             }
 
             @Override
             public void rollback() {
                 model.discard();
                 delegate.rollback();
+                recordPersistence(storeTime);
             }
         };
     }
@@ -858,35 +902,66 @@ class ModelControllerImpl implements ModelController {
     }
 
     void acquireWriteLock(Integer permit, final boolean interruptibly) throws InterruptedException {
-        if (interruptibly) {
-            //noinspection LockAcquiredButNotSafelyReleased
-            controllerLock.lockInterruptibly(permit);
-        } else {
-            //noinspection LockAcquiredButNotSafelyReleased
-            controllerLock.lock(permit);
+        final long start = System.nanoTime();
+        try {
+            if (interruptibly) {
+                //noinspection LockAcquiredButNotSafelyReleased
+                controllerLock.lockInterruptibly(permit);
+            } else {
+                //noinspection LockAcquiredButNotSafelyReleased
+                controllerLock.lock(permit);
+            }
+        } finally {
+            recordLockWait(start);
         }
     }
 
     void acquireReadLock(Integer permit, final boolean interruptibly) throws InterruptedException {
-        if (interruptibly) {
-            //noinspection LockAcquiredButNotSafelyReleased
-            controllerLock.lockSharedInterruptibly(permit);
-        } else {
-            //noinspection LockAcquiredButNotSafelyReleased
-            controllerLock.lockShared(permit);
+        final long start = System.nanoTime();
+        try {
+            if (interruptibly) {
+                //noinspection LockAcquiredButNotSafelyReleased
+                controllerLock.lockSharedInterruptibly(permit);
+            } else {
+                //noinspection LockAcquiredButNotSafelyReleased
+                controllerLock.lockShared(permit);
+            }
+        } finally {
+            recordLockWait(start);
         }
     }
 
     boolean acquireWriteLock(Integer permit, final boolean interruptibly, long timeout) throws InterruptedException {
-        if (interruptibly) {
-            //noinspection LockAcquiredButNotSafelyReleased
-            return controllerLock.lockInterruptibly(permit, timeout, TimeUnit.SECONDS);
-        } else {
-            //noinspection LockAcquiredButNotSafelyReleased
-            return controllerLock.lock(permit, timeout, TimeUnit.SECONDS);
+        final long start = System.nanoTime();
+        try {
+            if (interruptibly) {
+                //noinspection LockAcquiredButNotSafelyReleased
+                return controllerLock.lockInterruptibly(permit, timeout, TimeUnit.SECONDS);
+            } else {
+                //noinspection LockAcquiredButNotSafelyReleased
+                return controllerLock.lock(permit, timeout, TimeUnit.SECONDS);
+            }
+        } finally {
+            recordLockWait(start);
         }
     }
 
+    private void recordLockWait(final long start) {
+        if (!bootingFlag.get()) {
+            timings.recordLockWait(System.nanoTime() - start);
+        }
+    }
+
+    private void recordPersistence(final long nanos) {
+        if (!bootingFlag.get()) {
+            timings.recordPersistence(nanos);
+        }
+    }
+
+    void recordStageTime(final String operationName, final OperationContext.Stage stage, final long nanos) {
+        timings.recordStage(operationName, stage, nanos);
+    }
+
     void releaseWriteLock(Integer permit) {
         controllerLock.unlock(permit);
     }
@@ -1034,6 +1109,37 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    /**
+     * Gets whether an operation only reads the configuration model, and so can be executed against a
+     * {@link ManagementModelImpl#snapshot() snapshot} of the published model without waiting for, or being affected by,
+     * operations modifying it. Reads of runtime values may need the state of the services installed by such operations,
+     * so they are executed normally.
+     */
+    private static boolean isModelRead(final ModelNode operation, final ManagementModelImpl model) {
+        final String operationName = operation.get(OP).asString();
+        if (!MODEL_READ_OPERATIONS.contains(operationName)) {
+            return false;
+        }
+        if (operation.hasDefined(INCLUDE_RUNTIME) && !Boolean.FALSE.toString().equals(operation.get(INCLUDE_RUNTIME).asString())) {
+            return false;
+        }
+        if (READ_ATTRIBUTE_OPERATION.equals(operationName)) {
+            if (!operation.hasDefined(NAME)) {
+                return false;
+            }
+            final AttributeAccess attributeAccess;
+            try {
+                attributeAccess = model.getRootResourceRegistration().getAttributeAccess(
+                        PathAddress.pathAddress(operation.get(OP_ADDR)), operation.get(NAME).asString());
+            } catch (RuntimeException e) {
+                // An invalid address, reported when the operation executes
+                return false;
+            }
+            return attributeAccess != null && attributeAccess.getStorageType() == AttributeAccess.Storage.CONFIGURATION;
+        }
+        return true;
+    }
+
     private OperationEntry resolveOperationHandler(final PathAddress address, final String operationName) {
         ManagementResourceRegistration rootRegistration = managementModel.get().getRootResourceRegistration();
         OperationEntry result = rootRegistration.getOperationEntry(address, operationName);
@@ -1081,12 +1187,32 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
-    private final class ModelControllerResource extends PlaceholderResource.PlaceholderResourceEntry {
+    private final class ModelControllerResource extends PlaceholderResource.PlaceholderResourceEntry implements ManagementOperationTimings {
 
         private ModelControllerResource() {
             super(SERVICE, MANAGEMENT_OPERATIONS);
         }
 
+        @Override
+        public ModelNode getOperationTimings() {
+            return timings.getOperationTimings();
+        }
+
+        @Override
+        public ModelNode getLockWaitTime() {
+            return timings.getLockWaitTime();
+        }
+
+        @Override
+        public ModelNode getPersistenceTime() {
+            return timings.getPersistenceTime();
+        }
+
+        @Override
+        public void resetTimings() {
+            timings.reset();
+        }
+
         @Override
         public boolean hasChild(PathElement element) {
             try {
@@ -1166,6 +1292,8 @@ class ModelControllerImpl implements ModelController {
         private final ManagementResourceRegistration resourceRegistration;
         // The possibly unpublished root Resource
         private final Resource rootResource;
+        // The view of rootResource through which it can be updated; null if we are not a local copy
+        private final CopyOnWriteResource rootResourceForUpdate;
         // The root MRR we expose
         private final ManagementResourceRegistration delegatingResourceRegistration;
         // The root Resource we expose
@@ -1178,8 +1306,16 @@ class ModelControllerImpl implements ModelController {
         ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
                             final Resource rootResource,
                             final CapabilityRegistry capabilityRegistry) {
+            this(resourceRegistration, rootResource, null, capabilityRegistry);
+        }
+
+        private ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
+                                    final Resource rootResource,
+                                    final CopyOnWriteResource rootResourceForUpdate,
+                                    final CapabilityRegistry capabilityRegistry) {
             this.resourceRegistration = resourceRegistration;
             this.rootResource = rootResource;
+            this.rootResourceForUpdate = rootResourceForUpdate;
             assert capabilityRegistry != null;
             this.capabilityRegistry = capabilityRegistry;
             // What we expose depends on the state of our 'published' field. If 'true' we've been published
@@ -1230,6 +1366,17 @@ class ModelControllerImpl implements ModelController {
             return capabilityRegistry;
         }
 
+        /**
+         * Gets the view of our root {@link Resource} through which it must be updated. Resources that have not been
+         * updated via this view are still shared with the model this one was {@link #cloneRootResource() cloned} from.
+         *
+         * @return the root resource view. Will not return {@code null}
+         */
+        Resource getRootResourceForUpdate() {
+            assert rootResourceForUpdate != null : "not a clone";
+            return rootResourceForUpdate;
+        }
+
         /**
          * Creates a new {@code ManagementModelImpl} that uses a clone of this one's root {@link ManagementResourceRegistration}.
          * The caller can safely modify that {@code ManagementResourceRegistration} without changes being exposed
@@ -1263,9 +1410,9 @@ class ModelControllerImpl implements ModelController {
         */
 
         /**
-         * Creates a new {@code ManagementModelImpl} that uses a clone of this one's root {@link Resource}.
-         * The caller can safely modify that {@code Resource} without changes being exposed
-         * to other callers. Use {@link org.jboss.as.controller.ModelControllerImpl#writeModel(org.jboss.as.controller.ModelControllerImpl.ManagementModelImpl, java.util.Set)}
+         * Creates a new {@code ManagementModelImpl} that uses a copy-on-write clone of this one's root {@link Resource}.
+         * The caller can safely modify that {@code Resource} via {@link #getRootResourceForUpdate()} without changes
+         * being exposed to other callers. Use {@link org.jboss.as.controller.ModelControllerImpl#writeModel(org.jboss.as.controller.ModelControllerImpl.ManagementModelImpl, java.util.Set)}
          * to publish changes.
          *
          * @return the new {@code ManagementModelImpl}. Will not return {@code null}
@@ -1288,12 +1435,27 @@ class ModelControllerImpl implements ModelController {
                 currentResource = rootResource;
                 currentCaps = capabilityRegistry;
             }
-            Resource clone = currentResource.clone();
-            ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
+            CopyOnWriteResource clone = CopyOnWriteResource.copyOf(currentResource);
+            ManagementModelImpl result = new ManagementModelImpl(mrr, clone.getCopy(), clone, currentCaps);
             ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
             return result;
         }
 
+        /**
+         * Creates a view of this published model that keeps exposing its root {@link Resource} after other operations
+         * publish changes, so a series of reads of the configuration model against it is consistent, as operations
+         * update {@link #cloneRootResource() copies} of the configuration resources rather than the published ones.
+         * <p>
+         * This does not apply to the runtime and placeholder resources shared by the published models, such as the
+         * active operations, the {@code ModelControllerResource} or the resources of proxies, which are updated in
+         * place: reads of them through the snapshot see their current state.
+         *
+         * @return the snapshot. Will not return {@code null}
+         */
+        ManagementModelImpl snapshot() {
+            return new ManagementModelImpl(resourceRegistration, rootResource, capabilityRegistry);
+        }
+
         /**
          * Compares the registered requirements to the registered capabilities, returning any missing
          * or inconsistent requirements.
@@ -96,6 +96,7 @@ import org.jboss.as.controller.operations.global.ReadResourceHandler;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.CopyOnWriteResource;
 import org.jboss.as.controller.registry.DelegatingImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -265,6 +266,18 @@ final class OperationContextImpl extends AbstractOperationContext {
         return managementModel;
     }
 
+    /**
+     * Executes a read-only operation in a {@link ReadOnlyContext} that delegates to this context. Unlike the steps
+     * of this context, this can be called from any thread while the thread executing this context waits for it.
+     *
+     * @param operation the operation
+     * @param step the handler of the operation
+     * @return the response of the operation
+     */
+    ModelNode executeReadOnlyOperation(final ModelNode operation, final OperationStepHandler step) {
+        return modelController.executeReadOnlyOperation(operation, managementModel, null, step, this, operationId);
+    }
+
     private boolean validateCapabilities() {
 
         if (! (affectsResourceTree || affectsCapabilityRegistry || affectsResourceRegistration || affectsRuntime)) {
@@ -620,6 +633,13 @@ final class OperationContextImpl extends AbstractOperationContext {
         return new OperationContextServiceRegistry(modelController.getServiceRegistry(), registryActiveStep);
     }
 
+    @Override
+    ServiceRegistry getServiceRegistry(final Step step) {
+        assertNotComplete(currentStage);
+        authorize(step, false, READ_RUNTIME);
+        return new OperationContextServiceRegistry(modelController.getServiceRegistry(), activeStep);
+    }
+
     public ServiceController<?> removeService(final ServiceName name) throws UnsupportedOperationException {
 
         readOnly = false;
@@ -950,14 +970,15 @@ final class OperationContextImpl extends AbstractOperationContext {
         authorize(false, runtimeOnly ? READ_WRITE_RUNTIME : READ_WRITE_CONFIG);
         ensureLocalRootResource();
         affectsModel.put(address, NULL);
-        Resource resource = this.managementModel.getRootResource();
+        Resource resource = this.managementModel.getRootResourceForUpdate();
         for (PathElement element : address) {
             if (element.isMultiTarget()) {
                 throw ControllerLogger.ROOT_LOGGER.cannotWriteTo("*");
             }
             resource = requireChild(resource, element, address);
         }
-        return resource;
+        // Callers may rely on the type of the resource they registered, so only expose the view if that is required
+        return ((CopyOnWriteResource) resource).getResourceForUpdate();
     }
 
     private boolean isResourceRuntimeOnly(PathAddress fullAddress) {
@@ -1030,7 +1051,7 @@ final class OperationContextImpl extends AbstractOperationContext {
         authorizeAdd(runtimeOnly);
         ensureLocalRootResource();
         affectsModel.put(absoluteAddress, NULL);
-        Resource model = this.managementModel.getRootResource();
+        Resource model = this.managementModel.getRootResourceForUpdate();
         final Iterator<PathElement> i = absoluteAddress.iterator();
         while (i.hasNext()) {
             final PathElement element = i.next();
@@ -1093,7 +1114,7 @@ final class OperationContextImpl extends AbstractOperationContext {
         authorize(false, runtimeOnly ? READ_WRITE_RUNTIME : READ_WRITE_CONFIG);
         ensureLocalRootResource();
         affectsModel.put(address, NULL);
-        Resource model = this.managementModel.getRootResource();
+        Resource model = this.managementModel.getRootResourceForUpdate();
         final Iterator<PathElement> i = address.iterator();
         while (i.hasNext()) {
             final PathElement element = i.next();
@@ -1311,11 +1332,16 @@ final class OperationContextImpl extends AbstractOperationContext {
 
     @Override
     public AuthorizationResponseImpl authorizeResource(boolean attributes, boolean isDefaultResponse) {
+        return authorizeResource(activeStep, attributes, isDefaultResponse);
+    }
+
+    @Override
+    AuthorizationResponseImpl authorizeResource(Step step, boolean attributes, boolean isDefaultResponse) {
         ModelNode op = new ModelNode();
         op.get(OP).set(isDefaultResponse ? GlobalOperationHandlers.CHECK_DEFAULT_RESOURCE_ACCESS : GlobalOperationHandlers.CHECK_RESOURCE_ACCESS);
-        op.get(OP_ADDR).set(activeStep.operation.get(OP_ADDR));
-        if (activeStep.operation.hasDefined(OPERATION_HEADERS)) {
-            op.get(OPERATION_HEADERS).set(activeStep.operation.get(OPERATION_HEADERS));
+        op.get(OP_ADDR).set(step.operation.get(OP_ADDR));
+        if (step.operation.hasDefined(OPERATION_HEADERS)) {
+            op.get(OPERATION_HEADERS).set(step.operation.get(OPERATION_HEADERS));
         }
         OperationId opId = new OperationId(op);
         AuthorizationResponseImpl authResp = authorizations.get(opId);
@@ -1422,6 +1448,11 @@ final class OperationContextImpl extends AbstractOperationContext {
 
     @Override
     public AuthorizationResult authorizeOperation(ModelNode operation) {
+        return authorizeOperation(activeStep, operation);
+    }
+
+    @Override
+    AuthorizationResult authorizeOperation(Step step, ModelNode operation) {
         OperationId opId = new OperationId(operation);
         AuthorizationResult resourceResult = authorize(opId, operation, false, EnumSet.of(ActionEffect.ADDRESS));
         if (resourceResult.getDecision() == AuthorizationResult.Decision.DENY) {
@@ -1439,7 +1470,7 @@ final class OperationContextImpl extends AbstractOperationContext {
             if (authResult == null) {
                 OperationEntry operationEntry = authResp.targetResource.getResourceRegistration().getOperationEntry(PathAddress.EMPTY_ADDRESS, operationName);
 
-                operation.get(OPERATION_HEADERS).set(activeStep.operation.get(OPERATION_HEADERS));
+                operation.get(OPERATION_HEADERS).set(step.operation.get(OPERATION_HEADERS));
                 Action targetAction = new Action(operation, operationEntry);
 
                 authResult = modelController.getAuthorizer().authorize(getCaller(), getCallEnvironment(), targetAction, authResp.targetResource);
@@ -1448,10 +1479,10 @@ final class OperationContextImpl extends AbstractOperationContext {
                 //When authorizing the 'add' operation, make sure that all the attributes are accessible
                 if (authResult.getDecision() == AuthorizationResult.Decision.PERMIT && operationName.equals(ModelDescriptionConstants.ADD)) {
                     if (!authResp.attributesComplete) {
-                        authResp = authorizeResource(true, false);
+                        authResp = authorizeResource(step, true, false);
                         authResp.addOperationResult(operationName, authResult);
                     }
-                    authResult = authResp.validateAddAttributeEffects(ADD, targetAction.getActionEffects(), activeStep.operation);
+                    authResult = authResp.validateAddAttributeEffects(ADD, targetAction.getActionEffects(), step.operation);
                 }
             }
 
@@ -1695,18 +1726,22 @@ final class OperationContextImpl extends AbstractOperationContext {
     }
 
     private void authorize(boolean allAttributes, Set<Action.ActionEffect> actionEffects) {
-        AuthorizationResult accessResult = authorize(activeStep.operationId, activeStep.operation, false, ADDRESS);
+        authorize(activeStep, allAttributes, actionEffects);
+    }
+
+    private void authorize(Step step, boolean allAttributes, Set<Action.ActionEffect> actionEffects) {
+        AuthorizationResult accessResult = authorize(step.operationId, step.operation, false, ADDRESS);
         if (accessResult.getDecision() == AuthorizationResult.Decision.DENY) {
-            if (activeStep.address.size() > 0) {
-                throw new ResourceNotAddressableException(activeStep.address);
+            if (step.address.size() > 0) {
+                throw new ResourceNotAddressableException(step.address);
             } else {
                 // WFLY-2037 -- the root resource isn't hidden; if we hit this it means the user isn't authorized
-                throw ControllerLogger.ROOT_LOGGER.unauthorized(activeStep.operationId.name, activeStep.address, accessResult.getExplanation());
+                throw ControllerLogger.ROOT_LOGGER.unauthorized(step.operationId.name, step.address, accessResult.getExplanation());
             }
         }
-        AuthorizationResult authResult = authorize(activeStep.operationId, activeStep.operation, allAttributes, actionEffects);
+        AuthorizationResult authResult = authorize(step.operationId, step.operation, allAttributes, actionEffects);
         if (authResult.getDecision() == AuthorizationResult.Decision.DENY) {
-            throw ControllerLogger.ROOT_LOGGER.unauthorized(activeStep.operationId.name, activeStep.address, authResult.getExplanation());
+            throw ControllerLogger.ROOT_LOGGER.unauthorized(step.operationId.name, step.address, authResult.getExplanation());
         }
     }
 
@@ -2479,9 +2514,10 @@ final class OperationContextImpl extends AbstractOperationContext {
 
     private class AuthorizationResponseImpl implements ResourceAuthorization {
 
-        private Map<Action.ActionEffect, AuthorizationResult> resourceResults = new HashMap<Action.ActionEffect, AuthorizationResult>();
-        private Map<String, Map<Action.ActionEffect, AuthorizationResult>> attributeResults = new HashMap<String, Map<Action.ActionEffect, AuthorizationResult>>();
-        private Map<String, AuthorizationResult> operationResults = new HashMap<String, AuthorizationResult>();
+        // Concurrent as read-only operations executed on other threads authorize through this context
+        private Map<Action.ActionEffect, AuthorizationResult> resourceResults = new ConcurrentHashMap<Action.ActionEffect, AuthorizationResult>();
+        private Map<String, Map<Action.ActionEffect, AuthorizationResult>> attributeResults = new ConcurrentHashMap<String, Map<Action.ActionEffect, AuthorizationResult>>();
+        private Map<String, AuthorizationResult> operationResults = new ConcurrentHashMap<String, AuthorizationResult>();
         private final TargetResource targetResource;
         private final Action standardAction;
         private volatile boolean attributesComplete = false;
@@ -2511,7 +2547,7 @@ final class OperationContextImpl extends AbstractOperationContext {
         private void addAttributeResult(String attribute, Action.ActionEffect actionEffect, AuthorizationResult result) {
             Map<Action.ActionEffect, AuthorizationResult> attrResults = attributeResults.get(attribute);
             if (attrResults == null) {
-                attrResults = new HashMap<Action.ActionEffect, AuthorizationResult>();
+                attrResults = new ConcurrentHashMap<Action.ActionEffect, AuthorizationResult>();
                 attributeResults.put(attribute, attrResults);
             }
             attrResults.put(actionEffect, result);
@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STAGE;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+
+/**
+ * The timings of the management operations executed by a {@link ModelControllerImpl}:
+ * <ul>
+ *     <li>the time spent by each operation in each {@link OperationContext.Stage stage}, keyed by operation name.
+ *     The {@code VERIFY} stage includes waiting for the service container to stabilize after the {@code RUNTIME}
+ *     stage, and the {@code DONE} stage includes persisting the configuration and running the result handlers. The
+ *     time spent rolling back a failed operation is included in the stage that failed;</li>
+ *     <li>the time spent waiting to acquire the controller lock;</li>
+ *     <li>the time spent persisting the configuration.</li>
+ * </ul>
+ * Operations executed while booting are not included.
+ */
+final class OperationTimings {
+
+    /** Bounds the memory used if clients execute many operations that do not exist */
+    private static final int MAX_OPERATIONS = 512;
+    private static final OperationContext.Stage[] STAGES = OperationContext.Stage.values();
+
+    private volatile ConcurrentMap<String, AtomicReferenceArray<LatencyHistogram>> operations = new ConcurrentHashMap<>();
+    private volatile LatencyHistogram lockWait = new LatencyHistogram();
+    private volatile LatencyHistogram persistence = new LatencyHistogram();
+
+    void recordStage(final String operationName, final OperationContext.Stage stage, final long nanos) {
+        final ConcurrentMap<String, AtomicReferenceArray<LatencyHistogram>> operations = this.operations;
+        AtomicReferenceArray<LatencyHistogram> stages = operations.get(operationName);
+        if (stages == null) {
+            if (operations.size() >= MAX_OPERATIONS) {
+                return;
+            }
+            stages = operations.computeIfAbsent(operationName, name -> new AtomicReferenceArray<>(STAGES.length));
+        }
+        // Most operations do not go through all stages, so the histograms are only created when needed
+        LatencyHistogram histogram = stages.get(stage.ordinal());
+        if (histogram == null) {
+            stages.compareAndSet(stage.ordinal(), null, new LatencyHistogram());
+            histogram = stages.get(stage.ordinal());
+        }
+        histogram.record(nanos);
+    }
+
+    void recordLockWait(final long nanos) {
+        lockWait.record(nanos);
+    }
+
+    void recordPersistence(final long nanos) {
+        persistence.record(nanos);
+    }
+
+    /**
+     * Discards all recorded timings.
+     */
+    void reset() {
+        operations = new ConcurrentHashMap<>();
+        lockWait = new LatencyHistogram();
+        persistence = new LatencyHistogram();
+    }
+
+    /**
+     * Gets the statistics of the time spent by each operation in each stage.
+     */
+    ModelNode getOperationTimings() {
+        final ModelNode operationTimings = new ModelNode().setEmptyList();
+        // Sorted so the output is stable
+        final Map<String, AtomicReferenceArray<LatencyHistogram>> sorted = new TreeMap<>(operations);
+        for (Map.Entry<String, AtomicReferenceArray<LatencyHistogram>> entry : sorted.entrySet()) {
+            for (OperationContext.Stage stage : STAGES) {
+                final LatencyHistogram histogram = entry.getValue().get(stage.ordinal());
+                if (histogram != null) {
+                    final ModelNode timing = new ModelNode();
+                    timing.get(OP).set(entry.getKey());
+                    timing.get(STAGE).set(stage.toString());
+                    for (Property property : histogram.toModelNode().asPropertyList()) {
+                        timing.get(property.getName()).set(property.getValue());
+                    }
+                    operationTimings.add(timing);
+                }
+            }
+        }
+        return operationTimings;
+    }
+
+    ModelNode getLockWaitTime() {
+        return lockWait.toModelNode();
+    }
+
+    ModelNode getPersistenceTime() {
+        return persistence.toModelNode();
+    }
+}
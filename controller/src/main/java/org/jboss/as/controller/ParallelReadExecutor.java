@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_PARALLELISM;
+
+import java.net.InetAddress;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.auth.server.SecurityIdentity;
+
+/**
+ * Executes independent read-only operations on behalf of an operation, concurrently. Each operation is executed in its
+ * own read-only context delegating to the context of the calling operation, on a shared pool with one thread per
+ * processor, while the calling thread waits for all of them to complete. The read-only contexts call into the context
+ * of the calling operation one at a time, and authorize against the address and headers of their own operations.
+ * <p>
+ * This is opt-in: callers only use it if the operation has a {@code read-parallelism} operation header greater than 1,
+ * which is also the maximum number of operations executed concurrently on its behalf.
+ * <p>
+ * <strong>This is internal API, for use by the global read operations.</strong>
+ */
+public final class ParallelReadExecutor {
+
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private ParallelReadExecutor() {
+    }
+
+    /**
+     * Gets the maximum number of read-only operations that may be executed concurrently on behalf of an operation.
+     *
+     * @param context the context of the operation
+     * @param operation the operation
+     * @return the value of the {@code read-parallelism} header, or 1 if it is not defined or if the context does not
+     *         support executing operations concurrently
+     */
+    public static int getParallelism(final OperationContext context, final ModelNode operation) {
+        if (!(context instanceof OperationContextImpl) || context.isBooting()
+                || !operation.hasDefined(OPERATION_HEADERS, READ_PARALLELISM)) {
+            return 1;
+        }
+        return Math.max(1, operation.get(OPERATION_HEADERS, READ_PARALLELISM).asInt());
+    }
+
+    /**
+     * Executes read-only operations concurrently, and waits for all of them to complete. The response of each
+     * operation is set in its {@link ReadStep#getResponse() response} node. The failure of an operation does not
+     * fail the calling operation, it is up to the caller to check the responses.
+     *
+     * @param context the context of the calling operation. Cannot be {@code null}
+     * @param steps the operations to execute. Cannot be {@code null}
+     * @param parallelism the maximum number of operations to execute concurrently, as returned by
+     *                    {@link #getParallelism(OperationContext, ModelNode)}
+     *
+     * @throws IllegalStateException if the context does not support executing operations concurrently
+     */
+    public static void execute(final OperationContext context, final List<ReadStep> steps, final int parallelism) {
+        if (!(context instanceof OperationContextImpl)) {
+            throw new IllegalStateException();
+        }
+        final OperationContextImpl primaryContext = (OperationContextImpl) context;
+
+        // The read-only contexts authorize through the primary context, as the caller of this thread
+        final SecurityIdentity securityIdentity = context.getSecurityIdentity();
+        @SuppressWarnings("deprecation")
+        final AccessAuditContext accessAuditContext = AccessAuditContext.currentAccessAuditContext();
+
+        final AtomicInteger next = new AtomicInteger();
+        final PrivilegedAction<Void> worker = () -> {
+            if (accessAuditContext != null) {
+                @SuppressWarnings("deprecation")
+                final AccessAuditContext current = AccessAuditContext.currentAccessAuditContext();
+                current.setAccessMechanism(accessAuditContext.getAccessMechanism());
+                current.setDomainUuid(accessAuditContext.getDomainUuid());
+                current.setDomainRollout(accessAuditContext.isDomainRollout());
+            }
+            // Workers pull the next operation rather than having a task per operation, which bounds the
+            // concurrency of this operation regardless of the size of the pool
+            int i;
+            while ((i = next.getAndIncrement()) < steps.size()) {
+                final ReadStep step = steps.get(i);
+                step.response.set(primaryContext.executeReadOnlyOperation(step.operation, step.handler));
+            }
+            return null;
+        };
+        final InetAddress remoteAddress = accessAuditContext == null ? null : accessAuditContext.getRemoteAddress();
+
+        final int workers = Math.min(parallelism, steps.size());
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                tasks.add(PoolHolder.POOL.submit(() -> AccessAuditContext.doAs(securityIdentity, remoteAddress, worker)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ControllerLogger.ROOT_LOGGER.operationCancelledAsynchronously();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            // Stop the workers still running if we failed or were cancelled
+            next.set(steps.size());
+        }
+    }
+
+    /**
+     * A read-only operation to execute, and the node its response is set in.
+     */
+    public static final class ReadStep {
+
+        private final ModelNode response;
+        private final ModelNode operation;
+        private final OperationStepHandler handler;
+
+        /**
+         * Creates a read-only operation to execute, with the same arguments as
+         * {@link OperationContext#addStep(ModelNode, ModelNode, OperationStepHandler, OperationContext.Stage)}.
+         *
+         * @param response the node the response of the operation is set in. Cannot be {@code null}
+         * @param operation the operation. Cannot be {@code null}
+         * @param handler the handler of the operation. Cannot be {@code null}
+         */
+        public ReadStep(final ModelNode response, final ModelNode operation, final OperationStepHandler handler) {
+            this.response = response;
+            this.operation = operation;
+            this.handler = handler;
+        }
+
+        public ModelNode getResponse() {
+            return response;
+        }
+    }
+
+    private static final class PoolHolder {
+
+        private static final ForkJoinPool POOL = new ForkJoinPool(POOL_SIZE, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("management-read-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
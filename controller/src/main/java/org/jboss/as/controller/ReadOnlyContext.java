@@ -81,7 +81,8 @@ class ReadOnlyContext extends AbstractOperationContext {
 
     @Override
     ResultAction executeOperation() {
-        // WFCORE-2 allow this thread to be treated as a controlling thread
+        // WFCORE-2 allow this thread to be treated as a controlling thread. Several read-only contexts may be executed
+        // concurrently on behalf of the primary context, so all calls into it are made holding its delegation lock
         AbstractOperationContext.controllingThread.set(primaryContext.initiatingThread);
         try {
             return super.executeOperation();
@@ -90,6 +91,12 @@ class ReadOnlyContext extends AbstractOperationContext {
         }
     }
 
+    @Override
+    boolean isTimed() {
+        // Timed as part of the primary operation
+        return false;
+    }
+
     @Override
     ModelControllerImpl.ManagementModelImpl getManagementModel() {
         return managementModel;
@@ -170,7 +177,9 @@ class ReadOnlyContext extends AbstractOperationContext {
         if (modify) {
             throw readOnlyContext();
         }
-        return primaryContext.getServiceRegistry(false);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.getServiceRegistry(activeStep);
+        }
     }
 
     @Override
@@ -185,7 +194,9 @@ class ReadOnlyContext extends AbstractOperationContext {
 
     @Override
     public ServiceTarget getServiceTarget() throws UnsupportedOperationException {
-        return primaryContext.getServiceTarget();
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.getServiceTarget();
+        }
     }
 
     @Override
@@ -245,7 +256,9 @@ class ReadOnlyContext extends AbstractOperationContext {
 
     @Override
     Resource readResourceFromRoot(ManagementModel model, PathAddress address, boolean recursive) {
-        return primaryContext.readResourceFromRoot(model, address, recursive);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.readResourceFromRoot(model, address, recursive);
+        }
     }
 
     @Override
@@ -260,7 +273,9 @@ class ReadOnlyContext extends AbstractOperationContext {
 
     @Override
     public Resource getOriginalRootResource() {
-        return primaryContext.getOriginalRootResource();
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.getOriginalRootResource();
+        }
     }
 
     @Override
@@ -270,12 +285,16 @@ class ReadOnlyContext extends AbstractOperationContext {
 
     @Override
     public boolean isResourceRegistryAffected() {
-        return primaryContext.isResourceRegistryAffected();
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.isResourceRegistryAffected();
+        }
     }
 
     @Override
     public boolean isRuntimeAffected() {
-        return primaryContext.isRuntimeAffected();
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.isRuntimeAffected();
+        }
     }
 
     @Override
@@ -300,7 +319,9 @@ class ReadOnlyContext extends AbstractOperationContext {
 
     @Override
     public ModelNode resolveExpressions(ModelNode node) throws OperationFailedException {
-        return primaryContext.resolveExpressions(node);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.resolveExpressions(node);
+        }
     }
 
     @Override
@@ -308,7 +329,9 @@ class ReadOnlyContext extends AbstractOperationContext {
         if (valueAttachments.containsKey(key)) {
             return key.cast(valueAttachments.get(key));
         }
-        return primaryContext.getAttachment(key);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.getAttachment(key);
+        }
     }
 
     @Override
@@ -331,22 +354,30 @@ class ReadOnlyContext extends AbstractOperationContext {
 
     @Override
     public AuthorizationResult authorize(ModelNode operation) {
-        return primaryContext.authorize(operation);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.authorize(operation);
+        }
     }
 
     @Override
     public AuthorizationResult authorize(ModelNode operation, Set<Action.ActionEffect> effects) {
-        return primaryContext.authorize(operation, effects);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.authorize(operation, effects);
+        }
     }
 
     @Override
     public AuthorizationResult authorize(ModelNode operation, String attribute, ModelNode currentValue) {
-        return primaryContext.authorize(operation, attribute, currentValue);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.authorize(operation, attribute, currentValue);
+        }
     }
 
     @Override
     public AuthorizationResult authorize(ModelNode operation, String attribute, ModelNode currentValue, Set<Action.ActionEffect> effects) {
-        return primaryContext.authorize(operation, attribute, currentValue, effects);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.authorize(operation, attribute, currentValue, effects);
+        }
     }
 
     IllegalStateException readOnlyContext() {
@@ -355,12 +386,16 @@ class ReadOnlyContext extends AbstractOperationContext {
 
     @Override
     public AuthorizationResult authorizeOperation(ModelNode operation) {
-        return primaryContext.authorizeOperation(operation);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.authorizeOperation(activeStep, operation);
+        }
     }
 
     @Override
     public ResourceAuthorization authorizeResource(boolean attributes, boolean isDefaultResource) {
-        return primaryContext.authorizeResource(attributes, isDefaultResource);
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.authorizeResource(activeStep, attributes, isDefaultResource);
+        }
     }
 
     @Override
@@ -369,7 +404,9 @@ class ReadOnlyContext extends AbstractOperationContext {
     }
 
     Resource getModel() {
-        return primaryContext.getModel();
+        synchronized (primaryContext.readOnlyDelegationLock) {
+            return primaryContext.getModel();
+        }
     }
 
     @Override
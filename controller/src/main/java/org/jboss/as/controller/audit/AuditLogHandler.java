@@ -88,6 +88,33 @@ abstract class AuditLogHandler {
         }
     }
 
+    /**
+     * Formats an item for a later {@link #writeLogItems(List)}. As for {@link #writeLogItem(AuditLogItem)},
+     * the formatters must be cleared once all handlers have formatted the item.
+     *
+     * @param item the log item
+     * @return the formatted item
+     */
+    String formatLogItem(AuditLogItem item) {
+        return item.format(formatter);
+    }
+
+    /**
+     * Writes several formatted items at once, counting a failure to write them as a single failure.
+     *
+     * @param formattedItems the items formatted by {@link #formatLogItem(AuditLogItem)}
+     */
+    void writeLogItems(List<String> formattedItems) {
+        FailureCountHandler fch = getFailureCountHandler();
+        try {
+            initialize();
+            writeFormattedItems(formattedItems);
+            fch.success();
+        } catch (Throwable t) {
+            fch.failure(t);
+        }
+    }
+
     void recycle() {
         this.failureCount = 0;
         stop();
@@ -133,6 +160,19 @@ abstract class AuditLogHandler {
     abstract void stop();
     abstract void writeLogItem(String formattedItem) throws IOException;
 
+    /**
+     * Writes formatted items, by default one at a time. Handlers which can write several items more cheaply
+     * than one at a time, e.g. by syncing a file once, should override this.
+     *
+     * @param formattedItems the formatted items
+     * @throws IOException if an error occurs writing the items
+     */
+    void writeFormattedItems(List<String> formattedItems) throws IOException {
+        for (String formattedItem : formattedItems) {
+            writeLogItem(formattedItem);
+        }
+    }
+
     List<ModelNode> listLastEntries() {
         return Collections.emptyList();
     }
@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.util.Collection;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded ring buffer of the records waiting for the writer thread of an asynchronous audit logger.
+ * <p>
+ * Unlike a {@link java.util.concurrent.BlockingQueue}, the writer thread can wait for records without removing
+ * them, so that records are only ever removed with {@link ManagedAuditLoggerImpl}'s lock taken and are written
+ * in the order they were logged, whichever thread writes them.
+ *
+ * @param <E> the type of the queued records
+ */
+final class AuditLogQueue<E> {
+
+    private final Object[] items;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /** Guarded by lock - the index of the oldest record */
+    private int head;
+    /** Guarded by lock - the number of queued records */
+    private int count;
+    /** Guarded by lock */
+    private boolean closed;
+
+    AuditLogQueue(int capacity) {
+        assert capacity > 0 : "capacity must be positive";
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * Adds a record to the queue.
+     *
+     * @param item the record
+     * @param block {@code true} to wait for space if the queue is full
+     * @return {@code true} if the record was queued, {@code false} if the queue was full or closed
+     * @throws InterruptedException if interrupted while waiting for space
+     */
+    boolean offer(E item, boolean block) throws InterruptedException {
+        lock.lock();
+        try {
+            while (count == items.length && block && !closed) {
+                notFull.await();
+            }
+            if (count == items.length || closed) {
+                return false;
+            }
+            items[(head + count) % items.length] = item;
+            count++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes at most {@code max} records from the queue, oldest first.
+     *
+     * @param target the collection to add the removed records to
+     * @param max the maximum number of records to remove
+     * @return the number of removed records
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(Collection<? super E> target, int max) {
+        lock.lock();
+        try {
+            final int drained = Math.min(max, count);
+            for (int i = 0; i < drained; i++) {
+                target.add((E) items[head]);
+                items[head] = null;
+                head = (head + 1) % items.length;
+            }
+            count -= drained;
+            if (drained > 0) {
+                notFull.signalAll();
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until there are records in the queue, without removing them.
+     *
+     * @return {@code true} if there are records, {@code false} if the queue was closed and is empty
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitNotEmpty() throws InterruptedException {
+        lock.lock();
+        try {
+            while (count == 0 && !closed) {
+                notEmpty.await();
+            }
+            return count > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the queue. No more records are accepted, and threads waiting for space are released.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int capacity() {
+        return items.length;
+    }
+}
@@ -200,6 +200,35 @@ public interface ManagedAuditLogger extends AuditLogger {
         return Collections.emptyList();
     }
 
+    /**
+     * Sets whether log records are written by a dedicated writer thread rather than by the thread logging them.
+     * Records logged while writing asynchronously wait in a bounded queue, and are written in batches.
+     *
+     * @param async {@code true} to write asynchronously, {@code false} to write synchronously
+     * @param queueSize the maximum number of records waiting to be written
+     * @param overflowPolicy what to do with a record logged while the queue is full
+     */
+    default void setAsync(boolean async, int queueSize, OverflowPolicy overflowPolicy) {
+    }
+
+    /**
+     * Gets the number of records waiting to be written by the writer thread
+     *
+     * @return the queue depth, {@code 0} if not writing asynchronously
+     */
+    default int getQueueDepth() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of records which were discarded because the queue was full
+     *
+     * @return the number of discarded records
+     */
+    default long getDroppedCount() {
+        return 0;
+    }
+
     /**
      * Callback for the controller to call before the controller is booted
      */
@@ -210,6 +239,16 @@ public interface ManagedAuditLogger extends AuditLogger {
      */
     void bootDone();
 
+    /**
+     * What to do with a record logged while the queue of an asynchronous audit logger is full.
+     */
+    enum OverflowPolicy {
+        /** Wait until the writer thread has made space in the queue */
+        BLOCK,
+        /** Discard the record, and count it as dropped */
+        DISCARD
+    }
+
     /**
      * <p>The audit log handler updater. Additive changes will be used for the audit log record as a result of
      * management operations causing updates here. Removals and updates will not take effect until the current audit log
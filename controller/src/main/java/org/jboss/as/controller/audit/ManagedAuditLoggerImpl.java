@@ -24,16 +24,22 @@
 
 package org.jboss.as.controller.audit;
 
+import static java.security.AccessController.doPrivileged;
+
 import java.io.IOException;
 import java.net.InetAddress;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -44,6 +50,7 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.dmr.ModelNode;
+import org.jboss.threads.JBossThreadFactory;
 
 /**
  * Audit logger wrapper
@@ -60,8 +67,9 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     /** If we are the core audit logger, list the children */
     private final ManagedAuditLogConfiguration config;
 
-    /** Guarded by config's auditLock - updates to the handlers */
-    private HandlerUpdateTask handlerUpdateTask;
+    /** Guarded by config's auditLock - updates to the handlers. Volatile so that records can be queued for
+      * the writer thread without taking the lock only if there are no updates to apply after logging them */
+    private volatile HandlerUpdateTask handlerUpdateTask;
 
     /** Guarded by config's auditLock - the messages logged while in the QUEUEING state */
     private final List<AuditLogItem> queuedItems = new ArrayList<AuditLogItem>();
@@ -92,6 +100,13 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         if (runDisabledFastPath.get())
             return;
 
+        final AsyncWriter asyncWriter = getAsyncWriter();
+        if (asyncWriter != null && (isFiltered(readOnly) || asyncWriter.queue(this,
+                AuditLogItem.createModelControllerItem(config.getAsVersion(), readOnly, config.isBooting(), resultAction, userId, domainUUID,
+                        accessMechanism, remoteAddress, resultantModel, operations)))) {
+            return;
+        }
+
         config.lock();
         try {
             if (skipLogging(readOnly)) {
@@ -114,6 +129,20 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         if (runDisabledFastPath.get())
             return;
 
+        final AsyncWriter asyncWriter = getAsyncWriter();
+        if (asyncWriter != null) {
+            if (isFiltered(readOnly)) {
+                return;
+            }
+            // The caller owns the parameters and may modify them once the record is queued
+            final Object[] formattedParams = formatMethodParams(methodParams);
+            if (formattedParams != null && asyncWriter.queue(this,
+                    AuditLogItem.createMethodAccessItem(config.getAsVersion(), readOnly, config.isBooting(), userId, domainUUID, accessMechanism,
+                            remoteAddress, methodName, methodSignature == null ? null : methodSignature.clone(), formattedParams, error))) {
+                return;
+            }
+        }
+
         config.lock();
         try {
             if (skipLogging(readOnly)) {
@@ -130,8 +159,48 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    /**
+     * Formats the parameters of a JMX method on the calling thread, the way the formatters would.
+     *
+     * @return the formatted parameters, or {@code null} if one of them cannot be formatted, in which case the record
+     *          must be stored with the lock taken so that the failure is handled
+     */
+    private static Object[] formatMethodParams(Object[] methodParams) {
+        if (methodParams == null) {
+            return null;
+        }
+        final Object[] formatted = new Object[methodParams.length];
+        try {
+            for (int i = 0; i < methodParams.length; i++) {
+                formatted[i] = methodParams[i] == null ? null : methodParams[i].toString();
+            }
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return formatted;
+    }
+
+    /**
+     * Gets the writer thread to queue a record for without taking the lock. That is only possible if queueing the
+     * record has the same outcome as storing it with the lock taken, i.e. if the logger is simply logging and there
+     * are no handler updates to apply once the record has been logged.
+     *
+     * @return the writer, or {@code null} if the record must be stored with the lock taken
+     */
+    private AsyncWriter getAsyncWriter() {
+        final AsyncWriter asyncWriter = config.getAsyncWriter();
+        if (asyncWriter == null || handlerUpdateTask != null || config.getLoggerStatus() != Status.LOGGING) {
+            return null;
+        }
+        return asyncWriter;
+    }
+
+    private boolean isFiltered(boolean readOnly) {
+        return config.isBooting() && !config.isLogBoot() || readOnly && !config.isLogReadOnly();
+    }
+
     private boolean skipLogging(boolean readOnly) {
-        if (config.isBooting() && !isLogBoot() || readOnly && !isLogReadOnly()) {
+        if (isFiltered(readOnly)) {
             if (getLoggerStatus() == Status.DISABLED) {
                 // switch to the fast path for the next event
                 runDisabledFastPath.set(true);
@@ -258,6 +327,8 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
 
     /** protected by config's audit lock */
     private void writeLogItem(AuditLogItem item) throws IOException{
+        // Records queued for the writer thread were logged first
+        config.flushAsyncWriter();
         Set<String> formatterNames = new HashSet<String>();
         try {
             for (AuditLogHandler handler : config.getHandlersForLogging()) {
@@ -271,6 +342,26 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    /**
+     * Formats a record queued for the writer thread, for each of the handlers it should be written to.
+     * protected by config's audit lock
+     */
+    private void formatLogItem(AuditLogItem item, Map<AuditLogHandler, List<String>> formattedItems) {
+        Set<String> formatterNames = new HashSet<String>();
+        try {
+            for (AuditLogHandler handler : config.getHandlersForLogging()) {
+                formatterNames.add(handler.getFormatterName());
+                formattedItems.computeIfAbsent(handler, h -> new ArrayList<String>()).add(handler.formatLogItem(item));
+            }
+        } catch (Exception e) {
+            handleLoggingException(e);
+        } finally {
+            for (String formatterName : formatterNames) {
+                config.getFormatter(formatterName).clear();
+            }
+        }
+    }
+
     /** protected by config's audit lock */
     private void handleLoggingException(final Exception e) {
         ControllerLogger.MGMT_OP_LOGGER.failedToUpdateAuditLog(e);
@@ -388,6 +479,8 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     /** Call with lock taken */
     private void applyHandlerUpdates() {
         if (handlerUpdateTask != null) {
+            // Records queued for the writer thread must be written to the handlers as they were when logged
+            config.flushAsyncWriter();
             handlerUpdateTask.applyChanges();
             handlerUpdateTask = null;
         }
@@ -507,6 +600,27 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    @Override
+    public void setAsync(boolean async, int queueSize, OverflowPolicy overflowPolicy) {
+        config.lock();
+        try {
+            config.setAsync(async, queueSize, overflowPolicy);
+        } finally {
+            config.unlock();
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        final AsyncWriter asyncWriter = config.getAsyncWriter();
+        return asyncWriter == null ? 0 : asyncWriter.getQueueDepth();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return config.getDroppedCount();
+    }
+
     @Override
     public List<ModelNode> listLastEntries(String name) {
         config.lock();
@@ -610,6 +724,24 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             sharedConfiguration.setBooting(booting);
         }
 
+        /** Call with lock taken */
+        void setAsync(boolean async, int queueSize, OverflowPolicy overflowPolicy) {
+            sharedConfiguration.setAsync(async, queueSize, overflowPolicy);
+        }
+
+        /** Call with lock taken */
+        void flushAsyncWriter() {
+            sharedConfiguration.flushAsyncWriter();
+        }
+
+        AsyncWriter getAsyncWriter() {
+            return sharedConfiguration.getAsyncWriter();
+        }
+
+        long getDroppedCount() {
+            return sharedConfiguration.getDroppedCount();
+        }
+
         /** Call with lock taken */
         boolean isBooting() {
             return sharedConfiguration.isBooting();
@@ -747,8 +879,14 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         /** Guarded by auditLock - the handlers configured in the global file-handlers and syslog-handlers section */
         private final Map<String, AuditLogHandler> configuredHandlers = new HashMap<String, AuditLogHandler>();
 
-        /** Guarded by auditLock - whether we are boothing or not */
-        private boolean booting = true;
+        /** Guarded by auditLock - whether we are boothing or not. Volatile so records can be filtered without the lock */
+        private volatile boolean booting = true;
+
+        /** Guarded by auditLock - the writer thread, if records are written asynchronously */
+        private volatile AsyncWriter asyncWriter;
+
+        /** The number of records discarded because the queue of the writer thread was full */
+        private final AtomicLong droppedCount = new AtomicLong();
 
 
         SharedConfiguration(String asVersion, boolean server) {
@@ -813,6 +951,156 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             return booting;
         }
 
+        void setAsync(boolean async, int queueSize, OverflowPolicy overflowPolicy) {
+            final AsyncWriter current = asyncWriter;
+            if (current != null) {
+                if (async && current.hasConfiguration(queueSize, overflowPolicy)) {
+                    return;
+                }
+                asyncWriter = null;
+                current.stop();
+            }
+            if (async) {
+                asyncWriter = new AsyncWriter(this, queueSize, overflowPolicy);
+                asyncWriter.start();
+            }
+        }
+
+        void flushAsyncWriter() {
+            final AsyncWriter current = asyncWriter;
+            if (current != null) {
+                current.flush();
+            }
+        }
+
+        AsyncWriter getAsyncWriter() {
+            return asyncWriter;
+        }
+
+        long getDroppedCount() {
+            return droppedCount.get();
+        }
+    }
+
+    /**
+     * A record queued for the writer thread, along with the logger whose handlers it should be written to.
+     */
+    private static final class QueuedItem {
+        private final ManagedAuditLoggerImpl logger;
+        private final AuditLogItem item;
+
+        QueuedItem(ManagedAuditLoggerImpl logger, AuditLogItem item) {
+            this.logger = logger;
+            this.item = item;
+        }
+    }
+
+    /**
+     * Writes the records queued by all the loggers sharing a configuration on a dedicated thread, so that
+     * slow handlers do not hold up the threads logging the records. Queued records are written in batches, and
+     * each handler writes a whole batch at once.
+     * <p>
+     * Records are only removed from the queue with the lock taken, so any thread writing records with the lock
+     * taken can write the queued records first to keep the records in order.
+     */
+    private static final class AsyncWriter implements Runnable {
+        private static final int MAX_BATCH_SIZE = 256;
+        private static final ThreadFactory THREAD_FACTORY = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("management-audit-log-writer-thread"), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+
+        private final SharedConfiguration sharedConfiguration;
+        private final AuditLogQueue<QueuedItem> queue;
+        private final OverflowPolicy overflowPolicy;
+        private final Thread thread;
+
+        AsyncWriter(SharedConfiguration sharedConfiguration, int queueSize, OverflowPolicy overflowPolicy) {
+            this.sharedConfiguration = sharedConfiguration;
+            this.queue = new AuditLogQueue<>(queueSize);
+            this.overflowPolicy = overflowPolicy;
+            this.thread = THREAD_FACTORY.newThread(this);
+        }
+
+        boolean hasConfiguration(int queueSize, OverflowPolicy overflowPolicy) {
+            return queue.capacity() == queueSize && this.overflowPolicy == overflowPolicy;
+        }
+
+        int getQueueDepth() {
+            return queue.size();
+        }
+
+        /**
+         * Queues a record, or discards it if the queue is full and the overflow policy says so.
+         *
+         * @return {@code false} if the record must be stored with the lock taken instead, because the writer was
+         *          stopped or the thread was interrupted while waiting for space
+         */
+        boolean queue(ManagedAuditLoggerImpl logger, AuditLogItem item) {
+            try {
+                if (queue.offer(new QueuedItem(logger, item), overflowPolicy == OverflowPolicy.BLOCK)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (queue.isClosed()) {
+                return false;
+            }
+            sharedConfiguration.droppedCount.incrementAndGet();
+            return true;
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        /** Call with lock taken */
+        void stop() {
+            queue.close();
+            flush();
+        }
+
+        /** Call with lock taken */
+        void flush() {
+            final List<QueuedItem> batch = new ArrayList<>();
+            while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        }
+
+        @Override
+        public void run() {
+            final List<QueuedItem> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            try {
+                while (queue.awaitNotEmpty()) {
+                    sharedConfiguration.lock();
+                    try {
+                        queue.drainTo(batch, MAX_BATCH_SIZE);
+                        write(batch);
+                    } finally {
+                        sharedConfiguration.unlock();
+                        batch.clear();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /** Call with lock taken */
+        private static void write(List<QueuedItem> batch) {
+            final Map<AuditLogHandler, List<String>> formattedItems = new LinkedHashMap<>();
+            for (QueuedItem queued : batch) {
+                queued.logger.formatLogItem(queued.item, formattedItems);
+            }
+            for (Map.Entry<AuditLogHandler, List<String>> entry : formattedItems.entrySet()) {
+                entry.getKey().writeLogItems(entry.getValue());
+            }
+        }
     }
 
 
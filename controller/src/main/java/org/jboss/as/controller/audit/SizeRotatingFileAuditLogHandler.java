@@ -27,6 +27,7 @@ import org.jboss.as.controller.services.path.PathManagerService;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  *  All methods on this class should be called with {@link org.jboss.as.controller.audit.ManagedAuditLoggerImpl}'s lock taken.
@@ -90,6 +91,15 @@ public class SizeRotatingFileAuditLogHandler extends AbstractFileAuditLogHandler
         currentSize += LINE_TERMINATOR.length;
     }
 
+    @Override
+    void writeFormattedItems(List<String> formattedItems) throws IOException {
+        super.writeFormattedItems(formattedItems);
+        for (String formattedItem : formattedItems) {
+            currentSize += formattedItem.getBytes(StandardCharsets.UTF_8).length;
+            currentSize += LINE_TERMINATOR.length;
+        }
+    }
+
     @Override
     boolean isDifferent(AuditLogHandler other){
         if (other instanceof SizeRotatingFileAuditLogHandler == false){
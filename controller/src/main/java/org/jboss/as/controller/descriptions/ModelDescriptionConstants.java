@@ -66,6 +66,7 @@ public class ModelDescriptionConstants {
     public static final String APPLIES_TO = "applies-to";
     public static final String APPLY_REMOTE_DOMAIN_MODEL = "apply-remote-domain-model";
     public static final String ARCHIVE = "archive";
+    public static final String ASYNC = "async";
     public static final String ATTACHED_STREAMS = "attached-streams";
     public static final String ATTRIBUTE = "attribute";
     public static final String ATTRIBUTE_GROUP = "attribute-group";
@@ -115,6 +116,7 @@ public class ModelDescriptionConstants {
     public static final String CONTENT = "content";
     public static final String CORE = "core";
     public static final String CORE_SERVICE = "core-service";
+    public static final String COUNT = "count";
     public static final String CPU_AFFINITY = "cpu-affinity";
     public static final String CRITERIA = "criteria";
     public static final String CUSTOM_DISCOVERY = "custom-discovery";
@@ -128,6 +130,7 @@ public class ModelDescriptionConstants {
     public static final String DEFAULT_REQUIRES_ADDRESSABLE = "default-requires-addressable";
     public static final String DEPTH = "depth";
     public static final String DEPLOY = "deploy";
+    public static final String DEPLOY_TIME = "deploy-time";
     public static final String DEPLOYMENT = "deployment";
     public static final String DEPLOYMENT_DEPLOYED_NOTIFICATION = "deployment-deployed";
     public static final String DEPLOYMENT_OVERLAY = "deployment-overlay";
@@ -157,6 +160,7 @@ public class ModelDescriptionConstants {
     public static final String DOMAIN_UUID = "domain-uuid";
     public static final String DYNAMIC = "dynamic";
     public static final String DUMP_SERVICES = "dump-services";
+    public static final String DROPPED_COUNT = "dropped-count";
     public static final String EMPTY = "empty";
     public static final String ENABLE = "enable";
     public static final String ENABLED = "enabled";
@@ -263,6 +267,7 @@ public class ModelDescriptionConstants {
     public static final String LOCAL_DESTINATION_OUTBOUND_SOCKET_BINDING = "local-destination-outbound-socket-binding";
     public static final String LOCAL_HOST_NAME = "local-host-name";
     public static final String LOCALE = "locale";
+    public static final String LOCK_WAIT_TIME = "lock-wait-time";
     public static final String LOGGER = "logger";
     public static final String LOG_BOOT = "log-boot";
     public static final String LOG_READ_ONLY = "log-read-only";
@@ -288,6 +293,7 @@ public class ModelDescriptionConstants {
     public static final String MAX_LENGTH = "max-length";
     public static final String MAX_OCCURS = "max-occurs";
     public static final String MAX_THREADS = "max-threads";
+    public static final String MEAN = "mean";
     public static final String MESSAGE_TRANSFER = "message-transfer";
     public static final String MIME_TYPE = "mime-type";
     public static final String MIN = "min";
@@ -323,21 +329,29 @@ public class ModelDescriptionConstants {
     public static final String OPERATION_DATE = "operation-date";
     public static final String OPERATION_HEADERS = "operation-headers";
     public static final String OPERATION_NAME = "operation-name";
+    public static final String OPERATION_TIMINGS = "operation-timings";
     public static final String OPERATIONS = "operations";
     public static final String OPTIONS = "options";
     public static final String OPERATOR = "operator";
     public static final String OUTBOUND_CONNECTION = "outbound-connection";
     /** Use this standard operation address field in the operation *description* ModelNode */
     public static final String OUTCOME = "outcome";
+    public static final String OVERFLOW_POLICY = "overflow-policy";
     public static final String OVERWRITE = "overwrite";
     public static final String OWNER = "owner";
+    public static final String P50 = "p50";
+    public static final String P90 = "p90";
+    public static final String P99 = "p99";
+    public static final String P999 = "p999";
     public static final String PASSWORD = "password";
     public static final String PATH = "path";
     public static final String PATHS = "paths";
     public static final String PERIODIC_ROTATING_FILE_HANDLER = "periodic-rotating-file-handler";
     public static final String PERMISSION_COMBINATION_POLICY = "permission-combination-policy";
     public static final String PATTERN = "pattern";
+    public static final String PERSISTENCE_TIME = "persistence-time";
     public static final String PERSISTENT = "persistent";
+    public static final String PHASE = "phase";
     public static final String PLAIN_TEXT = "plain-text";
     public static final String PLATFORM_MBEAN = "platform-mbean";
     public static final String PORT = "port";
@@ -350,6 +364,7 @@ public class ModelDescriptionConstants {
     public static final String PROBLEM = "problem";
     public static final String PROCESS_TYPE = "process-type";
     public static final String PROCESS_STATE = "process-state";
+    public static final String PROCESSOR = "processor";
     public static final String PRODUCT_NAME = "product-name";
     public static final String PRODUCT_VERSION = "product-version";
     public static final String PROFILE = "profile";
@@ -360,6 +375,8 @@ public class ModelDescriptionConstants {
     public static final String PROVIDER = "provider";
     public static final String PROXIES = "proxies";
     public static final String QUERY = "query";
+    public static final String QUEUE_DEPTH = "queue-depth";
+    public static final String QUEUE_SIZE = "queue-size";
     public static final String READ = "read";
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
     public static final String READ_ATTRIBUTE_GROUP_OPERATION = "read-attribute-group";
@@ -369,9 +386,11 @@ public class ModelDescriptionConstants {
     public static final String READ_CHILDREN_RESOURCES_OPERATION = "read-children-resources";
     public static final String READ_CONFIG_AS_XML_OPERATION = "read-config-as-xml";
     public static final String READ_CONTENT = "read-content";
+    public static final String READ_DEPLOYMENT_TIMINGS = "read-deployment-timings";
     public static final String READ_ONLY = "read-only";
     public static final String READ_OPERATION_DESCRIPTION_OPERATION = "read-operation-description";
     public static final String READ_OPERATION_NAMES_OPERATION = "read-operation-names";
+    public static final String READ_PARALLELISM = "read-parallelism";
     public static final String READ_RESOURCE_DESCRIPTION_OPERATION = "read-resource-description";
     public static final String READ_RESOURCE_METRICS = "read-resource-metrics";
     public static final String READ_RESOURCE_OPERATION = "read-resource";
@@ -487,6 +506,7 @@ public class ModelDescriptionConstants {
     public static final String SOURCE_PORT = "source-port";
     public static final String SSL = "ssl";
     public static final String SSL_CONTEXT = "ssl-context";
+    public static final String STAGE = "stage";
     public static final String STANDARD_ROLE_NAMES = "standard-role-names";
     public static final String START = "start";
     public static final String START_MODE = "start-mode";
@@ -532,6 +552,7 @@ public class ModelDescriptionConstants {
     public static final String UDP = "udp";
     public static final String UNDEFINE_ATTRIBUTE_OPERATION = "undefine-attribute";
     public static final String UNDEPLOY = "undeploy";
+    public static final String UNDEPLOY_TIME = "undeploy-time";
     public static final String UNREADABLE_CHILDREN = "unreadable-children";
     public static final String UPLOAD_DEPLOYMENT_BYTES = "upload-deployment-bytes";
     public static final String UPLOAD_DEPLOYMENT_URL = "upload-deployment-url";
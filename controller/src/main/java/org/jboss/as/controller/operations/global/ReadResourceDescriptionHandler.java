@@ -55,7 +55,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -187,12 +189,13 @@ public class ReadResourceDescriptionHandler extends GlobalOperationHandlers.Abst
 
         final ImmutableManagementResourceRegistration registry = getResourceRegistrationCheckForAlias(context, opAddr, accessControlContext);
 
-        final DescriptionProvider descriptionProvider = registry.getModelDescription(PathAddress.EMPTY_ADDRESS);
         final Locale locale = GlobalOperationHandlers.getLocale(context, operation);
 
-        final ModelNode nodeDescription = descriptionProvider.getModelDescription(locale);
-        final Map<String, ModelNode> operations = ops ? new HashMap<String, ModelNode>() : null;
-        final Map<String, ModelNode> notifications = nots ? new HashMap<String, ModelNode>() : null;
+        // The description of the resource itself only depends on its registration, so it is usually cached
+        final LocalDescription localDescription = getLocalDescription(context, registry, locale, ops, nots, inherited, aliases);
+        final ModelNode nodeDescription = localDescription.nodeDescription;
+        final Map<String, ModelNode> operations = localDescription.operations;
+        final Map<String, ModelNode> notifications = localDescription.notifications;
         final Map<PathElement, ModelNode> childResources = recursive ? new HashMap<PathElement, ModelNode>() : Collections.<PathElement, ModelNode>emptyMap();
 
         if (accessControl != AccessControl.NONE) {
@@ -206,6 +209,99 @@ public class ReadResourceDescriptionHandler extends GlobalOperationHandlers.Abst
         final ReadResourceDescriptionAssemblyHandler assemblyHandler = new ReadResourceDescriptionAssemblyHandler(nodeDescription, operations, notifications, childResources, accessControlContext, accessControl);
         context.addStep(assemblyHandler, OperationContext.Stage.MODEL, true);
 
+        if (accessControl != AccessControl.NONE) {
+            accessControlContext.checkResourceAccess(context, registry, nodeDescription, operations);
+        }
+
+        if (recursive) {
+            for (final PathElement element : registry.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+                PathAddress relativeAddr = PathAddress.pathAddress(element);
+                ImmutableManagementResourceRegistration childReg = registry.getSubModel(relativeAddr);
+
+                boolean readChild = true;
+                if (childReg.isRemote() && !proxies) {
+                    readChild = false;
+                }
+                if (childReg.isAlias() && !aliases) {
+                    readChild = false;
+                }
+
+                if (readChild) {
+                    final ModelNode rrOp = operation.clone();
+                    final PathAddress address;
+                    try {
+                        address = PathAddress.pathAddress(opAddr, element);
+                    } catch (Exception e) {
+                        continue;
+                    }
+                    rrOp.get(OP_ADDR).set(address.toModelNode());
+                    // WFCORE-76
+                    GlobalOperationHandlers.setNextRecursive(context, operation, rrOp);
+                    final ModelNode rrRsp = new ModelNode();
+                    childResources.put(element, rrRsp);
+
+                    final OperationStepHandler handler = getRecursiveStepHandler(childReg, opName, accessControlContext, address);
+                    context.addStep(rrRsp, rrOp, handler, OperationContext.Stage.MODEL, true);
+                    //Add a "child" => undefined
+                    nodeDescription.get(CHILDREN, element.getKey(), MODEL_DESCRIPTION, element.getValue());
+                } else if (childReg.isAlias() && !aliases) {
+                    if (isSingletonResource(registry, element.getKey())) {
+                        if (nodeDescription.get(CHILDREN).hasDefined(element.getKey())) {
+                            nodeDescription.get(CHILDREN).get(element.getKey()).remove(element.getValue());
+                        }
+                    }
+                }
+            }
+        }
+
+        context.completeStep(new OperationContext.RollbackHandler() {
+            @Override
+            public void handleRollback(OperationContext context, ModelNode operation) {
+
+                if (!context.hasFailureDescription()) {
+                    for (final ModelNode value : childResources.values()) {
+                        if (value.hasDefined(FAILURE_DESCRIPTION)) {
+                            context.getFailureDescription().set(value.get(FAILURE_DESCRIPTION));
+                            break;
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the description of a resource, its operations and its notifications, which only depend on its registration,
+     * from the cache if it is still valid. The caller owns the returned description, which it can modify.
+     */
+    private LocalDescription getLocalDescription(final OperationContext context, final ImmutableManagementResourceRegistration registry,
+                                                 final Locale locale, final boolean ops, final boolean nots,
+                                                 final boolean inherited, final boolean aliases) {
+        // Read before describing the resource, so a description built while the registrations are modified is discarded
+        final long modificationCount = registry.getModificationCount();
+        // Cached in the registration itself, so the descriptions go away along with the registrations they describe
+        final ConcurrentMap<Object, Object> cache = registry.getDerivedDataCache();
+        if (modificationCount < 0 || cache == null || registry.isRemote()) {
+            return describe(context, registry, locale, ops, nots, inherited, aliases, modificationCount);
+        }
+        final DescriptionKey key = new DescriptionKey(locale, ops, nots, inherited, aliases);
+        final Object cached = cache.get(key);
+        LocalDescription description = cached instanceof LocalDescription ? (LocalDescription) cached : null;
+        if (description == null || description.modificationCount != modificationCount) {
+            description = describe(context, registry, locale, ops, nots, inherited, aliases, modificationCount);
+            cache.put(key, description);
+        }
+        return description.copy();
+    }
+
+    private LocalDescription describe(final OperationContext context, final ImmutableManagementResourceRegistration registry,
+                                      final Locale locale, final boolean ops, final boolean nots, final boolean inherited,
+                                      final boolean aliases, final long modificationCount) {
+        final DescriptionProvider descriptionProvider = registry.getModelDescription(PathAddress.EMPTY_ADDRESS);
+        final ModelNode nodeDescription = descriptionProvider.getModelDescription(locale);
+        final Map<String, ModelNode> operations = ops ? new HashMap<String, ModelNode>() : null;
+        final Map<String, ModelNode> notifications = nots ? new HashMap<String, ModelNode>() : null;
+
         //Let's filter the children
         if (!aliases && nodeDescription.hasDefined(CHILDREN)) {
             for (Property child : nodeDescription.get(CHILDREN).asPropertyList()) {
@@ -267,65 +363,7 @@ public class ReadResourceDescriptionHandler extends GlobalOperationHandlers.Abst
             }
         }
 
-        if (accessControl != AccessControl.NONE) {
-            accessControlContext.checkResourceAccess(context, registry, nodeDescription, operations);
-        }
-
-        if (recursive) {
-            for (final PathElement element : registry.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
-                PathAddress relativeAddr = PathAddress.pathAddress(element);
-                ImmutableManagementResourceRegistration childReg = registry.getSubModel(relativeAddr);
-
-                boolean readChild = true;
-                if (childReg.isRemote() && !proxies) {
-                    readChild = false;
-                }
-                if (childReg.isAlias() && !aliases) {
-                    readChild = false;
-                }
-
-                if (readChild) {
-                    final ModelNode rrOp = operation.clone();
-                    final PathAddress address;
-                    try {
-                        address = PathAddress.pathAddress(opAddr, element);
-                    } catch (Exception e) {
-                        continue;
-                    }
-                    rrOp.get(OP_ADDR).set(address.toModelNode());
-                    // WFCORE-76
-                    GlobalOperationHandlers.setNextRecursive(context, operation, rrOp);
-                    final ModelNode rrRsp = new ModelNode();
-                    childResources.put(element, rrRsp);
-
-                    final OperationStepHandler handler = getRecursiveStepHandler(childReg, opName, accessControlContext, address);
-                    context.addStep(rrRsp, rrOp, handler, OperationContext.Stage.MODEL, true);
-                    //Add a "child" => undefined
-                    nodeDescription.get(CHILDREN, element.getKey(), MODEL_DESCRIPTION, element.getValue());
-                } else if (childReg.isAlias() && !aliases) {
-                    if (isSingletonResource(registry, element.getKey())) {
-                        if (nodeDescription.get(CHILDREN).hasDefined(element.getKey())) {
-                            nodeDescription.get(CHILDREN).get(element.getKey()).remove(element.getValue());
-                        }
-                    }
-                }
-            }
-        }
-
-        context.completeStep(new OperationContext.RollbackHandler() {
-            @Override
-            public void handleRollback(OperationContext context, ModelNode operation) {
-
-                if (!context.hasFailureDescription()) {
-                    for (final ModelNode value : childResources.values()) {
-                        if (value.hasDefined(FAILURE_DESCRIPTION)) {
-                            context.getFailureDescription().set(value.get(FAILURE_DESCRIPTION));
-                            break;
-                        }
-                    }
-                }
-            }
-        });
+        return new LocalDescription(nodeDescription, operations, notifications, modificationCount);
     }
 
     private boolean isSingletonResource(final ImmutableManagementResourceRegistration registry, final String key) {
@@ -801,6 +839,84 @@ public class ReadResourceDescriptionHandler extends GlobalOperationHandlers.Abst
         }
     }
 
+    /**
+     * The description of a resource, its operations and its notifications, excluding its children and the access
+     * control information, which depend on the resources and on the caller.
+     */
+    private static final class LocalDescription {
+
+        private final ModelNode nodeDescription;
+        private final Map<String, ModelNode> operations;
+        private final Map<String, ModelNode> notifications;
+        private final long modificationCount;
+
+        private LocalDescription(final ModelNode nodeDescription, final Map<String, ModelNode> operations,
+                                 final Map<String, ModelNode> notifications, final long modificationCount) {
+            this.nodeDescription = nodeDescription;
+            this.operations = operations;
+            this.notifications = notifications;
+            this.modificationCount = modificationCount;
+        }
+
+        private LocalDescription copy() {
+            return new LocalDescription(nodeDescription.clone(), copy(operations), copy(notifications), modificationCount);
+        }
+
+        private static Map<String, ModelNode> copy(final Map<String, ModelNode> descriptions) {
+            if (descriptions == null) {
+                return null;
+            }
+            final Map<String, ModelNode> copy = new HashMap<String, ModelNode>(descriptions.size());
+            for (Map.Entry<String, ModelNode> entry : descriptions.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue().clone());
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * The key of the description of a registration, in the {@link ImmutableManagementResourceRegistration#getDerivedDataCache()
+     * cache} of that registration.
+     */
+    private static final class DescriptionKey {
+
+        private final Locale locale;
+        private final boolean operations;
+        private final boolean notifications;
+        private final boolean inherited;
+        private final boolean aliases;
+        private final int hashCode;
+
+        private DescriptionKey(final Locale locale, final boolean operations, final boolean notifications,
+                               final boolean inherited, final boolean aliases) {
+            this.locale = locale;
+            this.operations = operations;
+            this.notifications = notifications;
+            this.inherited = inherited;
+            this.aliases = aliases;
+            this.hashCode = Objects.hash(locale, operations, notifications, inherited, aliases);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DescriptionKey)) {
+                return false;
+            }
+            final DescriptionKey other = (DescriptionKey) obj;
+            return Objects.equals(locale, other.locale)
+                    && operations == other.operations && notifications == other.notifications
+                    && inherited == other.inherited && aliases == other.aliases;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     /**
      * For use with the access-control parameter
      */
@@ -38,11 +38,13 @@ import static org.jboss.as.controller.operations.global.GlobalOperationAttribute
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.RECURSIVE;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.RECURSIVE_DEPTH;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +55,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.ParallelReadExecutor;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinition;
@@ -242,6 +245,14 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
         FilteredData fd = getFilteredData();
         final FilteredData localFilteredData = fd == null ? new FilteredData(address) : fd;
 
+        // When reading the runtime of a whole tree, the client may ask for the child subtrees to be read concurrently.
+        // Each subtree is then read by its own read-only operation, with its own FilteredData as they are not thread safe
+        final int parallelism = recursive && queryRuntime && fd == null ? ParallelReadExecutor.getParallelism(context, operation) : 1;
+        final List<ParallelReadExecutor.ReadStep> parallelReads = parallelism > 1
+                ? new ArrayList<ParallelReadExecutor.ReadStep>() : Collections.<ParallelReadExecutor.ReadStep>emptyList();
+        final List<FilteredData> parallelFilteredData = parallelism > 1
+                ? new ArrayList<FilteredData>() : Collections.<FilteredData>emptyList();
+
         // We're going to add a bunch of steps that should immediately follow this one. We are going to add them
         // in reverse order of how they should execute, as that is the way adding a Stage.IMMEDIATE step works
 
@@ -306,9 +317,16 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                                 // not an override
                                 overrideHandler = null;
                             }
-                            OperationStepHandler rrHandler = new ReadResourceHandler(localFilteredData, overrideHandler, resolvable);
-
-                            context.addStep(rrRsp, rrOp, rrHandler, OperationContext.Stage.MODEL, true);
+                            if (parallelism > 1 && !proxy) {
+                                FilteredData childFilteredData = new FilteredData(address);
+                                parallelFilteredData.add(childFilteredData);
+                                OperationStepHandler rrHandler = new ReadResourceHandler(childFilteredData, overrideHandler, resolvable);
+                                parallelReads.add(new ParallelReadExecutor.ReadStep(rrRsp, rrOp, rrHandler));
+                            } else {
+                                OperationStepHandler rrHandler = new ReadResourceHandler(localFilteredData, overrideHandler, resolvable);
+
+                                context.addStep(rrRsp, rrOp, rrHandler, OperationContext.Stage.MODEL, true);
+                            }
                         }
                     } else {
                         // Non-recursive. Just output the names of the children
@@ -330,6 +348,16 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                     }
                 }
             }
+
+            if (!parallelReads.isEmpty()) {
+                // The responses are available to the assemblyHandler like those of the steps added for the other children
+                ParallelReadExecutor.execute(context, parallelReads, parallelism);
+                for (FilteredData childFilteredData : parallelFilteredData) {
+                    if (childFilteredData.hasFilteredData()) {
+                        localFilteredData.populate(childFilteredData.toModelNode(), PathAddress.EMPTY_ADDRESS);
+                    }
+                }
+            }
         }
 
         // Handle registered attributes
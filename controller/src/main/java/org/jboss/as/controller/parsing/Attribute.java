@@ -50,6 +50,7 @@ public enum Attribute {
     APPLICATION("application"),
     ARCHIVE("archive"),
     ASSIGN_GROUPS("assign-groups"),
+    ASYNC("async"),
     ATTRIBUTE("attribute"),
     AUTO_START("auto-start"),
     BASE_DN("base-dn"),
@@ -135,6 +136,7 @@ public enum Attribute {
     NAME("name"),
     NATIVE("native"),
     ORGANIZATION("organization"),
+    OVERFLOW_POLICY("overflow-policy"),
     PASSWORD("password"),
     PATH("path"),
     PATTERN("pattern"),
@@ -149,6 +151,7 @@ public enum Attribute {
     PROFILE("profile"),
     PROTOCOL("protocol"),
     PROVIDER("provider"),
+    QUEUE_SIZE("queue-size"),
     REALM("realm"),
     RECONNECT_TIMEOUT("reconnect-timeout"),
     RECURSIVE("recursive"),
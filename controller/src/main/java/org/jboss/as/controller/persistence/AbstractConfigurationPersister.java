@@ -25,10 +25,12 @@ package org.jboss.as.controller.persistence;
 import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamWriter;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementWriter;
@@ -45,6 +47,7 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
 
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final Map<String, XMLElementWriter<SubsystemMarshallingContext>> subsystemWriters = new HashMap<String, XMLElementWriter<SubsystemMarshallingContext>>();
+    private final SubsystemMarshallingCache subsystemCache = new SubsystemMarshallingCache();
 
     /**
      * Construct a new instance.
@@ -60,6 +63,7 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
         synchronized (subsystemWriters) {
             subsystemWriters.put(name, deparser);
         }
+        subsystemCache.invalidate(name);
     }
 
     @Override
@@ -67,11 +71,45 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
         synchronized (subsystemWriters) {
             subsystemWriters.remove(name);
         }
+        subsystemCache.invalidate(name);
     }
 
     /** {@inheritDoc} */
     @Override
     public void marshallAsXml(final ModelNode model, final OutputStream output) throws ConfigurationPersistenceException {
+        marshallAsXml(model, output, null);
+    }
+
+    /**
+     * Marshals the given model in the same way as {@link #marshallAsXml(ModelNode, OutputStream)}, except that
+     * subsystems not affected by changes to {@code affectedAddresses} since the last call to this method are not
+     * marshalled again; their previous output is reused instead.
+     * <p>
+     * This method must be passed every model that is stored, along with the addresses affected by the update
+     * that produced it. If the store is rolled back, {@link #discardCachedXml(Set)} must be called.
+     *
+     * @param model the model to marshal
+     * @param affectedAddresses the addresses of the resources changed since the previously stored model
+     * @param output the stream to write to
+     * @throws ConfigurationPersistenceException if a problem occurs
+     */
+    protected void marshallAsXml(final ModelNode model, final Set<PathAddress> affectedAddresses, final OutputStream output) throws ConfigurationPersistenceException {
+        subsystemCache.invalidate(affectedAddresses);
+        marshallAsXml(model, output, subsystemCache);
+    }
+
+    /**
+     * Discards any output cached by {@link #marshallAsXml(ModelNode, Set, OutputStream)} for subsystems affected
+     * by changes to the given addresses, e.g. because the changes were rolled back.
+     *
+     * @param affectedAddresses the addresses of the changed resources
+     */
+    protected void discardCachedXml(final Set<PathAddress> affectedAddresses) {
+        subsystemCache.invalidate(affectedAddresses);
+    }
+
+    private void marshallAsXml(final ModelNode model, final OutputStream output, final SubsystemMarshallingCache cache) throws ConfigurationPersistenceException {
+        final Map<ModelNode, PathAddress> subsystems = cache == null ? null : SubsystemMarshallingCache.indexSubsystems(model);
         final XMLMapper mapper = XMLMapper.Factory.create();
         try {
             XMLStreamWriter streamWriter = null;
@@ -86,9 +124,11 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
 
                     @Override
                     public XMLElementWriter<SubsystemMarshallingContext> getSubsystemWriter(String extensionName) {
+                        final XMLElementWriter<SubsystemMarshallingContext> writer;
                         synchronized (subsystemWriters) {
-                            return subsystemWriters.get(extensionName);
+                            writer = subsystemWriters.get(extensionName);
                         }
+                        return writer == null || cache == null ? writer : cache.cachingWriter(writer, subsystems);
                     }
                 };
                 mapper.deparseDocument(rootDeparser, extensibleModel, streamWriter);
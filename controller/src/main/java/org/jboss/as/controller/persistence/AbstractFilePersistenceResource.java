@@ -22,7 +22,9 @@
 package org.jboss.as.controller.persistence;
 
 import java.io.BufferedOutputStream;
+import java.util.Set;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
@@ -33,19 +35,45 @@ import org.xnio.IoUtils;
  */
 public abstract class AbstractFilePersistenceResource implements ConfigurationPersister.PersistenceResource {
     private volatile ExposedByteArrayOutputStream marshalled;
+    private final AbstractConfigurationPersister persister;
+    private final Set<PathAddress> affectedAddresses;
 
     protected AbstractFilePersistenceResource(final ModelNode model, final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
+        this(model, null, persister);
+    }
+
+    /**
+     * Creates a resource that only marshals again the subsystems affected by changes to the given addresses.
+     *
+     * @param model the model to persist
+     * @param affectedAddresses the addresses affected by the update, or {@code null} if the entire model should be marshalled
+     * @param persister the persister
+     * @throws ConfigurationPersistenceException if the model cannot be marshalled
+     *
+     * @see AbstractConfigurationPersister#marshallAsXml(ModelNode, Set, java.io.OutputStream)
+     */
+    protected AbstractFilePersistenceResource(final ModelNode model, final Set<PathAddress> affectedAddresses,
+                                              final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
+        this.persister = persister;
+        this.affectedAddresses = affectedAddresses;
         marshalled = new ExposedByteArrayOutputStream(1024 * 8);
         try {
             try {
                 BufferedOutputStream output = new BufferedOutputStream(marshalled);
-                persister.marshallAsXml(model, output);
+                if (affectedAddresses == null) {
+                    persister.marshallAsXml(model, output);
+                } else {
+                    persister.marshallAsXml(model, affectedAddresses, output);
+                }
                 output.close();
                 marshalled.close();
             } finally {
                 IoUtils.safeClose(marshalled);
             }
         } catch (Exception e) {
+            if (affectedAddresses != null) {
+                persister.discardCachedXml(affectedAddresses);
+            }
             throw ControllerLogger.ROOT_LOGGER.failedToMarshalConfiguration(e);
         }
     }
@@ -61,6 +89,9 @@ public abstract class AbstractFilePersistenceResource implements ConfigurationPe
     @Override
     public void rollback() {
         marshalled = null;
+        if (affectedAddresses != null) {
+            persister.discardCachedXml(affectedAddresses);
+        }
     }
 
     protected abstract void doCommit(ExposedByteArrayOutputStream marshalled);
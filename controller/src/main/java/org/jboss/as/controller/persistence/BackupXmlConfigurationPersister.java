@@ -106,7 +106,7 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
                 }
             };
         }
-        return new ConfigurationFilePersistenceResource(model, configurationFile, this);
+        return new ConfigurationFilePersistenceResource(model, affectedAddresses, configurationFile, this);
     }
 
     @Override
@@ -25,7 +25,9 @@ package org.jboss.as.controller.persistence;
 import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 
 import java.io.File;
+import java.util.Set;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -42,7 +44,12 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
 
     ConfigurationFilePersistenceResource(final ModelNode model, final ConfigurationFile configurationFile,
                                          final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
-        super(model, persister);
+        this(model, null, configurationFile, persister);
+    }
+
+    ConfigurationFilePersistenceResource(final ModelNode model, final Set<PathAddress> affectedAddresses, final ConfigurationFile configurationFile,
+                                         final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
+        super(model, affectedAddresses, persister);
         this.configurationFile = configurationFile;
         this.fileName = configurationFile.getMainFile();
     }
@@ -0,0 +1,246 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+
+/**
+ * Caches the output of {@link SubsystemMarshallingContext subsystem} writers, so a subsystem that has not been
+ * modified since the configuration was last stored does not need to be marshalled again.
+ * <p>
+ * The output is cached as the sequence of calls the subsystem writer made to the stream writer, which is replayed
+ * against the stream writer of the next document. This leaves indentation and namespace handling to the stream
+ * writer of the document, exactly as if the subsystem writer itself had been invoked.
+ * <p>
+ * Cached subsystems are identified by their address, relative to the marshalled model: either {@code subsystem=*}
+ * or {@code <type>=<name>/subsystem=*} for subsystems of children of the root, e.g. of a profile.
+ */
+final class SubsystemMarshallingCache {
+
+    private final Map<PathAddress, List<Invocation>> recordings = new HashMap<>();
+
+    /**
+     * Discards the cached output of any subsystem that may have been modified by changes to the given addresses.
+     *
+     * @param affectedAddresses the addresses of the changed resources
+     */
+    synchronized void invalidate(final Set<PathAddress> affectedAddresses) {
+        if (recordings.isEmpty()) {
+            return;
+        }
+        final Iterator<PathAddress> it = recordings.keySet().iterator();
+        while (it.hasNext()) {
+            final PathAddress subsystemAddress = it.next();
+            for (PathAddress affected : affectedAddresses) {
+                if (isAffected(subsystemAddress, affected)) {
+                    it.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the cached output of any subsystem with the given name, e.g. because its writer has changed.
+     *
+     * @param subsystemName the name of the subsystem
+     */
+    synchronized void invalidate(final String subsystemName) {
+        recordings.keySet().removeIf(address -> subsystemName.equals(address.getLastElement().getValue()));
+    }
+
+    private static boolean isAffected(final PathAddress subsystemAddress, final PathAddress affected) {
+        final int size = affected.size();
+        if (size <= subsystemAddress.size() && subsystemAddress.subAddress(0, size).equals(affected)) {
+            // A parent, or the subsystem itself
+            return true;
+        }
+        final PathElement subsystem = subsystemAddress.getLastElement();
+        for (int i = 0; i < size; i++) {
+            if (subsystem.equals(affected.getElement(i))) {
+                // If the marshalled model is itself a child of the addressed model (e.g. the model of a host),
+                // we cannot tell whether the parents match
+                return subsystemAddress.size() == 1 || (i > 0 && subsystemAddress.getElement(0).equals(affected.getElement(i - 1)));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a subsystem writer that replays the cached output of a subsystem if there is one, and otherwise
+     * invokes {@code writer} and caches its output.
+     *
+     * @param writer the subsystem writer. Cannot be {@code null}
+     * @param subsystems the addresses of the subsystems of the marshalled model, as returned by {@link #indexSubsystems(ModelNode)}
+     * @return the caching writer
+     */
+    XMLElementWriter<SubsystemMarshallingContext> cachingWriter(final XMLElementWriter<SubsystemMarshallingContext> writer,
+                                                                final Map<ModelNode, PathAddress> subsystems) {
+        return (streamWriter, context) -> {
+            final PathAddress address = subsystems.get(context.getModelNode());
+            if (address == null) {
+                writer.writeContent(streamWriter, context);
+                return;
+            }
+            List<Invocation> recording;
+            synchronized (this) {
+                recording = recordings.get(address);
+            }
+            if (recording != null) {
+                for (Invocation invocation : recording) {
+                    invocation.replay(streamWriter);
+                }
+            } else {
+                recording = new ArrayList<>();
+                final XMLExtendedStreamWriter recorder = recorder(streamWriter, recording);
+                writer.writeContent(recorder, new SubsystemMarshallingContext(context.getModelNode(), recorder));
+                synchronized (this) {
+                    recordings.put(address, recording);
+                }
+            }
+        };
+    }
+
+    /**
+     * Finds the subsystems of a model to be marshalled.
+     *
+     * @param model the model
+     * @return the addresses of the subsystems, keyed by the identity of their model nodes
+     */
+    static Map<ModelNode, PathAddress> indexSubsystems(final ModelNode model) {
+        final Map<ModelNode, PathAddress> result = new IdentityHashMap<>();
+        if (model.getType() != ModelType.OBJECT) {
+            return result;
+        }
+        for (String type : model.keys()) {
+            final ModelNode children = model.get(type);
+            if (SUBSYSTEM.equals(type)) {
+                addSubsystems(children, PathAddress.EMPTY_ADDRESS, result);
+            } else if (children.getType() == ModelType.OBJECT) {
+                for (String name : children.keys()) {
+                    final ModelNode child = children.get(name);
+                    if (child.getType() == ModelType.OBJECT && child.hasDefined(SUBSYSTEM)) {
+                        addSubsystems(child.get(SUBSYSTEM), PathAddress.pathAddress(type, name), result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void addSubsystems(final ModelNode subsystems, final PathAddress parent, final Map<ModelNode, PathAddress> result) {
+        if (subsystems.getType() == ModelType.OBJECT) {
+            for (String name : subsystems.keys()) {
+                result.put(subsystems.get(name), parent.append(SUBSYSTEM, name));
+            }
+        }
+    }
+
+    private static XMLExtendedStreamWriter recorder(final XMLExtendedStreamWriter delegate, final List<Invocation> recording) {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            final String name = method.getName();
+            if (name.startsWith("write") || name.startsWith("set")) {
+                recording.add(new Invocation(method, args));
+            }
+            try {
+                return method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (XMLExtendedStreamWriter) Proxy.newProxyInstance(XMLExtendedStreamWriter.class.getClassLoader(),
+                new Class<?>[] {XMLExtendedStreamWriter.class}, handler);
+    }
+
+    /**
+     * A recorded call to a stream writer.
+     */
+    private static final class Invocation {
+        private final Method method;
+        private final Object[] args;
+
+        private Invocation(final Method method, final Object[] args) {
+            this.method = method;
+            this.args = args == null ? null : copy(args);
+        }
+
+        /** Copies any mutable arguments, so later changes by the subsystem writer do not affect the recording */
+        private static Object[] copy(final Object[] args) {
+            final Object[] result = args.clone();
+            for (int i = 0; i < result.length; i++) {
+                final Object arg = result[i];
+                if (arg instanceof char[]) {
+                    result[i] = ((char[]) arg).clone();
+                } else if (arg instanceof String[]) {
+                    result[i] = ((String[]) arg).clone();
+                } else if (arg instanceof Iterable) {
+                    final List<Object> list = new ArrayList<>();
+                    for (Object o : (Iterable<?>) arg) {
+                        list.add(o);
+                    }
+                    result[i] = list;
+                }
+            }
+            return result;
+        }
+
+        private void replay(final XMLExtendedStreamWriter writer) throws XMLStreamException {
+            try {
+                method.invoke(writer, args);
+            } catch (InvocationTargetException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof XMLStreamException) {
+                    throw (XMLStreamException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new XMLStreamException(cause);
+            } catch (IllegalAccessException e) {
+                throw new XMLStreamException(e);
+            }
+        }
+    }
+}
@@ -250,6 +250,49 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Registers this resource's child providers with {@code copy}. Children held by the default provider are
+     * shared with the copy rather than cloned; providers registered via {@link #registerResourceProvider(String, ResourceProvider)}
+     * are cloned as usual.
+     *
+     * @param copy the resource to register the providers with
+     */
+    void shareProviders(AbstractModelResource copy) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                if (provider instanceof DefaultResourceProvider) {
+                    copy.registerResourceProvider(entry.getKey(), ((DefaultResourceProvider) provider).shallowCopy());
+                } else {
+                    copy.registerResourceProvider(entry.getKey(), provider.clone());
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether children of the given type are held by the default provider, i.e. whether they can be
+     * {@link #replaceChild(PathElement, Resource) replaced}.
+     *
+     * @param childType the child type
+     * @return {@code true} if the children are held by the default provider
+     */
+    boolean isDefaultProvider(final String childType) {
+        return getProvider(childType) instanceof DefaultResourceProvider;
+    }
+
+    /**
+     * Replaces an existing child held by the default provider, retaining its position.
+     *
+     * @param address the address of the child
+     * @param resource the replacement
+     */
+    void replaceChild(final PathElement address, final Resource resource) {
+        final ResourceProvider provider = getProvider(address.getKey());
+        assert provider instanceof DefaultResourceProvider;
+        ((DefaultResourceProvider) provider).replace(address.getValue(), resource);
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
@@ -331,6 +374,21 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
             }
         }
 
+        void replace(String name, Resource resource) {
+            synchronized (children) {
+                assert children.containsKey(name);
+                children.put(name, resource);
+            }
+        }
+
+        DefaultResourceProvider shallowCopy() {
+            final DefaultResourceProvider provider = new DefaultResourceProvider();
+            synchronized (children) {
+                provider.children.putAll(children);
+            }
+            return provider;
+        }
+
         @Override
         public ResourceProvider clone() {
             final DefaultResourceProvider provider = new DefaultResourceProvider();
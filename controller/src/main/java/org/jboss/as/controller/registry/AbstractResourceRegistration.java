@@ -30,6 +30,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationStepHandler;
@@ -58,6 +61,9 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
     private final String valueString;
     private final NodeSubregistry parent;
     private final PathAddress pathAddress;
+    /** Shared by all the registrations of the tree */
+    private final AtomicLong modificationCount;
+    private final ConcurrentMap<Object, Object> derivedDataCache = new ConcurrentHashMap<>(4);
     private RootInvocation rootInvocation;
 
     AbstractResourceRegistration(final String valueString, final NodeSubregistry parent) {
@@ -65,6 +71,7 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         this.valueString = valueString;
         this.parent = parent;
         this.pathAddress = parent == null ? PathAddress.EMPTY_ADDRESS : parent.getPathAddress(valueString);
+        this.modificationCount = parent == null ? new AtomicLong() : parent.getParent().modificationCount;
     }
 
     static void checkPermission() {
@@ -78,6 +85,23 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         return parent;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    @Override
+    public ConcurrentMap<Object, Object> getDerivedDataCache() {
+        return derivedDataCache;
+    }
+
+    /**
+     * Records that this registration was modified, invalidating the data derived from the registrations of its tree.
+     */
+    void registrationModified() {
+        modificationCount.incrementAndGet();
+    }
+
     void addAccessConstraints(List<AccessConstraintDefinition> list) {
         // no-op in the base class
     }
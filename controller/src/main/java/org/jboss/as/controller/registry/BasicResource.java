@@ -73,17 +73,34 @@ class BasicResource extends AbstractModelResource implements Resource {
     @SuppressWarnings({"CloneDoesntCallSuperClone"})
     @Override
     public Resource clone() {
-        final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes());
+        final BasicResource clone = copyModel();
+        cloneProviders(clone);
+        return clone;
+    }
+
+    /**
+     * Creates a copy of this resource that has its own model but shares the children of this resource.
+     * Used by {@link CopyOnWriteResource}; the shared children must not be modified by the caller.
+     *
+     * @return the copy
+     */
+    BasicResource copyOnWrite() {
+        final BasicResource copy = copyModel();
+        shareProviders(copy);
+        return copy;
+    }
+
+    private BasicResource copyModel() {
+        final BasicResource copy = new BasicResource(isRuntime(), getOrderedChildTypes());
         for (;;) {
             try {
-                clone.writeModel(model);
+                copy.writeModel(model);
                 break;
             } catch (ConcurrentModificationException ignore) {
                 // TODO horrible hack :(
             }
         }
-        cloneProviders(clone);
-        return clone;
+        return copy;
     }
 
 }
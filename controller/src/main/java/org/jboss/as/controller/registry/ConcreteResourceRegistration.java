@@ -150,6 +150,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         try {
             this.runtimeOnly = runtimeOnly;
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -244,6 +245,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 }
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -381,6 +383,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 throw operationNotRegisteredException(operationName, resourceDefinition.getPathElement());
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -418,6 +421,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         try {
             attributes.remove(attributeName);
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -441,6 +445,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 notifications.put(type, entry);
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -459,6 +464,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 notifications.remove(notificationType);
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -504,6 +510,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             attributes.put(attributeName, aa);
             registerAttributeAccessConstraints(definition);
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -679,6 +686,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 capabilityRegistry.registerPossibleCapability(capability, getPathAddress());
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -695,6 +703,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 incorporatingCapabilities = Collections.unmodifiableSet(new HashSet<>(capabilities));
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -919,6 +928,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 }
             }
         } finally {
+            registrationModified();
             writeLock.unlock();
         }
     }
@@ -0,0 +1,328 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * {@link Resource} view of a resource tree that is structurally shared with another, published, resource tree.
+ * <p>
+ * Rather than {@link Resource#clone() cloning} the entire tree up front, {@link #copyOf(Resource)} only copies the
+ * root. Any other resource is copied, along with any of its ancestors that have not been copied yet, the first time
+ * it is modified through this view. Resources that are never modified remain shared with the original tree, so
+ * the cost of an update is proportional to the depth of the modified resources rather than to the size of the tree.
+ * <p>
+ * Only {@link Resource.Factory standard} resources are copied this way. Any other resource implementation is
+ * {@link Resource#clone() cloned} as a whole when it is first modified, as are the children of any custom
+ * {@link ResourceProvider}.
+ *
+ * <p>Concurrency note: the resources of the original tree must not be modified other than through this view,
+ * and the tree obtained from {@link #getCopy()} may only be read directly.</p>
+ */
+public class CopyOnWriteResource implements Resource {
+
+    private final Tree tree;
+    private final CopyOnWriteResource parent;
+    private final PathElement element;
+    /** The private copy backing this view; {@code null} until this resource is first modified */
+    private volatile Resource copy;
+    /** Whether all descendants of {@link #copy} are private as well */
+    private boolean deep;
+
+    private CopyOnWriteResource(final Tree tree, final CopyOnWriteResource parent, final PathElement element) {
+        this.tree = tree;
+        this.parent = parent;
+        this.element = element;
+    }
+
+    /**
+     * Creates a copy-on-write view of the given resource tree.
+     *
+     * @param root the root of the tree. Cannot be {@code null}
+     * @return the view of the root resource
+     */
+    public static CopyOnWriteResource copyOf(final Resource root) {
+        final Tree tree = new Tree();
+        final CopyOnWriteResource result = new CopyOnWriteResource(tree, null, null);
+        synchronized (tree) {
+            if (root.getClass() == BasicResource.class) {
+                result.copy = tree.copied(((BasicResource) root).copyOnWrite());
+            } else {
+                result.copy = root.clone();
+                result.deep = true;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the private copy of the resource represented by this view, copying it and its ancestors if necessary.
+     * The children of the returned resource may still be shared with the original tree.
+     *
+     * @return the copy. Will not be {@code null}
+     * @throws NoSuchResourceException if the resource no longer exists
+     */
+    public Resource getCopy() {
+        synchronized (tree) {
+            Resource result = copy;
+            if (result == null) {
+                final Resource parentCopy = parent.getCopy();
+                final Resource child = parentCopy.getChild(element);
+                if (child == null) {
+                    throw new NoSuchResourceException(element);
+                }
+                if (parent.deep || tree.deepCopies.contains(child)) {
+                    result = child;
+                    deep = true;
+                } else if (tree.copies.contains(child)) {
+                    result = child;
+                } else if (!(parentCopy instanceof AbstractModelResource)
+                        || !((AbstractModelResource) parentCopy).isDefaultProvider(element.getKey())) {
+                    // A custom provider; its children have been cloned by the provider itself
+                    result = child;
+                    deep = true;
+                } else {
+                    if (child.getClass() == BasicResource.class) {
+                        result = tree.copied(((BasicResource) child).copyOnWrite());
+                    } else {
+                        result = tree.deepCopied(child.clone());
+                        deep = true;
+                    }
+                    ((AbstractModelResource) parentCopy).replaceChild(element, result);
+                }
+                copy = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Gets the resource through which callers may update the resource represented by this view, copying it and its
+     * ancestors if necessary. This is the {@link #getCopy() private copy} itself if none of its descendants are
+     * shared with the original tree, which is always the case for resource implementations other than the
+     * {@link Resource.Factory standard} ones, so callers get the resource type they registered; otherwise it is
+     * this view, so any descendant modified through it is copied first.
+     *
+     * @return the resource. Will not be {@code null}
+     * @throws NoSuchResourceException if the resource no longer exists
+     */
+    public Resource getResourceForUpdate() {
+        synchronized (tree) {
+            final Resource result = getCopy();
+            return deep ? result : this;
+        }
+    }
+
+    /**
+     * Gets the resource currently backing this view, without copying it.
+     */
+    private Resource current() {
+        final Resource result = copy;
+        if (result != null) {
+            return result;
+        }
+        final Resource child = parent.current().getChild(element);
+        if (child == null) {
+            throw new NoSuchResourceException(element);
+        }
+        return child;
+    }
+
+    @Override
+    public ModelNode getModel() {
+        // The caller may modify the returned model
+        return getCopy().getModel();
+    }
+
+    @Override
+    public void writeModel(final ModelNode newModel) {
+        getCopy().writeModel(newModel);
+    }
+
+    @Override
+    public boolean isModelDefined() {
+        return current().isModelDefined();
+    }
+
+    @Override
+    public boolean hasChild(final PathElement element) {
+        return current().hasChild(element);
+    }
+
+    @Override
+    public Resource getChild(final PathElement element) {
+        return current().getChild(element) == null ? null : new CopyOnWriteResource(tree, this, element);
+    }
+
+    @Override
+    public Resource requireChild(final PathElement element) {
+        final Resource child = getChild(element);
+        if (child == null) {
+            throw new NoSuchResourceException(element);
+        }
+        return child;
+    }
+
+    @Override
+    public boolean hasChildren(final String childType) {
+        return current().hasChildren(childType);
+    }
+
+    @Override
+    public Resource navigate(final PathAddress address) {
+        return Tools.navigate(this, address);
+    }
+
+    @Override
+    public Set<String> getChildTypes() {
+        return current().getChildTypes();
+    }
+
+    @Override
+    public Set<String> getChildrenNames(final String childType) {
+        return current().getChildrenNames(childType);
+    }
+
+    @Override
+    public Set<ResourceEntry> getChildren(final String childType) {
+        final Set<ResourceEntry> children = new LinkedHashSet<ResourceEntry>();
+        for (final ResourceEntry entry : current().getChildren(childType)) {
+            children.add(new Entry(tree, this, entry.getPathElement()));
+        }
+        return children;
+    }
+
+    @Override
+    public void registerChild(final PathElement address, final Resource resource) {
+        synchronized (tree) {
+            getCopy().registerChild(address, adopt(resource));
+        }
+    }
+
+    @Override
+    public void registerChild(final PathElement address, final int index, final Resource resource) {
+        synchronized (tree) {
+            getCopy().registerChild(address, index, adopt(resource));
+        }
+    }
+
+    @Override
+    public Resource removeChild(final PathElement address) {
+        synchronized (tree) {
+            final Resource removed = getCopy().removeChild(address);
+            if (removed == null || deep || tree.copies.contains(removed) || tree.deepCopies.contains(removed)) {
+                return removed;
+            }
+            // Still part of the original tree, so don't let the caller modify it
+            return removed.clone();
+        }
+    }
+
+    @Override
+    public Set<String> getOrderedChildTypes() {
+        return current().getOrderedChildTypes();
+    }
+
+    @Override
+    public boolean isRuntime() {
+        return current().isRuntime();
+    }
+
+    @Override
+    public boolean isProxy() {
+        return current().isProxy();
+    }
+
+    @SuppressWarnings({"CloneDoesntCallSuperClone"})
+    @Override
+    public Resource clone() {
+        return current().clone();
+    }
+
+    @Override
+    public Resource shallowCopy() {
+        return current().shallowCopy();
+    }
+
+    /**
+     * Prepares a resource for registration in the copied tree.
+     */
+    private Resource adopt(final Resource resource) {
+        if (resource instanceof CopyOnWriteResource) {
+            final CopyOnWriteResource view = (CopyOnWriteResource) resource;
+            if (view.tree == tree) {
+                return view.getCopy();
+            }
+            return view.current().clone();
+        }
+        // A new resource supplied by the caller; nothing below it is shared
+        return tree.deepCopied(resource);
+    }
+
+    /**
+     * State shared by all views of a copied tree.
+     */
+    private static final class Tree {
+        /** Resources copied by {@link BasicResource#copyOnWrite()}, whose children may still be shared */
+        private final Set<Resource> copies = Collections.newSetFromMap(new IdentityHashMap<Resource, Boolean>());
+        /** Private resources none of whose descendants are shared */
+        private final Set<Resource> deepCopies = Collections.newSetFromMap(new IdentityHashMap<Resource, Boolean>());
+
+        private Resource copied(final Resource resource) {
+            copies.add(resource);
+            return resource;
+        }
+
+        private Resource deepCopied(final Resource resource) {
+            deepCopies.add(resource);
+            return resource;
+        }
+    }
+
+    private static final class Entry extends CopyOnWriteResource implements ResourceEntry {
+
+        private final PathElement pathElement;
+
+        private Entry(final Tree tree, final CopyOnWriteResource parent, final PathElement element) {
+            super(tree, parent, element);
+            this.pathElement = element;
+        }
+
+        @Override
+        public String getName() {
+            return pathElement.getValue();
+        }
+
+        @Override
+        public PathElement getPathElement() {
+            return pathElement;
+        }
+    }
+}
@@ -25,6 +25,7 @@ package org.jboss.as.controller.registry;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
@@ -189,4 +190,14 @@ public class DelegatingImmutableManagementResourceRegistration implements Immuta
     public Set<RuntimeCapability> getIncorporatingCapabilities() {
         return delegate.getIncorporatingCapabilities();
     }
+
+    @Override
+    public long getModificationCount() {
+        return delegate.getModificationCount();
+    }
+
+    @Override
+    public ConcurrentMap<Object, Object> getDerivedDataCache() {
+        return delegate.getDerivedDataCache();
+    }
 }
@@ -26,6 +26,7 @@ import java.security.Permission;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
@@ -340,4 +341,27 @@ public interface ImmutableManagementResourceRegistration {
      * @see #getCapabilities()
      */
     Set<RuntimeCapability> getIncorporatingCapabilities();
+
+    /**
+     * Gets the number of modifications made so far to the registrations of the tree this registration belongs to,
+     * e.g. registering or removing a resource, attribute, operation, notification or proxy, anywhere in the tree.
+     * Data derived from the registrations, such as resource descriptions, can be cached as long as this does not change.
+     *
+     * @return the number of modifications, or {@code -1} if modifications are not tracked, in which case data derived
+     *         from this registration must not be cached
+     */
+    default long getModificationCount() {
+        return -1;
+    }
+
+    /**
+     * Gets a cache for data derived from this registration, such as its description, which is discarded along with the
+     * registration. The cache is not cleared when the registrations change, so its entries must be validated against
+     * the {@link #getModificationCount() modification count} of the tree they were derived from.
+     *
+     * @return the cache, or {@code null} if data derived from this registration must not be cached
+     */
+    default ConcurrentMap<Object, Object> getDerivedDataCache() {
+        return null;
+    }
 }
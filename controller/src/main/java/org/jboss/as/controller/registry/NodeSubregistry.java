@@ -123,6 +123,7 @@ final class NodeSubregistry {
             parentRegistration.setOrderedChild(keyName);
         }
 
+        parent.registrationModified();
         return newRegistry;
     }
 
@@ -133,12 +134,14 @@ final class NodeSubregistry {
             throw ControllerLogger.ROOT_LOGGER.nodeAlreadyRegistered(getLocationString(elementValue));
         }
         //register(elementValue, newRegistry);
+        parent.registrationModified();
         return newRegistry;
     }
 
     void unregisterProxyController(final String elementValue) {
         checkPermission();
         childRegistriesUpdater.remove(this, elementValue);
+        parent.registrationModified();
     }
 
     public AliasResourceRegistration registerAlias(final String elementValue, AliasEntry aliasEntry, AbstractResourceRegistration target) {
@@ -147,12 +150,14 @@ final class NodeSubregistry {
         if (existingRegistry != null) {
             throw ControllerLogger.ROOT_LOGGER.nodeAlreadyRegistered(getLocationString(elementValue));
         }
+        parent.registrationModified();
         return newRegistry;
     }
 
     public void unregisterAlias(final String elementValue) {
         checkPermission();
         childRegistriesUpdater.remove(this, elementValue);
+        parent.registrationModified();
     }
 
 
@@ -169,6 +174,7 @@ final class NodeSubregistry {
                 capabilityRegistry.removePossibleCapability(c, pa);
             }
         }
+        parent.registrationModified();
     }
 
     OperationEntry getOperationEntry(final ListIterator<PathElement> iterator, final String child, final String operationName, OperationEntry inherited) {
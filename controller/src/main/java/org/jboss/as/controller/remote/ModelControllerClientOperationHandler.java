@@ -151,7 +151,7 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
             context.executeAsync(new ManagementRequestContext.AsyncTask<Void>() {
                 @Override
                 public void execute(final ManagementRequestContext<Void> context) throws Exception {
-                    final ManagementResponseHeader response = ManagementResponseHeader.create(context.getRequestHeader());
+                    final ManagementResponseHeader response = ManagementResponseHeader.createCompressed(context.getRequestHeader());
 
                     try {
                         AccessAuditContext.doAs(connectionIdentity, remoteAddress, new PrivilegedExceptionAction<Void>() {
@@ -600,7 +600,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                 FlushableDataOutput output = null;
                 try {
                     MGMT_OP_LOGGER.tracef("Transmitting response for %d", context.getOperationId());
-                    final ManagementResponseHeader header = ManagementResponseHeader.create(context.getRequestHeader());
+                    final ManagementResponseHeader header = ManagementResponseHeader.createCompressed(context.getRequestHeader());
                     output = context.writeMessage(header);
                     // response type
                     output.writeByte(responseType);
@@ -444,6 +444,29 @@ public class ExpressionResolverUnitTestCase {
         }
     }
 
+    @Test
+    public void testResolvedNodeIsCopy() throws OperationFailedException {
+        ModelNode node = new ModelNode();
+        node.get("plain", "a").set("a");
+        node.get("list").add("b");
+        node.get("expr", "c").set(new ValueExpression("${test.property.copy:c}"));
+
+        ModelNode resolved = ExpressionResolver.TEST_RESOLVER.resolveExpressions(node);
+        assertEquals("c", resolved.get("expr", "c").asString());
+        resolved.get("plain", "a").set("changed");
+        resolved.get("list").add("changed");
+        assertEquals("a", node.get("plain", "a").asString());
+        assertEquals(1, node.get("list").asInt());
+        assertEquals(ModelType.EXPRESSION, node.get("expr", "c").getType());
+
+        // Without any expression
+        node.remove("expr");
+        resolved = ExpressionResolver.TEST_RESOLVER.resolveExpressions(node);
+        assertEquals(node, resolved);
+        resolved.get("plain", "a").set("changed");
+        assertEquals("a", node.get("plain", "a").asString());
+    }
+
     private ModelNode expression(String str) {
         return new ModelNode(new ValueExpression(str));
     }
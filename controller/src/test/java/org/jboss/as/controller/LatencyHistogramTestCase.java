@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COUNT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MEAN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P50;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P90;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P99;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P999;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testBuckets() {
+        long previousHighest = -1;
+        for (int bucket = 0; bucket < 200; bucket++) {
+            final long highest = LatencyHistogram.getHighestValue(bucket);
+            Assert.assertTrue(highest > previousHighest);
+            // Each bucket holds the values above the highest value of the previous one
+            Assert.assertEquals(bucket, LatencyHistogram.getBucket(previousHighest + 1));
+            Assert.assertEquals(bucket, LatencyHistogram.getBucket(highest));
+            previousHighest = highest;
+        }
+        Assert.assertEquals(LatencyHistogram.getBucket(Long.MAX_VALUE), LatencyHistogram.getBucket(Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    public void testEmpty() {
+        final ModelNode stats = new LatencyHistogram().toModelNode();
+        Assert.assertEquals(0, stats.get(COUNT).asLong());
+        Assert.assertEquals(0, stats.get(MEAN).asLong());
+        Assert.assertEquals(0, stats.get(P99).asLong());
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        final ModelNode stats = histogram.toModelNode();
+        Assert.assertEquals(1000, stats.get(COUNT).asLong());
+        Assert.assertEquals(500500, stats.get(MEAN).asLong());
+        Assert.assertEquals(1000000, stats.get(MAX).asLong());
+        assertPercentile(500000, stats.get(P50).asLong());
+        assertPercentile(900000, stats.get(P90).asLong());
+        assertPercentile(990000, stats.get(P99).asLong());
+        assertPercentile(999000, stats.get(P999).asLong());
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        // The reported value is the upper bound of the bucket, which is at most 1/8 wider than its lower bound
+        Assert.assertTrue(actual + " < " + expected, actual >= expected);
+        Assert.assertTrue(actual + " > " + expected, actual <= expected + expected / 8);
+    }
+}
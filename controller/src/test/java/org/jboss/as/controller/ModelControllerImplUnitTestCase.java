@@ -62,9 +62,15 @@ import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
 import org.jboss.as.controller.notification.Notification;
 import org.jboss.as.controller.notification.NotificationFilter;
@@ -72,6 +78,7 @@ import org.jboss.as.controller.notification.NotificationHandler;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.global.GlobalNotifications;
 import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.operations.global.ReadAttributeHandler;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.test.TestUtils;
@@ -102,6 +109,7 @@ public class ModelControllerImplUnitTestCase {
     private static final PathAddress CHILD_ONE = PathAddress.pathAddress(PathElement.pathElement("child", "one"));
     private static final PathAddress CHILD_TWO = PathAddress.pathAddress(PathElement.pathElement("child", "two"));
     private ServiceContainer container;
+    private ModelControllerService service;
     private ModelController controller;
     private AtomicBoolean sharedState;
     private ServiceNotificationHandler notificationHandler;
@@ -121,6 +129,7 @@ public class ModelControllerImplUnitTestCase {
         ModelControllerService svc = new ModelControllerService();
         ServiceBuilder<ModelController> builder = target.addService(ServiceName.of("ModelController"), svc);
         builder.install();
+        service = svc;
         sharedState = svc.getSharedState();
         svc.awaitStartup(30, TimeUnit.SECONDS);
         controller = svc.getValue();
@@ -158,6 +167,62 @@ public class ModelControllerImplUnitTestCase {
         notificationHandler.validate(0);
     }
 
+    /**
+     * Test that reading the model neither waits for nor sees the changes of an operation holding the controller lock.
+     */
+    @Test
+    public void testModelReadDuringWrite() throws Exception {
+        final BlockingWriteHandler blockingWriteHandler = service.blockingWriteHandler;
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ModelNode> write = executor.submit(() -> controller.execute(getOperation("blocking-write", "attr1", 5), null, null, null));
+            assertTrue(blockingWriteHandler.locked.await(30, TimeUnit.SECONDS));
+
+            // The read would not complete before the write is released if it waited for the lock
+            final ModelNode read = Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, "attr1");
+            Future<ModelNode> concurrentRead = executor.submit(() -> controller.execute(read, null, null, null));
+            ModelNode result = concurrentRead.get(30, TimeUnit.SECONDS);
+            assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(1, result.get(RESULT).asInt());
+
+            blockingWriteHandler.release.countDown();
+            assertEquals(SUCCESS, write.get(30, TimeUnit.SECONDS).get(OUTCOME).asString());
+            assertEquals(5, controller.execute(read, null, null, null).get(RESULT).asInt());
+        } finally {
+            blockingWriteHandler.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that reading the model while attempting to get the controller lock, as the domain controller does on behalf
+     * of other hosts, still fails fast if an operation holds the lock.
+     */
+    @Test
+    public void testModelReadAttemptingLockDuringWrite() throws Exception {
+        final BlockingWriteHandler blockingWriteHandler = service.blockingWriteHandler;
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ModelNode> write = executor.submit(() -> controller.execute(getOperation("blocking-write", "attr1", 5), null, null, null));
+            assertTrue(blockingWriteHandler.locked.await(30, TimeUnit.SECONDS));
+
+            ModelNode read = Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, "attr1");
+            ModelNode result = service.internalExecute(OperationBuilder.create(read).build(), OperationMessageHandler.DISCARD,
+                    null, ReadAttributeHandler.INSTANCE, true).getResponseNode();
+            assertEquals(result.toString(), FAILED, result.get(OUTCOME).asString());
+
+            blockingWriteHandler.release.countDown();
+            assertEquals(SUCCESS, write.get(30, TimeUnit.SECONDS).get(OUTCOME).asString());
+            result = service.internalExecute(OperationBuilder.create(read).build(), OperationMessageHandler.DISCARD,
+                    null, ReadAttributeHandler.INSTANCE, true).getResponseNode();
+            assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(5, result.get(RESULT).asInt());
+        } finally {
+            blockingWriteHandler.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Test successfully updating the model but then having the caller roll back the transaction.
      */
@@ -687,12 +752,15 @@ public class ModelControllerImplUnitTestCase {
 
     static class ModelControllerService extends TestModelControllerService {
 
+        private final BlockingWriteHandler blockingWriteHandler = new BlockingWriteHandler();
+
         @Override
         protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
             ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
             rootRegistration.registerOperationHandler(getOD("setup"), new ModelControllerImplUnitTestCase.SetupHandler(),true);
             rootRegistration.registerOperationHandler(getOD("composite"), CompositeOperationHandler.INSTANCE,true);
             rootRegistration.registerOperationHandler(getOD("good"), new ModelControllerImplUnitTestCase.ModelStageGoodHandler(),true);
+            rootRegistration.registerOperationHandler(getOD("blocking-write"), blockingWriteHandler,true);
             rootRegistration.registerOperationHandler(getOD("bad"), new ModelControllerImplUnitTestCase.ModelStageFailsHandler(),true);
             rootRegistration.registerOperationHandler(getOD("evil"), new ModelControllerImplUnitTestCase.ModelStageThrowsExceptionHandler(),true);
             rootRegistration.registerOperationHandler(getOD("handleFailed"), new ModelControllerImplUnitTestCase.RuntimeStageFailsHandler(state),true);
@@ -765,6 +833,28 @@ public class ModelControllerImplUnitTestCase {
         }
     }
 
+    /**
+     * Writes an attribute like {@link ModelStageGoodHandler}, then waits to be released while holding the controller lock.
+     */
+    static class BlockingWriteHandler implements OperationStepHandler {
+
+        private final CountDownLatch locked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ModelNode model = context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS).getModel();
+            model.get(operation.require(NAME).asString()).set(operation.require(VALUE));
+            locked.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationFailedException(e.toString());
+            }
+        }
+    }
+
     public static class ModelStageFailsHandler implements OperationStepHandler {
 
         @Override
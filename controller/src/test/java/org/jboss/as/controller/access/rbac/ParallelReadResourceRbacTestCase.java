@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.access.rbac;
+
+import static org.jboss.as.controller.PathAddress.EMPTY_ADDRESS;
+import static org.jboss.as.controller.PathAddress.pathAddress;
+import static org.jboss.as.controller.PathElement.pathElement;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_PARALLELISM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.access.constraint.SensitivityClassification;
+import org.jboss.as.controller.access.management.AccessConstraintDefinition;
+import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that recursive {@code read-resource} requests including the runtime, with their child subtrees read
+ * concurrently, are filtered like the same requests read on the calling thread.
+ */
+public class ParallelReadResourceRbacTestCase extends AbstractRbacTestBase {
+
+    private static final String UNCONSTRAINED_RESOURCE = "unconstrained-resource";
+    private static final String SENSITIVE_CONSTRAINED_RESOURCE = "sensitive-constrained-resource";
+    private static final String METRIC = "metric";
+    private static final String PASSWORD = "password";
+    private static final int CHILDREN = 16;
+    private static final int CLIENTS = 4;
+    private static final int ITERATIONS = 10;
+
+    private static final SensitiveTargetAccessConstraintDefinition MY_SENSITIVE_CONSTRAINT
+            = new SensitiveTargetAccessConstraintDefinition(new SensitivityClassification("test", "my-parallel-sensitivity", true, true, true));
+    private static final SensitiveTargetAccessConstraintDefinition MY_SENSITIVE_ATTRIBUTE_CONSTRAINT
+            = new SensitiveTargetAccessConstraintDefinition(new SensitivityClassification("test", "my-parallel-attribute-sensitivity", false, true, true));
+
+    @Before
+    public void setup() {
+        for (int i = 0; i < CHILDREN; i++) {
+            ModelNode operation = Util.createOperation(ADD, pathAddress(UNCONSTRAINED_RESOURCE, "child" + i));
+            operation.get(PASSWORD).set("secret" + i);
+            executeWithRoles(operation, StandardRole.SUPERUSER);
+            operation = Util.createOperation(ADD, pathAddress(SENSITIVE_CONSTRAINED_RESOURCE, "child" + i));
+            operation.get(PASSWORD).set("secret" + i);
+            executeWithRoles(operation, StandardRole.SUPERUSER);
+        }
+        MY_SENSITIVE_CONSTRAINT.getSensitivity().setConfiguredRequiresAccessPermission(true);
+    }
+
+    @Test
+    public void testMonitor() throws Exception {
+        test(false, StandardRole.MONITOR);
+    }
+
+    @Test
+    public void testAdministrator() throws Exception {
+        test(true, StandardRole.ADMINISTRATOR);
+    }
+
+    @Test
+    public void testMonitorAndSuperuserConcurrently() throws Exception {
+        final ModelNode monitorExpected = readResource(0, StandardRole.MONITOR);
+        final ModelNode superuserExpected = readResource(0, StandardRole.SUPERUSER);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                final boolean monitor = i % 2 == 0;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        if (monitor) {
+                            assertEquals(monitorExpected, readResource(CHILDREN, StandardRole.MONITOR));
+                        } else {
+                            assertEquals(superuserExpected, readResource(CHILDREN, StandardRole.SUPERUSER));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void test(boolean sensitiveDataVisible, StandardRole... roles) throws Exception {
+        final ModelNode expected = readResource(0, roles);
+        assertEquals(sensitiveDataVisible, expected.hasDefined(SENSITIVE_CONSTRAINED_RESOURCE, "child0"));
+        for (int i = 0; i < CHILDREN; i++) {
+            // Authorized against the address of each child, not against the address of the calling operation
+            assertEquals(sensitiveDataVisible, expected.hasDefined(UNCONSTRAINED_RESOURCE, "child" + i, PASSWORD));
+        }
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            final ModelNode result = readResource(CHILDREN, roles);
+            assertEquals(expected, result);
+        }
+    }
+
+    private ModelNode readResource(int parallelism, StandardRole... roles) {
+        final ModelNode operation = Util.createOperation(READ_RESOURCE_OPERATION, EMPTY_ADDRESS);
+        operation.get(RECURSIVE).set(true);
+        operation.get(INCLUDE_RUNTIME).set(true);
+        if (parallelism > 0) {
+            operation.get(OPERATION_HEADERS, READ_PARALLELISM).set(parallelism);
+        }
+        final ModelNode result = executeWithRoles(operation, roles);
+        assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+        for (int i = 0; i < CHILDREN; i++) {
+            final ModelNode child = result.get(RESULT).require(UNCONSTRAINED_RESOURCE).require("child" + i);
+            assertEquals(result.toString(), "child" + i, child.require(METRIC).asString());
+        }
+        return result.get(RESULT);
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, ProcessType.EMBEDDED_SERVER);
+
+        GlobalNotifications.registerGlobalNotifications(registration, ProcessType.EMBEDDED_SERVER);
+
+        registration.registerSubModel(new TestResourceDefinition(UNCONSTRAINED_RESOURCE));
+        registration.registerSubModel(new TestResourceDefinition(SENSITIVE_CONSTRAINED_RESOURCE,
+                MY_SENSITIVE_CONSTRAINT));
+    }
+
+    private static final class TestResourceDefinition extends SimpleResourceDefinition {
+
+        private static final AttributeDefinition PASSWORD_DEFINITION = new SimpleAttributeDefinitionBuilder(PASSWORD, ModelType.STRING)
+                .setRequired(false)
+                .addAccessConstraint(MY_SENSITIVE_ATTRIBUTE_CONSTRAINT)
+                .build();
+        private static final AttributeDefinition METRIC_DEFINITION = new SimpleAttributeDefinitionBuilder(METRIC, ModelType.STRING)
+                .setStorageRuntime()
+                .build();
+
+        TestResourceDefinition(String path, AccessConstraintDefinition... constraintDefinitions) {
+             super(new Parameters(pathElement(path), new NonResolvingResourceDescriptionResolver())
+                    .setAddHandler(new AbstractAddStepHandler(PASSWORD_DEFINITION))
+                    .setRemoveHandler(new AbstractRemoveStepHandler() {})
+                    .setAccessConstraints(constraintDefinitions));
+        }
+
+        @Override
+        public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+            resourceRegistration.registerReadWriteAttribute(PASSWORD_DEFINITION, null, new ModelOnlyWriteAttributeHandler(PASSWORD_DEFINITION));
+            // Reading the metric authorizes access to the runtime of the resource read
+            resourceRegistration.registerMetric(METRIC_DEFINITION, (context, operation) -> {
+                context.getServiceRegistry(false);
+                context.getResult().set(context.getCurrentAddressValue());
+            });
+        }
+    }
+}
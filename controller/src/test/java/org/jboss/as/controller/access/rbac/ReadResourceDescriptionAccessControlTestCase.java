@@ -481,6 +481,28 @@ public class ReadResourceDescriptionAccessControlTestCase extends AbstractContro
         checkResourcePermissions(accessControl.defaultControl, true, true);
     }
 
+    // The description is cached after the first call, the access control must still be computed for each caller
+    @Test
+    public void testDirectReadResourceDefinitionReadWriteSensitivityAsDifferentRolesAfterCachedCall() throws Exception {
+        registerOneChildRootResource(createSensitivityConstraint("testDirectReadResourceDefinitionReadWriteSensitivityAsDifferentRolesAfterCachedCall", false, true, true));
+        ModelNode op = createReadResourceDescriptionOperation(ONE_A_ADDR, StandardRole.ADMINISTRATOR, false);
+        ModelNode administratorResult = executeForResult(op);
+        checkResourcePermissions(getResourceAccessControl(administratorResult).defaultControl, true, true);
+
+        op = createReadResourceDescriptionOperation(ONE_A_ADDR, StandardRole.MONITOR, false);
+        ModelNode result = executeForResult(op);
+        //Reads are sensitive so we cannot read them as the default says we can
+        checkResourcePermissions(getResourceAccessControl(result).defaultControl, false, false);
+
+        op = createReadResourceDescriptionOperation(ONE_A_ADDR, StandardRole.MAINTAINER, false);
+        result = executeForResult(op);
+        checkResourcePermissions(getResourceAccessControl(result).defaultControl, false, false);
+
+        //The cached description was not modified by the access control of the other callers
+        op = createReadResourceDescriptionOperation(ONE_A_ADDR, StandardRole.ADMINISTRATOR, false);
+        Assert.assertEquals(administratorResult, executeForResult(op));
+    }
+
     // These three are the same for different roles
 
     @Test
@@ -0,0 +1,221 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.jboss.as.controller.OperationContext.ResultAction;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.audit.ManagedAuditLogger.OverflowPolicy;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ManagedAuditLoggerImpl} writing records asynchronously.
+ */
+public class AsyncAuditLogUnitTestCase {
+
+    private static final String FORMATTER = "json";
+    private static final String HANDLER = "recording";
+
+    private ManagedAuditLoggerImpl auditLogger;
+    private RecordingHandler handler;
+
+    @Before
+    public void setup() {
+        auditLogger = new ManagedAuditLoggerImpl("8.0.0", true);
+        auditLogger.addFormatter(new JsonAuditLogItemFormatter(FORMATTER, false, "", "yyyy-MM-dd", true, false, false));
+        handler = new RecordingHandler();
+        auditLogger.getUpdater().addHandler(handler);
+        auditLogger.getUpdater().addHandlerReference(PathAddress.pathAddress("handler", HANDLER));
+        auditLogger.setLoggerStatus(AuditLogger.Status.LOGGING);
+        auditLogger.bootDone();
+        // Applies the handler updates
+        log(0);
+        Assert.assertEquals(1, handler.getRecords().size());
+    }
+
+    @After
+    public void cleanup() {
+        handler.release();
+        auditLogger.setAsync(false, 1, OverflowPolicy.BLOCK);
+    }
+
+    @Test
+    public void testSlowHandlerDoesNotBlockLogging() throws Exception {
+        auditLogger.setAsync(true, 2, OverflowPolicy.DISCARD);
+        handler.block();
+
+        // The writer thread takes the first record, and blocks in the handler
+        log(1);
+        waitFor(() -> auditLogger.getQueueDepth() == 0);
+
+        log(2);
+        log(3);
+        Assert.assertEquals(2, auditLogger.getQueueDepth());
+        log(4);
+        log(5);
+        Assert.assertEquals(2, auditLogger.getQueueDepth());
+        Assert.assertEquals(2, auditLogger.getDroppedCount());
+
+        handler.release();
+        waitFor(() -> handler.getRecords().size() == 4);
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3), getIndexes());
+        Assert.assertEquals(0, auditLogger.getQueueDepth());
+    }
+
+    @Test
+    public void testSynchronousRecordIsWrittenAfterQueuedRecords() throws Exception {
+        auditLogger.setAsync(true, 16, OverflowPolicy.BLOCK);
+        handler.block();
+        log(1);
+        waitFor(() -> auditLogger.getQueueDepth() == 0);
+        log(2);
+        log(3);
+
+        // Pending handler updates force the next record to be written with the lock taken
+        auditLogger.getUpdater().removeHandlerReference(PathAddress.pathAddress("handler", "other"));
+        final Thread thread = new Thread(() -> log(4));
+        thread.start();
+        handler.release();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4), getIndexes());
+    }
+
+    @Test
+    public void testSwitchingToSynchronousWritesQueuedRecords() throws Exception {
+        auditLogger.setAsync(true, 16, OverflowPolicy.BLOCK);
+        log(1);
+        log(2);
+        auditLogger.setAsync(false, 16, OverflowPolicy.BLOCK);
+        Assert.assertEquals(0, auditLogger.getQueueDepth());
+        Assert.assertEquals(Arrays.asList(0, 1, 2), getIndexes());
+
+        log(3);
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3), getIndexes());
+    }
+
+    @Test
+    public void testQueuedJmxRecordKeepsParametersAsLogged() throws Exception {
+        auditLogger.setAsync(true, 16, OverflowPolicy.BLOCK);
+        handler.block();
+        log(1);
+        waitFor(() -> auditLogger.getQueueDepth() == 0);
+
+        final StringBuilder param = new StringBuilder("before");
+        auditLogger.logJmxMethodAccess(false, "user", null, null, null, "invoke", new String[] {StringBuilder.class.getName()},
+                new Object[] {param, null}, null);
+        Assert.assertEquals(1, auditLogger.getQueueDepth());
+        // The caller owns the parameters once the method has been logged
+        param.setLength(0);
+        param.append("after");
+
+        handler.release();
+        waitFor(() -> handler.getRecords().size() == 3);
+        final ModelNode params = ModelNode.fromJSONString(handler.getRecords().get(2)).get(JsonAuditLogItemFormatter.METHOD_PARAMETERS);
+        Assert.assertEquals("before", params.get(0).asString());
+        Assert.assertFalse(params.get(1).isDefined());
+    }
+
+    private void log(int index) {
+        ModelNode op = new ModelNode();
+        op.get("index").set(index);
+        auditLogger.log(false, ResultAction.KEEP, "user", null, null, null, null, Collections.singletonList(op));
+    }
+
+    private List<Integer> getIndexes() {
+        List<Integer> indexes = new ArrayList<>();
+        for (String record : handler.getRecords()) {
+            indexes.add(ModelNode.fromJSONString(record).get(JsonAuditLogItemFormatter.OPERATIONS).get(0).get("index").asInt());
+        }
+        return indexes;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        final long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("Timed out", System.currentTimeMillis() < end);
+            Thread.sleep(10);
+        }
+    }
+
+    private static class RecordingHandler extends AuditLogHandler {
+        private final List<String> records = new ArrayList<>();
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+
+        RecordingHandler() {
+            super(HANDLER, FORMATTER, 0);
+        }
+
+        void block() {
+            latch = new CountDownLatch(1);
+        }
+
+        void release() {
+            latch.countDown();
+        }
+
+        List<String> getRecords() {
+            synchronized (records) {
+                return new ArrayList<>(records);
+            }
+        }
+
+        @Override
+        boolean isDifferent(AuditLogHandler other) {
+            return other != this;
+        }
+
+        @Override
+        void initialize() {
+        }
+
+        @Override
+        void stop() {
+        }
+
+        @Override
+        void writeLogItem(String formattedItem) throws IOException {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            synchronized (records) {
+                records.add(formattedItem);
+            }
+        }
+    }
+}
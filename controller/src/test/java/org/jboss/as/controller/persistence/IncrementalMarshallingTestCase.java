@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link AbstractConfigurationPersister#marshallAsXml(ModelNode, Set, java.io.OutputStream)}.
+ */
+public class IncrementalMarshallingTestCase {
+
+    private CountingSubsystemWriter writerA;
+    private CountingSubsystemWriter writerB;
+    private AbstractConfigurationPersister persister;
+
+    @Before
+    public void setup() {
+        writerA = new CountingSubsystemWriter("urn:test:a:1.0");
+        writerB = new CountingSubsystemWriter("urn:test:b:1.0");
+        persister = new AbstractConfigurationPersister(new RootWriter()) {
+            @Override
+            public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
+                return new FilePersistenceResource(model, affectedAddresses, null, this);
+            }
+
+            @Override
+            public List<ModelNode> load() throws ConfigurationPersistenceException {
+                return Collections.emptyList();
+            }
+        };
+        persister.registerSubsystemWriter("a", writerA);
+        persister.registerSubsystemWriter("b", writerB);
+    }
+
+    @Test
+    public void testUnaffectedSubsystemsAreNotMarshalledAgain() throws Exception {
+        ModelNode model = createModel();
+        String full = marshall(model, null);
+        Assert.assertEquals(full, marshall(model, Collections.singleton(PathAddress.EMPTY_ADDRESS)));
+        Assert.assertEquals(2, writerA.count);
+        Assert.assertEquals(2, writerB.count);
+
+        model.get(SUBSYSTEM, "a", "value").set("changed");
+        String incremental = marshall(model, Collections.singleton(PathAddress.pathAddress(SUBSYSTEM, "a").append("child", "one")));
+        Assert.assertEquals(3, writerA.count);
+        Assert.assertEquals(2, writerB.count);
+        Assert.assertEquals(marshall(model, null), incremental);
+        Assert.assertTrue(incremental, incremental.contains("changed"));
+    }
+
+    @Test
+    public void testRollbackDiscardsCachedOutput() throws Exception {
+        ModelNode model = createModel();
+        marshall(model, Collections.singleton(PathAddress.EMPTY_ADDRESS));
+
+        ModelNode updated = model.clone();
+        updated.get(SUBSYSTEM, "b", "value").set("rolled-back");
+        Set<PathAddress> affected = Collections.singleton(PathAddress.pathAddress(SUBSYSTEM, "b"));
+        persister.store(updated, affected).rollback();
+
+        // Nothing affected, but b must not replay the output of the rolled back model
+        String output = marshall(model, Collections.<PathAddress>emptySet());
+        Assert.assertFalse(output, output.contains("rolled-back"));
+        Assert.assertEquals(marshall(model, null), output);
+    }
+
+    @Test
+    public void testProfileSubsystems() throws Exception {
+        ModelNode model = new ModelNode();
+        model.get(PROFILE, "one").set(createModel());
+        model.get(PROFILE, "two").set(createModel());
+        marshall(model, Collections.singleton(PathAddress.EMPTY_ADDRESS));
+        Assert.assertEquals(2, writerA.count);
+
+        model.get(PROFILE, "two", SUBSYSTEM, "a", "value").set("changed");
+        String incremental = marshall(model, Collections.singleton(PathAddress.pathAddress(PROFILE, "two").append(SUBSYSTEM, "a")));
+        Assert.assertEquals(3, writerA.count);
+        Assert.assertEquals(2, writerB.count);
+        Assert.assertEquals(marshall(model, null), incremental);
+    }
+
+    private static ModelNode createModel() {
+        ModelNode model = new ModelNode();
+        model.get(SUBSYSTEM, "a", "value").set("a-value");
+        model.get(SUBSYSTEM, "b", "value").set("b-value");
+        return model;
+    }
+
+    private String marshall(ModelNode model, Set<PathAddress> affectedAddresses) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (affectedAddresses == null) {
+            persister.marshallAsXml(model, output);
+        } else {
+            persister.marshallAsXml(model, affectedAddresses, output);
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class RootWriter implements XMLElementWriter<ModelMarshallingContext> {
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, ModelMarshallingContext context) throws XMLStreamException {
+            writer.writeStartDocument();
+            writer.writeStartElement("root");
+            writer.writeDefaultNamespace("urn:test:root:1.0");
+            ModelNode model = context.getModelNode();
+            if (model.hasDefined(PROFILE)) {
+                for (Property profile : model.get(PROFILE).asPropertyList()) {
+                    writer.writeStartElement(PROFILE);
+                    writer.writeAttribute("name", profile.getName());
+                    writeSubsystems(writer, profile.getValue(), context);
+                    writer.writeEndElement();
+                }
+            } else {
+                writeSubsystems(writer, model, context);
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+        }
+
+        private static void writeSubsystems(XMLExtendedStreamWriter writer, ModelNode model, ModelMarshallingContext context) throws XMLStreamException {
+            for (String name : model.get(SUBSYSTEM).keys()) {
+                String defaultNamespace = writer.getNamespaceContext().getNamespaceURI("");
+                try {
+                    context.getSubsystemWriter(name).writeContent(writer, new SubsystemMarshallingContext(model.get(SUBSYSTEM, name), writer));
+                } finally {
+                    writer.setDefaultNamespace(defaultNamespace);
+                }
+            }
+        }
+    }
+
+    private static class CountingSubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        private final String namespace;
+        private int count;
+
+        private CountingSubsystemWriter(String namespace) {
+            this.namespace = namespace;
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
+            count++;
+            context.startSubsystemElement(namespace, false);
+            writer.writeAttribute("value", context.getModelNode().get("value").asString());
+            writer.writeEndElement();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link CopyOnWriteResource}.
+ */
+public class CopyOnWriteResourceUnitTestCase {
+
+    private static final PathElement A = PathElement.pathElement("subsystem", "a");
+    private static final PathElement B = PathElement.pathElement("subsystem", "b");
+    private static final PathElement C = PathElement.pathElement("subsystem", "c");
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+    private static final PathElement OTHER_CHILD = PathElement.pathElement("child", "two");
+
+    private Resource original;
+
+    @Before
+    public void setup() {
+        original = Resource.Factory.create();
+        original.getModel().get("attr").set("root");
+        for (PathElement element : Arrays.asList(A, B, C)) {
+            Resource subsystem = Resource.Factory.create();
+            subsystem.getModel().get("attr").set(element.getValue());
+            Resource child = Resource.Factory.create();
+            child.getModel().get("attr").set("child");
+            subsystem.registerChild(CHILD, child);
+            original.registerChild(element, subsystem);
+        }
+    }
+
+    @Test
+    public void testUnmodifiedResourcesAreShared() {
+        CopyOnWriteResource view = CopyOnWriteResource.copyOf(original);
+        Resource copy = view.getCopy();
+
+        Assert.assertNotSame(original, copy);
+        for (PathElement element : Arrays.asList(A, B, C)) {
+            Assert.assertSame(original.getChild(element), copy.getChild(element));
+        }
+        Assert.assertEquals(original.getModel(), copy.getModel());
+    }
+
+    @Test
+    public void testModelUpdateCopiesPath() {
+        CopyOnWriteResource view = CopyOnWriteResource.copyOf(original);
+        Resource child = view.navigate(PathAddress.pathAddress(B, CHILD));
+        child.getModel().get("attr").set("updated");
+
+        Resource copy = view.getCopy();
+        Assert.assertEquals("updated", copy.getChild(B).getChild(CHILD).getModel().get("attr").asString());
+        Assert.assertEquals("child", original.getChild(B).getChild(CHILD).getModel().get("attr").asString());
+
+        Assert.assertNotSame(original.getChild(B), copy.getChild(B));
+        Assert.assertSame(original.getChild(A), copy.getChild(A));
+        Assert.assertSame(original.getChild(C), copy.getChild(C));
+
+        // A second update goes to the same copy
+        ModelNode model = new ModelNode();
+        model.get("attr").set("again");
+        view.navigate(PathAddress.pathAddress(B, CHILD)).writeModel(model);
+        Assert.assertEquals("again", copy.getChild(B).getChild(CHILD).getModel().get("attr").asString());
+        Assert.assertEquals("child", original.getChild(B).getChild(CHILD).getModel().get("attr").asString());
+    }
+
+    @Test
+    public void testReadDoesNotCopy() {
+        CopyOnWriteResource view = CopyOnWriteResource.copyOf(original);
+        Resource child = view.requireChild(B);
+        Assert.assertTrue(child.hasChild(CHILD));
+        Assert.assertTrue(child.isModelDefined());
+        Assert.assertEquals(1, child.getChildren("child").size());
+
+        Assert.assertSame(original.getChild(B), view.getCopy().getChild(B));
+    }
+
+    @Test
+    public void testRegisterAndRemoveChild() {
+        CopyOnWriteResource view = CopyOnWriteResource.copyOf(original);
+        Resource subsystem = view.requireChild(A);
+        Resource added = Resource.Factory.create();
+        subsystem.registerChild(OTHER_CHILD, added);
+        added.getModel().get("attr").set("added");
+        Resource removed = view.removeChild(C);
+
+        Resource copy = view.getCopy();
+        Assert.assertTrue(copy.getChild(A).hasChild(OTHER_CHILD));
+        Assert.assertFalse(original.getChild(A).hasChild(OTHER_CHILD));
+        Assert.assertEquals("added", copy.getChild(A).getChild(OTHER_CHILD).getModel().get("attr").asString());
+        Assert.assertFalse(copy.hasChild(C));
+        Assert.assertTrue(original.hasChild(C));
+
+        // The removed resource is still part of the original, so it must not be handed out for modification
+        Assert.assertNotSame(original.getChild(C), removed);
+        removed.getModel().get("attr").set("removed");
+        Assert.assertEquals("c", original.getChild(C).getModel().get("attr").asString());
+    }
+
+    @Test
+    public void testChildOrderIsRetained() {
+        CopyOnWriteResource view = CopyOnWriteResource.copyOf(original);
+        view.requireChild(B).getModel().get("attr").set("updated");
+
+        Iterator<String> names = view.getCopy().getChildrenNames("subsystem").iterator();
+        Assert.assertEquals("a", names.next());
+        Assert.assertEquals("b", names.next());
+        Assert.assertEquals("c", names.next());
+    }
+
+    @Test
+    public void testSuccessiveCopies() {
+        CopyOnWriteResource first = CopyOnWriteResource.copyOf(original);
+        first.requireChild(A).getModel().get("attr").set("first");
+        Resource firstCopy = first.getCopy();
+
+        CopyOnWriteResource second = CopyOnWriteResource.copyOf(firstCopy);
+        second.requireChild(A).getModel().get("attr").set("second");
+
+        Assert.assertEquals("a", original.getChild(A).getModel().get("attr").asString());
+        Assert.assertEquals("first", firstCopy.getChild(A).getModel().get("attr").asString());
+        Assert.assertEquals("second", second.getCopy().getChild(A).getModel().get("attr").asString());
+        Assert.assertSame(firstCopy.getChild(B), second.getCopy().getChild(B));
+    }
+}
@@ -24,6 +24,7 @@ package org.jboss.as.controller.registry;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -332,6 +333,39 @@ public class CoreManagementResourceRegistrationUnitTestCase {
         assertTrue(threeFlags.contains(OperationEntry.Flag.READ_ONLY));
     }
 
+    @Test
+    public void testModificationCount() {
+        long count = rootRegistration.getModificationCount();
+        assertTrue(count >= 0);
+
+        ManagementResourceRegistration child = rootRegistration.registerSubModel(new SimpleResourceDefinition(childElement, new NonResolvingResourceDescriptionResolver()));
+        assertTrue(rootRegistration.getModificationCount() > count);
+        assertEquals(rootRegistration.getModificationCount(), child.getModificationCount());
+
+        count = rootRegistration.getModificationCount();
+        child.registerOperationHandler(getOpDef("one"), TestHandler.ONE);
+        assertTrue(rootRegistration.getModificationCount() > count);
+
+        count = rootRegistration.getModificationCount();
+        rootRegistration.getOperationHandler(childAddress, "one");
+        assertEquals(count, rootRegistration.getModificationCount());
+
+        rootRegistration.unregisterSubModel(childElement);
+        assertTrue(rootRegistration.getModificationCount() > count);
+    }
+
+    @Test
+    public void testDerivedDataCache() {
+        ManagementResourceRegistration child = rootRegistration.registerSubModel(new SimpleResourceDefinition(childElement, new NonResolvingResourceDescriptionResolver()));
+        assertNotNull(rootRegistration.getDerivedDataCache());
+        assertNotNull(child.getDerivedDataCache());
+        assertNotSame(rootRegistration.getDerivedDataCache(), child.getDerivedDataCache());
+
+        // Views of the registration share its cache
+        assertSame(child.getDerivedDataCache(), new DelegatingImmutableManagementResourceRegistration(child).getDerivedDataCache());
+        assertSame(child.getDerivedDataCache(), rootRegistration.getSubModel(childAddress).getDerivedDataCache());
+    }
+
     @Test
     public void testInheritedAccessConstraints() {
 
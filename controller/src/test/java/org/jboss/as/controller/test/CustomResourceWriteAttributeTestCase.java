@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.Assert.assertEquals;
+
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.AbstractModelResource;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Tests that attributes of resources of a custom {@link Resource} implementation can be written by handlers relying on
+ * the type of the resource returned by {@link org.jboss.as.controller.OperationContext#readResourceForUpdate(PathAddress)}.
+ */
+public class CustomResourceWriteAttributeTestCase extends AbstractControllerTestBase {
+
+    private static final PathElement CUSTOM = PathElement.pathElement("custom", "test");
+    private static final PathElement CHILD = PathElement.pathElement("child", "test");
+    private static final String REJECTED = "rejected";
+
+    private static final SimpleAttributeDefinition ATTRIBUTE = new SimpleAttributeDefinitionBuilder("attribute", ModelType.STRING)
+            .setRequired(false)
+            .build();
+
+    private static final OperationStepHandler WRITE_HANDLER = (context, operation) -> {
+        final CustomResource resource = (CustomResource) context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS);
+        resource.value = operation.require(VALUE).asString();
+        if (REJECTED.equals(resource.value)) {
+            throw new OperationFailedException(REJECTED);
+        }
+    };
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        ManagementResourceRegistration customRegistration = rootRegistration.registerSubModel(new CustomResourceDefinition(CUSTOM));
+        customRegistration.registerSubModel(new CustomResourceDefinition(CHILD));
+
+        CustomResource custom = new CustomResource("initial");
+        custom.registerChild(CHILD, new CustomResource("initial child"));
+        managementModel.getRootResource().registerChild(CUSTOM, custom);
+    }
+
+    @Test
+    public void testWriteAttribute() throws OperationFailedException {
+        PathAddress address = PathAddress.pathAddress(CUSTOM);
+        executeCheckNoFailure(createWriteAttributeOperation(address, "written"));
+        assertEquals("written", readAttribute(address));
+        // The child of the written resource is unaffected
+        assertEquals("initial child", readAttribute(address.append(CHILD)));
+    }
+
+    @Test
+    public void testWriteChildAttribute() throws OperationFailedException {
+        PathAddress address = PathAddress.pathAddress(CUSTOM, CHILD);
+        executeCheckNoFailure(createWriteAttributeOperation(address, "written child"));
+        assertEquals("written child", readAttribute(address));
+        assertEquals("initial", readAttribute(PathAddress.pathAddress(CUSTOM)));
+    }
+
+    @Test
+    public void testWriteAttributeRolledBack() throws OperationFailedException {
+        PathAddress address = PathAddress.pathAddress(CUSTOM);
+        executeCheckForFailure(createWriteAttributeOperation(address, REJECTED));
+        // Only a copy of the published resource was written
+        assertEquals("initial", readAttribute(address));
+    }
+
+    private ModelNode createWriteAttributeOperation(PathAddress address, String value) {
+        ModelNode operation = createOperation(WRITE_ATTRIBUTE_OPERATION, address);
+        operation.get(NAME).set(ATTRIBUTE.getName());
+        operation.get(VALUE).set(value);
+        return operation;
+    }
+
+    private String readAttribute(PathAddress address) throws OperationFailedException {
+        ModelNode operation = createOperation(READ_ATTRIBUTE_OPERATION, address);
+        operation.get(NAME).set(ATTRIBUTE.getName());
+        return executeForResult(operation).asString();
+    }
+
+    private static final class CustomResourceDefinition extends SimpleResourceDefinition {
+
+        CustomResourceDefinition(PathElement path) {
+            super(new Parameters(path, new NonResolvingResourceDescriptionResolver()));
+        }
+
+        @Override
+        public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+            resourceRegistration.registerReadWriteAttribute(ATTRIBUTE, null, WRITE_HANDLER);
+        }
+    }
+
+    private static final class CustomResource extends AbstractModelResource {
+
+        private volatile String value;
+
+        CustomResource(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public ModelNode getModel() {
+            ModelNode model = new ModelNode();
+            model.get(ATTRIBUTE.getName()).set(value);
+            return model;
+        }
+
+        @Override
+        public void writeModel(ModelNode newModel) {
+            value = newModel.get(ATTRIBUTE.getName()).asString();
+        }
+
+        @Override
+        public boolean isModelDefined() {
+            return true;
+        }
+
+        @SuppressWarnings({"CloneDoesntCallSuperClone"})
+        @Override
+        public Resource clone() {
+            CustomResource clone = new CustomResource(value);
+            cloneProviders(clone);
+            return clone;
+        }
+    }
+}
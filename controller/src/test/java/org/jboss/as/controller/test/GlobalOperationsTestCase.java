@@ -31,6 +31,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
@@ -39,6 +40,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_DESCRIPTION_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_PARALLELISM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
@@ -193,6 +195,24 @@ public class GlobalOperationsTestCase extends AbstractGlobalOperationsTestCase {
         assertTrue(result.get("metric2").isDefined());
     }
 
+    @Test
+    public void testParallelRecursiveReadWithRuntime() throws Exception {
+        ModelNode operation = createOperation(READ_RESOURCE_OPERATION);
+        operation.get(RECURSIVE).set(true);
+        operation.get(INCLUDE_RUNTIME).set(true);
+        ModelNode expected = executeForResult(operation);
+
+        operation.get(OPERATION_HEADERS, READ_PARALLELISM).set(4);
+        ModelNode result = executeForResult(operation);
+        assertEquals(expected.keys(), result.keys());
+        assertEquals(expected.get("profile").keys(), result.get("profile").keys());
+        ModelNode subsystem1 = result.get("profile", "profileA", "subsystem", "subsystem1");
+        assertEquals(expected.get("profile", "profileA", "subsystem", "subsystem1").keys(), subsystem1.keys());
+        assertEquals("Name11", subsystem1.require("type1").require("thing1").require("name").asString());
+        assertTrue(subsystem1.get("metric1").isDefined());
+        assertTrue(subsystem1.get("metric2").isDefined());
+    }
+
     @Test
     public void testNonRecursiveReadSubModelOperationSimple() throws Exception {
         ModelNode operation = createOperation(READ_RESOURCE_OPERATION, "profile", "profileA", "subsystem", "subsystem1");
@@ -474,7 +474,7 @@ class TestModelControllerService extends ModelTestModelControllerService {
                     securityIdentitySupplier,
                     AuditLogger.NO_OP_LOGGER,
                     getMutableRootResourceRegistrationProvider(),
-                    getBootErrorCollector(), capabilityRegistry));
+                    getBootErrorCollector(), capabilityRegistry, null));
         }
 
         @Override
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 JBoss by Red Hat.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.as.repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read/write locks on the content of the repository, keyed by content hash.
+ * <p>
+ * A lock only exists while a thread holds or is waiting for it, so the registry does not grow with the number of
+ * contents that were ever locked, and threads locking different contents never contend with each other.
+ */
+final class ContentLocks {
+
+    private final ConcurrentMap<String, ContentLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Acquires the shared lock on some content, waiting at most {@code timeout} milliseconds.
+     *
+     * @param hash the hash of the content.
+     * @param timeout the maximum time to wait in milliseconds.
+     * @return true if the lock was acquired, false otherwise.
+     * @throws InterruptedException
+     */
+    boolean lockRead(String hash, long timeout) throws InterruptedException {
+        return lock(hash, false, timeout);
+    }
+
+    /**
+     * Acquires the exclusive lock on some content, waiting at most {@code timeout} milliseconds.
+     *
+     * @param hash the hash of the content.
+     * @param timeout the maximum time to wait in milliseconds.
+     * @return true if the lock was acquired, false otherwise.
+     * @throws InterruptedException
+     */
+    boolean lockWrite(String hash, long timeout) throws InterruptedException {
+        return lock(hash, true, timeout);
+    }
+
+    /**
+     * Releases a shared lock acquired by {@link #lockRead(String, long)}.
+     *
+     * @param hash the hash of the content.
+     */
+    void unlockRead(String hash) {
+        unlock(hash, false);
+    }
+
+    /**
+     * Releases an exclusive lock acquired by {@link #lockWrite(String, long)}.
+     *
+     * @param hash the hash of the content.
+     */
+    void unlockWrite(String hash) {
+        unlock(hash, true);
+    }
+
+    /**
+     * The number of contents that are currently locked, or being waited for.
+     */
+    int size() {
+        return locks.size();
+    }
+
+    private boolean lock(String hash, boolean write, long timeout) throws InterruptedException {
+        final ContentLock lock = locks.compute(hash, (key, existing) -> {
+            final ContentLock result = existing == null ? new ContentLock() : existing;
+            result.users++;
+            return result;
+        });
+        boolean locked = false;
+        try {
+            locked = lock.get(write).tryLock(timeout, TimeUnit.MILLISECONDS);
+        } finally {
+            if (!locked) {
+                release(hash);
+            }
+        }
+        return locked;
+    }
+
+    private void unlock(String hash, boolean write) {
+        final ContentLock lock = locks.get(hash);
+        if (lock != null) {
+            lock.get(write).unlock();
+            release(hash);
+        }
+    }
+
+    private void release(String hash) {
+        locks.computeIfPresent(hash, (key, lock) -> --lock.users == 0 ? null : lock);
+    }
+
+    private static final class ContentLock extends ReentrantReadWriteLock {
+        /** The number of threads holding or waiting for this lock, guarded by the map entry */
+        private int users;
+
+        private Lock get(boolean write) {
+            return write ? writeLock() : readLock();
+        }
+    }
+}
@@ -30,15 +30,12 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
@@ -55,8 +52,6 @@ import static org.jboss.as.repository.PathUtil.unzip;
 
 import java.nio.file.Path;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
@@ -72,9 +67,14 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
     protected static final String CONTENT = "content";
     private final File repoRoot;
     private final File tmpRoot;
+    /**
+     * @deprecated no longer used to hash content, which is hashed with a digest of the calling thread so concurrent
+     * operations do not contend on a single digest.
+     */
+    @Deprecated
     protected final MessageDigest messageDigest;
     private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<>();
-    private final Map<String, ReentrantLock> lockedContents = new HashMap<>();
+    private final ContentLocks contentLocks = new ContentLocks();
     private final Map<String, Long> obsoleteContents = new HashMap<>();
     private final long obsolescenceTimeout;
     private final long lockTimeout;
@@ -112,27 +112,11 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
         byte[] sha1Bytes;
         Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
         if (stream != null) {
-            try (OutputStream fos = Files.newOutputStream(tmp)) {
-                synchronized (messageDigest) {
-                    messageDigest.reset();
-                    DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                    BufferedInputStream bis = new BufferedInputStream(stream);
-                    byte[] bytes = new byte[8192];
-                    int read;
-                    while ((read = bis.read(bytes)) > -1) {
-                        dos.write(bytes, 0, read);
-                    }
-                    fos.flush();
-                }
-                sha1Bytes = messageDigest.digest();
-            }
+            sha1Bytes = HashUtil.copyAndHash(HashUtil.sha1(), stream, tmp);
         } else {//create a directory instead
             Files.delete(tmp);
             Files.createDirectory(tmp);
-            synchronized (messageDigest) {
-                messageDigest.reset();
-                sha1Bytes = HashUtil.hashPath(messageDigest, tmp);
-            }
+            sha1Bytes = HashUtil.hashPath(HashUtil.sha1(), tmp);
         }
         final Path realFile = getDeploymentContentFile(sha1Bytes, true);
         if (hasContent(sha1Bytes)) {
@@ -278,9 +262,11 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
         } else {
             contentPath = getDeploymentContentFile(reference.getHash(), false);
         }
+        boolean locked = false;
         try {
             if (HashUtil.isEachHexHashInTable(reference.getHexHash())) { //Otherwise this is not a deployment content
-                if(!lock(reference.getHash())) {
+                locked = lock(reference.getHash(), true);
+                if(!locked) {
                     DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(DeploymentRepositoryLogger.ROOT_LOGGER.errorLockingDeployment(), contentPath.toString());
                     return;
                 }
@@ -292,8 +278,8 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
             Thread.interrupted();
             DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ex, contentPath.toString());
         } finally {
-            if (HashUtil.isEachHexHashInTable(reference.getHexHash())) {
-                unlock(reference.getHash());
+            if (locked) {
+                unlock(reference.getHash(), true);
             }
         }
         Path parent = contentPath.getParent();
@@ -400,7 +386,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
             Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
             Path contentDir = Files.createDirectory(tmp.resolve(CONTENT));
             unzip(contentPath, contentDir);
-            byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+            byte[] sha1Bytes = HashUtil.hashPath(HashUtil.sha1(), contentDir);
             final Path realFile = getDeploymentContentFile(sha1Bytes, true);
             if (hasContent(sha1Bytes)) {
                 // we've already got this content
@@ -443,7 +429,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                     deleteRecursively(targetPath);
                 }
                 unzip(sourcePath, targetPath);
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(HashUtil.sha1(), contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -497,36 +483,35 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
         }
     }
 
-    private boolean lock(byte[] hash) throws InterruptedException {
+    /**
+     * Locks some content: exclusively to modify or remove it, or shared with other readers to read it.
+     *
+     * @param hash the hash of the content.
+     * @param write true to acquire the exclusive lock, false for the shared lock.
+     * @return true if the lock was acquired within the lock timeout, false otherwise.
+     * @throws InterruptedException
+     */
+    private boolean lock(byte[] hash, boolean write) throws InterruptedException {
         String hashHex = HashUtil.bytesToHexString(hash);
-        synchronized(lockedContents) {
-            if(!lockedContents.containsKey(hashHex)) {
-                lockedContents.put(hashHex, new ReentrantLock());
-            }
-            return lockedContents.get(hashHex).tryLock(lockTimeout, TimeUnit.MILLISECONDS);
-        }
+        return write ? contentLocks.lockWrite(hashHex, lockTimeout) : contentLocks.lockRead(hashHex, lockTimeout);
     }
 
-    private void unlock(byte[] hash) {
+    private void unlock(byte[] hash, boolean write) {
         String hashHex = HashUtil.bytesToHexString(hash);
-        synchronized (lockedContents) {
-            if (lockedContents.containsKey(hashHex)) {
-                ReentrantLock lock = lockedContents.get(hashHex);
-                if (lock.isHeldByCurrentThread()) {
-                    lock.unlock();
-                    if (!Files.exists(getDeploymentContentFile(hash))) {
-                        lockedContents.remove(hashHex);
-                    }
-                }
-            }
+        if (write) {
+            contentLocks.unlockWrite(hashHex);
+        } else {
+            contentLocks.unlockRead(hashHex);
         }
     }
 
     @Override
     public TypedInputStream readContent(byte[] deploymentHash, String path) throws ExplodedContentException {
         Path tmpDir = null;
+        boolean locked = false;
         try {
-            if(!lock(deploymentHash)) {
+            locked = lock(deploymentHash, false);
+            if(!locked) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.errorLockingDeployment();
             }
             Path src = resolveSecurely(getDeploymentContentFile(deploymentHash), path);
@@ -542,7 +527,9 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
             DeploymentRepositoryLogger.ROOT_LOGGER.warn(ex);
             throw DeploymentRepositoryLogger.ROOT_LOGGER.errorAccessingDeployment(ex);
         } finally {
-            unlock(deploymentHash);
+            if (locked) {
+                unlock(deploymentHash, false);
+            }
             deleteSilentlyRecursively(tmpDir);
         }
     }
@@ -550,8 +537,10 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
     @Override
     public List<ContentRepositoryElement> listContent(byte[] deploymentHash, String path, ContentFilter filter) throws ExplodedContentException {
         Path tmpDir = null;
+        boolean locked = false;
         try {
-            if (!lock(deploymentHash)) {
+            locked = lock(deploymentHash, false);
+            if (!locked) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.errorLockingDeployment();
             }
             tmpDir = Files.createTempDirectory(tmpRoot.toPath(), HashUtil.bytesToHexString(deploymentHash));
@@ -565,7 +554,9 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
             DeploymentRepositoryLogger.ROOT_LOGGER.warn(ex);
             throw DeploymentRepositoryLogger.ROOT_LOGGER.errorAccessingDeployment(ex);
         } finally {
-            unlock(deploymentHash);
+            if (locked) {
+                unlock(deploymentHash, false);
+            }
             if(tmpDir != null) {
                 deleteSilentlyRecursively(tmpDir);
             }
@@ -609,7 +600,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                         }
                     }
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(HashUtil.sha1(), contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -646,7 +637,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                     Path targetFile = resolveSecurely(contentDir, path);
                     deleteFileWithEmptyAncestorDirectories(targetFile);
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = HashUtil.hashPath(HashUtil.sha1(), contentDir);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -19,14 +19,21 @@
 package org.jboss.as.repository;
 
 import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Vector;
 import java.util.stream.Collectors;
@@ -40,9 +47,34 @@ import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
  */
 class HashUtil {
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /** Reused by the copies made on each thread, rather than allocating a new buffer for every copy */
+    private static final ThreadLocal<ByteBuffer> COPY_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(COPY_BUFFER_SIZE));
+
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+    });
+
     private HashUtil() {
     }
 
+    /**
+     * Gets a SHA-1 digest for the exclusive use of the calling thread, so concurrent callers do not need
+     * to synchronize on a shared digest.
+     *
+     * @return the reset digest
+     */
+    static MessageDigest sha1() {
+        final MessageDigest messageDigest = SHA1.get();
+        messageDigest.reset();
+        return messageDigest;
+    }
+
     private static char[] table = {
             '0', '1', '2', '3', '4', '5', '6', '7',
             '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
@@ -101,6 +133,34 @@ class HashUtil {
         return messageDigest.digest();
     }
 
+    /**
+     * Copies a stream to a file, hashing the content while it is copied, so it is only read once. The content is read
+     * through a {@link FileChannel} if the stream is a {@link FileInputStream}.
+     *
+     * @param messageDigest the digest used to hash.
+     * @param stream the stream to copy. It is not closed.
+     * @param target the existing file to copy to; any content it has is replaced.
+     * @return the resulting hash.
+     * @throws IOException
+     */
+    public static byte[] copyAndHash(MessageDigest messageDigest, InputStream stream, Path target) throws IOException {
+        messageDigest.reset();
+        final ReadableByteChannel in = stream instanceof FileInputStream ? ((FileInputStream) stream).getChannel() : Channels.newChannel(stream);
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = COPY_BUFFER.get();
+            buffer.clear();
+            while (in.read(buffer) > -1) {
+                buffer.flip();
+                messageDigest.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return messageDigest.digest();
+    }
+
     /**
      * Hashes a path, if the path points to a directory then hashes the contents recursively.
      * @param messageDigest the digest used to hash.
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 JBoss by Red Hat.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.as.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test of the content locks of the repository.
+ */
+public class ContentLocksTest {
+
+    private static final String HASH = "0c40ffacd15b0f66d5081a93407d3ff5e3c65a71";
+    private static final String OTHER_HASH = "f11be1883895957b06f7e46d784cad60dd015d71";
+
+    private final ContentLocks locks = new ContentLocks();
+    private ExecutorService executor;
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testReadLocksAreShared() throws Exception {
+        assertTrue(locks.lockRead(HASH, 0L));
+        assertTrue(executor.submit(() -> {
+            try {
+                return locks.lockRead(HASH, 0L);
+            } finally {
+                locks.unlockRead(HASH);
+            }
+        }).get(10, TimeUnit.SECONDS));
+        assertFalse(executor.submit(() -> locks.lockWrite(HASH, 10L)).get(10, TimeUnit.SECONDS));
+        locks.unlockRead(HASH);
+        assertEquals(0, locks.size());
+    }
+
+    @Test
+    public void testWriteLockIsExclusive() throws Exception {
+        assertTrue(locks.lockWrite(HASH, 0L));
+        assertFalse(executor.submit(() -> locks.lockRead(HASH, 10L)).get(10, TimeUnit.SECONDS));
+        assertTrue(executor.submit(() -> {
+            try {
+                return locks.lockWrite(OTHER_HASH, 0L);
+            } finally {
+                locks.unlockWrite(OTHER_HASH);
+            }
+        }).get(10, TimeUnit.SECONDS));
+        assertEquals(1, locks.size());
+        locks.unlockWrite(HASH);
+        assertEquals(0, locks.size());
+        assertTrue(executor.submit(() -> {
+            try {
+                return locks.lockRead(HASH, 0L);
+            } finally {
+                locks.unlockRead(HASH);
+            }
+        }).get(10, TimeUnit.SECONDS));
+    }
+}
@@ -40,14 +40,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.security.AccessController;
+import java.security.MessageDigest;
 import java.security.PrivilegedAction;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -124,6 +129,30 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of addContent method, of class ContentRepository, when called concurrently.
+     */
+    @Test
+    public void testAddContentConcurrently() throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads * 4; i++) {
+                final byte[] content = ("content-" + (i % threads)).getBytes(StandardCharsets.UTF_8);
+                results.add(executor.submit(() -> HashUtil.bytesToHexString(repository.addContent(new ByteArrayInputStream(content)))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                final byte[] content = ("content-" + (i % threads)).getBytes(StandardCharsets.UTF_8);
+                final String expResult = HashUtil.bytesToHexString(MessageDigest.getInstance("SHA-1").digest(content));
+                assertThat(results.get(i).get(), is(expResult));
+                assertTrue(repository.hasContent(HashUtil.hexStringToByteArray(expResult)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
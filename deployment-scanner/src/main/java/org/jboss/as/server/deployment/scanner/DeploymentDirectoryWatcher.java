@@ -0,0 +1,226 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Watches a deployment directory for changes using a {@link WatchService}, so a scan only needs to examine the
+ * deployments that were affected by a change, rather than all content of the directory.
+ * <p>
+ * Scanned directories are watched for changes to their entries, and exploded deployments are watched recursively,
+ * so a change to any of their content is attributed to the deployment. Changes are collected by
+ * {@link #pollChanges()} and are keyed by the deployment name, i.e. the name of a file stripped of any marker suffix,
+ * so a change to a marker is attributed to the deployment it belongs to.
+ * <p>
+ * Not thread safe; only used by the thread holding the scan lock.
+ */
+final class DeploymentDirectoryWatcher implements Closeable {
+
+    private final Path root;
+    private final WatchService watchService;
+    private final Map<WatchKey, WatchedDirectory> keys = new HashMap<>();
+    private boolean valid = true;
+
+    DeploymentDirectoryWatcher(final File directory) throws IOException {
+        this.root = directory.getAbsoluteFile().toPath();
+        this.watchService = root.getFileSystem().newWatchService();
+        try {
+            watch(root, null, null);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets whether the watched directory itself is still watched. If it is not, e.g. because it was deleted, a new
+     * watcher needs to be created once the directory is available again.
+     *
+     * @return {@code true} if the directory is still watched
+     */
+    boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Collects the changes reported since the last call, without waiting for any further changes.
+     *
+     * @return the names of the changed deployments, keyed by the absolute directory containing them, or {@code null} if
+     *         changes may have been lost and the whole directory needs to be scanned
+     */
+    Map<File, Set<String>> pollChanges() {
+        final Map<File, Set<String>> changes = new HashMap<>();
+        boolean complete = valid;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                final WatchedDirectory directory = keys.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW || directory == null) {
+                        complete = false;
+                        continue;
+                    }
+                    final Path child = directory.path.resolve((Path) event.context());
+                    final boolean created = event.kind() == ENTRY_CREATE && Files.isDirectory(child);
+                    if (directory.deployment != null) {
+                        // Content of an exploded deployment
+                        changes.computeIfAbsent(directory.parent.toFile(), f -> new HashSet<>()).add(directory.deployment);
+                        if (created && !register(child, directory.parent, directory.deployment)) {
+                            complete = false;
+                        }
+                    } else {
+                        final String fileName = child.getFileName().toString();
+                        changes.computeIfAbsent(directory.path.toFile(), f -> new HashSet<>())
+                                .add(FileSystemDeploymentService.getDeploymentName(fileName));
+                        if (created) {
+                            if (FileSystemDeploymentService.ARCHIVE_PATTERN.matcher(fileName).matches()) {
+                                if (!register(child, directory.path, fileName)) {
+                                    complete = false;
+                                }
+                            } else {
+                                // A new nested directory may contain content that was added before it was watched
+                                register(child, null, null);
+                                complete = false;
+                            }
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    keys.remove(key);
+                    if (directory != null && directory.deployment == null) {
+                        // A scanned directory is gone, taking any deployments in it with it
+                        complete = false;
+                        if (directory.path.equals(root)) {
+                            valid = false;
+                        }
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            valid = false;
+            return null;
+        }
+        return complete ? changes : null;
+    }
+
+    /**
+     * Watches a directory found by {@link #pollChanges()}, and all directories below it.
+     *
+     * @return {@code true} if all directories are watched
+     */
+    private boolean register(final Path directory, final Path parent, final String deployment) {
+        try {
+            watch(directory, parent, deployment);
+            return true;
+        } catch (IOException e) {
+            ROOT_LOGGER.debugf(e, "Cannot watch %s", directory);
+            return false;
+        }
+    }
+
+    /**
+     * Watches a directory and all directories below it.
+     *
+     * @param start the directory
+     * @param startParent the directory containing the exploded deployment the directory is part of, or {@code null}
+     * @param startDeployment the name of the exploded deployment the directory is part of, or {@code null} if it is
+     *                        a scanned directory
+     */
+    private void watch(final Path start, final Path startParent, final String startDeployment) throws IOException {
+        final Map<Path, WatchedDirectory> visited = new HashMap<>();
+        Files.walkFileTree(start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                final WatchedDirectory container = visited.get(dir.getParent());
+                final WatchedDirectory watched;
+                if (container == null) {
+                    watched = new WatchedDirectory(dir, startParent, startDeployment);
+                } else if (container.deployment != null) {
+                    watched = new WatchedDirectory(dir, container.parent, container.deployment);
+                } else if (FileSystemDeploymentService.ARCHIVE_PATTERN.matcher(dir.getFileName().toString()).matches()) {
+                    watched = new WatchedDirectory(dir, container.path, dir.getFileName().toString());
+                } else {
+                    watched = new WatchedDirectory(dir, null, null);
+                }
+                visited.put(dir, watched);
+                keys.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), watched);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                if (file.equals(start) || Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS)) {
+                    throw exc;
+                }
+                // e.g. a broken link or a link loop
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        keys.clear();
+        valid = false;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static final class WatchedDirectory {
+        private final Path path;
+        private final Path parent;
+        private final String deployment;
+
+        private WatchedDirectory(final Path path, final Path parent, final String deployment) {
+            this.path = path;
+            this.parent = parent;
+            this.deployment = deployment;
+        }
+    }
+}
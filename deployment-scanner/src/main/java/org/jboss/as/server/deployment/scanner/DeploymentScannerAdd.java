@@ -34,6 +34,7 @@ import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.WATCH_FILESYSTEM;
 
 import java.io.File;
 import java.io.IOException;
@@ -109,6 +110,7 @@ class DeploymentScannerAdd implements OperationStepHandler {
             final boolean autoDeployXml = AUTO_DEPLOY_XML.resolveModelAttribute(context, operation).asBoolean();
             final long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, operation).asLong();
             final int scanInterval = SCAN_INTERVAL.resolveModelAttribute(context, operation).asInt();
+            final boolean watchFilesystem = WATCH_FILESYSTEM.resolveModelAttribute(context, operation).asBoolean();
 
             final ScheduledExecutorService scheduledExecutorService = createScannerExecutorService();
 
@@ -127,6 +129,7 @@ class DeploymentScannerAdd implements OperationStepHandler {
                 bootTimeScanner.setAutoDeployXMLContent(autoDeployXml);
                 bootTimeScanner.setDeploymentTimeout(deploymentTimeout);
                 bootTimeScanner.setScanInterval(scanInterval);
+                bootTimeScanner.setWatchFilesystem(watchFilesystem);
             } else {
                 bootTimeScanner = null;
             }
@@ -230,9 +233,10 @@ class DeploymentScannerAdd implements OperationStepHandler {
         final Boolean autoDeployXml = AUTO_DEPLOY_XML.resolveModelAttribute(context, model).asBoolean();
         final Long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, model).asLong();
         final Boolean rollback = RUNTIME_FAILURE_CAUSES_ROLLBACK.resolveModelAttribute(context, model).asBoolean();
+        final Boolean watchFilesystem = WATCH_FILESYSTEM.resolveModelAttribute(context, model).asBoolean();
         final ServiceTarget serviceTarget = context.getServiceTarget();
         DeploymentScannerService.addService(serviceTarget, address, relativeTo, path, interval, TimeUnit.MILLISECONDS,
-                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, rollback, bootTimeScanner, executorService);
+                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, rollback, watchFilesystem, bootTimeScanner, executorService);
 
     }
 
@@ -116,7 +116,14 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setDefaultValue(new ModelNode().set(false))
                     .build();
 
-    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK};
+    protected static final SimpleAttributeDefinition WATCH_FILESYSTEM =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.WATCH_FILESYSTEM, ModelType.BOOLEAN, true)
+                    .setXmlName(Attribute.WATCH_FILESYSTEM.getLocalName())
+                    .setAllowExpression(true)
+                    .setDefaultValue(new ModelNode().set(false))
+                    .build();
+
+    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK,WATCH_FILESYSTEM};
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
@@ -130,6 +137,7 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_XML, null, WriteAutoDeployXMLAttributeHandler.INSTANCE);
         resourceRegistration.registerReadWriteAttribute(DEPLOYMENT_TIMEOUT, null, WriteDeploymentTimeoutAttributeHandler.INSTANCE);
         resourceRegistration.registerReadWriteAttribute(RUNTIME_FAILURE_CAUSES_ROLLBACK, null, WriteRuntimeFailureCausesRollbackAttributeHandler.INSTANCE);
+        resourceRegistration.registerReadWriteAttribute(WATCH_FILESYSTEM, null, WriteWatchFilesystemAttributeHandler.INSTANCE);
     }
 
     @Override
@@ -72,6 +72,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private final String relativeTo;
     private final String path;
     private final boolean rollbackOnRuntimeFailure;
+    private final boolean watchFilesystem;
     private static final NotificationFilter DEPLOYMENT_FILTER = (Notification notification) -> {
         if (DEPLOYMENT_UNDEPLOYED_NOTIFICATION.equals(notification.getType()) || DEPLOYMENT_DEPLOYED_NOTIFICATION.equals(notification.getType())) {
             ModelNode notificationData = notification.getData();
@@ -120,6 +121,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @param scanEnabled       scan enabled
      * @param deploymentTimeout the deployment timeout
      * @param rollbackOnRuntimeFailure rollback on runtime failures
+     * @param watchFilesystem   whether the filesystem should be watched for changes
      * @param bootTimeService   the deployment scanner used in the boot time scan
      * @param scheduledExecutorService executor to use for asynchronous tasks
      * @return the controller for the deployment scanner service
@@ -127,9 +129,9 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     public static ServiceController<DeploymentScanner> addService(final ServiceTarget serviceTarget, final PathAddress resourceAddress, final String relativeTo, final String path,
                                                                   final int scanInterval, TimeUnit unit, final boolean autoDeployZip,
                                                                   final boolean autoDeployExploded, final boolean autoDeployXml, final boolean scanEnabled, final long deploymentTimeout, boolean rollbackOnRuntimeFailure,
-                                                                  final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService) {
+                                                                  final boolean watchFilesystem, final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService) {
         final DeploymentScannerService service = new DeploymentScannerService(resourceAddress, relativeTo, path, scanInterval, unit, autoDeployZip,
-                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, bootTimeService);
+                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, watchFilesystem, bootTimeService);
         final ServiceName serviceName = getServiceName(resourceAddress.getLastElement().getValue());
 
         return serviceTarget.addService(serviceName, service)
@@ -144,7 +146,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
 
     private DeploymentScannerService(PathAddress resourceAddress, final String relativeTo, final String path, final int interval, final TimeUnit unit, final boolean autoDeployZipped,
                                      final boolean autoDeployExploded, final boolean autoDeployXml, final boolean enabled, final long deploymentTimeout,
-                                     final boolean rollbackOnRuntimeFailure, final FileSystemDeploymentService bootTimeService) {
+                                     final boolean rollbackOnRuntimeFailure, final boolean watchFilesystem, final FileSystemDeploymentService bootTimeService) {
         this.resourceAddress = resourceAddress;
         this.relativeTo = relativeTo;
         this.path = path;
@@ -155,6 +157,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         this.autoDeployXml = autoDeployXml;
         this.enabled = enabled;
         this.rollbackOnRuntimeFailure = rollbackOnRuntimeFailure;
+        this.watchFilesystem = watchFilesystem;
         this.deploymentTimeout = deploymentTimeout;
         this.scanner = bootTimeService;
     }
@@ -192,6 +195,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                 scanner.setAutoDeployZippedContent(autoDeployZipped);
                 scanner.setAutoDeployXMLContent(autoDeployXml);
                 scanner.setRuntimeFailureCausesRollback(rollbackOnRuntimeFailure);
+                scanner.setWatchFilesystem(watchFilesystem);
                 if (deploymentTimeout != null) {
                     scanner.setDeploymentTimeout(deploymentTimeout);
                 }
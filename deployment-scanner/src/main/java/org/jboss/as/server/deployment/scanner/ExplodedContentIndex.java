@@ -0,0 +1,398 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the content of an exploded deployment, recording the size, last modification time and hash of each
+ * file. The index is stored next to the marker files of the deployment, so it survives a restart.
+ * <p>
+ * {@link #update() Updating} the index only lists the directories whose modification time changed, and only hashes
+ * the files whose size or modification time changed. The {@link #getTimestamp() timestamp} of the deployment only
+ * changes if its content really changed, so merely touching its files does not trigger a redeploy.
+ * <p>
+ * Not thread safe; only used by the thread holding the scan lock.
+ */
+final class ExplodedContentIndex {
+
+    private static final int VERSION = 1;
+    private static final String HASH_ALGORITHM = "SHA-1";
+    /**
+     * Modification times within this period before the previous update are not trusted, as the file system may not
+     * have recorded later changes made within the same tick
+     */
+    private static final long TIMESTAMP_GRANULARITY = 2000;
+
+    private final File deployment;
+    private final File indexFile;
+    /** Keyed by the path relative to the deployment, using '/' as separator; the deployment itself has path "" */
+    private Map<String, DirectoryEntry> directories = new HashMap<>();
+    private Map<String, FileEntry> files = new HashMap<>();
+    private long updated;
+    private long timestamp = -1;
+
+    private ExplodedContentIndex(final File deployment) {
+        this.deployment = deployment;
+        this.indexFile = getIndexFile(deployment);
+    }
+
+    /**
+     * Gets the file an index of an exploded deployment is stored in.
+     *
+     * @param deployment the exploded deployment
+     * @return the index file
+     */
+    static File getIndexFile(final File deployment) {
+        return new File(deployment.getParentFile(), deployment.getName() + FileSystemDeploymentService.INDEX);
+    }
+
+    /**
+     * Loads the stored index of an exploded deployment. If there is none, or it cannot be read, an empty index is
+     * returned.
+     *
+     * @param deployment the exploded deployment
+     * @return the index
+     */
+    static ExplodedContentIndex load(final File deployment) {
+        final ExplodedContentIndex index = new ExplodedContentIndex(deployment);
+        if (index.indexFile.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(index.indexFile)))) {
+                index.read(in);
+            } catch (IOException | RuntimeException e) {
+                ROOT_LOGGER.debugf(e, "Cannot read %s; indexing all content again", index.indexFile);
+                index.directories = new HashMap<>();
+                index.files = new HashMap<>();
+                index.updated = 0;
+                index.timestamp = -1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the timestamp of the deployment as of the last {@link #update() update}, i.e. the latest modification
+     * time of its content as of the last time its content changed.
+     *
+     * @return the timestamp, or {@code -1} if the index was never updated
+     */
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Brings the index up to date with the content of the deployment, and stores it if it changed.
+     *
+     * @return {@code true} if the content of the deployment changed since the previous update
+     * @throws IOException if the content of the deployment cannot be read
+     */
+    boolean update() throws IOException {
+        final long start = System.currentTimeMillis();
+        final Update update = new Update();
+        index("", deployment, update);
+        final boolean changed = update.changed || update.files.size() != files.size()
+                || !update.directories.keySet().equals(directories.keySet());
+        if (changed || timestamp < 0) {
+            timestamp = update.latest;
+        }
+        final boolean modified = changed || update.modified;
+        directories = update.directories;
+        files = update.files;
+        updated = start;
+        if (modified) {
+            store();
+        }
+        return changed;
+    }
+
+    /**
+     * Checks whether all archives in the deployment that changed since they were last found to be complete are
+     * complete now.
+     *
+     * @return {@code true} if all archives are complete
+     * @throws NonScannableZipException if an archive cannot be scanned
+     */
+    boolean isComplete() throws NonScannableZipException {
+        boolean modified = false;
+        try {
+            for (Map.Entry<String, FileEntry> entry : files.entrySet()) {
+                final FileEntry fileEntry = entry.getValue();
+                if (!fileEntry.complete) {
+                    final File file = new File(deployment, entry.getKey());
+                    try {
+                        if (!ZipCompletionScanner.isCompleteZip(file)) {
+                            return false;
+                        }
+                    } catch (IOException e) {
+                        ROOT_LOGGER.failedCheckingZipFile(e, file.getPath());
+                        return false;
+                    }
+                    fileEntry.complete = true;
+                    modified = true;
+                }
+            }
+            return true;
+        } finally {
+            if (modified) {
+                store();
+            }
+        }
+    }
+
+    private void index(final String path, final File directory, final Update update) throws IOException {
+        final long lastModified = directory.lastModified();
+        final DirectoryEntry previous = directories.get(path);
+        DirectoryEntry entry = previous;
+        if (previous == null || previous.lastModified != lastModified || !isTrusted(lastModified)) {
+            // Entries were added or removed since the previous update
+            final List<String> subdirectories = new ArrayList<>();
+            final List<String> fileNames = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath())) {
+                for (Path child : stream) {
+                    final String name = child.getFileName().toString();
+                    if (Files.isDirectory(child)) {
+                        subdirectories.add(name);
+                    } else {
+                        fileNames.add(name);
+                    }
+                }
+            }
+            entry = new DirectoryEntry(lastModified, subdirectories, fileNames);
+            update.modified |= !entry.equals(previous);
+        }
+        update.directories.put(path, entry);
+        update.latest(lastModified);
+
+        for (String name : entry.fileNames) {
+            final String filePath = child(path, name);
+            final File file = new File(directory, name);
+            final long size = file.length();
+            final long fileLastModified = file.lastModified();
+            final FileEntry previousFile = files.get(filePath);
+            FileEntry current = previousFile;
+            if (previousFile == null || previousFile.size != size || previousFile.lastModified != fileLastModified
+                    || !isTrusted(fileLastModified)) {
+                final byte[] hash = hash(file);
+                if (previousFile != null && Arrays.equals(previousFile.hash, hash)) {
+                    // Touched, but not changed
+                    current = new FileEntry(size, fileLastModified, hash, previousFile.complete);
+                } else {
+                    current = new FileEntry(size, fileLastModified, hash, !FileSystemDeploymentService.ARCHIVE_PATTERN.matcher(name).matches());
+                    update.changed = true;
+                }
+                update.modified |= !current.equals(previousFile);
+            }
+            update.files.put(filePath, current);
+            update.latest(fileLastModified);
+        }
+        for (String name : entry.subdirectories) {
+            index(child(path, name), new File(directory, name), update);
+        }
+    }
+
+    private boolean isTrusted(final long lastModified) {
+        return lastModified + TIMESTAMP_GRANULARITY <= updated;
+    }
+
+    private static String child(final String path, final String name) {
+        return path.isEmpty() ? name : path + '/' + name;
+    }
+
+    private static byte[] hash(final File file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private void read(final DataInputStream in) throws IOException {
+        if (in.readInt() != VERSION) {
+            throw new IOException("Unsupported index version");
+        }
+        updated = in.readLong();
+        timestamp = in.readLong();
+        final int directoryCount = in.readInt();
+        for (int i = 0; i < directoryCount; i++) {
+            final String path = in.readUTF();
+            final long lastModified = in.readLong();
+            final List<String> subdirectories = readNames(in);
+            final int fileCount = in.readInt();
+            final List<String> fileNames = new ArrayList<>(fileCount);
+            for (int j = 0; j < fileCount; j++) {
+                final String name = in.readUTF();
+                final long size = in.readLong();
+                final long fileLastModified = in.readLong();
+                final boolean complete = in.readBoolean();
+                final byte[] hash = new byte[in.readUnsignedShort()];
+                in.readFully(hash);
+                fileNames.add(name);
+                files.put(child(path, name), new FileEntry(size, fileLastModified, hash, complete));
+            }
+            directories.put(path, new DirectoryEntry(lastModified, subdirectories, fileNames));
+        }
+    }
+
+    private static List<String> readNames(final DataInputStream in) throws IOException {
+        final int count = in.readInt();
+        final List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(in.readUTF());
+        }
+        return names;
+    }
+
+    private void store() {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+            out.writeInt(VERSION);
+            out.writeLong(updated);
+            out.writeLong(timestamp);
+            out.writeInt(directories.size());
+            for (Map.Entry<String, DirectoryEntry> entry : directories.entrySet()) {
+                final String path = entry.getKey();
+                final DirectoryEntry directory = entry.getValue();
+                out.writeUTF(path);
+                out.writeLong(directory.lastModified);
+                out.writeInt(directory.subdirectories.size());
+                for (String name : directory.subdirectories) {
+                    out.writeUTF(name);
+                }
+                out.writeInt(directory.fileNames.size());
+                for (String name : directory.fileNames) {
+                    final FileEntry file = files.get(child(path, name));
+                    out.writeUTF(name);
+                    out.writeLong(file.size);
+                    out.writeLong(file.lastModified);
+                    out.writeBoolean(file.complete);
+                    out.writeShort(file.hash.length);
+                    out.write(file.hash);
+                }
+            }
+        } catch (IOException e) {
+            // Not fatal; the content will be indexed again after a restart
+            ROOT_LOGGER.debugf(e, "Cannot store %s", indexFile);
+            indexFile.delete();
+        }
+    }
+
+    private static final class DirectoryEntry {
+        private final long lastModified;
+        private final List<String> subdirectories;
+        private final List<String> fileNames;
+
+        private DirectoryEntry(final long lastModified, final List<String> subdirectories, final List<String> fileNames) {
+            this.lastModified = lastModified;
+            this.subdirectories = subdirectories;
+            this.fileNames = fileNames;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof DirectoryEntry)) {
+                return false;
+            }
+            final DirectoryEntry other = (DirectoryEntry) obj;
+            return lastModified == other.lastModified && subdirectories.equals(other.subdirectories)
+                    && fileNames.equals(other.fileNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(lastModified) * 31 + fileNames.hashCode();
+        }
+    }
+
+    private static final class FileEntry {
+        private final long size;
+        private final long lastModified;
+        private final byte[] hash;
+        /** Whether the file is not an archive, or an archive that was found to be complete */
+        private boolean complete;
+
+        private FileEntry(final long size, final long lastModified, final byte[] hash, final boolean complete) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.complete = complete;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof FileEntry)) {
+                return false;
+            }
+            final FileEntry other = (FileEntry) obj;
+            return size == other.size && lastModified == other.lastModified && complete == other.complete
+                    && Arrays.equals(hash, other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(lastModified) * 31 + Arrays.hashCode(hash);
+        }
+    }
+
+    private static final class Update {
+        private final Map<String, DirectoryEntry> directories = new HashMap<>();
+        private final Map<String, FileEntry> files = new HashMap<>();
+        /** Whether any file was added or its content changed */
+        private boolean changed;
+        /** Whether anything recorded by the index changed */
+        private boolean modified;
+        private long latest;
+
+        private void latest(final long lastModified) {
+            if (lastModified > latest) {
+                latest = lastModified;
+            }
+        }
+    }
+}
@@ -110,6 +110,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     static final String UNDEPLOYED = ".undeployed";
     static final String SKIP_DEPLOY = ".skipdeploy";
     static final String PENDING = ".pending";
+    static final String INDEX = ".index";
+
+    private static final String[] MARKERS = {DEPLOYED, FAILED_DEPLOY, DO_DEPLOY, DEPLOYING, UNDEPLOYING, UNDEPLOYED, SKIP_DEPLOY, PENDING, INDEX};
 
     static final String WEB_INF = "WEB-INF";
     static final String META_INF = "META-INF";
@@ -164,6 +167,14 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private volatile boolean deploymentDirAccessible = true;
     private volatile boolean lastScanSuccessful = true;
 
+    private volatile boolean watchFilesystem;
+    private volatile DeploymentDirectoryWatcher watcher;
+    private volatile boolean fullScanRequired = true;
+    /** Changes reported by the watcher that were not handled by a completed scan yet; {@code null} if unknown */
+    private Map<File, Set<String>> unscannedChanges;
+    /** Indexes of auto-deployed exploded content, keyed by the absolute deployment directory */
+    private final Map<File, ExplodedContentIndex> contentIndexes = new HashMap<>();
+
     @Override
     public void handleNotification(Notification notification) {
         if (acquireScanLock()) {
@@ -327,6 +338,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     @Override
     public void setAutoDeployZippedContent(boolean autoDeployZip) {
         this.autoDeployZip = autoDeployZip;
+        this.fullScanRequired = true;
     }
 
     @Override
@@ -340,11 +352,13 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             ROOT_LOGGER.explodedAutoDeploymentContentWarning(DO_DEPLOY, CommonAttributes.AUTO_DEPLOY_EXPLODED);
         }
         this.autoDeployExploded = autoDeployExploded;
+        this.fullScanRequired = true;
     }
 
     @Override
     public void setAutoDeployXMLContent(final boolean autoDeployXML) {
         this.autoDeployXml = autoDeployXML;
+        this.fullScanRequired = true;
     }
 
     @Override
@@ -371,6 +385,17 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         startScan();
     }
 
+    @Override
+    public boolean isWatchFilesystem() {
+        return watchFilesystem;
+    }
+
+    @Override
+    public synchronized void setWatchFilesystem(boolean watchFilesystem) {
+        this.watchFilesystem = watchFilesystem;
+        updateWatcher();
+    }
+
     @Override
     public void setDeploymentTimeout(long deploymentTimeout) {
         this.deploymentTimeout = deploymentTimeout;
@@ -409,6 +434,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     public synchronized void stopScanner() {
         this.scanEnabled = false;
         cancelScan();
+        updateWatcher();
         safeClose(deploymentOperations);
         this.deploymentOperations = null;
         if (undeployScanTask != null) {
@@ -516,7 +542,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         if (acquireScanLock()) {
             try {
                 ROOT_LOGGER.tracef("Performing a post-boot forced undeploy scan for scan directory %s", deploymentDir.getAbsolutePath());
-                ScanContext scanContext = new ScanContext(deploymentOperations);
+                ScanContext scanContext = new ScanContext(deploymentOperations, null);
 
                 // Add remove actions to the plan for anything we count as
                 // deployed that we didn't find on the scan
@@ -584,9 +610,16 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 deployedContentEstablished = true;
             }
 
+            // Only examine the deployments reported as changed by the watcher, if any
+            final Map<File, Set<String>> changes = getChangedDeployments(oneOffScan);
+            if (changes != null && changes.isEmpty()) {
+                ROOT_LOGGER.tracef("No changes in directory %s", deploymentDir.getAbsolutePath());
+                return scheduleRescan;
+            }
+
             ScanContext scanContext = null;
             try {
-                scanContext = new ScanContext(deploymentOperations);
+                scanContext = new ScanContext(deploymentOperations, changes);
             } catch (RuntimeException ex) {
                 //scanner has stoppped in the meanwhile so we don't need to pursue
                 if (!scanEnabled) {
@@ -595,11 +628,19 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 throw ex;
             }
 
-            scanDirectory(deploymentDir, relativePath, scanContext);
+            if (changes == null) {
+                scanDirectory(deploymentDir, relativePath, null, scanContext);
+            } else {
+                for (Map.Entry<File, Set<String>> entry : changes.entrySet()) {
+                    if (entry.getKey().isDirectory()) {
+                        scanDirectory(entry.getKey(), getRelativePath(entry.getKey()), entry.getValue(), scanContext);
+                    }
+                }
+            }
 
             // WARN about markers with no associated content. Do this first in case any auto-deploy issue
             // is due to a file that wasn't meant to be auto-deployed, but has a misspelled marker
-            ignoredMissingDeployments.retainAll(scanContext.ignoredMissingDeployments);
+            scanContext.retainLogged(ignoredMissingDeployments, scanContext.ignoredMissingDeployments);
             for (String deploymentName : scanContext.ignoredMissingDeployments) {
                 if (ignoredMissingDeployments.add(deploymentName)) {
                     ROOT_LOGGER.deploymentNotFound(deploymentName);
@@ -607,7 +648,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
 
             // Log INFO about non-auto-deploy files that have no marker files
-            noticeLogged.retainAll(scanContext.nonDeployable);
+            scanContext.retainLogged(noticeLogged, scanContext.nonDeployable);
             for (String fileName : scanContext.nonDeployable) {
                 if (noticeLogged.add(fileName)) {
                     ROOT_LOGGER.deploymentTriggered(fileName, DO_DEPLOY);
@@ -615,7 +656,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
 
             // Log ERROR about META-INF and WEB-INF dirs outside a deployment
-            illegalDirLogged.retainAll(scanContext.illegalDir);
+            scanContext.retainLogged(illegalDirLogged, scanContext.illegalDir);
             for (String fileName : scanContext.illegalDir) {
                 if (illegalDirLogged.add(fileName)) {
                     ROOT_LOGGER.invalidExplodedDeploymentDirectory(fileName, deploymentDir.getAbsolutePath());
@@ -623,7 +664,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
 
             // Log about deleting exploded deployments without first triggering undeploy by deleting .deployed
-            prematureExplodedContentDeletionLogged.retainAll(scanContext.prematureExplodedDeletions);
+            scanContext.retainLogged(prematureExplodedContentDeletionLogged, scanContext.prematureExplodedDeletions);
             for (String fileName : scanContext.prematureExplodedDeletions) {
                 if (prematureExplodedContentDeletionLogged.add(fileName)) {
                     ROOT_LOGGER.explodedDeploymentContentDeleted(fileName, DEPLOYED);
@@ -653,6 +694,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 }
                 ROOT_LOGGER.tracef("Scan complete");
                 firstScan = false;
+                unscannedChanges = new HashMap<>();
             }
         }
 
@@ -838,12 +880,17 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      * Scan the given directory for content changes.
      *
      * @param directory   the directory to scan
+     * @param deploymentNames the names of the deployments to examine, or {@code null} to examine all content of the
+     *                        directory and its subdirectories
      * @param scanContext context of the scan
      */
-    private void scanDirectory(final File directory, final String relativePath, final ScanContext scanContext) {
+    private void scanDirectory(final File directory, final String relativePath, final Set<String> deploymentNames, final ScanContext scanContext) {
         final List<File> children = listDirectoryChildren(directory, filter);
         for (File child : children) {
             final String fileName = child.getName();
+            if (deploymentNames != null && !deploymentNames.contains(getDeploymentName(fileName))) {
+                continue;
+            }
             if (fileName.endsWith(DEPLOYED)) {
                 final String deploymentName = fileName.substring(0, fileName.length() - DEPLOYED.length());
                 DeploymentMarker deploymentMarker = deployed.get(deploymentName);
@@ -921,7 +968,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 boolean autoDeployable = child.isDirectory() ? autoDeployExploded : autoDeployZip;
                 if (autoDeployable) {
                     if (!isAutoDeployDisabled(child)) {
-                        long timestamp = getDeploymentTimestamp(child);
+                        long timestamp = getAutoDeployTimestamp(child);
                         synchronizeScannerStatus(scanContext, directory, fileName, timestamp);
                         if (isFailedOrUndeployed(scanContext, directory, fileName, timestamp) || scanContext.firstScanDeployments.contains(fileName)) {
                             continue;
@@ -995,14 +1042,22 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 if (!deployment.exists()) {
                     removeExtraneousMarker(child, fileName);
                 }
+            } else if (fileName.endsWith(INDEX)) {
+                // Do some housekeeping if the indexed exploded deployment is gone
+                final String deploymentName = fileName.substring(0, fileName.length() - INDEX.length());
+                File deployment = new File(child.getParent(), deploymentName);
+                if (!deployment.isDirectory()) {
+                    contentIndexes.remove(deployment.getAbsoluteFile());
+                    removeExtraneousMarker(child, fileName);
+                }
             } else if (child.isDirectory()) { // exploded deployments would have been caught by isEEArchive(fileName) above
 
                 if (WEB_INF.equalsIgnoreCase(fileName) || META_INF.equalsIgnoreCase(fileName)) {
                     // Looks like someone unzipped an archive in the scanned dir
                     // Track for possible ERROR logging
                     scanContext.illegalDir.add(fileName);
-                } else {
-                    scanDirectory(child, relativePath + child.getName() + File.separator, scanContext);
+                } else if (deploymentNames == null) {
+                    scanDirectory(child, relativePath + child.getName() + File.separator, null, scanContext);
                 }
             }
         }
@@ -1082,6 +1137,11 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private boolean isZipComplete(File file) throws NonScannableZipException {
         if (file.isDirectory()) {
+            final ExplodedContentIndex index = contentIndexes.get(file.getAbsoluteFile());
+            if (index != null) {
+                // Only archives that changed since they were last found to be complete need to be checked
+                return index.isComplete();
+            }
             for (File child : listDirectoryChildren(file)) {
                 if (!isZipComplete(child)) {
                     return false;
@@ -1107,6 +1167,25 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         return new File(parent, name + SKIP_DEPLOY).exists() || new File(parent, name + DO_DEPLOY).exists();
     }
 
+    /**
+     * Gets the timestamp of auto-deployable content. The timestamp of exploded content is maintained by its
+     * {@link ExplodedContentIndex index}, so it only changes if the content really changed.
+     */
+    private long getAutoDeployTimestamp(File deploymentFile) {
+        if (deploymentFile.isDirectory()) {
+            final File key = deploymentFile.getAbsoluteFile();
+            final ExplodedContentIndex index = contentIndexes.computeIfAbsent(key, ExplodedContentIndex::load);
+            try {
+                index.update();
+                return index.getTimestamp();
+            } catch (IOException e) {
+                ROOT_LOGGER.debugf(e, "Cannot index %s", deploymentFile);
+                contentIndexes.remove(key);
+            }
+        }
+        return getDeploymentTimestamp(deploymentFile);
+    }
+
     private long getDeploymentTimestamp(File deploymentFile) {
         if (deploymentFile.isDirectory()) {
             // Scan for most recent file
@@ -1244,6 +1323,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     }
 
     private synchronized void startScan() {
+        updateWatcher();
         if (scanEnabled) {
             if (scanInterval > 0) {
                 scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
@@ -1271,6 +1351,105 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Starts or stops watching the deployment directory, as configured. Only periodic scans make use of the watcher.
+     * Invoke with the object monitor held
+     */
+    private void updateWatcher() {
+        if (scanEnabled && watchFilesystem && scanInterval > 0) {
+            if (watcher == null) {
+                try {
+                    watcher = new DeploymentDirectoryWatcher(deploymentDir);
+                    // Anything that happened before the directory was watched is unknown
+                    fullScanRequired = true;
+                } catch (IOException | RuntimeException e) {
+                    ROOT_LOGGER.cannotWatchDirectory(e, deploymentDir.getAbsolutePath());
+                }
+            }
+        } else if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    private synchronized DeploymentDirectoryWatcher restartWatcher(final DeploymentDirectoryWatcher invalid) {
+        if (watcher == invalid) {
+            invalid.close();
+            watcher = null;
+            updateWatcher();
+        }
+        return watcher;
+    }
+
+    /**
+     * Gets the deployments a scan needs to examine, if the deployment directory is watched.
+     *
+     * @param oneOffScan whether the scan is a one-off scan, which always examines all content
+     * @return the names of the deployments to examine, keyed by the absolute directory containing them, or
+     *         {@code null} if all content needs to be examined
+     */
+    private Map<File, Set<String>> getChangedDeployments(final boolean oneOffScan) {
+        DeploymentDirectoryWatcher watcher = this.watcher;
+        if (watcher != null && !watcher.isValid()) {
+            watcher = restartWatcher(watcher);
+        }
+        if (watcher == null) {
+            return null;
+        }
+        final Map<File, Set<String>> polled = watcher.pollChanges();
+        if (fullScanRequired) {
+            fullScanRequired = false;
+            unscannedChanges = null;
+        } else if (polled == null) {
+            ROOT_LOGGER.debugf("Changes to %s may have been missed; examining all content", deploymentDir.getAbsolutePath());
+            unscannedChanges = null;
+        } else if (unscannedChanges != null) {
+            for (Map.Entry<File, Set<String>> entry : polled.entrySet()) {
+                unscannedChanges.computeIfAbsent(entry.getKey(), f -> new HashSet<>()).addAll(entry.getValue());
+            }
+        }
+        if (oneOffScan || firstScan || unscannedChanges == null) {
+            return null;
+        }
+        final Map<File, Set<String>> changes = new HashMap<>();
+        for (Map.Entry<File, Set<String>> entry : unscannedChanges.entrySet()) {
+            changes.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+        // Content that was not complete yet needs to be examined again, whether or not it changed
+        for (File file : incompleteDeployments.keySet()) {
+            final File absolute = file.getAbsoluteFile();
+            changes.computeIfAbsent(absolute.getParentFile(), f -> new HashSet<>()).add(absolute.getName());
+        }
+        for (File file : nonscannableLogged) {
+            final File absolute = file.getAbsoluteFile();
+            changes.computeIfAbsent(absolute.getParentFile(), f -> new HashSet<>()).add(absolute.getName());
+        }
+        return changes;
+    }
+
+    private String getRelativePath(final File directory) {
+        final Path root = deploymentDir.getAbsoluteFile().toPath();
+        if (relativePath == null || root.equals(directory.toPath())) {
+            return relativePath;
+        }
+        return relativePath + root.relativize(directory.toPath()) + File.separator;
+    }
+
+    /**
+     * Gets the name of the deployment a file in a scanned directory belongs to.
+     *
+     * @param fileName the name of the file
+     * @return the name of the file without any marker suffix
+     */
+    static String getDeploymentName(final String fileName) {
+        for (String marker : MARKERS) {
+            if (fileName.endsWith(marker)) {
+                return fileName.substring(0, fileName.length() - marker.length());
+            }
+        }
+        return fileName;
+    }
+
     private ModelNode getCompositeUpdate(final List<ModelNode> updates) {
         final ModelNode op = Util.getEmptyOperation(COMPOSITE, new ModelNode());
         final ModelNode steps = op.get(STEPS);
@@ -1680,10 +1859,39 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
          * Timestamp when the scan started
          */
         private final long scanStartTime = System.currentTimeMillis();
+        /**
+         * Names of the deployments examined by the scan, or {@code null} if all content is examined
+         */
+        private final Set<String> examined;
 
-        private ScanContext(final DeploymentOperations deploymentOperations) {
+        private ScanContext(final DeploymentOperations deploymentOperations, final Map<File, Set<String>> changes) {
             registeredDeployments = deploymentOperations.getDeploymentsStatus();
             persistentDeployments = deploymentOperations.getUnrelatedDeployments(resourceAddress);
+            if (changes == null) {
+                examined = null;
+            } else {
+                examined = new HashSet<String>();
+                changes.values().forEach(examined::addAll);
+                // Deployments that are not examined are still there
+                toRemove.entrySet().removeIf(entry -> {
+                    final Set<String> names = changes.get(entry.getValue().parentFolder.getAbsoluteFile());
+                    return names == null || !names.contains(entry.getKey());
+                });
+            }
+        }
+
+        /**
+         * Forgets anything logged about examined content that the scan did not find again.
+         *
+         * @param logged the names of the content something was logged about
+         * @param found the names of the content the scan found
+         */
+        private void retainLogged(final Set<String> logged, final Set<String> found) {
+            if (examined == null) {
+                logged.retainAll(found);
+            } else {
+                logged.removeIf(name -> examined.contains(getDeploymentName(name)) && !found.contains(name));
+            }
         }
     }
 
@@ -34,12 +34,13 @@ UNKNOWN(null),
     DEPLOYMENT_SCANNER_1_0("urn:jboss:domain:deployment-scanner:1.0"),
     DEPLOYMENT_SCANNER_1_1("urn:jboss:domain:deployment-scanner:1.1"),
     DEPLOYMENT_SCANNER_2_0("urn:jboss:domain:deployment-scanner:2.0"),
+    DEPLOYMENT_SCANNER_3_0("urn:jboss:domain:deployment-scanner:3.0"),
     ;
 
     /**
      * The current namespace version.
      */
-    public static final Namespace CURRENT = DEPLOYMENT_SCANNER_2_0;
+    public static final Namespace CURRENT = DEPLOYMENT_SCANNER_3_0;
 
     private final String name;
 
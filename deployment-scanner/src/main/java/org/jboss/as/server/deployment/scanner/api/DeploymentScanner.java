@@ -125,6 +125,22 @@ public interface DeploymentScanner {
      */
     void setAutoDeployXMLContent(boolean autoDeployXML);
 
+    /**
+     * Gets whether the scanner watches the filesystem for changes, so a periodic scan only needs to examine the
+     * content that changed since the previous scan.
+     *
+     * @return true if the filesystem is watched
+     */
+    boolean isWatchFilesystem();
+
+    /**
+     * Sets whether the scanner watches the filesystem for changes, so a periodic scan only needs to examine the
+     * content that changed since the previous scan.
+     *
+     * @param watchFilesystem true if the filesystem should be watched
+     */
+    void setWatchFilesystem(boolean watchFilesystem);
+
     /**
      * Set the timeout used for deployments.
      *
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ExplodedContentIndex}
+ */
+public class ExplodedContentIndexUnitTestCase {
+
+    private AutoDeployTestSupport testSupport;
+    private File deployment;
+
+    @Before
+    public void setup() throws Exception {
+        testSupport = new AutoDeployTestSupport(ExplodedContentIndexUnitTestCase.class.getSimpleName());
+        deployment = new File(testSupport.getTempDir(), "foo.war");
+        Assert.assertTrue(new File(deployment, "WEB-INF/lib").mkdirs());
+    }
+
+    @After
+    public void tearDown() {
+        testSupport.cleanupChannels();
+        testSupport.cleanupFiles();
+    }
+
+    @Test
+    public void testTimestamp() throws Exception {
+        File html = write("index.html", "index");
+        File xml = write("WEB-INF/web.xml", "<web-app/>");
+
+        ExplodedContentIndex index = ExplodedContentIndex.load(deployment);
+        Assert.assertTrue(index.update());
+        long timestamp = index.getTimestamp();
+        Assert.assertEquals(Math.max(html.lastModified(), xml.lastModified()), timestamp, 1000);
+        Assert.assertFalse(index.update());
+
+        // Touching a file does not change the timestamp
+        Assert.assertTrue(xml.setLastModified(timestamp + 10000));
+        Assert.assertFalse(index.update());
+        Assert.assertEquals(timestamp, index.getTimestamp());
+
+        // Changing its content does
+        Files.write(xml.toPath(), "<web-app version=\"3.1\"/>".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(xml.setLastModified(timestamp + 20000));
+        Assert.assertTrue(index.update());
+        Assert.assertEquals(timestamp + 20000, index.getTimestamp());
+
+        // As does removing a file
+        Files.delete(html.toPath());
+        Assert.assertTrue(index.update());
+    }
+
+    @Test
+    public void testStoredIndex() throws Exception {
+        File html = write("index.html", "index");
+        ExplodedContentIndex index = ExplodedContentIndex.load(deployment);
+        index.update();
+        long timestamp = index.getTimestamp();
+        Assert.assertTrue(ExplodedContentIndex.getIndexFile(deployment).exists());
+
+        Assert.assertTrue(html.setLastModified(timestamp + 10000));
+        ExplodedContentIndex loaded = ExplodedContentIndex.load(deployment);
+        Assert.assertEquals(timestamp, loaded.getTimestamp());
+        Assert.assertFalse(loaded.update());
+        Assert.assertEquals(timestamp, loaded.getTimestamp());
+
+        // A corrupt index is ignored
+        Files.write(ExplodedContentIndex.getIndexFile(deployment).toPath(), new byte[] {0, 0, 0, 1, 0});
+        loaded = ExplodedContentIndex.load(deployment);
+        Assert.assertEquals(-1, loaded.getTimestamp());
+        Assert.assertTrue(loaded.update());
+    }
+
+    @Test
+    public void testIncompleteArchive() throws Exception {
+        File jar = new File(deployment, "WEB-INF/lib/lib.jar");
+        testSupport.createZip(jar, 0, false, true, true, false);
+
+        ExplodedContentIndex index = ExplodedContentIndex.load(deployment);
+        index.update();
+        Assert.assertFalse(index.isComplete());
+
+        // Still incomplete, even though it did not change since the previous check
+        index.update();
+        Assert.assertFalse(index.isComplete());
+
+        Files.delete(jar.toPath());
+        testSupport.createZip(jar, 0, false, false, true, false);
+        index.update();
+        Assert.assertTrue(index.isComplete());
+
+        // Completeness is stored with the index
+        Assert.assertTrue(ExplodedContentIndex.load(deployment).isComplete());
+    }
+
+    private File write(String path, String content) throws Exception {
+        File file = new File(deployment, path);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -1361,6 +1361,52 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(nonarchive.exists());
     }
 
+    /**
+     * Tests that exploded content is only redeployed if its content changed, and not if its files were merely touched
+     */
+    @Test
+    public void testTouchedExplodedDeployment() throws Exception {
+        File deployment = new File(tmpDir, "foo.ear");
+        deployment.mkdirs();
+        File deployed = new File(tmpDir, "foo.ear" + FileSystemDeploymentService.DEPLOYED);
+        File failed = new File(tmpDir, "foo.ear" + FileSystemDeploymentService.FAILED_DEPLOY);
+        File index = new File(tmpDir, "foo.ear" + FileSystemDeploymentService.INDEX);
+        File html = createFile(deployment, "index.html");
+
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployExplodedContent(true);
+
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+
+        assertTrue(deployed.exists());
+        assertTrue(index.exists());
+        long timestamp = deployed.lastModified();
+
+        assertTrue(html.setLastModified(html.lastModified() + 10000));
+        ts.testee.scan();
+
+        assertEquals(timestamp, deployed.lastModified());
+        assertFalse(failed.exists());
+
+        Files.write(html.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+        assertTrue(html.setLastModified(html.lastModified() + 20000));
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+
+        assertEquals(html.lastModified(), deployed.lastModified());
+        assertFalse(failed.exists());
+
+        // The index of removed content is cleaned up
+        Files.delete(html.toPath());
+        Files.delete(deployment.toPath());
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+
+        assertFalse(deployed.exists());
+        assertFalse(index.exists());
+    }
+
     /**
      * Tests that the .skipdeploy marker prevents auto-deploy
      */
@@ -1914,6 +1960,59 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertNotEquals(deploymentHash, ts.controller.deployed.get("foo.war")); // should have been redeployed
     }
 
+    @Test
+    public void testWatchFilesystem() throws Exception {
+        // Periodic scans are run by the test
+        final DiscardTaskExecutor periodicExecutor = new DiscardTaskExecutor() {
+            @Override
+            public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+                return null;
+            }
+        };
+        File foo = createFile("foo.war");
+        File fooDeployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        File fooUndeployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.UNDEPLOYED);
+        File barDeployed = new File(tmpDir, "bar.war" + FileSystemDeploymentService.DEPLOYED);
+        createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        TesteeSet ts = createTestee(periodicExecutor);
+        ts.testee.setScanInterval(1000);
+        ts.testee.setWatchFilesystem(true);
+
+        // The first scan examines all content
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+        assertTrue(foo.exists());
+        assertTrue(fooDeployed.exists());
+
+        // Content added later is picked up once the change is reported
+        createFile("bar.war");
+        createFile("bar.war" + FileSystemDeploymentService.DO_DEPLOY);
+        ts.controller.addCompositeSuccessResponse(1);
+        scanUntil(ts, barDeployed::exists);
+        assertTrue(ts.controller.deployed.containsKey("bar.war"));
+
+        // As is the removal of a marker
+        assertTrue(fooDeployed.delete());
+        ts.controller.addCompositeSuccessResponse(1);
+        scanUntil(ts, fooUndeployed::exists);
+        assertFalse(ts.controller.deployed.containsKey("foo.war"));
+        assertTrue(ts.controller.deployed.containsKey("bar.war"));
+        assertTrue(barDeployed.exists());
+    }
+
+    /** Scans until a condition is met, as watched changes are reported asynchronously */
+    private static void scanUntil(TesteeSet ts, Callable<Boolean> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        ts.testee.scan();
+        while (!condition.call()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Change was not picked up");
+            }
+            Thread.sleep(100);
+            ts.testee.scan();
+        }
+    }
+
     private void testIgnoreExternalDeployment(ExternalDeployment externalDeployment) throws Exception {
         File war = createFile("foo.war");
         File dodeploy = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
@@ -28,9 +28,14 @@ import static io.undertow.util.Headers.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 
 import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
@@ -45,6 +50,7 @@ import io.undertow.util.HeaderMap;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.domain.http.server.logging.HttpServerLogger;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
 
@@ -77,9 +83,27 @@ public class DomainUtil {
             response = response.get(RESULT);
         }
         try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            if (exchange.isInIoThread()) {
+                byte[] data = getResponseBytes(response, operationParameter);
+                responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
+                exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            } else {
+                // Serialize the response straight to the connection rather than to an intermediate String and byte
+                // array, so large responses are sent in chunks as they are serialized. The content length is still
+                // set if the whole response fits in the buffer of the exchange.
+                if (!exchange.isBlocking()) {
+                    exchange.startBlocking();
+                }
+                final OutputStream out = exchange.getOutputStream();
+                try {
+                    writeResponse(new UnflushedOutputStream(out), response, operationParameter);
+                } catch (IOException e) {
+                    // The client went away while the response was written; the connection is closed with the stream
+                    HttpServerLogger.ROOT_LOGGER.debugf(e, "Failed to write the response");
+                } finally {
+                    IoUtils.safeClose(out);
+                }
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -167,6 +191,46 @@ public class DomainUtil {
         return "application/octet-stream";
     }
 
+    private static void writeResponse(final OutputStream out, final ModelNode modelNode, final OperationParameter operationParameter) throws IOException {
+        if (operationParameter.isEncode()) {
+            final BufferedOutputStream buffered = new BufferedOutputStream(out);
+            modelNode.writeBase64(buffered);
+            buffered.flush();
+        } else {
+            final PrintWriter print = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            modelNode.writeJSONString(print, !operationParameter.isPretty());
+            print.flush();
+            if (print.checkError()) {
+                throw new IOException("Failed to write the response");
+            }
+        }
+    }
+
+    /**
+     * Ignores flushes, so nothing is sent before the stream of the exchange is closed unless its buffer is full, and a
+     * response which fits in the buffer is sent with a content length.
+     */
+    private static final class UnflushedOutputStream extends FilterOutputStream {
+
+        private UnflushedOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            // The stream of the exchange is closed by the caller
+        }
+    }
+
     private static byte[] getResponseBytes(final ModelNode modelNode, final OperationParameter operationParameter) throws IOException {
         if (operationParameter.isEncode()) {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
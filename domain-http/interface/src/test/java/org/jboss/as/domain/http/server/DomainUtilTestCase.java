@@ -0,0 +1,219 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the responses written by {@link DomainUtil#writeResponse(HttpServerExchange, int, ModelNode, OperationParameter)}
+ * from a worker thread, which are streamed to the connection.
+ */
+public class DomainUtilTestCase {
+
+    private static final String COMPLETED = "completed";
+
+    private final BlockingQueue<Object> outcomes = new LinkedBlockingQueue<Object>();
+    private volatile ModelNode response;
+    private volatile OperationParameter operationParameter;
+    private Undertow server;
+    private int port;
+
+    @Before
+    public void startServer() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = Undertow.builder()
+                .addHttpListener(port, "localhost")
+                .setHandler(new ResponseHandler())
+                .build();
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testSmallJsonResponse() throws Exception {
+        response = createResponse(10);
+        operationParameter = new OperationParameter.Builder(false).build();
+        final HttpURLConnection connection = connect();
+        // Fits in the buffer of the exchange, so the length is known before anything is sent
+        assertNull(connection.getHeaderField("Transfer-Encoding"));
+        try (InputStream in = connection.getInputStream()) {
+            final byte[] body = read(in);
+            assertEquals(String.valueOf(body.length), connection.getHeaderField("Content-Length"));
+            assertEquals(response, ModelNode.fromJSONString(new String(body, StandardCharsets.UTF_8)));
+        }
+        assertCompleted();
+    }
+
+    @Test
+    public void testLargeJsonResponse() throws Exception {
+        response = createResponse(50000);
+        operationParameter = new OperationParameter.Builder(false).pretty(true).build();
+        final HttpURLConnection connection = connect();
+        assertEquals("chunked", connection.getHeaderField("Transfer-Encoding"));
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals(response, ModelNode.fromJSONString(new String(read(in), StandardCharsets.UTF_8)));
+        }
+        assertCompleted();
+    }
+
+    @Test
+    public void testLargeEncodedResponse() throws Exception {
+        response = createResponse(50000);
+        operationParameter = new OperationParameter.Builder(false).encode(true).build();
+        final HttpURLConnection connection = connect();
+        assertEquals("chunked", connection.getHeaderField("Transfer-Encoding"));
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals(response, ModelNode.fromBase64(in));
+        }
+        assertCompleted();
+    }
+
+    @Test
+    public void testJsonClientDisconnected() throws Exception {
+        testClientDisconnected(new OperationParameter.Builder(false).build());
+    }
+
+    @Test
+    public void testEncodedClientDisconnected() throws Exception {
+        testClientDisconnected(new OperationParameter.Builder(false).encode(true).build());
+    }
+
+    /**
+     * Tests that writing a response to a client that goes away in the middle of it neither blocks nor fails, and that
+     * the server still serves other clients.
+     */
+    private void testClientDisconnected(final OperationParameter operationParameter) throws Exception {
+        response = createResponse(200000);
+        this.operationParameter = operationParameter;
+        try (Socket socket = new Socket("localhost", port)) {
+            final OutputStream out = socket.getOutputStream();
+            out.write("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            final InputStream in = socket.getInputStream();
+            final byte[] buffer = new byte[8192];
+            int total = 0;
+            while (total < 65536) {
+                final int read = in.read(buffer);
+                if (read == -1) {
+                    break;
+                }
+                total += read;
+            }
+            // Reset the connection rather than waiting for the response to be sent
+            socket.setSoLinger(true, 0);
+        }
+        assertCompleted();
+
+        response = createResponse(10);
+        this.operationParameter = new OperationParameter.Builder(false).build();
+        try (InputStream in = connect().getInputStream()) {
+            assertEquals(response, ModelNode.fromJSONString(new String(read(in), StandardCharsets.UTF_8)));
+        }
+        assertCompleted();
+    }
+
+    private HttpURLConnection connect() throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL("http", "localhost", port, "/").openConnection();
+        assertEquals(200, connection.getResponseCode());
+        return connection;
+    }
+
+    private void assertCompleted() throws InterruptedException {
+        final Object outcome = outcomes.poll(30, TimeUnit.SECONDS);
+        if (outcome instanceof Throwable) {
+            throw new AssertionError("The response failed", (Throwable) outcome);
+        }
+        assertEquals(COMPLETED, outcome);
+        assertNull(outcomes.poll());
+    }
+
+    private static ModelNode createResponse(final int size) {
+        final ModelNode response = new ModelNode();
+        response.get("outcome").set("success");
+        final ModelNode result = response.get("result");
+        for (int i = 0; i < size; i++) {
+            result.get("child-" + i).set("value of the child resource attribute number " + i);
+        }
+        return response;
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the response from a worker thread, like the management handlers, and records the outcome.
+     */
+    private final class ResponseHandler implements HttpHandler {
+
+        @Override
+        public void handleRequest(final HttpServerExchange exchange) {
+            if (exchange.isInIoThread()) {
+                exchange.dispatch(this);
+                return;
+            }
+            try {
+                DomainUtil.writeResponse(exchange, 200, response, operationParameter);
+                outcomes.add(COMPLETED);
+            } catch (Throwable t) {
+                outcomes.add(t);
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
@@ -42,6 +43,8 @@ import org.jboss.as.controller.audit.AuditLogger;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.management._private.DomainManagementResolver;
@@ -73,7 +76,33 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
             .setAllowExpression(true)
             .setDefaultValue(new ModelNode(true)).build();
 
-    static final List<SimpleAttributeDefinition> ATTRIBUTE_DEFINITIONS = Arrays.asList(LOG_BOOT, LOG_READ_ONLY, ENABLED);
+    public static final SimpleAttributeDefinition ASYNC = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.ASYNC, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false)).build();
+
+    public static final SimpleAttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.QUEUE_SIZE, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setDefaultValue(new ModelNode(1024)).build();
+
+    public static final SimpleAttributeDefinition OVERFLOW_POLICY = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.OVERFLOW_POLICY, ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setValidator(new EnumValidator<>(ManagedAuditLogger.OverflowPolicy.class, true, true))
+            .setDefaultValue(new ModelNode(ManagedAuditLogger.OverflowPolicy.BLOCK.name())).build();
+
+    public static final SimpleAttributeDefinition QUEUE_DEPTH = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.QUEUE_DEPTH, ModelType.INT)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition DROPPED_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.DROPPED_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final List<SimpleAttributeDefinition> ATTRIBUTE_DEFINITIONS = Arrays.asList(LOG_BOOT, LOG_READ_ONLY, ENABLED, ASYNC, QUEUE_SIZE, OVERFLOW_POLICY);
+
+    private static final List<SimpleAttributeDefinition> ASYNC_ATTRIBUTES = Arrays.asList(ASYNC, QUEUE_SIZE, OVERFLOW_POLICY);
 
     private final ManagedAuditLogger auditLogger;
 
@@ -100,6 +129,21 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
         resourceRegistration.registerReadWriteAttribute(LOG_READ_ONLY, null, new AuditLogReadOnlyWriteAttributeHandler(auditLogger));
         resourceRegistration.registerReadWriteAttribute(ENABLED, null, new AuditLogEnabledWriteAttributeHandler(auditLogger));
+        final AuditLogAsyncWriteAttributeHandler asyncHandler = new AuditLogAsyncWriteAttributeHandler(auditLogger);
+        for (AttributeDefinition def : ASYNC_ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(def, null, asyncHandler);
+        }
+        if (auditLogger != null) {
+            final AuditLogQueueMetricHandler metricHandler = new AuditLogQueueMetricHandler(auditLogger);
+            resourceRegistration.registerMetric(QUEUE_DEPTH, metricHandler);
+            resourceRegistration.registerMetric(DROPPED_COUNT, metricHandler);
+        }
+    }
+
+    private static void applyAsync(OperationContext context, ModelNode model, ManagedAuditLogger auditLogger) throws OperationFailedException {
+        auditLogger.setAsync(ASYNC.resolveModelAttribute(context, model).asBoolean(),
+                QUEUE_SIZE.resolveModelAttribute(context, model).asInt(),
+                ManagedAuditLogger.OverflowPolicy.valueOf(OVERFLOW_POLICY.resolveModelAttribute(context, model).asString()));
     }
 
     @Override
@@ -151,6 +195,7 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
                         auditLoggerProvider.setLogBoot(AuditLogLoggerResourceDefinition.LOG_BOOT.resolveModelAttribute(context, model).asBoolean());
                         auditLoggerProvider.setLogReadOnly(AuditLogLoggerResourceDefinition.LOG_READ_ONLY.resolveModelAttribute(context, model).asBoolean());
+                        applyAsync(context, model, auditLoggerProvider);
                         boolean enabled = AuditLogLoggerResourceDefinition.ENABLED.resolveModelAttribute(context, model).asBoolean();
                         final AuditLogger.Status status = enabled ? AuditLogger.Status.LOGGING : AuditLogger.Status.DISABLED;
                         // Change the logger status in a new step to give any subsequent handler adds a chance
@@ -173,6 +218,7 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
                             @Override
                             public void handleRollback(OperationContext context, ModelNode operation) {
                                 auditLoggerProvider.setLogReadOnly(wasReadOnly);
+                                auditLoggerProvider.setAsync(false, QUEUE_SIZE.getDefaultValue().asInt(), ManagedAuditLogger.OverflowPolicy.BLOCK);
                             }
                         });
                     }
@@ -283,4 +329,53 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    private static class AuditLogAsyncWriteAttributeHandler extends AbstractWriteAttributeHandler<Void> {
+
+        private final ManagedAuditLogger auditLogger;
+
+        AuditLogAsyncWriteAttributeHandler(ManagedAuditLogger auditLogger) {
+            super(ASYNC, QUEUE_SIZE, OVERFLOW_POLICY);
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return auditLogger != null;
+        }
+
+        @Override
+        protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
+                                               ModelNode resolvedValue, ModelNode currentValue,
+                                               HandbackHolder<Void> handbackHolder) throws OperationFailedException {
+            applyAsync(context, context.readResource(PathAddress.EMPTY_ADDRESS).getModel(), auditLogger);
+            return false;
+        }
+
+        @Override
+        protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
+                                             ModelNode valueToRestore, ModelNode valueToRevert, Void handback) throws OperationFailedException {
+            final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel().clone();
+            model.get(attributeName).set(valueToRestore);
+            applyAsync(context, model, auditLogger);
+        }
+    }
+
+    private static class AuditLogQueueMetricHandler extends AbstractRuntimeOnlyHandler {
+
+        private final ManagedAuditLogger auditLogger;
+
+        AuditLogQueueMetricHandler(ManagedAuditLogger auditLogger) {
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String attr = operation.require(ModelDescriptionConstants.NAME).asString();
+            if (attr.equals(QUEUE_DEPTH.getName())) {
+                context.getResult().set(auditLogger.getQueueDepth());
+            } else if (attr.equals(DROPPED_COUNT.getName())) {
+                context.getResult().set(auditLogger.getDroppedCount());
+            }
+        }
+    }
 }
@@ -24,18 +24,36 @@ package org.jboss.as.domain.management.controller;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BOOT_COMPLETE_NOTIFICATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COUNT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCK_WAIT_TIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MEAN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_TIMINGS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P50;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P90;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P99;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.P999;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PERSISTENCE_TIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_MODIFICATION_BEGUN;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_MODIFICATION_COMPLETE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STAGE;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.NotificationDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.domain.management._private.DomainManagementResolver;
+import org.jboss.dmr.ModelType;
 
 /**
  * {@code ResourceDefinition} for the management of operation execution.
@@ -52,6 +70,20 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
     private static final NotificationDefinition NOTIFICATION_COMPLETE_RUNTIME_MODIFICATION = NotificationDefinition.Builder.create(RUNTIME_MODIFICATION_COMPLETE, RESOLVER).build();
     private static final NotificationDefinition NOTIFICATION_BOOT_COMPLETE = NotificationDefinition.Builder.create(BOOT_COMPLETE_NOTIFICATION, RESOLVER).build();
 
+    private static final AttributeDefinition OPERATION_TIMINGS_ATTRIBUTE = ObjectListAttributeDefinition.Builder.of(OPERATION_TIMINGS,
+            ObjectTypeAttributeDefinition.Builder.of(OPERATION_TIMINGS,
+                    SimpleAttributeDefinitionBuilder.create(OP, ModelType.STRING).build(),
+                    SimpleAttributeDefinitionBuilder.create(STAGE, ModelType.STRING).build(),
+                    statistic(COUNT, MeasurementUnit.NONE), statistic(MEAN, MeasurementUnit.NANOSECONDS),
+                    statistic(MAX, MeasurementUnit.NANOSECONDS), statistic(P50, MeasurementUnit.NANOSECONDS),
+                    statistic(P90, MeasurementUnit.NANOSECONDS), statistic(P99, MeasurementUnit.NANOSECONDS),
+                    statistic(P999, MeasurementUnit.NANOSECONDS))
+                    .build())
+            .setStorageRuntime()
+            .build();
+    private static final AttributeDefinition LOCK_WAIT_TIME_ATTRIBUTE = latencyStatistics(LOCK_WAIT_TIME);
+    private static final AttributeDefinition PERSISTENCE_TIME_ATTRIBUTE = latencyStatistics(PERSISTENCE_TIME);
+
     public static final ResourceDefinition INSTANCE = new ManagementControllerResourceDefinition();
 
     private ManagementControllerResourceDefinition() {
@@ -60,11 +92,36 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
         );
     }
 
+    private static AttributeDefinition statistic(String name, MeasurementUnit unit) {
+        return SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG)
+                .setMeasurementUnit(unit)
+                .build();
+    }
+
+    private static AttributeDefinition latencyStatistics(String name) {
+        return ObjectTypeAttributeDefinition.Builder.of(name,
+                statistic(COUNT, MeasurementUnit.NONE), statistic(MEAN, MeasurementUnit.NANOSECONDS),
+                statistic(MAX, MeasurementUnit.NANOSECONDS), statistic(P50, MeasurementUnit.NANOSECONDS),
+                statistic(P90, MeasurementUnit.NANOSECONDS), statistic(P99, MeasurementUnit.NANOSECONDS),
+                statistic(P999, MeasurementUnit.NANOSECONDS))
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(OPERATION_TIMINGS_ATTRIBUTE, OperationTimingsMetricHandler.INSTANCE);
+        resourceRegistration.registerMetric(LOCK_WAIT_TIME_ATTRIBUTE, OperationTimingsMetricHandler.INSTANCE);
+        resourceRegistration.registerMetric(PERSISTENCE_TIME_ATTRIBUTE, OperationTimingsMetricHandler.INSTANCE);
+    }
+
     @Override
     public void registerOperations(ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
         resourceRegistration.registerOperationHandler(FindNonProgressingOperationHandler.DEFINITION, FindNonProgressingOperationHandler.INSTANCE);
         resourceRegistration.registerOperationHandler(CancelNonProgressingOperationHandler.DEFINITION, CancelNonProgressingOperationHandler.INSTANCE);
+        resourceRegistration.registerOperationHandler(ResetOperationTimingsHandler.DEFINITION, ResetOperationTimingsHandler.INSTANCE);
     }
 
     @Override
@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.management.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCK_WAIT_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PERSISTENCE_TIME;
+
+import org.jboss.as.controller.ManagementOperationTimings;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * {@link org.jboss.as.controller.OperationStepHandler} that reads the operation timings recorded by the controller,
+ * for the metrics of the {@link ManagementControllerResourceDefinition management operations resource}.
+ */
+public class OperationTimingsMetricHandler implements OperationStepHandler {
+
+    static final OperationStepHandler INSTANCE = new OperationTimingsMetricHandler();
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ManagementOperationTimings timings = ManagementOperationTimings.class.cast(context.readResource(PathAddress.EMPTY_ADDRESS));
+        final String attributeName = operation.require(NAME).asString();
+        final ModelNode result;
+        if (LOCK_WAIT_TIME.equals(attributeName)) {
+            result = timings.getLockWaitTime();
+        } else if (PERSISTENCE_TIME.equals(attributeName)) {
+            result = timings.getPersistenceTime();
+        } else {
+            result = timings.getOperationTimings();
+        }
+        context.getResult().set(result);
+    }
+}
@@ -582,7 +582,7 @@ public class AuditLogXml_4 extends AuditLogXml {
                     break;
                 }
                 default: {
-                    throw unexpectedAttribute(reader, i);
+                    parseAuditLogConfigAttribute(reader, i, attribute, value, add);
                 }
             }
         }
@@ -601,6 +601,10 @@ public class AuditLogXml_4 extends AuditLogXml {
         }
     }
 
+    protected void parseAuditLogConfigAttribute(final XMLExtendedStreamReader reader, final int index, final Attribute attribute, final String value, final ModelNode add) throws XMLStreamException {
+        throw unexpectedAttribute(reader, index);
+    }
+
     private void parseAuditLogHandlersReference(final XMLExtendedStreamReader reader, final ModelNode address, final Namespace expectedNs, final List<ModelNode> list) throws XMLStreamException {
         requireNamespace(reader, expectedNs);
 
@@ -737,9 +741,7 @@ public class AuditLogXml_4 extends AuditLogXml {
         if (auditLog.hasDefined(element) && auditLog.get(element).hasDefined(ModelDescriptionConstants.AUDIT_LOG)){
             ModelNode config = auditLog.get(element, ModelDescriptionConstants.AUDIT_LOG);
             writer.writeStartElement(element);
-            AuditLogLoggerResourceDefinition.LOG_BOOT.marshallAsAttribute(config, writer);
-            AuditLogLoggerResourceDefinition.LOG_READ_ONLY.marshallAsAttribute(config, writer);
-            AuditLogLoggerResourceDefinition.ENABLED.marshallAsAttribute(config, writer);
+            writeAuditLoggerAttributes(writer, config);
             if (config.hasDefined(ModelDescriptionConstants.HANDLER) && config.get(ModelDescriptionConstants.HANDLER).keys().size() > 0) {
                 writer.writeStartElement(Element.HANDLERS.getLocalName());
                 for (String name : config.get(ModelDescriptionConstants.HANDLER).keys()) {
@@ -755,6 +757,12 @@ public class AuditLogXml_4 extends AuditLogXml {
     }
 
 
+    protected void writeAuditLoggerAttributes(XMLExtendedStreamWriter writer, ModelNode config) throws XMLStreamException {
+        AuditLogLoggerResourceDefinition.LOG_BOOT.marshallAsAttribute(config, writer);
+        AuditLogLoggerResourceDefinition.LOG_READ_ONLY.marshallAsAttribute(config, writer);
+        AuditLogLoggerResourceDefinition.ENABLED.marshallAsAttribute(config, writer);
+    }
+
     private void writeAuditLogSyslogProtocol(XMLExtendedStreamWriter writer, ModelNode protocol) throws XMLStreamException {
         String type = protocol.keys().iterator().next();
         ModelNode protocolContents = protocol.get(type);
@@ -32,6 +32,7 @@ import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.parsing.Attribute;
 import org.jboss.as.controller.parsing.Element;
 import org.jboss.as.controller.parsing.Namespace;
+import org.jboss.as.domain.management.audit.AuditLogLoggerResourceDefinition;
 import org.jboss.as.domain.management.audit.FileAuditLogHandlerResourceDefinition;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
@@ -97,6 +98,37 @@ public class AuditLogXml_5 extends AuditLogXml_4 {
         requireNoContent(reader);
     }
 
+    @Override
+    protected void parseAuditLogConfigAttribute(final XMLExtendedStreamReader reader, final int index, final Attribute attribute, final String value, final ModelNode add) throws XMLStreamException {
+        // added ASYNC, QUEUE_SIZE and OVERFLOW_POLICY attributes
+
+        switch (attribute) {
+            case ASYNC: {
+                AuditLogLoggerResourceDefinition.ASYNC.parseAndSetParameter(value, add, reader);
+                break;
+            }
+            case QUEUE_SIZE: {
+                AuditLogLoggerResourceDefinition.QUEUE_SIZE.parseAndSetParameter(value, add, reader);
+                break;
+            }
+            case OVERFLOW_POLICY: {
+                AuditLogLoggerResourceDefinition.OVERFLOW_POLICY.parseAndSetParameter(value, add, reader);
+                break;
+            }
+            default: {
+                super.parseAuditLogConfigAttribute(reader, index, attribute, value, add);
+            }
+        }
+    }
+
+    @Override
+    protected void writeAuditLoggerAttributes(XMLExtendedStreamWriter writer, ModelNode config) throws XMLStreamException {
+        super.writeAuditLoggerAttributes(writer, config);
+        AuditLogLoggerResourceDefinition.ASYNC.marshallAsAttribute(config, writer);
+        AuditLogLoggerResourceDefinition.QUEUE_SIZE.marshallAsAttribute(config, writer);
+        AuditLogLoggerResourceDefinition.OVERFLOW_POLICY.marshallAsAttribute(config, writer);
+    }
+
     protected void writeFileAuditLogHandler(XMLExtendedStreamWriter writer, ModelNode auditLog, String name) throws XMLStreamException {
         // added ROTATE_AT_STARTUP attribute
 
@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.management.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COUNT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCK_WAIT_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_TIMINGS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PATH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PERSISTENCE_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STAGE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STORAGE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.domain.management.CoreManagementResourceDefinition;
+import org.jboss.as.domain.management.security.util.ManagementControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the operation timings of the {@link ManagementControllerResourceDefinition management operations resource}.
+ */
+public class OperationTimingsTestCase extends ManagementControllerTestBase {
+
+    private static final String[] ADDRESS = {CORE_SERVICE, MANAGEMENT, SERVICE, MANAGEMENT_OPERATIONS};
+
+    private int paths;
+
+    @Override
+    protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
+        super.initModel(managementModel, modelControllerResource);
+        managementModel.getRootResource().requireChild(CoreManagementResourceDefinition.PATH_ELEMENT)
+                .registerChild(ManagementControllerResourceDefinition.PATH_ELEMENT, modelControllerResource);
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        final ModelNode attributes = executeForResult(createOperation(READ_RESOURCE_DESCRIPTION_OPERATION, ADDRESS)).get(ATTRIBUTES);
+        for (String name : new String[] {OPERATION_TIMINGS, LOCK_WAIT_TIME, PERSISTENCE_TIME}) {
+            assertEquals(name, AttributeAccess.AccessType.METRIC.toString(), attributes.get(name, ACCESS_TYPE).asString());
+            assertEquals(name, AttributeAccess.Storage.RUNTIME.toString(), attributes.get(name, STORAGE).asString());
+        }
+        // The timings are not part of the model of the resource
+        final ModelNode model = executeForResult(createOperation(READ_RESOURCE_OPERATION, ADDRESS));
+        assertFalse(model.hasDefined(OPERATION_TIMINGS));
+    }
+
+    @Test
+    public void testReadTimingsAfterOperation() throws Exception {
+        addPath();
+
+        assertTrue(getTiming(readAttribute(OPERATION_TIMINGS), ADD, OperationContext.Stage.MODEL) > 0);
+        assertTrue(readAttribute(LOCK_WAIT_TIME).get(COUNT).asLong() > 0);
+        assertEquals(1, readAttribute(PERSISTENCE_TIME).get(COUNT).asLong());
+
+        final ModelNode operation = createOperation(READ_RESOURCE_OPERATION, ADDRESS);
+        operation.get(INCLUDE_RUNTIME).set(true);
+        final ModelNode resource = executeForResult(operation);
+        assertTrue(getTiming(resource.get(OPERATION_TIMINGS), ADD, OperationContext.Stage.MODEL) > 0);
+        assertEquals(1, resource.get(PERSISTENCE_TIME, COUNT).asLong());
+    }
+
+    @Test
+    public void testResetTimings() throws Exception {
+        addPath();
+        assertEquals(1, readAttribute(PERSISTENCE_TIME).get(COUNT).asLong());
+
+        executeForResult(createOperation("reset-timings", ADDRESS));
+
+        assertEquals(0, getTiming(readAttribute(OPERATION_TIMINGS), ADD, OperationContext.Stage.MODEL));
+        assertEquals(0, readAttribute(PERSISTENCE_TIME).get(COUNT).asLong());
+
+        // Recorded again after the reset
+        addPath();
+        assertEquals(1, getTiming(readAttribute(OPERATION_TIMINGS), ADD, OperationContext.Stage.MODEL));
+        assertEquals(1, readAttribute(PERSISTENCE_TIME).get(COUNT).asLong());
+    }
+
+    private void addPath() throws Exception {
+        final ModelNode operation = createOperation(ADD, PATH, "timings" + paths++);
+        operation.get(PATH).set(tmpDir.getAbsolutePath());
+        executeForResult(operation);
+    }
+
+    private ModelNode readAttribute(String name) throws Exception {
+        final ModelNode operation = createOperation(READ_ATTRIBUTE_OPERATION, ADDRESS);
+        operation.get(NAME).set(name);
+        return executeForResult(operation);
+    }
+
+    /**
+     * Gets the number of executions of an operation recorded in a stage.
+     */
+    private static long getTiming(ModelNode operationTimings, String operationName, OperationContext.Stage stage) {
+        for (ModelNode timing : operationTimings.asList()) {
+            if (operationName.equals(timing.get(OP).asString()) && stage.toString().equals(timing.get(STAGE).asString())) {
+                return timing.get(COUNT).asLong();
+            }
+        }
+        return 0;
+    }
+}
@@ -29,13 +29,21 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPE
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.domain.controller.logging.DomainControllerLogger.HOST_CONTROLLER_LOGGER;
 
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -64,11 +72,27 @@ public class DomainSlaveHandler implements OperationStepHandler {
 
     private final MultiphaseOverallContext multiphaseContext;
     private final Map<String, ProxyController> hostProxies;
+    private final ExecutorService executorService;
 
     public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
                               final MultiphaseOverallContext domainOperationContext) {
+        this(hostProxies, domainOperationContext, null);
+    }
+
+    /**
+     * Creates a handler sending the operation to the slaves concurrently.
+     *
+     * @param hostProxies the proxies of the slaves, keyed by host name
+     * @param domainOperationContext the context of the domain operation
+     * @param executorService the executor used to transform and send the operation to the slaves, or {@code null} to
+     *                        do it in the calling thread
+     */
+    public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
+                              final MultiphaseOverallContext domainOperationContext,
+                              final ExecutorService executorService) {
         this.hostProxies = hostProxies;
         this.multiphaseContext = domainOperationContext;
+        this.executorService = executorService;
     }
 
     @Override
@@ -87,25 +111,29 @@ public class DomainSlaveHandler implements OperationStepHandler {
         final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener();
         final Transformers.TransformationInputs transformationInputs = Transformers.TransformationInputs.getOrCreate(context);
         final List<DomainOperationTransformer> transformers = context.getAttachment(OperationAttachments.SLAVE_SERVER_OPERATION_TRANSFORMERS);
+        // The domain operation transformers and the flags do not depend on the host, so they are only applied once
+        ModelNode slaveOp = operation.clone();
+        if (transformers != null) {
+            for (final DomainOperationTransformer transformer : transformers) {
+                slaveOp = transformer.transform(context, slaveOp);
+            }
+        }
+
+        // Set the flags for host controller operations
+        slaveOp.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).set(true);
+        slaveOp.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).set(CurrentOperationIdHolder.getCurrentOperationID());
+
+        final Map<String, HostControllerUpdateTask> tasks = new LinkedHashMap<String, HostControllerUpdateTask>();
         for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
             // Create the proxy task
             final String host = entry.getKey();
             final TransformingProxyController proxyController = (TransformingProxyController) entry.getValue();
-            ModelNode clonedOp = operation.clone();
-            if (transformers != null) {
-                for (final DomainOperationTransformer transformer : transformers) {
-                    clonedOp = transformer.transform(context, clonedOp);
-                }
-            }
-
-            // Set the flags for host controller operations
-            clonedOp.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).set(true);
-            clonedOp.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).set(CurrentOperationIdHolder.getCurrentOperationID());
-            final HostControllerUpdateTask task = new HostControllerUpdateTask(host, clonedOp, context, proxyController, transformationInputs);
-            // Execute the operation on the remote host
-            final HostControllerUpdateTask.ExecutedHostRequest finalResult = task.execute(listener);
-            multiphaseContext.recordHostRequest(host, finalResult);
-            finalResults.put(host, finalResult);
+            tasks.put(host, new HostControllerUpdateTask(host, slaveOp.clone(), context, proxyController, transformationInputs));
+        }
+        // Execute the operation on the remote hosts
+        for (Map.Entry<String, HostControllerUpdateTask.ExecutedHostRequest> entry : executeTasks(tasks, listener).entrySet()) {
+            multiphaseContext.recordHostRequest(entry.getKey(), entry.getValue());
+            finalResults.put(entry.getKey(), entry.getValue());
         }
 
         // Wait for all hosts to reach the prepared state
@@ -178,6 +206,73 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    /**
+     * Transforms the operation for each host and sends it. With an executor this is done concurrently, as both the
+     * transformation and the sending of the request take a while with many hosts, the hosts then preparing the
+     * operation concurrently anyway.
+     */
+    private Map<String, HostControllerUpdateTask.ExecutedHostRequest> executeTasks(final Map<String, HostControllerUpdateTask> tasks,
+                                                                                   final HostControllerUpdateTask.ProxyOperationListener listener) {
+        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> results = new HashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
+        if (executorService == null || tasks.size() < 2) {
+            for (Map.Entry<String, HostControllerUpdateTask> entry : tasks.entrySet()) {
+                results.put(entry.getKey(), entry.getValue().execute(listener));
+            }
+            return results;
+        }
+
+        // The subject of the caller is sent along with the requests, so the tasks run in its access control context
+        final AccessControlContext accessControlContext = AccessController.getContext();
+        final Map<String, Future<HostControllerUpdateTask.ExecutedHostRequest>> futures = new LinkedHashMap<String, Future<HostControllerUpdateTask.ExecutedHostRequest>>();
+        for (Map.Entry<String, HostControllerUpdateTask> entry : tasks.entrySet()) {
+            final HostControllerUpdateTask task = entry.getValue();
+            final PrivilegedAction<HostControllerUpdateTask.ExecutedHostRequest> action = new PrivilegedAction<HostControllerUpdateTask.ExecutedHostRequest>() {
+                @Override
+                public HostControllerUpdateTask.ExecutedHostRequest run() {
+                    return task.execute(listener);
+                }
+            };
+            try {
+                futures.put(entry.getKey(), executorService.submit(new Callable<HostControllerUpdateTask.ExecutedHostRequest>() {
+                    @Override
+                    public HostControllerUpdateTask.ExecutedHostRequest call() {
+                        return AccessController.doPrivileged(action, accessControlContext);
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                results.put(entry.getKey(), task.execute(listener));
+            }
+        }
+
+        // Every task must complete, as the prepared responses of all the hosts are then awaited
+        boolean interrupted = false;
+        try {
+            for (Map.Entry<String, Future<HostControllerUpdateTask.ExecutedHostRequest>> entry : futures.entrySet()) {
+                while (true) {
+                    try {
+                        results.put(entry.getKey(), entry.getValue().get());
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        final Throwable cause = e.getCause();
+                        if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        throw new IllegalStateException(cause);
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return results;
+    }
+
     private void handleMissingHostResponses(Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
                                             Set<String> outstanding, boolean timedOut, long timeout) {
 
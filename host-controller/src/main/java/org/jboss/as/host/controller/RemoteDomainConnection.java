@@ -303,11 +303,14 @@ class RemoteDomainConnection extends FutureManagementChannel {
      * @return whether it was applied successfully or not
      */
     boolean applyDomainModel(ModelNode result) {
+        final String revision = result.hasDefined(RemoteDomainConnectionService.DOMAIN_MODEL_REVISION)
+                ? result.get(RemoteDomainConnectionService.DOMAIN_MODEL_REVISION).asString() : null;
         if(! result.hasDefined(ModelDescriptionConstants.RESULT)) {
-            return false;
+            // The master only omits the domain model if we already have this revision
+            return revision != null && callback.isDomainModelApplied(revision);
         }
         final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
-        return callback.applyDomainModel(bootOperations);
+        return callback.applyDomainModel(bootOperations, revision);
     }
 
     void registered() {
@@ -333,9 +336,28 @@ class RemoteDomainConnection extends FutureManagementChannel {
          * Apply the remote domain model.
          *
          * @param result the read-domain-model operation result
+         * @param revision the revision of the domain model, or {@code null} if the master does not provide it
          * @return {@code true} if the model was applied successfully, {@code false} otherwise
          */
-        boolean applyDomainModel(List<ModelNode> result);
+        boolean applyDomainModel(List<ModelNode> result, String revision);
+
+        /**
+         * Gets whether a revision of the remote domain model is the last one applied, and the local copy of the domain
+         * model is unchanged since.
+         *
+         * @param revision the revision of the domain model
+         * @return {@code true} if the revision is the one applied, {@code false} otherwise
+         */
+        boolean isDomainModelApplied(String revision);
+
+        /**
+         * Gets the revision of the remote domain model applied last, if the local copy of the domain model is unchanged
+         * since.
+         *
+         * @return the revision, or {@code null} if the local copy of the domain model was not applied from the master
+         *         or changed since
+         */
+        String getDomainModelRevision();
 
         /**
          * Event that the registration was completed.
@@ -362,6 +384,10 @@ class RemoteDomainConnection extends FutureManagementChannel {
              output.writeUTF(localHostName);
              ModelNode hostInfo = callback.createLocalHostInfo();
              hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).set(pongHandler.getConnectionId());
+             final String domainModelRevision = callback.getDomainModelRevision();
+             if (domainModelRevision != null) {
+                 hostInfo.get(RemoteDomainConnectionService.DOMAIN_MODEL_REVISION).set(domainModelRevision);
+             }
              hostInfo.writeExternal(output);
          }
 
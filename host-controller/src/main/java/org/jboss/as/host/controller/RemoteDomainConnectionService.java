@@ -89,6 +89,7 @@ import org.jboss.as.host.controller.discovery.RemoteDomainControllerConnectionCo
 import org.jboss.as.host.controller.ignored.IgnoredDomainResourceRegistry;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.host.controller.mgmt.DomainControllerProtocol;
+import org.jboss.as.host.controller.mgmt.DomainModelRevision;
 import org.jboss.as.host.controller.mgmt.DomainRemoteFileRequestAndHandler;
 import org.jboss.as.host.controller.mgmt.HostControllerRegistrationHandler;
 import org.jboss.as.host.controller.mgmt.HostInfo;
@@ -133,6 +134,7 @@ import org.xnio.Options;
 public class RemoteDomainConnectionService implements MasterDomainControllerClient, Service<MasterDomainControllerClient> {
 
     public static final String DOMAIN_CONNECTION_ID = "domain-connection-id";
+    public static final String DOMAIN_MODEL_REVISION = "domain-model-revision";
 
     private static final int CONNECTION_TIMEOUT_DEFAULT = 30000;
     private static final String CONNECTION_TIMEOUT_PROPERTY = "jboss.host.domain.connection.timeout";
@@ -190,6 +192,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private ManagementChannelHandler handler;
     private volatile ResponseAttachmentInputStreamSupport responseAttachmentSupport;
     private volatile RemoteDomainConnection connection;
+    private volatile AppliedDomainModel appliedDomainModel;
 
     private RemoteDomainConnectionService(final ModelController controller,
                                           final ExtensionRegistry extensionRegistry,
@@ -525,10 +528,29 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 }
 
                 @Override
-                public boolean applyDomainModel(final List<ModelNode> bootOperations) {
+                public boolean applyDomainModel(final List<ModelNode> bootOperations, final String revision) {
+                    appliedDomainModel = null;
                     // Apply the model..
                     final HostInfo info = HostInfo.fromModelNode(createLocalHostInfo());
-                    return applyRemoteDomainModel(bootOperations, info);
+                    final boolean applied = applyRemoteDomainModel(bootOperations, info);
+                    if (applied && revision != null) {
+                        appliedDomainModel = new AppliedDomainModel(revision, getLocalDomainModelRevision());
+                    }
+                    return applied;
+                }
+
+                @Override
+                public boolean isDomainModelApplied(final String revision) {
+                    return revision.equals(getDomainModelRevision());
+                }
+
+                @Override
+                public String getDomainModelRevision() {
+                    final AppliedDomainModel applied = appliedDomainModel;
+                    if (applied == null || !applied.localRevision.equals(getLocalDomainModelRevision())) {
+                        return null;
+                    }
+                    return applied.revision;
                 }
 
                 @Override
@@ -568,6 +590,10 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         return subsystems;
     }
 
+    private String getLocalDomainModelRevision() {
+        return DomainModelRevision.getLocalRevision(ReadRootResourceHandler.grabDomainResource(operationExecutor));
+    }
+
     /**
      * Apply the remote domain model to the local host controller.
      *
@@ -826,6 +852,20 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         }
     }
 
+    /**
+     * The revision of the remote domain model applied last, and the revision of the local copy of the domain model
+     * once it was applied.
+     */
+    private static final class AppliedDomainModel {
+        private final String revision;
+        private final String localRevision;
+
+        private AppliedDomainModel(final String revision, final String localRevision) {
+            this.revision = revision;
+            this.localRevision = localRevision;
+        }
+    }
+
     private static class ReadRootResourceHandler implements OperationStepHandler {
         private Resource resource;
 
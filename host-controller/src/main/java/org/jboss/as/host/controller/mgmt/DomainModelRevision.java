@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Revisions of the domain model a master sends to a registering slave, used to avoid transferring and applying the
+ * domain model again if a slave reconnects and nothing has changed since it last registered.
+ * <p>
+ * The revision is a hash of the domain model as sent to the slave, so it takes into account everything the model sent
+ * to a slave depends on (the transformers for its version, its ignored resources etc.). A slave sends the revision it
+ * last applied in its {@link HostInfo} when registering, but only if its copy of the domain model did not change since,
+ * which it checks using {@link #getLocalRevision(Resource)}. If the master finds that the domain model it would send
+ * still has that revision, it sends the revision alone and the slave keeps its copy of the domain model. Otherwise the
+ * full domain model is sent, along with its revision.
+ */
+public final class DomainModelRevision {
+
+    private static final String ALGORITHM = "SHA-1";
+
+    private DomainModelRevision() {
+    }
+
+    /**
+     * Gets the revision of the domain model sent to a slave.
+     *
+     * @param domainModel the domain model, as the result of the read-domain-model operation
+     * @return the revision
+     */
+    public static String getRevision(final ModelNode domainModel) {
+        return hash(domainModel);
+    }
+
+    /**
+     * Gets the revision of the local copy of the domain model of a slave, which changes if any domain level resource
+     * changes. The {@code host} resources are not included.
+     *
+     * @param rootResource the root resource of the slave
+     * @return the revision
+     */
+    public static String getLocalRevision(final Resource rootResource) {
+        final ModelNode model = Resource.Tools.readModel(rootResource);
+        if (model.has(HOST)) {
+            model.remove(HOST);
+        }
+        return hash(model);
+    }
+
+    private static String hash(final ModelNode model) {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final OutputStream os = new OutputStream() {
+            @Override
+            public void write(int b) {
+                // just discard
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                // just discard
+            }
+        };
+        try (DataOutputStream dos = new DataOutputStream(new DigestOutputStream(os, messageDigest))) {
+            model.writeExternal(dos);
+        } catch (IOException e) {
+            // Cannot happen, nothing is actually written
+            throw new IllegalStateException(e);
+        }
+        return HashUtil.bytesToHexString(messageDigest.digest());
+    }
+}
@@ -66,6 +66,7 @@ import org.jboss.as.domain.controller.HostRegistrations;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.domain.controller.operations.ReadMasterDomainModelHandler;
+import org.jboss.as.host.controller.RemoteDomainConnectionService;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.mgmt.ActiveOperation;
@@ -568,10 +569,11 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         }
 
         private boolean sendResultToHost(ModelController.OperationTransaction transaction, final ModelNode result) {
+            final ModelNode response = createDomainModelResponse(result);
             final Boolean registered = executeBlocking(new IOTask<Boolean>() {
                 @Override
                 void sendMessage(final FlushableDataOutput output) throws IOException {
-                    sendResponse(output, DomainControllerProtocol.PARAM_OK, result);
+                    sendResponse(output, DomainControllerProtocol.PARAM_OK, response);
                 }
             });
             if(! registered) {
@@ -581,6 +583,29 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
             return false;
         }
 
+        /**
+         * Adds the revision of the domain model to the response sent to the registering HC. If the HC already has this
+         * revision of the domain model, the domain model itself is not sent.
+         *
+         * @param result the prepared result (domain model)
+         * @return the response
+         */
+        private ModelNode createDomainModelResponse(final ModelNode result) {
+            if (!result.hasDefined(RESULT)) {
+                return result;
+            }
+            final String revision = DomainModelRevision.getRevision(result.get(RESULT));
+            if (revision.equals(hostInfo.getDomainModelRevision())) {
+                HostControllerLogger.ROOT_LOGGER.debugf("Domain model for host %s is unchanged since revision %s", hostName, revision);
+                final ModelNode response = new ModelNode();
+                response.get(OUTCOME).set(result.get(OUTCOME));
+                response.get(RemoteDomainConnectionService.DOMAIN_MODEL_REVISION).set(revision);
+                return response;
+            }
+            result.get(RemoteDomainConnectionService.DOMAIN_MODEL_REVISION).set(revision);
+            return result;
+        }
+
         void completeRegistration(final ManagementRequestContext<RegistrationContext> responseChannel, boolean commit) {
             this.responseChannel = responseChannel;
             failed |= ! commit;
@@ -658,7 +683,8 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
             synchronized (this) {
                 this.task = task;
                 try {
-                    final ManagementResponseHeader header = ManagementResponseHeader.create(responseChannel.getRequestHeader());
+                    // Compressed, as this sends the whole domain model to the slave
+                    final ManagementResponseHeader header = ManagementResponseHeader.createCompressed(responseChannel.getRequestHeader());
                     final FlushableDataOutput output = responseChannel.writeMessage(header);
                     try {
                         task.sendMessage(output);
@@ -125,6 +125,7 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
     private final String productName;
     private final String productVersion;
     private final Long remoteConnectionId;
+    private final String domainModelRevision;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredResources;
     private final boolean ignoreUnaffectedConfig;
     private final Set<ServerConfigInfo> serverConfigInfos;
@@ -144,6 +145,8 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         productVersion = hostInfo.hasDefined(PRODUCT_VERSION) ? hostInfo.require(PRODUCT_VERSION).asString() : null;
         remoteConnectionId = hostInfo.hasDefined(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID)
                 ? hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).asLong() : null;
+        domainModelRevision = hostInfo.hasDefined(RemoteDomainConnectionService.DOMAIN_MODEL_REVISION)
+                ? hostInfo.get(RemoteDomainConnectionService.DOMAIN_MODEL_REVISION).asString() : null;
 
         Set<String> domainIgnoredExtensions = null;
         Set<String> domainActiveServerGroups = null;
@@ -217,6 +220,17 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return remoteConnectionId;
     }
 
+    /**
+     * Gets the revision of the domain model the host applied when it last registered with a master, if its copy of the
+     * domain model is unchanged since.
+     *
+     * @return the revision, or {@code null} if the host has no unchanged copy of a domain model sent by a master
+     * @see DomainModelRevision
+     */
+    public String getDomainModelRevision() {
+        return domainModelRevision;
+    }
+
     public boolean isResourceTransformationIgnored(final PathAddress address) {
         // This resource transformation is only used when registering the host
         // Future operations will send an updated list of ignored-resources
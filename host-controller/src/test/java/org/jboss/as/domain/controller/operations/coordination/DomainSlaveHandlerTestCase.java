@@ -0,0 +1,487 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXECUTE_FOR_COORDINATOR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLED_BACK;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BlockingTimeout;
+import org.jboss.as.controller.CurrentOperationIdHolder;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ProxyController;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.TransformingProxyController;
+import org.jboss.as.controller.client.OperationAttachments;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.remote.BlockingQueueOperationListener;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.controller.transform.OperationResultTransformer;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DomainSlaveHandler}, against slaves faked at the level of their
+ * {@link TransactionalProtocolClient}.
+ */
+public class DomainSlaveHandlerTestCase {
+
+    private static final int OPERATION_ID = 42;
+    private static final int HOSTS = 4;
+
+    private ExecutorService executor;
+    private MultiphaseOverallContext multiphaseContext;
+
+    @Before
+    public void setup() throws Exception {
+        executor = Executors.newFixedThreadPool(HOSTS);
+        multiphaseContext = new MultiphaseOverallContext(null);
+        setCurrentOperationId(OPERATION_ID);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        setCurrentOperationId(null);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAllHostsPrepared() throws Exception {
+        final CountDownLatch arrivals = new CountDownLatch(HOSTS);
+        final Map<String, FakeHost> hosts = new LinkedHashMap<>();
+        for (int i = 0; i < HOSTS; i++) {
+            hosts.put("host" + i, new FakeHost(Behavior.PREPARE, arrivals));
+        }
+        multiphaseContext.setCompleteRollback(false);
+        execute(hosts, executor, 10000);
+
+        final Map<String, ModelNode> preparedResults = multiphaseContext.getHostControllerPreparedResults();
+        final Map<String, ModelNode> finalResults = multiphaseContext.getHostControllerFinalResults();
+        assertEquals(hosts.keySet(), preparedResults.keySet());
+        assertEquals(hosts.keySet(), finalResults.keySet());
+        for (Map.Entry<String, FakeHost> entry : hosts.entrySet()) {
+            final FakeHost host = entry.getValue();
+            // Every host received the request before any of them was answered
+            assertTrue(entry.getKey(), host.concurrent);
+            assertNotSame(Thread.currentThread(), host.thread);
+            assertTrue(host.operation.get(OPERATION_HEADERS, EXECUTE_FOR_COORDINATOR).asBoolean());
+            assertEquals(OPERATION_ID, host.operation.get(OPERATION_HEADERS, DomainControllerLockIdUtils.DOMAIN_CONTROLLER_LOCK_ID).asInt());
+            assertEquals(SUCCESS, preparedResults.get(entry.getKey()).get(OUTCOME).asString());
+            assertEquals(SUCCESS, finalResults.get(entry.getKey()).get(OUTCOME).asString());
+            assertTrue(host.prepared.committed);
+            assertFalse(host.cancelled);
+        }
+        assertFalse(multiphaseContext.hasHostLevelFailures());
+        assertFalse(multiphaseContext.isFailureReported());
+    }
+
+    @Test
+    public void testAllHostsPreparedWithoutExecutor() throws Exception {
+        final Map<String, FakeHost> hosts = new LinkedHashMap<>();
+        for (int i = 0; i < HOSTS; i++) {
+            hosts.put("host" + i, new FakeHost(Behavior.PREPARE, null));
+        }
+        multiphaseContext.setCompleteRollback(false);
+        execute(hosts, null, 10000);
+
+        assertEquals(hosts.keySet(), multiphaseContext.getHostControllerFinalResults().keySet());
+        for (FakeHost host : hosts.values()) {
+            assertEquals(Thread.currentThread(), host.thread);
+            assertTrue(host.prepared.committed);
+        }
+    }
+
+    @Test
+    public void testHostsFailing() throws Exception {
+        final Map<String, FakeHost> hosts = new LinkedHashMap<>();
+        hosts.put("prepared", new FakeHost(Behavior.PREPARE, null));
+        hosts.put("failed", new FakeHost(Behavior.FAIL, null));
+        hosts.put("disconnected", new FakeHost(Behavior.DISCONNECT, null));
+        hosts.put("untransformable", new FakeHost(Behavior.REJECT_TRANSFORMATION, null));
+        hosts.put("other-prepared", new FakeHost(Behavior.PREPARE, null));
+        execute(hosts, executor, 10000);
+
+        final Map<String, ModelNode> preparedResults = multiphaseContext.getHostControllerPreparedResults();
+        assertEquals(hosts.keySet(), preparedResults.keySet());
+        for (String name : new String[] {"failed", "disconnected", "untransformable"}) {
+            assertEquals(name, FAILED, preparedResults.get(name).get(OUTCOME).asString());
+            assertTrue(name, preparedResults.get(name).hasDefined(FAILURE_DESCRIPTION));
+        }
+        assertTrue(multiphaseContext.hasHostLevelFailures());
+        // The hosts failing did not prevent the others from preparing, and they are rolled back
+        final Map<String, ModelNode> finalResults = multiphaseContext.getHostControllerFinalResults();
+        for (String name : new String[] {"prepared", "other-prepared"}) {
+            assertEquals(name, SUCCESS, preparedResults.get(name).get(OUTCOME).asString());
+            assertTrue(name, hosts.get(name).prepared.rolledBack);
+            assertTrue(name, finalResults.get(name).get(ROLLED_BACK).asBoolean());
+        }
+        assertEquals(FAILED, finalResults.get("failed").get(OUTCOME).asString());
+        // Only the slaves that could be sent the operation were
+        assertNull(hosts.get("untransformable").operation);
+        assertFalse(multiphaseContext.isFailureReported());
+    }
+
+    @Test
+    public void testHostNotResponding() throws Exception {
+        final Map<String, FakeHost> hosts = new LinkedHashMap<>();
+        hosts.put("prepared", new FakeHost(Behavior.PREPARE, null));
+        hosts.put("silent", new FakeHost(Behavior.NO_RESPONSE, null));
+        hosts.put("other-prepared", new FakeHost(Behavior.PREPARE, null));
+        execute(hosts, executor, 500);
+
+        assertTrue(multiphaseContext.isFailureReported());
+        final Map<String, ModelNode> preparedResults = multiphaseContext.getHostControllerPreparedResults();
+        assertEquals(hosts.keySet(), preparedResults.keySet());
+        assertEquals(FAILED, preparedResults.get("silent").get(OUTCOME).asString());
+        assertTrue(preparedResults.get("silent").hasDefined(FAILURE_DESCRIPTION));
+        // All the requests are cancelled, and those that were prepared are rolled back
+        final Map<String, ModelNode> finalResults = multiphaseContext.getHostControllerFinalResults();
+        for (FakeHost host : hosts.values()) {
+            assertTrue(host.cancelled);
+        }
+        assertFalse(finalResults.containsKey("silent"));
+        for (String name : new String[] {"prepared", "other-prepared"}) {
+            assertEquals(name, SUCCESS, preparedResults.get(name).get(OUTCOME).asString());
+            assertTrue(name, hosts.get(name).prepared.rolledBack);
+            assertTrue(name, finalResults.get(name).get(ROLLED_BACK).asBoolean());
+        }
+    }
+
+    private void execute(final Map<String, FakeHost> hosts, final ExecutorService executor, final int timeout) throws OperationFailedException {
+        final Map<String, ProxyController> proxies = new LinkedHashMap<String, ProxyController>(hosts);
+        final FakeOperationContext context = new FakeOperationContext(timeout);
+        final ModelNode operation = new ModelNode();
+        operation.get("test").set(true);
+        new DomainSlaveHandler(proxies, multiphaseContext, executor).execute(context.create(), operation);
+        assertTrue(context.stepCompleted);
+    }
+
+    private static void setCurrentOperationId(final Integer operationId) throws Exception {
+        // Set by the ModelController on the thread executing the operation
+        final Method setter = CurrentOperationIdHolder.class.getDeclaredMethod("setCurrentOperationID", Integer.class);
+        setter.setAccessible(true);
+        setter.invoke(null, operationId);
+    }
+
+    private enum Behavior {
+        /** Prepares the operation, then commits or rolls it back as requested */
+        PREPARE,
+        /** Fails to prepare the operation */
+        FAIL,
+        /** Fails to send the operation */
+        DISCONNECT,
+        /** Does not accept the operation as transformed for its version */
+        REJECT_TRANSFORMATION,
+        /** Never answers */
+        NO_RESPONSE,
+    }
+
+    /**
+     * A slave host controller, as seen through its proxy and protocol client.
+     */
+    private static final class FakeHost implements TransformingProxyController, TransactionalProtocolClient {
+
+        private final Behavior behavior;
+        private final CountDownLatch arrivals;
+        private volatile ModelNode operation;
+        private volatile Thread thread;
+        private volatile boolean concurrent;
+        private volatile FakePreparedOperation<?> prepared;
+        private volatile boolean cancelled;
+
+        private FakeHost(final Behavior behavior, final CountDownLatch arrivals) {
+            this.behavior = behavior;
+            this.arrivals = arrivals;
+        }
+
+        @Override
+        public TransactionalProtocolClient getProtocolClient() {
+            return this;
+        }
+
+        @Override
+        public Transformers getTransformers() {
+            return null;
+        }
+
+        @Override
+        public OperationTransformer.TransformedOperation transformOperation(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OperationTransformer.TransformedOperation transformOperation(final Transformers.TransformationInputs parameters, final ModelNode operation) throws OperationFailedException {
+            thread = Thread.currentThread();
+            if (behavior == Behavior.REJECT_TRANSFORMATION) {
+                throw new OperationFailedException("not supported by this host");
+            }
+            return new OperationTransformer.TransformedOperation(operation, OperationResultTransformer.ORIGINAL_RESULT);
+        }
+
+        @Override
+        public PathAddress getProxyNodeAddress() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void execute(final ModelNode operation, final OperationMessageHandler handler, final ProxyOperationControl control,
+                            final OperationAttachments attachments, final BlockingTimeout blockingTimeout) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> execute(final TransactionalOperationListener<Operation> listener, final ModelNode operation,
+                                                      final OperationMessageHandler messageHandler, final OperationAttachments attachments) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T extends Operation> AsyncFuture<OperationResponse> execute(final TransactionalOperationListener<T> listener, final T operation) throws IOException {
+            this.operation = operation.getOperation();
+            if (arrivals != null) {
+                arrivals.countDown();
+                try {
+                    concurrent = arrivals.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            final FinalResult finalResult = new FinalResult();
+            switch (behavior) {
+                case PREPARE: {
+                    final ModelNode preparedResult = new ModelNode();
+                    preparedResult.get(OUTCOME).set(SUCCESS);
+                    final FakePreparedOperation<T> prepared = new FakePreparedOperation<T>(operation, preparedResult, finalResult);
+                    this.prepared = prepared;
+                    listener.operationPrepared(prepared);
+                    break;
+                }
+                case FAIL: {
+                    final TransactionalProtocolClient.PreparedOperation<T> failed = BlockingQueueOperationListener.FailedOperation.create(operation, "failed to prepare");
+                    listener.operationPrepared(failed);
+                    return failed.getFinalResult();
+                }
+                case DISCONNECT:
+                    throw new IOException("disconnected");
+                default:
+                    break;
+            }
+            return finalResult;
+        }
+
+        private final class FinalResult extends AsyncFutureTask<OperationResponse> {
+
+            private FinalResult() {
+                super(null);
+            }
+
+            @Override
+            public void asyncCancel(final boolean interruptionDesired) {
+                // The slave is told to cancel the operation; any final result still comes from it
+                cancelled = true;
+            }
+
+            private void complete(final ModelNode response) {
+                setResult(OperationResponse.Factory.createSimple(response));
+            }
+        }
+
+        private final class FakePreparedOperation<T extends Operation> implements PreparedOperation<T> {
+
+            private final T operation;
+            private final ModelNode preparedResult;
+            private final FinalResult finalResult;
+            private volatile boolean committed;
+            private volatile boolean rolledBack;
+
+            private FakePreparedOperation(final T operation, final ModelNode preparedResult, final FinalResult finalResult) {
+                this.operation = operation;
+                this.preparedResult = preparedResult;
+                this.finalResult = finalResult;
+            }
+
+            @Override
+            public T getOperation() {
+                return operation;
+            }
+
+            @Override
+            public ModelNode getPreparedResult() {
+                return preparedResult;
+            }
+
+            @Override
+            public boolean isFailed() {
+                return false;
+            }
+
+            @Override
+            public boolean isTimedOut() {
+                return false;
+            }
+
+            @Override
+            public boolean isDone() {
+                return finalResult.getStatus() != AsyncFuture.Status.WAITING;
+            }
+
+            @Override
+            public AsyncFuture<OperationResponse> getFinalResult() {
+                return finalResult;
+            }
+
+            @Override
+            public void commit() {
+                committed = true;
+                finalResult.complete(preparedResult.clone());
+            }
+
+            @Override
+            public void rollback() {
+                rolledBack = true;
+                final ModelNode response = new ModelNode();
+                response.get(OUTCOME).set(FAILED);
+                response.get(ROLLED_BACK).set(true);
+                finalResult.complete(response);
+            }
+        }
+    }
+
+    /**
+     * The context of the domain stage of the operation, faking only what the handler uses.
+     */
+    private static final class FakeOperationContext implements InvocationHandler {
+
+        private final Map<OperationContext.AttachmentKey<?>, Object> attachments = new HashMap<>();
+        private final BlockingTimeout blockingTimeout;
+        private volatile boolean stepCompleted;
+
+        private FakeOperationContext(final int timeout) {
+            this.blockingTimeout = new BlockingTimeout() {
+                @Override
+                public int getLocalBlockingTimeout() {
+                    return timeout;
+                }
+
+                @Override
+                public int getProxyBlockingTimeout(PathAddress targetAddress, ProxyController proxyController) {
+                    return timeout;
+                }
+
+                @Override
+                public int getDomainBlockingTimeout(boolean multipleProxies) {
+                    return timeout;
+                }
+
+                @Override
+                public void timeoutDetected() {
+                }
+
+                @Override
+                public void proxyTimeoutDetected(PathAddress targetAddress) {
+                }
+            };
+        }
+
+        private OperationContext create() {
+            return (OperationContext) Proxy.newProxyInstance(OperationContext.class.getClassLoader(), new Class<?>[] {OperationContext.class}, this);
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "getCurrentStage":
+                    return OperationContext.Stage.DOMAIN;
+                case "getProcessType":
+                    return ProcessType.HOST_CONTROLLER;
+                case "getRunningMode":
+                    return RunningMode.NORMAL;
+                case "hasFailureDescription":
+                    return false;
+                case "getAttachmentStreamCount":
+                    return 0;
+                case "readResourceFromRoot":
+                    return Resource.Factory.create();
+                case "getRootResourceRegistration":
+                case "report":
+                    return null;
+                case "getAttachment": {
+                    final OperationContext.AttachmentKey<?> key = (OperationContext.AttachmentKey<?>) args[0];
+                    synchronized (attachments) {
+                        if (attachments.containsKey(key)) {
+                            return attachments.get(key);
+                        }
+                    }
+                    // The key of the blocking timeout is not visible; it is the only one for that type
+                    try {
+                        return key.cast(blockingTimeout);
+                    } catch (ClassCastException e) {
+                        return null;
+                    }
+                }
+                case "attach":
+                    synchronized (attachments) {
+                        return attachments.put((OperationContext.AttachmentKey<?>) args[0], args[1]);
+                    }
+                case "completeStep":
+                    stepCompleted = true;
+                    ((OperationContext.ResultHandler) args[0]).handleResult(OperationContext.ResultAction.KEEP, (OperationContext) proxy, new ModelNode());
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
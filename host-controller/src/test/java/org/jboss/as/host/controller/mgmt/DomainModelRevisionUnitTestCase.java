@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of the {@link DomainModelRevision} class.
+ */
+public class DomainModelRevisionUnitTestCase {
+
+    @Test
+    public void testRevision() {
+        final ModelNode domainModel = new ModelNode();
+        domainModel.add(createOperation("server-group1", "profile1"));
+        domainModel.add(createOperation("server-group2", "profile1"));
+
+        final String revision = DomainModelRevision.getRevision(domainModel);
+        Assert.assertEquals(revision, DomainModelRevision.getRevision(domainModel.clone()));
+
+        final ModelNode changed = domainModel.clone();
+        changed.get(1).get(PROFILE).set("profile2");
+        Assert.assertNotEquals(revision, DomainModelRevision.getRevision(changed));
+    }
+
+    @Test
+    public void testLocalRevision() {
+        final Resource root = Resource.Factory.create();
+        final Resource serverGroup = Resource.Factory.create();
+        serverGroup.getModel().get(PROFILE).set("profile1");
+        root.registerChild(PathElement.pathElement(SERVER_GROUP, "server-group1"), serverGroup);
+        final Resource host = Resource.Factory.create();
+        root.registerChild(PathElement.pathElement(HOST, "slave"), host);
+
+        final String revision = DomainModelRevision.getLocalRevision(root);
+
+        // Changes to the host are not changes to the local copy of the domain model
+        host.getModel().get("name").set("slave");
+        Assert.assertEquals(revision, DomainModelRevision.getLocalRevision(root));
+
+        serverGroup.getModel().get(PROFILE).set("profile2");
+        Assert.assertNotEquals(revision, DomainModelRevision.getLocalRevision(root));
+    }
+
+    private static ModelNode createOperation(final String serverGroup, final String profile) {
+        final ModelNode operation = new ModelNode();
+        operation.get("domain-resource-address").add(SERVER_GROUP, serverGroup);
+        operation.get(PROFILE).set(profile);
+        return operation;
+    }
+}
@@ -74,15 +74,18 @@ public class HostInfoUnitTestCase {
         Assert.assertEquals(Version.MANAGEMENT_MINOR_VERSION, testee.getManagementMinorVersion());
         Assert.assertEquals(Version.MANAGEMENT_MICRO_VERSION, testee.getManagementMicroVersion());
         Assert.assertNull(testee.getRemoteConnectionId());
+        Assert.assertNull(testee.getDomainModelRevision());
 
         productConfig = new ProductConfig(null, null, "main");
         model = HostInfo.createLocalHostHostInfo(lch, productConfig, ignoredRegistry, Resource.Factory.create());
         model.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).set(1L);
+        model.get(RemoteDomainConnectionService.DOMAIN_MODEL_REVISION).set("revision");
         testee = HostInfo.fromModelNode(model);
         Assert.assertNull(testee.getProductName());
         Assert.assertNull(testee.getProductVersion());
         Assert.assertNotNull(testee.getRemoteConnectionId());
         Assert.assertEquals(1L, testee.getRemoteConnectionId().longValue());
+        Assert.assertEquals("revision", testee.getDomainModelRevision());
     }
 
     @Test
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.jmx.model;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.notification.NotificationFilter;
+import org.jboss.as.controller.notification.NotificationHandler;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+
+/**
+ * Caches the {@link MBeanInfo} of the resources of a domain by their registration, as creating it requires reading
+ * the descriptions of the resource and all of its operations, and converting them to open types.
+ * <p>
+ * The cached MBeanInfo is a {@link MBeanInfoFactory#createMBeanInfoTemplate template} that does not refer to a
+ * particular MBean, and is shared by all resources with the same registration. Besides the registration it only
+ * depends on whether the resource is the root resource and whether it is mutable; the descriptor fields referring to
+ * the mirrored MBean in the other domain are added for each call.
+ * <p>
+ * The templates are discarded when the {@link ImmutableManagementResourceRegistration#getModificationCount()
+ * modification count} of the registrations changes, e.g. when an attribute or operation is registered. As the child
+ * registrations are described too, the whole cache is also cleared on any notification other than an attribute write.
+ * The MBeanInfo does not depend on the access control context of the caller.
+ */
+final class MBeanInfoCache implements NotificationHandler, NotificationFilter {
+
+    private static final int ROOT = 1;
+    private static final int MUTABLE = 2;
+
+    private final boolean legacy;
+    private final TypeConverters converters;
+    private final ConfiguredDomains configuredDomains;
+    private final MutabilityChecker mutabilityChecker;
+    private final Map<ImmutableManagementResourceRegistration, Templates> templates = new WeakHashMap<>();
+
+    MBeanInfoCache(final boolean legacy, final TypeConverters converters, final ConfiguredDomains configuredDomains,
+                   final MutabilityChecker mutabilityChecker) {
+        this.legacy = legacy;
+        this.converters = converters;
+        this.configuredDomains = configuredDomains;
+        this.mutabilityChecker = mutabilityChecker;
+    }
+
+    MBeanInfo getMBeanInfo(final ObjectName name, final PathAddress address, final ImmutableManagementResourceRegistration registration) {
+        // The mutability of the children only differs from that of the resource itself for the root resource
+        final int flags = (address.size() == 0 ? ROOT : 0) | (mutabilityChecker.mutable(address) ? MUTABLE : 0);
+        // Read before creating the template, so a template created while the registrations are modified is discarded
+        final long modificationCount = registration.getModificationCount();
+        MBeanInfo template = null;
+        if (modificationCount >= 0) {
+            synchronized (templates) {
+                final Templates cached = templates.get(registration);
+                if (cached != null && cached.modificationCount == modificationCount) {
+                    template = cached.templates[flags];
+                }
+            }
+        }
+        if (template == null) {
+            template = MBeanInfoFactory.createMBeanInfoTemplate(legacy, converters, configuredDomains, mutabilityChecker, address, registration);
+            if (modificationCount >= 0) {
+                synchronized (templates) {
+                    Templates cached = templates.get(registration);
+                    if (cached == null || cached.modificationCount != modificationCount) {
+                        cached = new Templates(modificationCount);
+                        templates.put(registration, cached);
+                    }
+                    cached.templates[flags] = template;
+                }
+            }
+        }
+        return MBeanInfoFactory.createMBeanInfo(template, name, configuredDomains);
+    }
+
+    @Override
+    public boolean isNotificationEnabled(final Notification notification) {
+        return !ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION.equals(notification.getType());
+    }
+
+    @Override
+    public void handleNotification(final Notification notification) {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+
+    /**
+     * The templates of a registration, indexed by the {@link #ROOT} and {@link #MUTABLE} flags, along with the
+     * modification count of the registrations they were created from.
+     */
+    private static final class Templates {
+        private final long modificationCount;
+        private final MBeanInfo[] templates = new MBeanInfo[4];
+
+        private Templates(final long modificationCount) {
+            this.modificationCount = modificationCount;
+        }
+    }
+}
@@ -58,10 +58,11 @@ import java.util.Set;
 import javax.management.AttributeChangeNotification;
 import javax.management.Descriptor;
 import javax.management.ImmutableDescriptor;
-import javax.management.InstanceNotFoundException;
+import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
 import javax.management.MBeanNotificationInfo;
 import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
 import javax.management.Notification;
 import javax.management.ObjectName;
 import javax.management.openmbean.OpenMBeanAttributeInfo;
@@ -117,20 +118,66 @@ public class MBeanInfoFactory {
     private final PathAddress pathAddress;
     private final boolean legacy;
 
-    private MBeanInfoFactory(final ObjectName name, final TypeConverters converters, final ConfiguredDomains configuredDomains, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration) {
+    private MBeanInfoFactory(final ObjectName name, final boolean legacy, final TypeConverters converters, final ConfiguredDomains configuredDomains, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration) {
         this.name = name;
         this.converters = converters;
         this.configuredDomains = configuredDomains;
         this.mutabilityChecker = mutabilityChecker;
-        this.legacy = configuredDomains.isLegacyDomain(name);
+        this.legacy = legacy;
         this.resourceRegistration = resourceRegistration;
         DescriptionProvider provider = resourceRegistration.getModelDescription(PathAddress.EMPTY_ADDRESS);
         providedDescription = provider != null ? provider.getModelDescription(null) : new ModelNode();
         this.pathAddress = address;
     }
 
-    static MBeanInfo createMBeanInfo(final ObjectName name, final TypeConverters converters, final ConfiguredDomains configuredDomains, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration) throws InstanceNotFoundException{
-        return new MBeanInfoFactory(name, converters, configuredDomains, mutabilityChecker, address, resourceRegistration).createMBeanInfo();
+    /**
+     * Creates the MBeanInfo of a resource without the descriptor fields that refer to the mirrored MBean, so it can be
+     * shared by all resources with the same registration. Use {@link #createMBeanInfo(MBeanInfo, ObjectName, ConfiguredDomains)}
+     * to add these fields for a particular MBean.
+     */
+    static MBeanInfo createMBeanInfoTemplate(final boolean legacy, final TypeConverters converters, final ConfiguredDomains configuredDomains, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration) {
+        return new MBeanInfoFactory(null, legacy, converters, configuredDomains, mutabilityChecker, address, resourceRegistration).createMBeanInfo();
+    }
+
+    /**
+     * Creates the MBeanInfo of an MBean from a template created by {@link #createMBeanInfoTemplate}.
+     */
+    static MBeanInfo createMBeanInfo(final MBeanInfo template, final ObjectName name, final ConfiguredDomains configuredDomains) {
+        final Map<String, String> alternateDescriptions = new HashMap<String, String>();
+        addAlternateMBean(alternateDescriptions, name, configuredDomains);
+        if (alternateDescriptions.isEmpty()) {
+            return template;
+        }
+        final Descriptor alternate = new ImmutableDescriptor(alternateDescriptions);
+
+        final MBeanAttributeInfo[] templateAttributes = template.getAttributes();
+        final OpenMBeanAttributeInfo[] attributes = new OpenMBeanAttributeInfo[templateAttributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            final OpenMBeanAttributeInfo attribute = (OpenMBeanAttributeInfo) templateAttributes[i];
+            attributes[i] = new OpenMBeanAttributeInfoSupport(attribute.getName(), attribute.getDescription(), attribute.getOpenType(),
+                    attribute.isReadable(), attribute.isWritable(), attribute.isIs(),
+                    ImmutableDescriptor.union(templateAttributes[i].getDescriptor(), alternate));
+        }
+        final MBeanOperationInfo[] templateOperations = template.getOperations();
+        final OpenMBeanOperationInfo[] operations = new OpenMBeanOperationInfo[templateOperations.length];
+        for (int i = 0; i < operations.length; i++) {
+            final OpenMBeanOperationInfo operation = (OpenMBeanOperationInfo) templateOperations[i];
+            final MBeanParameterInfo[] signature = operation.getSignature();
+            final OpenMBeanParameterInfo[] parameters = new OpenMBeanParameterInfo[signature.length];
+            for (int j = 0; j < parameters.length; j++) {
+                parameters[j] = (OpenMBeanParameterInfo) signature[j];
+            }
+            operations[i] = new OpenMBeanOperationInfoSupport(operation.getName(), operation.getDescription(), parameters,
+                    operation.getReturnOpenType(), operation.getImpact(),
+                    ImmutableDescriptor.union(templateOperations[i].getDescriptor(), alternate));
+        }
+        return new OpenMBeanInfoSupport(template.getClassName(),
+                template.getDescription(),
+                attributes,
+                null,
+                operations,
+                template.getNotifications(),
+                ImmutableDescriptor.union(template.getDescriptor(), alternate));
     }
 
     private MBeanInfo createMBeanInfo() {
@@ -391,14 +438,23 @@ public class MBeanInfoFactory {
         if (legacy) {
             descriptions.put(DESC_MBEAN_EXPR, "true");
             descriptions.put(DESC_MBEAN_EXPR_DESCR, JmxLogger.ROOT_LOGGER.descriptorMBeanExpressionSupportFalse());
+        } else {
+            descriptions.put(DESC_MBEAN_EXPR, "false");
+            descriptions.put(DESC_MBEAN_EXPR_DESCR, JmxLogger.ROOT_LOGGER.descriptorMBeanExpressionSupportTrue());
+        }
+        if (name != null) {
+            addAlternateMBean(descriptions, name, configuredDomains);
+        }
+    }
+
+    private static void addAlternateMBean(Map<String, String> descriptions, ObjectName name, ConfiguredDomains configuredDomains) {
+        if (configuredDomains.isLegacyDomain(name)) {
             if (configuredDomains.getExprDomain() != null) {
                 ObjectName alternate = configuredDomains.getMirroredObjectName(name);
                 descriptions.put(DESC_ALTERNATE_MBEAN, alternate.toString());
                 descriptions.put(DESC_ALTERNATE_MBEAN_DESCR, JmxLogger.ROOT_LOGGER.descriptorAlternateMBeanExpressions(alternate));
             }
         } else {
-            descriptions.put(DESC_MBEAN_EXPR, "false");
-            descriptions.put(DESC_MBEAN_EXPR_DESCR, JmxLogger.ROOT_LOGGER.descriptorMBeanExpressionSupportTrue());
             if (configuredDomains.getLegacyDomain() != null) {
                 ObjectName alternate = configuredDomains.getMirroredObjectName(name);
                 descriptions.put(DESC_ALTERNATE_MBEAN, alternate.toString());
@@ -71,7 +71,7 @@ import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.as.jmx.logging.JmxLogger;
 import org.jboss.as.jmx.model.ChildAddOperationFinder.ChildAddOperationEntry;
 import org.jboss.as.jmx.model.ResourceAccessControlUtil.ResourceAccessControl;
-import org.jboss.as.jmx.model.RootResourceIterator.ResourceAction;
+import org.jboss.as.jmx.model.ObjectNameIndex.ResourceAction;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.common.Assert;
 
@@ -93,6 +93,8 @@ public class ModelControllerMBeanHelper {
     private final ConfiguredDomains configuredDomains;
     private final String domain;
     private final ManagementModelIntegration.ManagementModelProvider managementModelProvider;
+    private final ObjectNameIndex index;
+    private final MBeanInfoCache mbeanInfoCache;
 
     ModelControllerMBeanHelper(TypeConverters converters, ConfiguredDomains configuredDomains, String domain,
                                ModelController controller, MutabilityChecker mutabilityChecker,
@@ -104,15 +106,17 @@ public class ModelControllerMBeanHelper {
         this.accessControlUtil = new ResourceAccessControlUtil(controller);
         this.mutabilityChecker = mutabilityChecker;
         this.managementModelProvider = managementModelProvider;
+        this.index = new ObjectNameIndex(domain);
+        this.mbeanInfoCache = new MBeanInfoCache(domain.equals(configuredDomains.getLegacyDomain()), converters, configuredDomains, mutabilityChecker);
     }
 
     int getMBeanCount() {
-        return new RootResourceIterator<Integer>(accessControlUtil, getRootResourceAndRegistration().getResource(), new ResourceAction<Integer>() {
+        return index.iterate(accessControlUtil, getRootResourceAndRegistration(), null, new ResourceAction<Integer>() {
             int count;
 
             @Override
-            public ObjectName onAddress(PathAddress address) {
-                return isExcludeAddress(address) ? null : ObjectNameAddressUtil.createObjectName(domain, address);
+            public ObjectName onAddress(PathAddress address, ObjectName objectName) {
+                return isExcludeAddress(address) ? null : objectName;
             }
 
             public boolean onResource(ObjectName address) {
@@ -123,11 +127,11 @@ public class ModelControllerMBeanHelper {
             public Integer getResult() {
                 return count;
             }
-        }).iterate();
+        });
     }
 
     Set<ObjectInstance> queryMBeans(final MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectInstance> basic = new RootResourceIterator<Set<ObjectInstance>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
+        Set<ObjectInstance> basic = index.iterate(accessControlUtil, getRootResourceAndRegistration(), name,
                 new ObjectNameMatchResourceAction<Set<ObjectInstance>>(name) {
 
             Set<ObjectInstance> set = new HashSet<ObjectInstance>();
@@ -147,9 +151,9 @@ public class ModelControllerMBeanHelper {
                 }
                 return set;
             }
-        }).iterate();
+        });
 
-        // Handle any 'query' outside the RootResourceIterator so if the query calls back
+        // Handle any 'query' outside the index iteration so if the query calls back
         // into us it's not a recursive kind of thing in the ModelController
         Set<ObjectInstance> result;
         if (query == null || basic.isEmpty()) {
@@ -174,7 +178,7 @@ public class ModelControllerMBeanHelper {
     }
 
     Set<ObjectName> queryNames(MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectName> basic = new RootResourceIterator<Set<ObjectName>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
+        Set<ObjectName> basic = index.iterate(accessControlUtil, getRootResourceAndRegistration(), name,
                 new ObjectNameMatchResourceAction<Set<ObjectName>>(name) {
 
             Set<ObjectName> set = new HashSet<ObjectName>();
@@ -194,9 +198,9 @@ public class ModelControllerMBeanHelper {
                 }
                 return set;
             }
-        }).iterate();
+        });
 
-        // Handle any 'query' outside the RootResourceIterator so if the query calls back
+        // Handle any 'query' outside the index iteration so if the query calls back
         // into us it's not a recursive kind of thing in the ModelController
         Set<ObjectName> result;
         if (query == null || basic.isEmpty()) {
@@ -256,7 +260,7 @@ public class ModelControllerMBeanHelper {
             throw JmxLogger.ROOT_LOGGER.mbeanNotFound(name);
         }
         final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, true);
-        return MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, getMBeanRegistration(address, reg));
+        return mbeanInfoCache.getMBeanInfo(name, address, getMBeanRegistration(address, reg));
     }
 
     Object getAttribute(final ObjectName name, final String attribute)  throws AttributeNotFoundException, InstanceNotFoundException, ReflectionException {
@@ -598,6 +602,21 @@ public class ModelControllerMBeanHelper {
         return converters;
     }
 
+    /**
+     * Gets the index used by queries, which needs to be registered for all notifications of the management model.
+     */
+    ObjectNameIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the cache of the MBeanInfo of the resources, which needs to be registered for all notifications of the
+     * management model.
+     */
+    MBeanInfoCache getMBeanInfoCache() {
+        return mbeanInfoCache;
+    }
+
     private abstract class ObjectNameMatchResourceAction<T> implements ResourceAction<T> {
 
         private final ObjectName baseName;
@@ -617,13 +636,12 @@ public class ModelControllerMBeanHelper {
         }
 
         @Override
-        public ObjectName onAddress(PathAddress address) {
+        public ObjectName onAddress(PathAddress address, ObjectName toMatch) {
             if (isExcludeAddress(address)) {
                 return null;
             }
 
             ObjectName result = null;
-            ObjectName toMatch = ObjectNameAddressUtil.createObjectName(domain, address);
             if (baseName == null) {
                 result = toMatch;
             } else if (address.size() == 0) {
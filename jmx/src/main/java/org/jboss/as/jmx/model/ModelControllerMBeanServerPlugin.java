@@ -94,6 +94,14 @@ public class ModelControllerMBeanServerPlugin extends BaseMBeanServerPlugin {
                 new ModelControllerMBeanHelper(TypeConverters.createExpressionTypeConverters(), configuredDomains,
                         configuredDomains.getExprDomain(), controller, mutabilityChecker, managementModelProvider) : null;
 
+        // Keep the ObjectName indexes used by queries and the cached MBeanInfos up to date
+        for (ModelControllerMBeanHelper helper : new ModelControllerMBeanHelper[] {legacyHelper, exprHelper}) {
+            if (helper != null) {
+                notificationRegistry.registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, helper.getIndex(), helper.getIndex());
+                notificationRegistry.registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, helper.getMBeanInfoCache(), helper.getMBeanInfoCache());
+            }
+        }
+
         // JMX notifications for MBean registration/unregistration are emitted by the MBeanServerDelegate and not by the
         // MBeans itself. If we have a reference on the delegate, we add a listener for any WildFly resource address
         // that converts the resource-added and resource-removed notifications to MBeanServerNotification and send them
@@ -204,7 +204,7 @@ class ObjectNameAddressUtil {
         return original;
     }
 
-    private static String replaceEscapedCharactersInKey(String escaped) {
+    static String replaceEscapedCharactersInKey(String escaped) {
         if (escaped.contains("%x")) {
             for (EscapedCharacter escapedCharacter : ESCAPED_KEY_CHARACTERS) {
                 escaped = escaped.replace(escapedCharacter.getEscaped(), escapedCharacter.getChar());
@@ -213,7 +213,7 @@ class ObjectNameAddressUtil {
         return escaped;
     }
 
-    private static String replaceEscapedCharactersInValue(final String escaped) {
+    static String replaceEscapedCharactersInValue(final String escaped) {
         if (escaped.startsWith("\"") && escaped.endsWith("\"")) {
             final boolean containsAsterix = escaped.contains("\\*");
             final boolean containsBackslash = escaped.contains("\\\\");
@@ -0,0 +1,333 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.jmx.model;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_ADDED_NOTIFICATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_REMOVED_NOTIFICATION;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.notification.NotificationFilter;
+import org.jboss.as.controller.notification.NotificationHandler;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * Index of the {@link ObjectName}s of the resources in the management model, so a JMX query does not need to walk
+ * the whole resource tree and create the names of all its resources.
+ * <p>
+ * The index mirrors the resource tree and is populated lazily as it is queried. It is maintained incrementally:
+ * <ul>
+ *     <li>The children of a resource are listed again if the resource instance was replaced since they were listed.
+ *     As a write to the management model only copies the modified resources and their parents, this happens as soon
+ *     as the write is published, and only for the modified part of the tree.</li>
+ *     <li>Changes made to resources in place are detected using the notifications emitted by the management model:
+ *     the children of the parent of an added or removed resource are listed again on the next query, and any other
+ *     notification about a resource, e.g. that a deployment was deployed, discards the indexed children of the
+ *     resource.</li>
+ *     <li>Runtime-only and remote resources may change without notifications, so the children of these resources,
+ *     and of any resource with such child types, are listed again on every query.</li>
+ * </ul>
+ * A query also only visits indexed resources that still exist.
+ * <p>
+ * A query only visits the children whose type and name can match the queried name: a child type that is not a key
+ * of a name that is not a property list pattern cannot match, and for a key with a fixed value the matching child
+ * is looked up directly instead of iterating all children of that type.
+ *
+ * @see ModelControllerMBeanHelper
+ */
+final class ObjectNameIndex implements NotificationHandler, NotificationFilter {
+
+    private final String domain;
+    private Node root;
+
+    ObjectNameIndex(final String domain) {
+        this.domain = domain;
+    }
+
+    /**
+     * Visits the resources that may match a name.
+     *
+     * @param accessControlUtil the access control of the caller; inaccessible resources and their children are not visited
+     * @param reg the management model
+     * @param name the name or pattern to match, or {@code null} to visit all resources
+     * @param action the action applied to the visited resources
+     * @return the result of the action
+     */
+    <T> T iterate(final ResourceAccessControlUtil accessControlUtil, final ManagementModelIntegration.ResourceAndRegistration reg,
+                  final ObjectName name, final ResourceAction<T> action) {
+        final Query<T> query = new Query<>(accessControlUtil, reg.getRegistration(), name, action);
+        visit(getRoot(reg.getRegistration()), reg.getResource(), query);
+        return action.getResult();
+    }
+
+    private synchronized Node getRoot(final ImmutableManagementResourceRegistration registration) {
+        if (root == null) {
+            root = new Node(PathAddress.EMPTY_ADDRESS, ModelControllerMBeanHelper.createRootObjectName(domain), false,
+                    hasRuntimeChildren(registration));
+        }
+        return root;
+    }
+
+    private <T> void visit(final Node node, final Resource resource, final Query<T> query) {
+        final ObjectName resourceObjectName = query.action.onAddress(node.address, node.objectName);
+        if (resourceObjectName == null
+                || !query.accessControlUtil.getResourceAccess(node.address, false).isAccessibleResource()
+                || !query.action.onResource(resourceObjectName)) {
+            return;
+        }
+        for (Map.Entry<String, Map<String, Node>> entry : node.getChildren(this, resource, query.registration).entrySet()) {
+            final String type = entry.getKey();
+            if (!query.isMatchingType(type)) {
+                continue;
+            }
+            final String value = query.fixedValues.get(type);
+            if (value != null) {
+                final Node child = entry.getValue().get(value);
+                if (child != null) {
+                    visitChild(node, resource, child, query);
+                }
+            } else {
+                for (Node child : entry.getValue().values()) {
+                    visitChild(node, resource, child, query);
+                }
+            }
+        }
+    }
+
+    private <T> void visitChild(final Node node, final Resource resource, final Node child, final Query<T> query) {
+        final Resource childResource = resource.getChild(child.address.getLastElement());
+        if (childResource == null) {
+            // Removed in place, and the notification was not handled yet
+            node.invalidate(false);
+        } else {
+            visit(child, childResource, query);
+        }
+    }
+
+    private Node createNode(final Node parent, final PathElement element, final ImmutableManagementResourceRegistration rootRegistration) {
+        final PathAddress address = parent.address.append(element);
+        final ImmutableManagementResourceRegistration registration = rootRegistration.getSubModel(address);
+        final boolean runtime = parent.runtime || registration == null || registration.isRuntimeOnly() || registration.isRemote();
+        return new Node(address, ObjectNameAddressUtil.createObjectName(domain, address), runtime,
+                runtime || hasRuntimeChildren(registration));
+    }
+
+    private static boolean hasRuntimeChildren(final ImmutableManagementResourceRegistration registration) {
+        for (PathElement element : registration.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+            final ImmutableManagementResourceRegistration child = registration.getSubModel(PathAddress.pathAddress(element));
+            if (child == null || child.isRuntimeOnly() || child.isRemote()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isNotificationEnabled(final Notification notification) {
+        return !ATTRIBUTE_VALUE_WRITTEN_NOTIFICATION.equals(notification.getType());
+    }
+
+    @Override
+    public void handleNotification(final Notification notification) {
+        final PathAddress source = notification.getSource();
+        final String type = notification.getType();
+        if (source.size() > 0 && (RESOURCE_ADDED_NOTIFICATION.equals(type) || RESOURCE_REMOVED_NOTIFICATION.equals(type))) {
+            final Node parent = find(source.getParent());
+            if (parent != null) {
+                final Node node = parent.getIndexedChild(source.getLastElement());
+                if (node != null) {
+                    // A resource that is added again must not inherit the children of the removed one
+                    node.invalidate(true);
+                }
+                parent.invalidate(false);
+            }
+        } else {
+            final Node node = find(source);
+            if (node != null) {
+                node.invalidate(true);
+            }
+        }
+    }
+
+    /**
+     * Finds the indexed resource with an address, or the closest indexed parent if it is not indexed.
+     */
+    private Node find(final PathAddress address) {
+        Node node;
+        synchronized (this) {
+            node = root;
+        }
+        if (node != null) {
+            for (PathElement element : address) {
+                final Node child = node.getIndexedChild(element);
+                if (child == null) {
+                    break;
+                }
+                node = child;
+            }
+        }
+        return node;
+    }
+
+    interface ResourceAction<T> {
+        /**
+         * An address has been identified that possibly should be applied to onResource.
+         * @param address the address
+         * @param objectName the ObjectName representation of the address
+         * @return the ObjectName representation of the address, or {@code null} if neither the address nor
+         *         any of its children are interesting to this ResourceAction.
+         */
+        ObjectName onAddress(PathAddress address, ObjectName objectName);
+
+        /**
+         *
+         * @param resourceObjectName the ObjectName returned by onAddress.
+         * @return {@code true} if child resources are interesting to this ResourceAction.
+         */
+        boolean onResource(ObjectName resourceObjectName);
+
+        /**
+         * Gets the overall result after all resources have been processed.
+         * @return the result
+         */
+        T getResult();
+    }
+
+    private static final class Node {
+        private final PathAddress address;
+        private final ObjectName objectName;
+        /** Whether this is a runtime-only or remote resource, or a child of one */
+        private final boolean runtime;
+        /** Whether children may be added or removed without a notification */
+        private final boolean dynamic;
+        /** The children keyed by type and name, or {@code null} if they were not listed yet */
+        private Map<String, Map<String, Node>> children;
+        /** The resource instance the children were listed from */
+        private Resource listed;
+        private boolean stale;
+
+        private Node(final PathAddress address, final ObjectName objectName, final boolean runtime, final boolean dynamic) {
+            this.address = address;
+            this.objectName = objectName;
+            this.runtime = runtime;
+            this.dynamic = dynamic;
+        }
+
+        private synchronized Map<String, Map<String, Node>> getChildren(final ObjectNameIndex index, final Resource resource,
+                                                                    final ImmutableManagementResourceRegistration rootRegistration) {
+            if (children == null || stale || dynamic || resource != listed) {
+                // Cleared before listing, so a concurrent invalidation is not lost
+                stale = false;
+                final Map<String, Map<String, Node>> result = new HashMap<>();
+                for (String type : resource.getChildTypes()) {
+                    final Set<String> names = resource.getChildrenNames(type);
+                    if (names.isEmpty()) {
+                        continue;
+                    }
+                    final Map<String, Node> previous = children == null ? null : children.get(type);
+                    final Map<String, Node> nodes = new HashMap<>();
+                    for (String name : names) {
+                        Node child = previous == null ? null : previous.get(name);
+                        if (child == null) {
+                            child = index.createNode(this, PathElement.pathElement(type, name), rootRegistration);
+                        }
+                        nodes.put(name, child);
+                    }
+                    result.put(type, nodes);
+                }
+                children = result;
+                listed = resource;
+            }
+            return children;
+        }
+
+        private synchronized Node getIndexedChild(final PathElement element) {
+            if (children == null) {
+                return null;
+            }
+            final Map<String, Node> nodes = children.get(element.getKey());
+            return nodes == null ? null : nodes.get(element.getValue());
+        }
+
+        /**
+         * Makes the next query list the children again.
+         *
+         * @param discard {@code true} if the indexed children should be discarded, rather than reused if they still exist
+         */
+        private synchronized void invalidate(final boolean discard) {
+            if (discard) {
+                children = null;
+                listed = null;
+            } else {
+                stale = true;
+            }
+        }
+    }
+
+    private static final class Query<T> {
+        private final ResourceAccessControlUtil accessControlUtil;
+        private final ImmutableManagementResourceRegistration registration;
+        private final ResourceAction<T> action;
+        /** The keys of the queried name, or {@code null} if any key may match */
+        private final Set<String> keys;
+        /** The keys of the queried name that have a fixed value, and their values */
+        private final Map<String, String> fixedValues;
+
+        private Query(final ResourceAccessControlUtil accessControlUtil, final ImmutableManagementResourceRegistration registration,
+                      final ObjectName name, final ResourceAction<T> action) {
+            this.accessControlUtil = accessControlUtil;
+            this.registration = registration;
+            this.action = action;
+            if (name == null) {
+                keys = null;
+                fixedValues = Collections.emptyMap();
+            } else {
+                keys = name.isPropertyListPattern() ? null : new HashSet<>();
+                fixedValues = new HashMap<>();
+                for (Map.Entry<String, String> property : name.getKeyPropertyList().entrySet()) {
+                    final String key = ObjectNameAddressUtil.replaceEscapedCharactersInKey(property.getKey());
+                    if (keys != null) {
+                        keys.add(key);
+                    }
+                    if (!name.isPropertyValuePattern(property.getKey())) {
+                        fixedValues.put(key, ObjectNameAddressUtil.replaceEscapedCharactersInValue(property.getValue()));
+                    }
+                }
+            }
+        }
+
+        private boolean isMatchingType(final String type) {
+            return keys == null || keys.contains(type);
+        }
+    }
+}
@@ -21,6 +21,10 @@
  */
 package org.jboss.as.jmx;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REMOVE;
 
 import java.io.IOException;
@@ -79,11 +83,13 @@ import javax.management.remote.JMXConnectorServerFactory;
 import javax.management.remote.JMXServiceURL;
 
 import org.jboss.as.controller.Extension;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProcessType;
 import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistry;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.extension.ExtensionRegistryType;
+import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.common.ResolveExpressionHandler;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
@@ -96,6 +102,7 @@ import org.jboss.as.subsystem.test.AbstractSubsystemTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.ControllerInitializer;
 import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
@@ -1164,6 +1171,94 @@ public class ModelControllerMBeanTestCase extends AbstractSubsystemTest {
         Assert.assertTrue(names.contains(testObjectName));
     }
 
+    @Test
+    public void testQueriesAfterModelChanges() throws Exception {
+        final KernelServices kernelServices = setup(new MBeanInfoAdditionalInitialization(ProcessType.STANDALONE_SERVER, new SubsystemWithRuntimeChildrenExtension()));
+        final MBeanServerConnection connection = getRemoteConnection();
+        final PathAddress subsystemAddress = PathAddress.pathAddress("subsystem", "test");
+        SubsystemWithRuntimeChildrenExtension.RUNTIME_CHILDREN.clear();
+        try {
+            checkQueries(kernelServices, connection);
+
+            kernelServices.executeForResult(Util.createOperation(ADD, subsystemAddress.append(SubsystemWithRuntimeChildrenExtension.CHILD, "a")));
+            kernelServices.executeForResult(Util.createOperation(ADD, subsystemAddress.append(SubsystemWithRuntimeChildrenExtension.CHILD, "b")));
+            checkQueries(kernelServices, connection);
+
+            kernelServices.executeForResult(Util.createOperation(REMOVE, subsystemAddress.append(SubsystemWithRuntimeChildrenExtension.CHILD, "a")));
+            checkQueries(kernelServices, connection);
+
+            // Runtime children come and go without a notification, or a write to the model
+            SubsystemWithRuntimeChildrenExtension.RUNTIME_CHILDREN.add("r1");
+            SubsystemWithRuntimeChildrenExtension.RUNTIME_CHILDREN.add("r2");
+            checkQueries(kernelServices, connection);
+
+            SubsystemWithRuntimeChildrenExtension.RUNTIME_CHILDREN.remove("r1");
+            checkQueries(kernelServices, connection);
+        } finally {
+            SubsystemWithRuntimeChildrenExtension.RUNTIME_CHILDREN.clear();
+        }
+    }
+
+    /**
+     * Checks that the queries return the resources found by walking the whole model, as the queries did before the
+     * names were indexed.
+     */
+    private void checkQueries(KernelServices kernelServices, MBeanServerConnection connection) throws Exception {
+        for (String domain : new String[] {LEGACY_DOMAIN, EXPR_DOMAIN}) {
+            final Set<ObjectName> all = new HashSet<>();
+            walk(kernelServices, domain, PathAddress.EMPTY_ADDRESS, all);
+            final ObjectName rootName = ModelControllerMBeanHelper.createRootObjectName(domain);
+            for (String pattern : new String[] {"*", "subsystem=test,*", "subsystem=test,child=*", "subsystem=test,runtime=*",
+                    "subsystem=test,runtime=r1", "child=*,*"}) {
+                final ObjectName name = createObjectName(domain + ":" + pattern);
+                final Set<ObjectName> expected = new HashSet<>();
+                for (ObjectName candidate : all) {
+                    if (name.apply(candidate)) {
+                        expected.add(candidate);
+                    }
+                }
+                if (expected.size() == 1 && expected.contains(rootName)) {
+                    expected.clear();
+                }
+
+                // Queried twice, to check both listing and reusing the indexed names
+                for (int i = 0; i < 2; i++) {
+                    Assert.assertEquals(name.toString(), expected, connection.queryNames(name, null));
+                    final Set<ObjectName> instanceNames = new HashSet<>();
+                    for (ObjectInstance instance : connection.queryMBeans(name, null)) {
+                        instanceNames.add(instance.getObjectName());
+                    }
+                    Assert.assertEquals(name.toString(), expected, instanceNames);
+                }
+            }
+        }
+    }
+
+    private static void walk(KernelServices kernelServices, String domain, PathAddress address, Set<ObjectName> names) throws Exception {
+        if (address.equals(PathAddress.pathAddress("core-service", "platform-mbean"))) {
+            return;
+        }
+        if (address.size() == 0) {
+            names.add(ModelControllerMBeanHelper.createRootObjectName(domain));
+        } else {
+            final StringBuilder sb = new StringBuilder(domain).append(':');
+            for (PathElement element : address) {
+                if (sb.charAt(sb.length() - 1) != ':') {
+                    sb.append(',');
+                }
+                sb.append(element.getKey()).append('=').append(element.getValue());
+            }
+            names.add(createObjectName(sb.toString()));
+        }
+        for (ModelNode type : kernelServices.executeForResult(Util.createOperation(READ_CHILDREN_TYPES_OPERATION, address)).asList()) {
+            final ModelNode op = Util.createOperation(READ_CHILDREN_NAMES_OPERATION, address);
+            op.get(CHILD_TYPE).set(type.asString());
+            for (ModelNode child : kernelServices.executeForResult(op).asList()) {
+                walk(kernelServices, domain, address.append(type.asString(), child.asString()), names);
+            }
+        }
+    }
+
     @Test
     public void testResolveExpressions() throws Exception {
         MBeanServerConnection connection = setupAndGetConnection(new BaseAdditionalInitialization(ProcessType.STANDALONE_SERVER));
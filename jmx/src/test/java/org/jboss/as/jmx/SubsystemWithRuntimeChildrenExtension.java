@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jmx;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.Extension;
+import org.jboss.as.controller.ExtensionContext;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.SubsystemRegistration;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.parsing.ExtensionParsingContext;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.PlaceholderResource;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.registry.ResourceProvider;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * A subsystem with configuration children, and runtime-only children which come and go without notifications, the
+ * way the runtime state of services does.
+ */
+class SubsystemWithRuntimeChildrenExtension implements Extension {
+
+    static final String CHILD = "child";
+    static final String RUNTIME = "runtime";
+
+    /** The names of the runtime children */
+    static final Set<String> RUNTIME_CHILDREN = new ConcurrentSkipListSet<>();
+
+    private static final PathElement SUBSYSTEM_PATH = PathElement.pathElement(SUBSYSTEM, "test");
+
+    @Override
+    public void initialize(ExtensionContext context) {
+        final SubsystemRegistration subsystem = context.registerSubsystem("test", ModelVersion.create(1));
+        subsystem.registerSubsystemModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(SUBSYSTEM_PATH, new NonResolvingResourceDescriptionResolver())
+                        .setAddHandler(new SubsystemAdd())
+                        .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)) {
+            @Override
+            public void registerChildren(ManagementResourceRegistration resourceRegistration) {
+                resourceRegistration.registerSubModel(new SimpleResourceDefinition(
+                        new Parameters(PathElement.pathElement(CHILD), new NonResolvingResourceDescriptionResolver())
+                                .setAddHandler(new AbstractAddStepHandler())
+                                .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)));
+                resourceRegistration.registerSubModel(new SimpleResourceDefinition(
+                        new Parameters(PathElement.pathElement(RUNTIME), new NonResolvingResourceDescriptionResolver())
+                                .setRuntime()));
+            }
+        });
+    }
+
+    @Override
+    public void initializeParsers(ExtensionParsingContext context) {
+        context.setSubsystemXmlMapping("test", SubsystemWithChildrenExtension.NAMESPACE, new SubsystemWithChildrenExtension.TestExtensionParser());
+    }
+
+    private static class SubsystemAdd extends AbstractAddStepHandler {
+        @Override
+        protected Resource createResource(OperationContext context, ModelNode operation) {
+            final Resource resource = Resource.Factory.create();
+            ResourceProvider.Tool.addResourceProvider(RUNTIME, new RuntimeChildrenProvider(), resource);
+            context.addResource(PathAddress.EMPTY_ADDRESS, resource);
+            return resource;
+        }
+    }
+
+    private static class RuntimeChildrenProvider implements ResourceProvider {
+
+        @Override
+        public boolean has(String name) {
+            return RUNTIME_CHILDREN.contains(name);
+        }
+
+        @Override
+        public Resource get(String name) {
+            return has(name) ? PlaceholderResource.INSTANCE : null;
+        }
+
+        @Override
+        public boolean hasChildren() {
+            return !RUNTIME_CHILDREN.isEmpty();
+        }
+
+        @Override
+        public Set<String> children() {
+            return Collections.unmodifiableSet(new HashSet<>(RUNTIME_CHILDREN));
+        }
+
+        @Override
+        public void register(String name, Resource resource) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void register(String value, int index, Resource resource) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Resource remove(String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResourceProvider clone() {
+            // The runtime children are shared by all the copies of the model
+            return this;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jmx.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link MBeanInfoCache}.
+ */
+public class MBeanInfoCacheTestCase {
+
+    private static final String DOMAIN = "jboss.as";
+    private static final PathAddress ADDRESS = PathAddress.pathAddress("subsystem", "test");
+
+    private ManagementResourceRegistration registration;
+    private MBeanInfoCache cache;
+    private ObjectName name;
+
+    @Before
+    public void setup() throws Exception {
+        final ManagementResourceRegistration root = ManagementResourceRegistration.Factory.forProcessType(ProcessType.STANDALONE_SERVER)
+                .createRegistration(new SimpleResourceDefinition(null, new NonResolvingResourceDescriptionResolver()));
+        registration = root.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement("subsystem", "test"),
+                new NonResolvingResourceDescriptionResolver()));
+        // Without a mirrored domain, the cached template itself is returned
+        final ConfiguredDomains configuredDomains = new ConfiguredDomains(DOMAIN, null);
+        cache = new MBeanInfoCache(true, TypeConverters.createLegacyTypeConverters(true), configuredDomains,
+                MutabilityChecker.create(ProcessType.STANDALONE_SERVER, false));
+        name = ObjectNameAddressUtil.createObjectName(DOMAIN, ADDRESS);
+    }
+
+    @Test
+    public void testMBeanInfoIsReused() {
+        final MBeanInfo info = cache.getMBeanInfo(name, ADDRESS, registration);
+        assertSame(info, cache.getMBeanInfo(name, ADDRESS, registration));
+    }
+
+    @Test
+    public void testRegisteringAttributeChangesMBeanInfo() {
+        final MBeanInfo info = cache.getMBeanInfo(name, ADDRESS, registration);
+        assertNull(findAttribute(info, "attr"));
+
+        registration.registerReadOnlyAttribute(new SimpleAttributeDefinitionBuilder("attr", ModelType.INT)
+                .setRequired(false)
+                .build(), null);
+
+        final MBeanInfo updated = cache.getMBeanInfo(name, ADDRESS, registration);
+        assertNotSame(info, updated);
+        assertNotNull(findAttribute(updated, "attr"));
+        assertEquals(info.getAttributes().length + 1, updated.getAttributes().length);
+        assertSame(updated, cache.getMBeanInfo(name, ADDRESS, registration));
+    }
+
+    @Test
+    public void testRegisteringOperationChangesMBeanInfo() {
+        final MBeanInfo info = cache.getMBeanInfo(name, ADDRESS, registration);
+        final String operationName = NameConverter.convertToCamelCase("do-something");
+        assertNull(findOperation(info, operationName));
+
+        registration.registerOperationHandler(new SimpleOperationDefinitionBuilder("do-something", new NonResolvingResourceDescriptionResolver())
+                .build(), (context, operation) -> { });
+
+        final MBeanInfo updated = cache.getMBeanInfo(name, ADDRESS, registration);
+        assertNotSame(info, updated);
+        assertNotNull(findOperation(updated, operationName));
+        assertEquals(info.getOperations().length + 1, updated.getOperations().length);
+        assertSame(updated, cache.getMBeanInfo(name, ADDRESS, registration));
+    }
+
+    private static MBeanAttributeInfo findAttribute(MBeanInfo info, String name) {
+        for (MBeanAttributeInfo attribute : info.getAttributes()) {
+            if (attribute.getName().equals(name)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    private static MBeanOperationInfo findOperation(MBeanInfo info, String name) {
+        for (MBeanOperationInfo operation : info.getOperations()) {
+            if (operation.getName().equals(name)) {
+                return operation;
+            }
+        }
+        return null;
+    }
+}
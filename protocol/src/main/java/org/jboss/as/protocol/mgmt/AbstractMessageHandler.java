@@ -523,6 +523,10 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
      * @throws IOException
      */
     protected static FlushableDataOutput writeHeader(final ManagementProtocolHeader header, final OutputStream os) throws IOException {
+        if (header instanceof ManagementResponseHeader && ((ManagementResponseHeader) header).isCompressible()) {
+            // The header is written once we know whether the body is large enough to be compressed
+            return FlushableDataOutputImpl.create(ProtocolCompression.compress((ManagementResponseHeader) header, os));
+        }
         final FlushableDataOutput output = FlushableDataOutputImpl.create(os);
         header.write(output);
         return output;
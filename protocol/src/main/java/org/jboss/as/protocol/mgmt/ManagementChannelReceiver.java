@@ -26,6 +26,7 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.zip.Inflater;
 
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.logging.ProtocolLogger;
@@ -80,6 +81,14 @@ public final class ManagementChannelReceiver implements Channel.Receiver {
                     // JBoss Remoting deals with channel close itself; we don't do it at the
                     // management protocol level
                     ProtocolLogger.ROOT_LOGGER.tracef("Received bye bye on %s, ignoring", this);
+                } else if (header instanceof ManagementResponseHeader && ((ManagementResponseHeader) header).isCompressed()) {
+                    // The body is read by the handler before it returns, as the message is drained afterwards
+                    final Inflater inflater = ProtocolCompression.createInflater();
+                    try {
+                        handler.handleMessage(channel, new DataInputStream(ProtocolCompression.decompress(message, inflater)), header);
+                    } finally {
+                        inflater.end();
+                    }
                 } else {
                     // Handle a message
                     handler.handleMessage(channel, input, header);
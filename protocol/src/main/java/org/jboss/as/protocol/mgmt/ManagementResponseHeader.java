@@ -40,6 +40,8 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
     private int responseId;
     private boolean failed = false;
     private String error;
+    private boolean compressed;
+    private boolean compressible;
 
     /**
      * Construct an instance with the protocol version for the header.
@@ -68,6 +70,8 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
         if (type == ManagementProtocol.RESPONSE_ERROR) {
             this.failed = true;
             error = input.readUTF();
+        } else if (type == ManagementProtocol.RESPONSE_BODY_COMPRESSED && getVersion() >= ManagementProtocol.VERSION_COMPRESSION) {
+            this.compressed = true;
         } else if (type != ManagementProtocol.RESPONSE_BODY) {
             throw ProtocolLogger.ROOT_LOGGER.invalidType("RESPONSE_ERROR", "RESPONSE_BODY", type);
         }
@@ -82,7 +86,7 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
             output.write(ManagementProtocol.RESPONSE_ERROR);
             output.writeUTF(error);
         } else {
-            output.write(ManagementProtocol.RESPONSE_BODY);
+            output.write(compressed ? ManagementProtocol.RESPONSE_BODY_COMPRESSED : ManagementProtocol.RESPONSE_BODY);
         }
     }
 
@@ -113,6 +117,26 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
         return error;
     }
 
+    /**
+     * Whether the body of this response is compressed.
+     *
+     * @return {@code true} if the body is compressed, {@code false} otherwise
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Whether the body of this response may be compressed, which it is only if it is large enough once written.
+     */
+    boolean isCompressible() {
+        return compressible;
+    }
+
+    void setCompressed(final boolean compressed) {
+        this.compressed = compressed;
+    }
+
     @Override
     public byte getType() {
         return ManagementProtocol.TYPE_RESPONSE;
@@ -136,4 +160,19 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
         return new ManagementResponseHeader(workingVersion, responseId, null);
     }
 
+    /**
+     * Creates the header of a response whose body is compressed, if compression is enabled and supported by the
+     * version of the protocol used by the requester. This is meant for responses which can be large, such as the
+     * result of an operation. The body is only compressed if it turns out to be larger than a threshold, smaller
+     * bodies are sent uncompressed as compressing them is not worth it.
+     *
+     * @param header the request header
+     * @return the response header
+     */
+    public static ManagementResponseHeader createCompressed(final ManagementProtocolHeader header) {
+        final ManagementResponseHeader response = create(header);
+        response.compressible = ProtocolCompression.isEnabled() && response.getVersion() >= ManagementProtocol.VERSION_COMPRESSION;
+        return response;
+    }
+
 }
@@ -0,0 +1,200 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.protocol.mgmt;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression of the bodies of management protocol responses, in the raw deflate format with a preset dictionary of
+ * the strings found in most DMR messages, so even the smaller messages compress well.
+ * <p>
+ * Compression is negotiated through the protocol version: a response is only compressed if the request used a version
+ * supporting it, and if compression is not disabled with the {@code jboss.as.management.compression} system property.
+ * Compressed responses are always read, regardless of this property.
+ * <p>
+ * Only bodies larger than {@value #THRESHOLD} bytes are compressed: the body is buffered until it exceeds that size,
+ * and sent uncompressed if it is closed before. Deflating the small responses, which most of them are, costs more than
+ * sending them as they are.
+ *
+ * @see ManagementResponseHeader#createCompressed(ManagementProtocolHeader)
+ */
+final class ProtocolCompression {
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(SecurityActions.getSystemProperty("jboss.as.management.compression"));
+
+    /**
+     * The strings most commonly found in DMR messages, the most frequent last. This cannot be changed without also
+     * changing the protocol version, as both peers must use the same dictionary.
+     */
+    private static final byte[] DICTIONARY = ("undefinedunitbytesmillisecondsmin-lengthmax-lengthmin-valuemax-value"
+            + "allowedalternativesrequiresdeprecatedsinceexpressions-allowednillablerequiredreply-propertiesrequest-properties"
+            + "value-typeoperation-namedescriptionmodel-descriptionchildrenattributesoperationsnotifications"
+            + "restart-requiredno-servicesresource-servicesall-servicesjvmstoragecapability-referencecapabilities"
+            + "runtimeconfigurationaccess-typemetricread-onlyread-writeaccess-constraintssensitivity-classification"
+            + "socket-binding-groupsocket-bindingserver-groupserver-configserverhostprofilesubsystemextensionmodule"
+            + "interfacedeploymentpathrelative-tojboss.server.base.direnabledportnamevalue"
+            + "response-headersprocess-stateoperation-requires-reloadoperation-requires-restartrolled-back"
+            + "failure-descriptionserver-groupsresultoutcomesuccessfailedoperationaddressfalsetrue")
+            .getBytes(StandardCharsets.UTF_8);
+
+    /** The DMR is repetitive enough for the fastest level to compress it well */
+    private static final int LEVEL = Deflater.BEST_SPEED;
+
+    /** The size above which bodies are compressed */
+    static final int THRESHOLD = 8 * 1024;
+
+    private ProtocolCompression() {
+    }
+
+    static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Wraps a stream so the header of a response and its body are written to it, the body being compressed if it is
+     * larger than the {@link #THRESHOLD threshold}. Nothing is written to the wrapped stream until the body exceeds
+     * the threshold or the returned stream is closed. Closing the returned stream closes the wrapped stream.
+     */
+    static OutputStream compress(final ManagementResponseHeader header, final OutputStream out) {
+        return new ThresholdOutputStream(header, out);
+    }
+
+    /**
+     * Wraps a stream so the data written to it is compressed. Closing the returned stream closes the wrapped stream.
+     */
+    private static OutputStream deflate(final OutputStream out) {
+        final Deflater deflater = new Deflater(LEVEL, true);
+        deflater.setDictionary(DICTIONARY);
+        // Flushing the data written so far on flush, for the responses written in several steps
+        return new DeflaterOutputStream(out, deflater, true) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates the inflater of a compressed body, which must be {@link Inflater#end() ended} once the body is read.
+     */
+    static Inflater createInflater() {
+        final Inflater inflater = new Inflater(true);
+        inflater.setDictionary(DICTIONARY);
+        return inflater;
+    }
+
+    /**
+     * Wraps a stream so the data read from it is decompressed with the given inflater. The inflater is not ended when
+     * the returned stream is closed.
+     */
+    static InputStream decompress(final InputStream in, final Inflater inflater) {
+        return new InflaterInputStream(in, inflater);
+    }
+
+    /**
+     * Buffers the body of a response until it is known whether it is larger than the threshold, and then writes the
+     * header flagging whether the body is compressed, followed by the body.
+     */
+    private static final class ThresholdOutputStream extends OutputStream {
+
+        private final ManagementResponseHeader header;
+        private final OutputStream out;
+        private byte[] buffer = new byte[THRESHOLD];
+        private int count;
+        private OutputStream target;
+
+        private ThresholdOutputStream(final ManagementResponseHeader header, final OutputStream out) {
+            this.header = header;
+            this.out = out;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (target == null && count == buffer.length) {
+                startCompressing();
+            }
+            if (target == null) {
+                buffer[count++] = (byte) b;
+            } else {
+                target.write(b);
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (target == null && len > buffer.length - count) {
+                startCompressing();
+            }
+            if (target == null) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+            } else {
+                target.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Until the threshold is reached there is nothing the peer can read yet
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (target == null) {
+                header.setCompressed(false);
+                writeHeader();
+                out.write(buffer, 0, count);
+                buffer = null;
+                target = out;
+            }
+            target.close();
+        }
+
+        private void startCompressing() throws IOException {
+            header.setCompressed(true);
+            writeHeader();
+            // The header itself is never compressed, so the peer can tell whether the body is
+            target = deflate(out);
+            target.write(buffer, 0, count);
+            buffer = null;
+        }
+
+        private void writeHeader() throws IOException {
+            header.write(new DataOutputStream(out));
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.protocol.mgmt.support.RemoteChannelPairSetup;
 import org.jboss.as.protocol.mgmt.support.RemotingChannelPairSetup;
@@ -97,6 +98,29 @@ public class RemoteChannelManagementTestCase {
         Assert.assertEquals(Integer.valueOf(1200), future1.get());
     }
 
+    @Test
+    public void testSmallCompressibleResponse() throws Exception {
+        final SimpleClient client = SimpleClient.create(channels);
+
+        // Below the threshold the response is sent as it is
+        final CompressibleRequest request = new CompressibleRequest(10);
+        Assert.assertEquals(Integer.valueOf(20), client.executeForResult(request));
+        Assert.assertFalse(request.compressed.get());
+    }
+
+    @Test
+    public void testLargeCompressibleResponse() throws Exception {
+        final SimpleClient client = SimpleClient.create(channels);
+
+        final CompressibleRequest request = new CompressibleRequest(ProtocolCompression.THRESHOLD);
+        Assert.assertEquals(Integer.valueOf(2 * ProtocolCompression.THRESHOLD), client.executeForResult(request));
+        Assert.assertTrue(request.compressed.get());
+
+        // The simple requests are still answered uncompressed on the same channel
+        SimpleHandlers.Request simpleRequest = new SimpleHandlers.Request(SimpleHandlers.SIMPLE_REQUEST, 700);
+        Assert.assertEquals(Integer.valueOf(1400), client.executeForResult(simpleRequest));
+    }
+
     @Test
     public void testMissingOperationHandler() throws Exception {
         final SimpleClient client = SimpleClient.create(channels);
@@ -258,4 +282,25 @@ public class RemoteChannelManagementTestCase {
         Assert.assertTrue(done);
     }
 
+
+    private static class CompressibleRequest extends SimpleHandlers.Request {
+
+        private final AtomicBoolean compressed = new AtomicBoolean();
+        private final int count;
+
+        CompressibleRequest(int count) {
+            super(SimpleHandlers.COMPRESSED_REQUEST, count);
+            this.count = count;
+        }
+
+        @Override
+        public void handleRequest(DataInput input, ActiveOperation.ResultHandler<Integer> resultHandler, ManagementRequestContext<Void> context) throws IOException {
+            compressed.set(((ManagementResponseHeader) context.getRequestHeader()).isCompressed());
+            final int result = input.readInt();
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(i, input.readInt());
+            }
+            resultHandler.done(result);
+        }
+    }
 }
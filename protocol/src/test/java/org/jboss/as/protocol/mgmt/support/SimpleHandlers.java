@@ -38,6 +38,7 @@ import org.jboss.as.protocol.mgmt.ManagementRequest;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.protocol.mgmt.ManagementRequestHandler;
 import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
+import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.ProtocolUtils;
 import org.jboss.remoting3.Channel;
 import org.jboss.remoting3.CloseHandler;
@@ -56,6 +57,7 @@ public class SimpleHandlers {
     public static final byte REQUEST_WITH_BAD_READ = 104;
     public static final byte REQUEST_WITH_BAD_WRITE = 105;
     public static final byte REQUEST_WITH_NO_RESPONSE = 106;
+    public static final byte COMPRESSED_REQUEST = 107;
 
     public static class Request extends AbstractManagementRequest<Integer, Void> {
         final int sentData;
@@ -107,6 +109,8 @@ public class SimpleHandlers {
                     return new BadWriteRequestHandler();
                 case REQUEST_WITH_NO_RESPONSE:
                     return new NoResponseHandler();
+                case COMPRESSED_REQUEST:
+                    return new CompressedRequestHandler();
                 case REQUEST_WITH_NO_HANDLER:
                     //No handler for this
                 default:
@@ -120,6 +124,10 @@ public class SimpleHandlers {
         abstract int readRequest(DataInput input) throws IOException;
         abstract void writeResponse(final FlushableDataOutput output, int data) throws IOException;
 
+        ManagementResponseHeader createResponseHeader(final ManagementProtocolHeader header) {
+            return ManagementResponseHeader.create(header);
+        }
+
         @Override
         public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<Void> resultHandler,
                                   final ManagementRequestContext<Void> context) throws IOException {
@@ -133,7 +141,7 @@ public class SimpleHandlers {
                         public void write(final FlushableDataOutput output) throws IOException {
                             writeResponse(output, data);
                         }
-                    }, context);
+                    }, context, createResponseHeader(context.getRequestHeader()));
                     resultHandler.done(null);
                 }
             });
@@ -154,6 +162,26 @@ public class SimpleHandlers {
         }
     }
 
+    /**
+     * Answers with twice the data, followed by as many ints as the data, from 0, in a response compressed if it is
+     * large enough.
+     */
+    public static class CompressedRequestHandler extends RequestHandler {
+
+        @Override
+        ManagementResponseHeader createResponseHeader(final ManagementProtocolHeader header) {
+            return ManagementResponseHeader.createCompressed(header);
+        }
+
+        @Override
+        public void writeResponse(FlushableDataOutput output, int data) throws IOException {
+            super.writeResponse(output, data);
+            for (int i = 0; i < data; i++) {
+                output.writeInt(i);
+            }
+        }
+    }
+
     public static class BadReadRequestHandler extends AbstractHandler {
 
         @Override
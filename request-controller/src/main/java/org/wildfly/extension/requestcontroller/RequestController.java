@@ -35,13 +35,12 @@ import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
 
 import java.util.ArrayList;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -54,6 +53,9 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
  * 1) Graceful shutdown - When the number of active request reaches zero then the container can be gracefully shut down
  * 2) Request limiting - This allows the total number of requests that are active to be limited.
  * <p/>
+ * Admitting a request does not take any lock. The control points are kept in a concurrent map per deployment, so
+ * creating and removing the control points of different deployments does not contend, and pausing a deployment
+ * only visits its own control points.
  *
  * @author Stuart Douglas
  */
@@ -65,13 +67,24 @@ public class RequestController implements Service<RequestController>, ServerActi
     private static final AtomicIntegerFieldUpdater<RequestController> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(RequestController.class, "activeRequestCount");
     private static final AtomicReferenceFieldUpdater<RequestController, ServerActivityCallback> listenerUpdater = AtomicReferenceFieldUpdater.newUpdater(RequestController.class, ServerActivityCallback.class, "listener");
 
+    /**
+     * The key of the control points without a deployment or entry point name
+     */
+    private static final Object NULL_NAME = new Object();
+
     private volatile int maxRequestCount = -1;
 
     private volatile int activeRequestCount = 0;
 
     private volatile boolean paused = false;
 
-    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
+    /**
+     * The control points by deployment and entry point name. A deployment is only updated while holding the lock of
+     * its entry in the outer map, so that a deployment that is removed after its last control point is removed can
+     * not lose a control point that is created concurrently. The names are mapped by {@link #key(String)}, as
+     * control points may be created without a deployment or entry point name.
+     */
+    private final ConcurrentMap<Object, ConcurrentMap<Object, ControlPoint>> entryPoints = new ConcurrentHashMap<>();
 
     private final InjectedValue<SuspendController> shutdownControllerInjectedValue = new InjectedValue<>();
 
@@ -89,9 +102,9 @@ public class RequestController implements Service<RequestController>, ServerActi
         listener.done();
     }
 
-    private Timer timer;
+    private volatile TimeoutWheel timeoutWheel;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    private final Deque<QueuedTask> taskQueue = new ConcurrentLinkedDeque<>();
 
     /**
      * Pause the controller. All existing requests will have a chance to finish, and once all requests are
@@ -135,8 +148,9 @@ public class RequestController implements Service<RequestController>, ServerActi
      */
     public synchronized void pauseDeployment(final String deployment, ServerActivityCallback listener) {
         final List<ControlPoint> eps = new ArrayList<ControlPoint>();
-        for (ControlPoint ep : entryPoints.values()) {
-            if (ep.getDeployment().equals(deployment)) {
+        final Map<Object, ControlPoint> deploymentEntryPoints = entryPoints.get(key(deployment));
+        if (deploymentEntryPoints != null) {
+            for (ControlPoint ep : deploymentEntryPoints.values()) {
                 if(!ep.isPaused()) {
                     eps.add(ep);
                 }
@@ -154,8 +168,9 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param deployment The deployment to resume
      */
     public synchronized void resumeDeployment(final String deployment) {
-        for (ControlPoint ep : entryPoints.values()) {
-            if (ep.getDeployment().equals(deployment)) {
+        final Map<Object, ControlPoint> deploymentEntryPoints = entryPoints.get(key(deployment));
+        if (deploymentEntryPoints != null) {
+            for (ControlPoint ep : deploymentEntryPoints.values()) {
                 ep.resume();
             }
         }
@@ -169,11 +184,10 @@ public class RequestController implements Service<RequestController>, ServerActi
      */
     public synchronized void pauseControlPoint(final String controlPoint, ServerActivityCallback listener) {
         final List<ControlPoint> eps = new ArrayList<ControlPoint>();
-        for (ControlPoint ep : entryPoints.values()) {
-            if (ep.getEntryPoint().equals(controlPoint)) {
-                if(!ep.isPaused()) {
-                    eps.add(ep);
-                }
+        for (Map<Object, ControlPoint> deploymentEntryPoints : entryPoints.values()) {
+            final ControlPoint ep = deploymentEntryPoints.get(key(controlPoint));
+            if (ep != null && !ep.isPaused()) {
+                eps.add(ep);
             }
         }
         if(eps.isEmpty()) {
@@ -193,17 +207,20 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param entryPoint The entry point
      */
     public synchronized void resumeControlPoint(final String entryPoint) {
-        for (ControlPoint ep : entryPoints.values()) {
-            if (ep.getEntryPoint().equals(entryPoint)) {
+        for (Map<Object, ControlPoint> deploymentEntryPoints : entryPoints.values()) {
+            final ControlPoint ep = deploymentEntryPoints.get(key(entryPoint));
+            if (ep != null) {
                 ep.resume();
             }
         }
     }
 
-    public synchronized RequestControllerState getState() {
+    public RequestControllerState getState() {
         final List<RequestControllerState.EntryPointState> eps = new ArrayList<>();
-        for (ControlPoint controlPoint : entryPoints.values()) {
-            eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
+        for (Map<Object, ControlPoint> deploymentEntryPoints : entryPoints.values()) {
+            for (ControlPoint controlPoint : deploymentEntryPoints.values()) {
+                eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
+            }
         }
         return new RequestControllerState(paused, activeRequestCount, maxRequestCount, eps);
     }
@@ -264,15 +281,23 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param entryPointName The entry point name
      * @return The entry point, or null if the request controller is disabled
      */
-    public synchronized ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
-        ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
-        ControlPoint ep = entryPoints.get(id);
-        if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
-            entryPoints.put(id, ep);
-        }
-        ep.increaseReferenceCount();
-        return ep;
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+        final ControlPoint[] result = new ControlPoint[1];
+        entryPoints.compute(key(deploymentName), (deployment, deploymentEntryPoints) -> {
+            if (deploymentEntryPoints == null) {
+                deploymentEntryPoints = new ConcurrentHashMap<>();
+            }
+            final Object entryPoint = key(entryPointName);
+            ControlPoint ep = deploymentEntryPoints.get(entryPoint);
+            if (ep == null) {
+                ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
+                deploymentEntryPoints.put(entryPoint, ep);
+            }
+            ep.increaseReferenceCount();
+            result[0] = ep;
+            return deploymentEntryPoints;
+        });
+        return result[0];
     }
 
     /**
@@ -280,11 +305,20 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param controlPoint The entry point
      */
-    public synchronized void removeControlPoint(ControlPoint controlPoint) {
-        if (controlPoint.decreaseReferenceCount() == 0) {
-            ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
-            entryPoints.remove(id);
-        }
+    public void removeControlPoint(ControlPoint controlPoint) {
+        entryPoints.computeIfPresent(key(controlPoint.getDeployment()), (deployment, deploymentEntryPoints) -> {
+            if (controlPoint.decreaseReferenceCount() == 0) {
+                deploymentEntryPoints.remove(key(controlPoint.getEntryPoint()), controlPoint);
+            }
+            return deploymentEntryPoints.isEmpty() ? null : deploymentEntryPoints;
+        });
+    }
+
+    /**
+     * Gets the key of a deployment or entry point name in the control point maps, which do not accept {@code null}.
+     */
+    private static Object key(final String name) {
+        return name == null ? NULL_NAME : name;
     }
 
     /**
@@ -321,14 +355,15 @@ public class RequestController implements Service<RequestController>, ServerActi
     @Override
     public void start(StartContext startContext) throws StartException {
         shutdownControllerInjectedValue.getValue().registerActivity(this);
-        timer = new Timer();
+        timeoutWheel = new TimeoutWheel();
+        timeoutWheel.start();
     }
 
     @Override
     public void stop(StopContext stopContext) {
         shutdownControllerInjectedValue.getValue().unRegisterActivity(this);
-        timer.cancel();
-        timer = null;
+        timeoutWheel.stop();
+        timeoutWheel = null;
         while (!taskQueue.isEmpty()) {
             QueuedTask t = taskQueue.poll();
             if(t != null) {
@@ -362,7 +397,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
-                timer.schedule(queuedTask, timeout);
+                queuedTask.scheduleTimeout(timeoutWheel, timeout);
             }
         }
     }
@@ -416,42 +451,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         }
     }
 
-    private static final class ControlPointIdentifier {
-        private final String deployment, name;
-
-        private ControlPointIdentifier(String deployment, String name) {
-            this.deployment = deployment;
-            this.name = name;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-
-            ControlPointIdentifier that = (ControlPointIdentifier) o;
-
-            if (deployment != null ? !deployment.equals(that.deployment) : that.deployment != null) return false;
-            if (name != null ? !name.equals(that.name) : that.name != null) return false;
-
-            return true;
-        }
-
-        @Override
-        public int hashCode() {
-            int result = deployment != null ? deployment.hashCode() : 0;
-            result = 31 * result + (name != null ? name.hashCode() : 0);
-            return result;
-        }
-
-        @Override
-        public String toString() {
-            return super.toString();
-        }
-    }
-
-
-    private static final class QueuedTask extends TimerTask {
+    private static final class QueuedTask implements Runnable {
 
         private final Executor executor;
         private final Runnable task;
@@ -464,6 +464,8 @@ public class RequestController implements Service<RequestController>, ServerActi
         //2 == cancelled
         private final AtomicInteger state = new AtomicInteger(0);
 
+        private volatile TimeoutWheel.Timeout timeout;
+
         private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
             this.executor = executor;
             this.task = task;
@@ -486,9 +488,20 @@ public class RequestController implements Service<RequestController>, ServerActi
             }
         }
 
+        void scheduleTimeout(TimeoutWheel timeoutWheel, long delay) {
+            timeout = timeoutWheel.schedule(this, delay);
+            //the task may have been run while the timeout was being scheduled
+            if(!isQueued()) {
+                timeout.cancel();
+            }
+        }
+
         public boolean runRequest() {
             if(state.compareAndSet(0, 1)) {
-                cancel();
+                TimeoutWheel.Timeout timeout = this.timeout;
+                if(timeout != null) {
+                    timeout.cancel();
+                }
                 executor.execute(new Runnable() {
                     @Override
                     public void run() {
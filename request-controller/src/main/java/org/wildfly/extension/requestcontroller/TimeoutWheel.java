@@ -0,0 +1,225 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
+
+/**
+ * A hashed timing wheel used to time out queued tasks.
+ * <p/>
+ * Unlike a {@link java.util.Timer}, scheduling and cancelling a timeout does not take a lock: both only add the
+ * timeout to a lock free queue, which the thread of the wheel drains into the buckets of the wheel before each tick.
+ * Each bucket holds the timeouts whose deadline falls on a tick with the same position in the wheel, so a tick only
+ * looks at one bucket, and timeouts that are due in a later revolution of the wheel stay in it.
+ * <p/>
+ * Timeouts expire on the first tick after their deadline, so they may run up to {@link #TICK_MILLIS} late. The thread
+ * parks while no timeouts are scheduled, and the expired tasks are run by it, so they must not block.
+ */
+final class TimeoutWheel implements Runnable {
+
+    static final long TICK_MILLIS = 10;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+    /** The number of buckets, which must be a power of two. A revolution of the wheel takes about 5 seconds. */
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final Timeout[] wheel = new Timeout[WHEEL_SIZE];
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final long startTime = System.nanoTime();
+    private final Thread thread;
+    private volatile boolean idle;
+    private volatile boolean stopped;
+
+    /** The number of timeouts in the buckets of the wheel, only accessed by its thread */
+    private int count;
+
+    TimeoutWheel() {
+        thread = new Thread(this, "Request controller timeout thread");
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops the thread of the wheel. Timeouts that did not expire yet are discarded.
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Schedules a task to run after a delay.
+     *
+     * @param task the task, which must not block
+     * @param delay the delay in milliseconds
+     * @return the timeout, which can be used to cancel it
+     */
+    Timeout schedule(final Runnable task, final long delay) {
+        final long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delay);
+        final Timeout timeout = new Timeout(this, task, (deadline + TICK_NANOS - 1) / TICK_NANOS);
+        scheduled.add(timeout);
+        if (idle) {
+            LockSupport.unpark(thread);
+        }
+        return timeout;
+    }
+
+    @Override
+    public void run() {
+        long tick = currentTick();
+        while (!stopped) {
+            removeCancelled();
+            addScheduled(tick);
+            if (count == 0) {
+                // Make sure that a timeout scheduled concurrently either sees the flag or is seen by the check
+                idle = true;
+                if (scheduled.isEmpty() && !stopped) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                // No need to go through the ticks that passed while parked, all buckets are empty
+                tick = currentTick();
+                continue;
+            }
+            final long remaining = startTime + (tick + 1) * TICK_NANOS - System.nanoTime();
+            if (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                continue;
+            }
+            expire(++tick);
+        }
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - startTime) / TICK_NANOS;
+    }
+
+    private void addScheduled(final long tick) {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state != Timeout.SCHEDULED) {
+                continue;
+            }
+            if (timeout.deadline <= tick) {
+                // Already past its deadline, expire it on the next tick
+                timeout.deadline = tick + 1;
+            }
+            final int index = (int) (timeout.deadline & MASK);
+            timeout.next = wheel[index];
+            if (timeout.next != null) {
+                timeout.next.previous = timeout;
+            }
+            wheel[index] = timeout;
+            timeout.added = true;
+            count++;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.added) {
+                remove(timeout);
+            }
+        }
+    }
+
+    private void expire(final long tick) {
+        Timeout timeout = wheel[(int) (tick & MASK)];
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            if (timeout.deadline <= tick) {
+                remove(timeout);
+                if (Timeout.stateUpdater.compareAndSet(timeout, Timeout.SCHEDULED, Timeout.EXPIRED)) {
+                    try {
+                        timeout.task.run();
+                    } catch (RuntimeException e) {
+                        RequestControllerLogger.ROOT_LOGGER.failedToCancelTask(timeout.task, e);
+                    }
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    private void remove(final Timeout timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            wheel[(int) (timeout.deadline & MASK)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.added = false;
+        count--;
+    }
+
+    /**
+     * A scheduled task.
+     */
+    static final class Timeout {
+
+        private static final int SCHEDULED = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> stateUpdater = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimeoutWheel wheel;
+        private final Runnable task;
+        private volatile int state = SCHEDULED;
+
+        // Only accessed by the thread of the wheel
+        private long deadline;
+        private boolean added;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(final TimeoutWheel wheel, final Runnable task, final long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout, if it did not expire yet.
+         */
+        void cancel() {
+            if (stateUpdater.compareAndSet(this, SCHEDULED, CANCELLED)) {
+                // Removed from its bucket by the thread of the wheel, so it does not hold on to the task
+                wheel.cancelled.add(this);
+            }
+        }
+    }
+}
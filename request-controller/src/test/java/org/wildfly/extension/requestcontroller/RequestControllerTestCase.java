@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of the control point registry of {@link RequestController}
+ */
+public class RequestControllerTestCase {
+
+    private final RequestController controller = new RequestController(true);
+
+    @Test
+    public void testControlPoints() {
+        final ControlPoint first = controller.getControlPoint("deployment", "entry-point");
+        Assert.assertSame(first, controller.getControlPoint("deployment", "entry-point"));
+        final ControlPoint other = controller.getControlPoint("deployment", "other-entry-point");
+        Assert.assertNotSame(first, other);
+        Assert.assertEquals(2, controller.getState().getEntryPoints().size());
+
+        // Reference counted
+        controller.removeControlPoint(first);
+        Assert.assertSame(first, controller.getControlPoint("deployment", "entry-point"));
+        controller.removeControlPoint(first);
+        controller.removeControlPoint(first);
+        controller.removeControlPoint(other);
+        Assert.assertTrue(controller.getState().getEntryPoints().isEmpty());
+        Assert.assertNotSame(first, controller.getControlPoint("deployment", "entry-point"));
+    }
+
+    @Test
+    public void testNullNames() {
+        final ControlPoint noNames = controller.getControlPoint(null, null);
+        Assert.assertSame(noNames, controller.getControlPoint(null, null));
+        Assert.assertNull(noNames.getDeployment());
+        Assert.assertNull(noNames.getEntryPoint());
+        final ControlPoint noDeployment = controller.getControlPoint(null, "entry-point");
+        final ControlPoint noEntryPoint = controller.getControlPoint("deployment", null);
+        final ControlPoint named = controller.getControlPoint("deployment", "entry-point");
+        Assert.assertNotSame(noNames, noDeployment);
+        Assert.assertNotSame(noEntryPoint, named);
+        Assert.assertEquals(4, controller.getState().getEntryPoints().size());
+
+        final AtomicInteger done = new AtomicInteger();
+        controller.pauseDeployment(null, done::incrementAndGet);
+        Assert.assertEquals(1, done.get());
+        Assert.assertTrue(noNames.isPaused());
+        Assert.assertTrue(noDeployment.isPaused());
+        Assert.assertFalse(noEntryPoint.isPaused());
+        controller.resumeDeployment(null);
+        Assert.assertFalse(noNames.isPaused());
+
+        controller.pauseControlPoint(null, done::incrementAndGet);
+        Assert.assertEquals(2, done.get());
+        Assert.assertTrue(noNames.isPaused());
+        Assert.assertTrue(noEntryPoint.isPaused());
+        Assert.assertFalse(noDeployment.isPaused());
+        controller.resumeControlPoint(null);
+        Assert.assertFalse(noEntryPoint.isPaused());
+
+        controller.removeControlPoint(noNames);
+        Assert.assertSame(noNames, controller.getControlPoint(null, null));
+        controller.removeControlPoint(noNames);
+        controller.removeControlPoint(noNames);
+        controller.removeControlPoint(noDeployment);
+        controller.removeControlPoint(noEntryPoint);
+        controller.removeControlPoint(named);
+        Assert.assertTrue(controller.getState().getEntryPoints().isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TimeoutWheel}
+ */
+public class TimeoutWheelTestCase {
+
+    private TimeoutWheel wheel;
+
+    @Before
+    public void setup() {
+        wheel = new TimeoutWheel();
+        wheel.start();
+    }
+
+    @After
+    public void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final long start = System.nanoTime();
+        wheel.schedule(latch::countDown, 0);
+        wheel.schedule(latch::countDown, 50);
+        // Beyond one revolution of the wheel
+        wheel.schedule(latch::countDown, 6000);
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(6000));
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final AtomicInteger cancelledRuns = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        wheel.schedule(cancelledRuns::incrementAndGet, 50).cancel();
+        wheel.schedule(cancelledRuns::incrementAndGet, 0).cancel();
+        wheel.schedule(latch::countDown, 100);
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(0, cancelledRuns.get());
+    }
+
+    @Test
+    public void testScheduleAfterIdle() throws Exception {
+        final CountDownLatch first = new CountDownLatch(1);
+        wheel.schedule(first::countDown, 10);
+        Assert.assertTrue(first.await(10, TimeUnit.SECONDS));
+        // Let the thread park with an empty wheel
+        Thread.sleep(100);
+        final CountDownLatch second = new CountDownLatch(1);
+        wheel.schedule(second::countDown, 10);
+        Assert.assertTrue(second.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -361,6 +361,12 @@ public class DeploymentAttributes {
             .setReplyParameters(BROWSE_CONTENT_REPLY)
             .withFlags(Flag.READ_ONLY)
             .build();
+    public static final OperationDefinition DEPLOYMENT_READ_TIMINGS_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.READ_DEPLOYMENT_TIMINGS, DEPLOYMENT_RESOLVER)
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
 
     /** Server group add deployment definition */
     public static final OperationDefinition SERVER_GROUP_DEPLOYMENT_ADD_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.ADD, DEPLOYMENT_RESOLVER)
@@ -32,6 +32,7 @@ import org.jboss.as.server.deployment.DeploymentDeployHandler;
 import org.jboss.as.server.deployment.DeploymentExplodeHandler;
 import org.jboss.as.server.deployment.DeploymentRedeployHandler;
 import org.jboss.as.server.deployment.DeploymentRemoveHandler;
+import org.jboss.as.server.deployment.DeploymentTimingsHandler;
 import org.jboss.as.server.deployment.DeploymentUndeployHandler;
 import org.jboss.as.server.deployment.ManagedDeploymentBrowseContentHandler;
 import org.jboss.as.server.deployment.ManagedDeploymentReadContentHandler;
@@ -74,6 +75,7 @@ public class ServerDeploymentResourceDefinition extends DeploymentResourceDefini
         resourceRegistration.registerOperationHandler(DeploymentAttributes.DEPLOYMENT_REMOVE_CONTENT_DEFINITION, new ExplodedDeploymentRemoveContentHandler(contentRepository, serverEnvironment));
         resourceRegistration.registerOperationHandler(DeploymentAttributes.DEPLOYMENT_READ_CONTENT_DEFINITION, new ManagedDeploymentReadContentHandler(contentRepository));
         resourceRegistration.registerOperationHandler(DeploymentAttributes.DEPLOYMENT_BROWSE_CONTENT_DEFINITION, new ManagedDeploymentBrowseContentHandler(contentRepository));
+        resourceRegistration.registerOperationHandler(DeploymentAttributes.DEPLOYMENT_READ_TIMINGS_DEFINITION, DeploymentTimingsHandler.INSTANCE);
     }
 
     @Override
@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.Set;
+
+/**
+ * A {@link DeploymentUnitProcessor} which declares the attachments it reads and writes, so it can be executed
+ * concurrently with the other processors of its phase which do not access the same attachments. Processors which do
+ * not implement this interface are executed after all the processors of their phase with a higher priority, and before
+ * all those with a lower priority, as if the phase was executed serially.
+ * <p>
+ * A processor must declare the keys of all the attachments it accesses, whether they are attached to the deployment
+ * unit, its parent, the phase context or an attached object such as a
+ * {@link org.jboss.as.server.deployment.module.ResourceRoot}. Adding to an attachment list, or modifying an object
+ * obtained from an attachment, is writing that attachment. Two processors conflict if one of them writes an attachment
+ * the other reads or writes; conflicting processors are executed in order of priority.
+ * <p>
+ * The processor must not otherwise rely on the processors of its phase being executed serially. Its {@code deploy}
+ * method may be called on any thread, while other processors of the phase are executed.
+ */
+public interface ConcurrentDeploymentUnitProcessor extends DeploymentUnitProcessor {
+
+    /**
+     * Gets the keys of the attachments read by this processor.
+     *
+     * @return the keys. Cannot be {@code null}
+     */
+    Set<AttachmentKey<?>> getReadAttachments();
+
+    /**
+     * Gets the keys of the attachments written by this processor.
+     *
+     * @return the keys. Cannot be {@code null}
+     */
+    Set<AttachmentKey<?>> getWrittenAttachments();
+}
@@ -24,6 +24,7 @@ package org.jboss.as.server.deployment;
 
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The deployer chains service value object.
@@ -32,12 +33,30 @@ import java.util.List;
  */
 final class DeployerChains {
     private final EnumMap<Phase, List<RegisteredDeploymentUnitProcessor>> phases;
+    private final EnumMap<Phase, DeploymentUnitProcessorGraph> graphs = new EnumMap<Phase, DeploymentUnitProcessorGraph>(Phase.class);
 
     DeployerChains(final EnumMap<Phase, List<RegisteredDeploymentUnitProcessor>> phases) {
         this.phases = phases;
+        if (DeploymentProcessorExecutorService.POOL_SIZE > 1) {
+            for (Map.Entry<Phase, List<RegisteredDeploymentUnitProcessor>> entry : phases.entrySet()) {
+                final DeploymentUnitProcessorGraph graph = DeploymentUnitProcessorGraph.create(entry.getValue());
+                if (graph != null) {
+                    graphs.put(entry.getKey(), graph);
+                }
+            }
+        }
     }
 
     List<RegisteredDeploymentUnitProcessor> getChain(Phase phase) {
         return phases.get(phase);
     }
+
+    /**
+     * Gets the graph of the processors of a phase.
+     *
+     * @return the graph, or {@code null} if the processors of the phase are executed serially
+     */
+    DeploymentUnitProcessorGraph getGraph(Phase phase) {
+        return graphs.get(phase);
+    }
 }
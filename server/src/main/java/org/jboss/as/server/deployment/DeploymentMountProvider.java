@@ -108,11 +108,36 @@ public interface DeploymentMountProvider {
                         return VFS.mountZipExpanded(contents, mountPoint, tempFileProvider);
                     case REAL:
                         return VFS.mountReal(contents.getPhysicalFile(), mountPoint);
+                    case MAPPED:
+                        return mountMapped(contents, mountPoint);
                     default:
                         throw ServerLogger.ROOT_LOGGER.unknownMountType(type);
                 }
             }
 
+            private Closeable mountMapped(final VirtualFile contents, final VirtualFile mountPoint) throws IOException {
+                final MappedZipFileSystem fileSystem;
+                try {
+                    fileSystem = new MappedZipFileSystem(contents.getPhysicalFile(), tempFileProvider);
+                } catch (IOException e) {
+                    ServerLogger.ROOT_LOGGER.debugf(e, "Cannot map %s, mounting it as a zip archive", contents);
+                    return VFS.mountZip(contents, mountPoint, tempFileProvider);
+                }
+                final Closeable mountHandle;
+                try {
+                    mountHandle = VFS.mount(mountPoint, fileSystem);
+                } catch (IOException e) {
+                    VFSUtils.safeClose(fileSystem);
+                    throw e;
+                }
+                return new Closeable() {
+                    @Override
+                    public void close() throws IOException {
+                        VFSUtils.safeClose(mountHandle, fileSystem);
+                    }
+                };
+            }
+
             @Override
             public void start(StartContext context) throws StartException {
                 try {
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.common.cpu.ProcessorInfo;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Provides the executor on which the processors of a deployment phase are executed concurrently.
+ * <p>
+ * The size of the pool defaults to the number of processors, and can be set with the
+ * {@code jboss.as.deployment.processor.pool-size} system property. A size of 1 disables the concurrent execution of
+ * processors.
+ *
+ * @see DeploymentUnitProcessorGraph
+ */
+public final class DeploymentProcessorExecutorService implements Service<ExecutorService> {
+
+    /**
+     * The service name for this service.
+     */
+    public static final ServiceName SERVICE_NAME = Services.JBOSS_DEPLOYMENT.append("processor-executor");
+
+    private static final String POOL_SIZE_PROPERTY = "jboss.as.deployment.processor.pool-size";
+
+    static final int POOL_SIZE = getPoolSize();
+
+    private static int getPoolSize() {
+        int poolSize = ProcessorInfo.availableProcessors();
+        final String value = WildFlySecurityManager.getPropertyPrivileged(POOL_SIZE_PROPERTY, null);
+        if (value != null && value.length() > 0) {
+            try {
+                poolSize = Math.max(Integer.decode(value), 1);
+            } catch (NumberFormatException ex) {
+                ServerLogger.ROOT_LOGGER.failedToParseCommandLineInteger(POOL_SIZE_PROPERTY, value);
+            }
+        }
+        return poolSize;
+    }
+
+    private final ThreadGroup threadGroup;
+    private ThreadPoolExecutor executorService;
+
+    public static void install(ServiceTarget target, ThreadGroup threadGroup) {
+        if (POOL_SIZE > 1) {
+            target.addService(SERVICE_NAME, new DeploymentProcessorExecutorService(threadGroup))
+                    .setInitialMode(ServiceController.Mode.ON_DEMAND).install();
+        }
+    }
+
+    /**
+     * Adds an optional dependency on the executor to the builder of a deployment phase service.
+     */
+    static void addDependency(ServiceBuilder<?> builder, DeploymentUnitPhaseService<?> phaseService) {
+        builder.addDependency(ServiceBuilder.DependencyType.OPTIONAL, SERVICE_NAME, ExecutorService.class, phaseService.getExecutorInjector());
+    }
+
+    private DeploymentProcessorExecutorService(ThreadGroup threadGroup) {
+        this.threadGroup = threadGroup;
+    }
+
+    @Override
+    public synchronized void start(StartContext context) throws StartException {
+        final String namePattern = "Deployment Processor -- %t";
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<ThreadFactory>() {
+            public ThreadFactory run() {
+                return new JBossThreadFactory(threadGroup, Boolean.FALSE, null, namePattern, null, null);
+            }
+        });
+        executorService = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), threadFactory);
+        executorService.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public synchronized void stop(StopContext context) {
+        // The phases depending on the executor have completed, so no task is left running
+        executorService.shutdown();
+        executorService = null;
+    }
+
+    @Override
+    public synchronized ExecutorService getValue() throws IllegalStateException, IllegalArgumentException {
+        return executorService;
+    }
+}
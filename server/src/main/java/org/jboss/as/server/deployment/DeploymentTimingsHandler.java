@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOY_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PHASE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROCESSOR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.UNDEPLOY_TIME;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Handler for the "read-deployment-timings" operation, reading the time spent by each deployment unit processor
+ * processing a deployment and its subdeployments.
+ */
+public class DeploymentTimingsHandler implements OperationStepHandler {
+
+    public static final OperationStepHandler INSTANCE = new DeploymentTimingsHandler();
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ModelNode deployment = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        final String runtimeName = RUNTIME_NAME.resolveModelAttribute(context, deployment).asString();
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                final ModelNode result = context.getResult().setEmptyList();
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(Services.deploymentUnitName(runtimeName));
+                if (controller == null || controller.getState() != ServiceController.State.UP) {
+                    return;
+                }
+                final DeploymentUnit deploymentUnit = (DeploymentUnit) controller.getValue();
+                final List<DeploymentUnit> deploymentUnits = new ArrayList<DeploymentUnit>();
+                deploymentUnits.add(deploymentUnit);
+                deploymentUnits.addAll(deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS));
+                for (DeploymentUnit unit : deploymentUnits) {
+                    final DeploymentUnitProcessorTimings timings = DeploymentUnitProcessorTimings.getTimings(unit);
+                    if (timings != null) {
+                        addTimings(result, unit, timings);
+                    }
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+
+    private static void addTimings(final ModelNode result, final DeploymentUnit deploymentUnit, final DeploymentUnitProcessorTimings timings) {
+        for (Phase phase : Phase.values()) {
+            final Map<String, Long> undeployTimes = timings.getUndeployTimes(phase);
+            for (Map.Entry<String, Long> entry : timings.getDeployTimes(phase).entrySet()) {
+                final ModelNode timing = new ModelNode();
+                timing.get(DEPLOYMENT).set(deploymentUnit.getName());
+                timing.get(PHASE).set(phase.name());
+                timing.get(PROCESSOR).set(entry.getKey());
+                timing.get(DEPLOY_TIME).set(entry.getValue());
+                final Long undeployTime = undeployTimes.get(entry.getKey());
+                if (undeployTime != null) {
+                    timing.get(UNDEPLOY_TIME).set(undeployTime);
+                }
+                result.add(timing);
+            }
+        }
+    }
+}
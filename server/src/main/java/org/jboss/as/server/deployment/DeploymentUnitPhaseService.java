@@ -23,10 +23,12 @@
 package org.jboss.as.server.deployment;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.server.logging.ServerLogger;
@@ -56,6 +58,7 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
     private static final AttachmentKey<AttachmentList<DeploymentUnit>> UNVISITED_DEFERRED_MODULES = AttachmentKey.createList(DeploymentUnit.class);
 
     private final InjectedValue<DeployerChains> deployerChainsInjector = new InjectedValue<DeployerChains>();
+    private final InjectedValue<ExecutorService> executorInjector = new InjectedValue<ExecutorService>();
     private final DeploymentUnit deploymentUnit;
     private final Phase phase;
     private final AttachmentKey<T> valueKey;
@@ -122,7 +125,8 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         final String name = deploymentUnit.getName();
         final DeploymentUnit parent = deploymentUnit.getParent();
 
-        final List<DeploymentUnitPhaseDependency> dependencies = new LinkedList<>();
+        // Processors of the phase may be executed concurrently
+        final List<DeploymentUnitPhaseDependency> dependencies = Collections.synchronizedList(new ArrayList<DeploymentUnitPhaseDependency>());
         final DeploymentPhaseContext processorContext = new DeploymentPhaseContextImpl(serviceTarget, new DelegatingServiceRegistry(container), dependencies, deploymentUnit, phase);
 
         // attach any injected values from the last phase
@@ -140,18 +144,32 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
-        while (iterator.hasNext()) {
-            final RegisteredDeploymentUnitProcessor processor = iterator.next();
-            try {
-                if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
-                }
-            } catch (Throwable e) {
-                while (iterator.hasPrevious()) {
-                    final RegisteredDeploymentUnitProcessor prev = iterator.previous();
-                    safeUndeploy(deploymentUnit, phase, prev);
+        final DeploymentUnitProcessorTimings timings = DeploymentUnitProcessorTimings.get(deploymentUnit);
+        final DeploymentUnitProcessorGraph graph = chains.getGraph(phase);
+        final ExecutorService executor = executorInjector.getOptionalValue();
+        if (graph != null && executor != null) {
+            graph.deploy(deploymentUnit, phase, processorContext, timings, executor);
+        } else {
+            while (iterator.hasNext()) {
+                final RegisteredDeploymentUnitProcessor processor = iterator.next();
+                try {
+                    if (shouldRun(deploymentUnit, processor)) {
+                        final long start = System.nanoTime();
+                        processor.getProcessor().deploy(processorContext);
+                        timings.recordDeploy(phase, processor.getProcessor(), System.nanoTime() - start);
+                    }
+                } catch (Throwable e) {
+                    while (iterator.hasPrevious()) {
+                        final RegisteredDeploymentUnitProcessor prev = iterator.previous();
+                        safeUndeploy(deploymentUnit, phase, prev);
+                    }
+                    throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, e);
                 }
-                throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, e);
+            }
+        }
+        if (ServerLogger.DEPLOYMENT_LOGGER.isDebugEnabled()) {
+            for (Map.Entry<String, Long> entry : timings.getDeployTimes(phase).entrySet()) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Phase %s of %s: %s took %d us", phase, name, entry.getKey(), entry.getValue() / 1000);
             }
         }
 
@@ -168,6 +186,7 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
 
             phaseServiceBuilder.addDependency(Services.JBOSS_DEPLOYMENT_CHAINS, DeployerChains.class, phaseService.getDeployerChainsInjector());
+            DeploymentProcessorExecutorService.addDependency(phaseServiceBuilder, phaseService);
             phaseServiceBuilder.addDependency(context.getController().getName());
 
             final List<ServiceName> nextPhaseDeps = processorContext.getAttachment(Attachments.NEXT_PHASE_DEPS);
@@ -229,6 +248,11 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             final RegisteredDeploymentUnitProcessor prev = iterator.previous();
             safeUndeploy(deploymentUnitContext, phase, prev);
         }
+        if (ServerLogger.DEPLOYMENT_LOGGER.isDebugEnabled()) {
+            for (Map.Entry<String, Long> entry : DeploymentUnitProcessorTimings.get(deploymentUnitContext).getUndeployTimes(phase).entrySet()) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Undeploying phase %s of %s: %s took %d us", phase, deploymentUnitContext.getName(), entry.getKey(), entry.getValue() / 1000);
+            }
+        }
     }
 
     private Mode getDeferableInitialMode(final DeploymentUnit deploymentUnit, List<String> deferredModules) {
@@ -266,10 +290,12 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         return initialMode;
     }
 
-    private static void safeUndeploy(final DeploymentUnit deploymentUnit, final Phase phase, final RegisteredDeploymentUnitProcessor prev) {
+    static void safeUndeploy(final DeploymentUnit deploymentUnit, final Phase phase, final RegisteredDeploymentUnitProcessor prev) {
         try {
             if (shouldRun(deploymentUnit, prev)) {
+                final long start = System.nanoTime();
                 prev.getProcessor().undeploy(deploymentUnit);
+                DeploymentUnitProcessorTimings.get(deploymentUnit).recordUndeploy(phase, prev.getProcessor(), System.nanoTime() - start);
             }
         } catch (Throwable t) {
             ServerLogger.DEPLOYMENT_LOGGER.caughtExceptionUndeploying(t, prev.getProcessor(), phase, deploymentUnit);
@@ -284,7 +310,11 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         return deployerChainsInjector;
     }
 
-    private static boolean shouldRun(final DeploymentUnit unit, final RegisteredDeploymentUnitProcessor deployer) {
+    InjectedValue<ExecutorService> getExecutorInjector() {
+        return executorInjector;
+    }
+
+    static boolean shouldRun(final DeploymentUnit unit, final RegisteredDeploymentUnitProcessor deployer) {
         Set<String> shouldNotRun = unit.getAttachment(Attachments.EXCLUDED_SUBSYSTEMS);
         if (shouldNotRun == null) {
             if (unit.getParent() != null) {
@@ -0,0 +1,231 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.msc.service.StartException;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * The dependencies between the processors of a phase, computed from the attachments declared by the
+ * {@link ConcurrentDeploymentUnitProcessor}s. A processor depends on all the processors of the phase with a higher
+ * priority it conflicts with; processors which do not declare their attachments conflict with all the others.
+ * <p>
+ * The processors are executed as soon as all the processors they depend on have completed: the calling thread executes
+ * one of them, and the others are executed on the {@link DeploymentProcessorExecutorService deployment processor pool}.
+ */
+final class DeploymentUnitProcessorGraph {
+
+    private final List<RegisteredDeploymentUnitProcessor> processors;
+    /** The indexes of the processors depending on each processor */
+    private final int[][] dependents;
+    /** The number of processors each processor depends on */
+    private final int[] dependencyCounts;
+
+    private DeploymentUnitProcessorGraph(final List<RegisteredDeploymentUnitProcessor> processors, final int[][] dependents, final int[] dependencyCounts) {
+        this.processors = processors;
+        this.dependents = dependents;
+        this.dependencyCounts = dependencyCounts;
+    }
+
+    /**
+     * Creates the graph of the processors of a phase.
+     *
+     * @param processors the processors of the phase, in order of priority
+     * @return the graph, or {@code null} if the processors cannot be executed concurrently
+     */
+    static DeploymentUnitProcessorGraph create(final List<RegisteredDeploymentUnitProcessor> processors) {
+        final int size = processors.size();
+        final List<Set<AttachmentKey<?>>> reads = new ArrayList<Set<AttachmentKey<?>>>(size);
+        final List<Set<AttachmentKey<?>>> writes = new ArrayList<Set<AttachmentKey<?>>>(size);
+        int concurrent = 0;
+        for (RegisteredDeploymentUnitProcessor processor : processors) {
+            if (processor.getProcessor() instanceof ConcurrentDeploymentUnitProcessor) {
+                final ConcurrentDeploymentUnitProcessor declared = (ConcurrentDeploymentUnitProcessor) processor.getProcessor();
+                reads.add(new HashSet<AttachmentKey<?>>(declared.getReadAttachments()));
+                writes.add(new HashSet<AttachmentKey<?>>(declared.getWrittenAttachments()));
+                concurrent++;
+            } else {
+                reads.add(null);
+                writes.add(null);
+            }
+        }
+        if (concurrent < 2) {
+            return null;
+        }
+
+        final int[][] dependents = new int[size][];
+        final int[] dependencyCounts = new int[size];
+        final int[] buffer = new int[size];
+        for (int i = 0; i < size; i++) {
+            int count = 0;
+            for (int j = i + 1; j < size; j++) {
+                if (conflict(reads.get(i), writes.get(i), reads.get(j), writes.get(j))) {
+                    buffer[count++] = j;
+                    dependencyCounts[j]++;
+                }
+            }
+            dependents[i] = new int[count];
+            System.arraycopy(buffer, 0, dependents[i], 0, count);
+        }
+        return new DeploymentUnitProcessorGraph(processors, dependents, dependencyCounts);
+    }
+
+    private static boolean conflict(final Set<AttachmentKey<?>> reads1, final Set<AttachmentKey<?>> writes1, final Set<AttachmentKey<?>> reads2, final Set<AttachmentKey<?>> writes2) {
+        if (writes1 == null || writes2 == null) {
+            return true;
+        }
+        for (AttachmentKey<?> key : writes1) {
+            if (reads2.contains(key) || writes2.contains(key)) {
+                return true;
+            }
+        }
+        for (AttachmentKey<?> key : writes2) {
+            if (reads1.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Executes the {@code deploy} method of the processors. If a processor fails, no other processor is started, and
+     * the processors which have completed are undeployed in reverse order of priority once the running ones have
+     * completed.
+     *
+     * @param executor the executor on which the processors not executed on the calling thread are executed
+     * @throws StartException if a processor failed
+     */
+    void deploy(final DeploymentUnit deploymentUnit, final Phase phase, final DeploymentPhaseContext processorContext, final DeploymentUnitProcessorTimings timings, final Executor executor) throws StartException {
+        final int size = processors.size();
+        final int[] remaining = dependencyCounts.clone();
+        final boolean[] completed = new boolean[size];
+        // Ready processors are started in order of priority, which is the order of their indexes
+        final PriorityQueue<Integer> ready = new PriorityQueue<Integer>();
+        for (int i = 0; i < size; i++) {
+            if (remaining[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        final ClassLoader classLoader = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+        final CompletionService<Integer> completionService = new ExecutorCompletionService<Integer>(executor);
+        int running = 0;
+        Throwable failure = null;
+        boolean interrupted = false;
+        try {
+            while (true) {
+                if (failure == null && !ready.isEmpty()) {
+                    final int inline = ready.poll();
+                    while (!ready.isEmpty()) {
+                        final int index = ready.poll();
+                        try {
+                            completionService.submit(new Callable<Integer>() {
+                                @Override
+                                public Integer call() throws Exception {
+                                    final ClassLoader old = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(classLoader);
+                                    try {
+                                        execute(index, deploymentUnit, phase, processorContext, timings);
+                                    } finally {
+                                        WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(old);
+                                    }
+                                    return index;
+                                }
+                            });
+                            running++;
+                        } catch (RejectedExecutionException e) {
+                            // Only if the pool is being shut down; run it later on this thread
+                            ready.add(index);
+                            break;
+                        }
+                    }
+                    try {
+                        execute(inline, deploymentUnit, phase, processorContext, timings);
+                        complete(inline, remaining, completed, ready);
+                    } catch (Throwable t) {
+                        failure = t;
+                    }
+                } else if (running > 0) {
+                    try {
+                        final int index = completionService.take().get();
+                        complete(index, remaining, completed, ready);
+                    } catch (InterruptedException e) {
+                        // The processors have to complete before the phase completes, whether it succeeds or not
+                        interrupted = true;
+                        continue;
+                    } catch (ExecutionException e) {
+                        if (failure == null) {
+                            failure = e.getCause();
+                        }
+                    }
+                    running--;
+                } else {
+                    break;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (failure != null) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (completed[i]) {
+                    DeploymentUnitPhaseService.safeUndeploy(deploymentUnit, phase, processors.get(i));
+                }
+            }
+            throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, failure);
+        }
+    }
+
+    private void execute(final int index, final DeploymentUnit deploymentUnit, final Phase phase, final DeploymentPhaseContext processorContext, final DeploymentUnitProcessorTimings timings) throws DeploymentUnitProcessingException {
+        final RegisteredDeploymentUnitProcessor processor = processors.get(index);
+        if (DeploymentUnitPhaseService.shouldRun(deploymentUnit, processor)) {
+            final long start = System.nanoTime();
+            processor.getProcessor().deploy(processorContext);
+            timings.recordDeploy(phase, processor.getProcessor(), System.nanoTime() - start);
+        }
+    }
+
+    private void complete(final int index, final int[] remaining, final boolean[] completed, final PriorityQueue<Integer> ready) {
+        completed[index] = true;
+        for (int dependent : dependents[index]) {
+            if (--remaining[dependent] == 0) {
+                ready.add(dependent);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * The time spent by the deployment unit processors processing a deployment unit, per phase. The timings are attached
+ * to the deployment unit, and are reported by the {@code read-deployment-timings} operation and when the server has
+ * booted.
+ */
+public final class DeploymentUnitProcessorTimings {
+
+    private static final AttachmentKey<DeploymentUnitProcessorTimings> TIMINGS = AttachmentKey.create(DeploymentUnitProcessorTimings.class);
+    /** The number of processors reported in the summary of a deployment */
+    private static final int SLOWEST_PROCESSORS = 3;
+
+    private final Map<Phase, Map<String, Long>> deployTimes = new EnumMap<Phase, Map<String, Long>>(Phase.class);
+    private final Map<Phase, Map<String, Long>> undeployTimes = new EnumMap<Phase, Map<String, Long>>(Phase.class);
+
+    private DeploymentUnitProcessorTimings() {
+    }
+
+    /**
+     * Gets the timings of a deployment unit, creating them if needed. Only called by the phase services of the
+     * deployment unit, which are executed one after the other.
+     */
+    static DeploymentUnitProcessorTimings get(final DeploymentUnit deploymentUnit) {
+        DeploymentUnitProcessorTimings timings = deploymentUnit.getAttachment(TIMINGS);
+        if (timings == null) {
+            timings = new DeploymentUnitProcessorTimings();
+            deploymentUnit.putAttachment(TIMINGS, timings);
+        }
+        return timings;
+    }
+
+    /**
+     * Gets the timings of a deployment unit.
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the timings, or {@code null} if no phase of the deployment unit has been executed
+     */
+    public static DeploymentUnitProcessorTimings getTimings(final DeploymentUnit deploymentUnit) {
+        return deploymentUnit.getAttachment(TIMINGS);
+    }
+
+    synchronized void recordDeploy(final Phase phase, final DeploymentUnitProcessor processor, final long nanos) {
+        record(deployTimes, phase, processor, nanos);
+    }
+
+    synchronized void recordUndeploy(final Phase phase, final DeploymentUnitProcessor processor, final long nanos) {
+        record(undeployTimes, phase, processor, nanos);
+    }
+
+    private static void record(final Map<Phase, Map<String, Long>> phaseTimes, final Phase phase, final DeploymentUnitProcessor processor, final long nanos) {
+        Map<String, Long> times = phaseTimes.get(phase);
+        if (times == null) {
+            times = new LinkedHashMap<String, Long>();
+            phaseTimes.put(phase, times);
+        }
+        // Processors of the same class registered more than once in the phase are reported together
+        final String name = processor.getClass().getName();
+        final Long time = times.get(name);
+        times.put(name, time == null ? nanos : time + nanos);
+    }
+
+    /**
+     * Gets the time spent by each processor in the {@code deploy} method for a phase, keyed by class name.
+     *
+     * @param phase the phase
+     * @return the times in nanoseconds
+     */
+    public synchronized Map<String, Long> getDeployTimes(final Phase phase) {
+        return copy(deployTimes.get(phase));
+    }
+
+    /**
+     * Gets the time spent by each processor in the {@code undeploy} method for a phase, keyed by class name.
+     *
+     * @param phase the phase
+     * @return the times in nanoseconds
+     */
+    public synchronized Map<String, Long> getUndeployTimes(final Phase phase) {
+        return copy(undeployTimes.get(phase));
+    }
+
+    /**
+     * Gets the total time spent by the processors in the {@code deploy} method, for all phases.
+     *
+     * @return the time in nanoseconds
+     */
+    public synchronized long getTotalDeployTime() {
+        long total = 0;
+        for (Map<String, Long> times : deployTimes.values()) {
+            for (Long time : times.values()) {
+                total += time;
+            }
+        }
+        return total;
+    }
+
+    private static Map<String, Long> copy(final Map<String, Long> times) {
+        return times == null ? Collections.<String, Long>emptyMap() : new LinkedHashMap<String, Long>(times);
+    }
+
+    /**
+     * Logs, for each deployment which is deployed, the total time spent by the processors deploying it and its
+     * subdeployments, and the processors which took the longest.
+     *
+     * @param registry the service registry of the server
+     */
+    public static void logSummary(final ServiceRegistry registry) {
+        for (ServiceName serviceName : registry.getServiceNames()) {
+            if (!Services.JBOSS_DEPLOYMENT_UNIT.equals(serviceName.getParent())) {
+                continue;
+            }
+            final ServiceController<?> controller = registry.getService(serviceName);
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                continue;
+            }
+            final DeploymentUnit deploymentUnit = (DeploymentUnit) controller.getValue();
+            final List<DeploymentUnit> deploymentUnits = new ArrayList<DeploymentUnit>();
+            deploymentUnits.add(deploymentUnit);
+            deploymentUnits.addAll(deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS));
+
+            long total = 0;
+            final Map<String, Long> processorTimes = new HashMap<String, Long>();
+            for (DeploymentUnit unit : deploymentUnits) {
+                final DeploymentUnitProcessorTimings timings = getTimings(unit);
+                if (timings == null) {
+                    continue;
+                }
+                total += timings.getTotalDeployTime();
+                for (Phase phase : Phase.values()) {
+                    for (Map.Entry<String, Long> entry : timings.getDeployTimes(phase).entrySet()) {
+                        final Long time = processorTimes.get(entry.getKey());
+                        processorTimes.put(entry.getKey(), time == null ? entry.getValue() : time + entry.getValue());
+                    }
+                }
+            }
+            if (processorTimes.isEmpty()) {
+                continue;
+            }
+
+            final List<Map.Entry<String, Long>> sorted = new ArrayList<Map.Entry<String, Long>>(processorTimes.entrySet());
+            Collections.sort(sorted, new Comparator<Map.Entry<String, Long>>() {
+                @Override
+                public int compare(final Map.Entry<String, Long> o1, final Map.Entry<String, Long> o2) {
+                    return o2.getValue().compareTo(o1.getValue());
+                }
+            });
+            final StringBuilder slowest = new StringBuilder();
+            for (int i = 0; i < Math.min(SLOWEST_PROCESSORS, sorted.size()); i++) {
+                if (i > 0) {
+                    slowest.append(", ");
+                }
+                slowest.append(sorted.get(i).getKey()).append(" (").append(TimeUnit.NANOSECONDS.toMillis(sorted.get(i).getValue())).append(" ms)");
+            }
+            ServerLogger.DEPLOYMENT_LOGGER.deploymentProcessorTimings(deploymentUnit.getName(), TimeUnit.NANOSECONDS.toMillis(total), slowest.toString());
+        }
+    }
+}
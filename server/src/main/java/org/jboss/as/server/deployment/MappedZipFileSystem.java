@@ -0,0 +1,648 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.AccessController;
+import java.security.CodeSigner;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.vfs.TempDir;
+import org.jboss.vfs.TempFileProvider;
+import org.jboss.vfs.VirtualFile;
+import org.jboss.vfs.spi.FileSystem;
+
+/**
+ * A read-only VFS file system serving the entries of a zip archive from a memory mapping of the archive. The central
+ * directory is read once when the file system is created, into an index of the entries by name, and the entries are
+ * then read from the mapping without any file access. Only entries whose {@link #getFile(VirtualFile, VirtualFile)
+ * physical file} is requested are extracted, to a temporary directory.
+ * <p>
+ * Archives which cannot be served this way, because they use zip64 extensions, are larger than 2GB or are signed, are
+ * rejected with an {@link IOException} when creating the file system, as are archives with a malformed central
+ * directory, which are rejected with a {@link ZipException}; the code signers of the entries are not available from
+ * this file system.
+ * <p>
+ * The mapping is released when the file system is closed and the last stream opened from it is closed, so that the
+ * archive is not kept locked on Windows. If the JDK does not allow a mapping to be released explicitly, or a stream is
+ * never closed, the mapping is released when it is garbage collected, and until then the archive cannot be deleted or
+ * replaced on Windows.
+ */
+final class MappedZipFileSystem implements FileSystem {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xffff;
+
+    /** Releases a mapping, {@code null} if the JDK does not allow mappings to be released explicitly */
+    private static final Unmapper UNMAPPER = AccessController.doPrivileged(new PrivilegedAction<Unmapper>() {
+        @Override
+        public Unmapper run() {
+            return Unmapper.create();
+        }
+    });
+
+    private final File archiveFile;
+    private final long archiveLastModified;
+    private final ByteBuffer buffer;
+    private final Map<String, Entry> entries;
+    private final TempFileProvider tempFileProvider;
+    private TempDir tempDir;
+    /** The number of streams opened from the mapping which are not closed yet */
+    private int openStreams;
+    private boolean closed;
+    private boolean unmapped;
+
+    MappedZipFileSystem(final File archiveFile, final TempFileProvider tempFileProvider) throws IOException {
+        this.archiveFile = archiveFile;
+        this.archiveLastModified = archiveFile.lastModified();
+        this.tempFileProvider = tempFileProvider;
+        // The mapping remains valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(archiveFile.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Archive " + archiveFile + " is too large to be mapped");
+            }
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            this.buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        try {
+            this.entries = readCentralDirectory();
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | BufferUnderflowException e) {
+            unmap();
+            final ZipException zipException = new ZipException("Invalid central directory in archive " + archiveFile);
+            zipException.initCause(e);
+            throw zipException;
+        } catch (IOException | RuntimeException e) {
+            unmap();
+            throw e;
+        }
+    }
+
+    private Map<String, Entry> readCentralDirectory() throws IOException {
+        final int end = findEnd();
+        final int count = buffer.getShort(end + 10) & 0xffff;
+        final long directorySize = buffer.getInt(end + 12) & 0xffffffffL;
+        final long directoryOffset = buffer.getInt(end + 16) & 0xffffffffL;
+        if (count == 0xffff || directorySize == 0xffffffffL || directoryOffset == 0xffffffffL) {
+            throw new IOException("Archive " + archiveFile + " uses zip64 extensions");
+        }
+        if (directoryOffset + directorySize > end) {
+            throw new ZipException("Invalid central directory in archive " + archiveFile);
+        }
+
+        final Map<String, Entry> entries = new HashMap<String, Entry>(count * 2);
+        entries.put("", new Entry(-1, 0, 0, 0, 0, true));
+        int position = (int) directoryOffset;
+        final int directoryEnd = (int) (directoryOffset + directorySize);
+        while (position < directoryEnd) {
+            if (position + CENTRAL_HEADER_SIZE > directoryEnd || buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory in archive " + archiveFile);
+            }
+            final int method = buffer.getShort(position + 10) & 0xffff;
+            final int dosTime = buffer.getInt(position + 12);
+            final long compressedSize = buffer.getInt(position + 20) & 0xffffffffL;
+            final long size = buffer.getInt(position + 24) & 0xffffffffL;
+            final int nameLength = buffer.getShort(position + 28) & 0xffff;
+            final int extraLength = buffer.getShort(position + 30) & 0xffff;
+            final int commentLength = buffer.getShort(position + 32) & 0xffff;
+            final long localHeaderOffset = buffer.getInt(position + 42) & 0xffffffffL;
+            if (compressedSize == 0xffffffffL || size == 0xffffffffL || localHeaderOffset == 0xffffffffL) {
+                throw new IOException("Archive " + archiveFile + " uses zip64 extensions");
+            }
+            if (method != ZipEntry.STORED && method != ZipEntry.DEFLATED) {
+                throw new IOException("Unsupported compression method " + method + " in archive " + archiveFile);
+            }
+            if (localHeaderOffset >= directoryOffset || compressedSize > directoryOffset - localHeaderOffset || size > Integer.MAX_VALUE) {
+                throw new ZipException("Invalid central directory in archive " + archiveFile);
+            }
+            final byte[] nameBytes = new byte[nameLength];
+            ((ByteBuffer) buffer.duplicate().position(position + CENTRAL_HEADER_SIZE)).get(nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            if (isSignatureFile(name)) {
+                throw new IOException("Archive " + archiveFile + " is signed");
+            }
+            final boolean directory = name.endsWith("/");
+            name = normalize(name);
+            if (name.length() > 0) {
+                addParents(entries, name);
+                final Entry existing = entries.get(name);
+                if (existing == null || !existing.isExplicit()) {
+                    final Entry entry = new Entry((int) localHeaderOffset, (int) compressedSize, (int) size, method, dosTime, directory);
+                    if (existing != null) {
+                        entry.children = existing.children;
+                    }
+                    entries.put(name, entry);
+                }
+            }
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    private int findEnd() throws IOException {
+        final int limit = Math.max(0, buffer.capacity() - END_SIZE - MAX_COMMENT_SIZE);
+        for (int position = buffer.capacity() - END_SIZE; position >= limit; position--) {
+            if (buffer.getInt(position) == END_SIGNATURE) {
+                return position;
+            }
+        }
+        throw new ZipException("Archive " + archiveFile + " is not a zip file");
+    }
+
+    private static boolean isSignatureFile(final String name) {
+        final String upperCase = name.toUpperCase(Locale.ENGLISH);
+        return upperCase.startsWith("META-INF/") && upperCase.indexOf('/', 9) == -1
+                && (upperCase.endsWith(".SF") || upperCase.endsWith(".DSA") || upperCase.endsWith(".RSA") || upperCase.endsWith(".EC"));
+    }
+
+    private static String normalize(final String name) {
+        int start = 0;
+        int end = name.length();
+        while (start < end && name.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && name.charAt(end - 1) == '/') {
+            end--;
+        }
+        return name.substring(start, end);
+    }
+
+    /**
+     * Adds the name to its parent directory, creating the parent directories which do not have their own entry.
+     */
+    private static void addParents(final Map<String, Entry> entries, final String name) {
+        String child = name;
+        while (true) {
+            final int separator = child.lastIndexOf('/');
+            final String parentName = separator == -1 ? "" : child.substring(0, separator);
+            Entry parent = entries.get(parentName);
+            final boolean created = parent == null;
+            if (created) {
+                parent = new Entry(-1, 0, 0, 0, 0, true);
+                entries.put(parentName, parent);
+            } else if (parent.children == null) {
+                // A file and a directory with the same name; the directory wins, as with the other zip file systems
+                parent.children = new ArrayList<String>();
+            }
+            final String childName = child.substring(separator + 1);
+            if (parent.children.contains(childName)) {
+                return;
+            }
+            parent.children.add(childName);
+            if (!created || separator == -1) {
+                return;
+            }
+            child = parentName;
+        }
+    }
+
+    private Entry getEntry(final VirtualFile mountPoint, final VirtualFile target) {
+        final String path = target.equals(mountPoint) ? "" : target.getPathNameRelativeTo(mountPoint);
+        return entries.get(path);
+    }
+
+    @Override
+    public File getFile(final VirtualFile mountPoint, final VirtualFile target) throws IOException {
+        final Entry entry = getEntry(mountPoint, target);
+        if (entry == null) {
+            throw new FileNotFoundException(target.getPathName());
+        }
+        if (target.equals(mountPoint)) {
+            return archiveFile;
+        }
+        final String path = target.getPathNameRelativeTo(mountPoint);
+        final File file;
+        synchronized (this) {
+            if (tempDir == null) {
+                tempDir = tempFileProvider.createTempDir(archiveFile.getName());
+            }
+            file = tempDir.getFile(path);
+            if (file.exists()) {
+                return file;
+            }
+            if (entry.isDirectory()) {
+                if (!file.mkdirs() && !file.isDirectory()) {
+                    throw new IOException("Cannot create directory " + file);
+                }
+                return file;
+            }
+            final File parent = file.getParentFile();
+            if (!parent.mkdirs() && !parent.isDirectory()) {
+                throw new IOException("Cannot create directory " + parent);
+            }
+            // Extracted to a temporary file first, so a partially extracted file is never returned
+            final File temp = new File(parent, file.getName() + ".tmp");
+            try (InputStream in = openStream(entry)) {
+                Files.copy(in, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        }
+        return file;
+    }
+
+    @Override
+    public InputStream openInputStream(final VirtualFile mountPoint, final VirtualFile target) throws IOException {
+        final Entry entry = getEntry(mountPoint, target);
+        if (entry == null || entry.isDirectory()) {
+            throw new FileNotFoundException(target.getPathName());
+        }
+        return openStream(entry);
+    }
+
+    private InputStream openStream(final Entry entry) throws IOException {
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("File system for archive " + archiveFile + " is closed");
+            }
+            openStreams++;
+        }
+        boolean ok = false;
+        try {
+            final int headerOffset = entry.localHeaderOffset;
+            if (headerOffset + LOCAL_HEADER_SIZE > buffer.capacity() || buffer.getInt(headerOffset) != LOCAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid local header in archive " + archiveFile);
+            }
+            final long dataOffset = (long) headerOffset + LOCAL_HEADER_SIZE + (buffer.getShort(headerOffset + 26) & 0xffff)
+                    + (buffer.getShort(headerOffset + 28) & 0xffff);
+            if (dataOffset + entry.compressedSize > buffer.capacity()) {
+                throw new ZipException("Invalid entry in archive " + archiveFile);
+            }
+            final ByteBuffer data = buffer.duplicate();
+            data.position((int) dataOffset);
+            data.limit((int) dataOffset + entry.compressedSize);
+            final InputStream in = new ByteBufferInputStream(this, data.slice());
+            ok = true;
+            if (entry.method == ZipEntry.STORED) {
+                return in;
+            }
+            return new EntryInflaterInputStream(in, entry.size, Math.max(512, Math.min(entry.compressedSize, 8192)));
+        } finally {
+            if (!ok) {
+                streamClosed();
+            }
+        }
+    }
+
+    private synchronized void streamClosed() {
+        if (--openStreams == 0 && closed) {
+            unmap();
+        }
+    }
+
+    private synchronized void unmap() {
+        if (!unmapped) {
+            unmapped = true;
+            if (UNMAPPER != null) {
+                UNMAPPER.unmap(buffer);
+            }
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean delete(final VirtualFile mountPoint, final VirtualFile target) {
+        return false;
+    }
+
+    @Override
+    public long getSize(final VirtualFile mountPoint, final VirtualFile target) {
+        final Entry entry = getEntry(mountPoint, target);
+        return entry == null || entry.isDirectory() ? 0L : entry.size;
+    }
+
+    @Override
+    public long getLastModified(final VirtualFile mountPoint, final VirtualFile target) {
+        final Entry entry = getEntry(mountPoint, target);
+        if (entry == null) {
+            return 0L;
+        }
+        return entry.isExplicit() ? dosToJavaTime(entry.dosTime) : archiveLastModified;
+    }
+
+    @Override
+    public boolean exists(final VirtualFile mountPoint, final VirtualFile target) {
+        return getEntry(mountPoint, target) != null;
+    }
+
+    @Override
+    public boolean isFile(final VirtualFile mountPoint, final VirtualFile target) {
+        final Entry entry = getEntry(mountPoint, target);
+        return entry != null && !entry.isDirectory();
+    }
+
+    @Override
+    public boolean isDirectory(final VirtualFile mountPoint, final VirtualFile target) {
+        final Entry entry = getEntry(mountPoint, target);
+        return entry != null && entry.isDirectory();
+    }
+
+    @Override
+    public List<String> getDirectoryEntries(final VirtualFile mountPoint, final VirtualFile target) {
+        final Entry entry = getEntry(mountPoint, target);
+        if (entry == null || entry.children == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(entry.children);
+    }
+
+    @Override
+    public CodeSigner[] getCodeSigners(final VirtualFile mountPoint, final VirtualFile target) {
+        // Signed archives are rejected when the file system is created
+        return null;
+    }
+
+    @Override
+    public File getMountSource() {
+        return archiveFile;
+    }
+
+    @Override
+    public URI getRootURI() throws URISyntaxException {
+        return new URI("jar", archiveFile.toURI().toString() + "!/", null);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            // Streams which are still open keep the mapping until they are closed
+            if (openStreams == 0) {
+                unmap();
+            }
+        }
+        if (tempDir != null) {
+            tempDir.close();
+            tempDir = null;
+        }
+    }
+
+    private static long dosToJavaTime(final int dosTime) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(((dosTime >> 25) & 0x7f) + 1980, ((dosTime >> 21) & 0x0f) - 1, (dosTime >> 16) & 0x1f,
+                (dosTime >> 11) & 0x1f, (dosTime >> 5) & 0x3f, (dosTime << 1) & 0x3e);
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * An entry of the archive. Directories without their own entry in the archive have a negative local header
+     * offset.
+     */
+    private static final class Entry {
+
+        private final int localHeaderOffset;
+        private final int compressedSize;
+        private final int size;
+        private final int method;
+        private final int dosTime;
+        /** The names of the children of a directory, {@code null} for a file */
+        private List<String> children;
+
+        private Entry(final int localHeaderOffset, final int compressedSize, final int size, final int method, final int dosTime, final boolean directory) {
+            this.localHeaderOffset = localHeaderOffset;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.method = method;
+            this.dosTime = dosTime;
+            this.children = directory ? new ArrayList<String>() : null;
+        }
+
+        private boolean isDirectory() {
+            return children != null;
+        }
+
+        private boolean isExplicit() {
+            return localHeaderOffset >= 0;
+        }
+    }
+
+    /**
+     * Reads a slice of the mapping, which is kept until the stream is closed.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final MappedZipFileSystem fileSystem;
+        private final ByteBuffer buffer;
+        private boolean closed;
+
+        private ByteBufferInputStream(final MappedZipFileSystem fileSystem, final ByteBuffer buffer) {
+            this.fileSystem = fileSystem;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ensureOpen();
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            ensureOpen();
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            ensureOpen();
+            final int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return closed ? 0 : buffer.remaining();
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            fileSystem.streamClosed();
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+
+    /**
+     * Inflates a deflated entry, releasing the inflater when closed.
+     */
+    private static final class EntryInflaterInputStream extends InflaterInputStream {
+
+        private final int size;
+        private boolean eof;
+        private boolean closed;
+
+        private EntryInflaterInputStream(final InputStream in, final int size, final int bufferSize) {
+            super(in, new Inflater(true), bufferSize);
+            this.size = size;
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) {
+                throw new EOFException("Unexpected end of ZLIB input stream");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                // The inflater may need a dummy byte past the end of the compressed data
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (closed) {
+                return 0;
+            }
+            final long remaining = size - inf.getBytesWritten();
+            return remaining > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) Math.max(0, remaining);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                inf.end();
+                super.close();
+            }
+        }
+    }
+
+    /**
+     * Releases a mapping without waiting for it to be garbage collected, using {@code sun.misc.Unsafe.invokeCleaner} on
+     * Java 9 and later and the cleaner of the buffer on Java 8.
+     */
+    private static final class Unmapper {
+
+        private final Method method;
+        private final Object target;
+        private final Method cleanerMethod;
+
+        private Unmapper(final Method method, final Object target, final Method cleanerMethod) {
+            this.method = method;
+            this.target = target;
+            this.cleanerMethod = cleanerMethod;
+        }
+
+        private static Unmapper create() {
+            try {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                return new Unmapper(invokeCleaner, theUnsafe.get(null), null);
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                // Not Java 9 or later
+            }
+            try {
+                final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                return new Unmapper(clean, null, cleaner);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                ServerLogger.ROOT_LOGGER.debugf(e, "Mapped archives will be released when garbage collected");
+                return null;
+            }
+        }
+
+        private void unmap(final ByteBuffer buffer) {
+            AccessController.doPrivileged(new PrivilegedAction<Void>() {
+                @Override
+                public Void run() {
+                    try {
+                        if (cleanerMethod == null) {
+                            method.invoke(target, buffer);
+                        } else {
+                            final Object cleaner = cleanerMethod.invoke(buffer);
+                            if (cleaner != null) {
+                                method.invoke(cleaner);
+                            }
+                        }
+                    } catch (IllegalAccessException | InvocationTargetException | RuntimeException e) {
+                        ServerLogger.ROOT_LOGGER.debugf(e, "Failed to release the mapping of an archive");
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+}
@@ -28,5 +28,7 @@ package org.jboss.as.server.deployment;
 public enum MountType {
     ZIP,
     EXPANDED,
-    REAL;
+    REAL,
+    /** A zip archive served from a memory mapping of the archive, or mounted as {@link #ZIP} if it cannot be */
+    MAPPED;
 }
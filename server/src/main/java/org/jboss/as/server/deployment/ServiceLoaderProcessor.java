@@ -28,9 +28,13 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.module.ModuleRootMarker;
@@ -43,7 +47,12 @@ import org.jboss.vfs.VirtualFile;
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
-public final class ServiceLoaderProcessor implements DeploymentUnitProcessor {
+public final class ServiceLoaderProcessor implements ConcurrentDeploymentUnitProcessor {
+
+    // The sub-deployment and module root markers are only written during STRUCTURE
+    private static final Set<AttachmentKey<?>> READ_ATTACHMENTS = Collections.unmodifiableSet(new HashSet<AttachmentKey<?>>(Arrays.<AttachmentKey<?>>asList(
+            Attachments.DEPLOYMENT_ROOT, Attachments.RESOURCE_ROOTS)));
+    private static final Set<AttachmentKey<?>> WRITTEN_ATTACHMENTS = Collections.<AttachmentKey<?>>singleton(Attachments.SERVICES);
 
     /**
      * {@inheritDoc}
@@ -105,4 +114,14 @@ public final class ServiceLoaderProcessor implements DeploymentUnitProcessor {
     public void undeploy(final DeploymentUnit context) {
         context.removeAttachment(Attachments.SERVICES);
     }
+
+    /** {@inheritDoc} */
+    public Set<AttachmentKey<?>> getReadAttachments() {
+        return READ_ATTACHMENTS;
+    }
+
+    /** {@inheritDoc} */
+    public Set<AttachmentKey<?>> getWrittenAttachments() {
+        return WRITTEN_ATTACHMENTS;
+    }
 }
@@ -0,0 +1,323 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A cache of the annotation indexes of resource roots, stored in the {@code annotation-index} directory of the server
+ * data directory so they survive redeployments and restarts.
+ * <p>
+ * The indexes of archives are keyed by a hash of the archive, and the indexes of exploded directories by a hash of the
+ * content of their class files, so an index is only reused for exactly the same classes. The least recently used
+ * indexes are removed once the cache grows over its maximum size, which defaults to 256 MB and can be set in bytes with
+ * the {@code jboss.as.deployment.indexing.cache-size} system property. A size of 0 disables the cache.
+ */
+public final class AnnotationIndexCache {
+
+    private static final String DIRECTORY_NAME = "annotation-index";
+    private static final String CACHE_SIZE_PROPERTY = "jboss.as.deployment.indexing.cache-size";
+    private static final long DEFAULT_CACHE_SIZE = 256L * 1024 * 1024;
+    private static final String INDEX_SUFFIX = ".idx";
+    /**
+     * The version of the Jandex index format the indexes are cached in, which is part of their keys. Newer versions of
+     * the format may contain more information, so this must be increased when the indexes are cached in a newer format.
+     */
+    private static final int INDEX_VERSION = 6;
+
+    private final Path directory;
+    private final long maxSize;
+    /** The temporary files of the indexes being written, guarded by this cache */
+    private final Set<Path> writing = new HashSet<Path>();
+
+    AnnotationIndexCache(final Path directory, final long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates the annotation index cache of a server.
+     *
+     * @param serverEnvironment the server environment
+     * @return the cache, or {@code null} if it is disabled
+     */
+    public static AnnotationIndexCache create(final ServerEnvironment serverEnvironment) {
+        long maxSize = DEFAULT_CACHE_SIZE;
+        final String value = WildFlySecurityManager.getPropertyPrivileged(CACHE_SIZE_PROPERTY, null);
+        if (value != null && value.length() > 0) {
+            try {
+                maxSize = Math.max(Long.decode(value), 0);
+            } catch (NumberFormatException ex) {
+                ServerLogger.ROOT_LOGGER.failedToParseCommandLineInteger(CACHE_SIZE_PROPERTY, value);
+            }
+        }
+        if (maxSize == 0) {
+            return null;
+        }
+        return new AnnotationIndexCache(new File(serverEnvironment.getServerDataDir(), DIRECTORY_NAME).toPath(), maxSize);
+    }
+
+    /**
+     * Gets the key of the index of a resource root mounted from an archive, a hash of the archive and of the paths
+     * which are not indexed.
+     *
+     * @param archive the archive the resource root is mounted from
+     * @param indexIgnorePaths the paths of the resource root which are not indexed, or {@code null}
+     * @return the key
+     * @throws IOException if the archive cannot be read
+     */
+    String getKey(final File archive, final Collection<String> indexIgnorePaths) throws IOException {
+        final MessageDigest messageDigest = createDigest();
+        if (indexIgnorePaths != null) {
+            final List<String> paths = new ArrayList<String>(indexIgnorePaths);
+            Collections.sort(paths);
+            for (String path : paths) {
+                messageDigest.update(path.getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) 0);
+            }
+        }
+        messageDigest.update((byte) 0);
+        try (FileChannel channel = FileChannel.open(archive.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (channel.read(buffer) > -1) {
+                buffer.flip();
+                messageDigest.update(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+        return HashUtil.bytesToHexString(messageDigest.digest());
+    }
+
+    /**
+     * Gets the key of the index of an exploded resource root, a hash of the paths and the content of its class files.
+     *
+     * @param root the resource root
+     * @param classFiles the class files of the resource root that are indexed
+     * @return the key
+     * @throws IOException if a class file cannot be read
+     */
+    String getKey(final VirtualFile root, final List<VirtualFile> classFiles) throws IOException {
+        final MessageDigest messageDigest = createDigest();
+        final byte[] buffer = new byte[8192];
+        for (VirtualFile classFile : classFiles) {
+            messageDigest.update(classFile.getPathNameRelativeTo(root).getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            InputStream inputStream = null;
+            try {
+                inputStream = classFile.openStream();
+                int read;
+                while ((read = inputStream.read(buffer)) > -1) {
+                    messageDigest.update(buffer, 0, read);
+                }
+            } finally {
+                VFSUtils.safeClose(inputStream);
+            }
+        }
+        return HashUtil.bytesToHexString(messageDigest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        messageDigest.update((byte) INDEX_VERSION);
+        return messageDigest;
+    }
+
+    /**
+     * Reads a cached index.
+     *
+     * @param key the key of the index
+     * @return the index, or {@code null} if it is not cached
+     */
+    Index read(final String key) {
+        final Path file = directory.resolve(key + INDEX_SUFFIX);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            final Index index;
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                index = new IndexReader(inputStream).read();
+            }
+            // Keep track of the use of the index for the eviction
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return index;
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot read cached annotation index %s", file);
+            delete(file);
+            return null;
+        }
+    }
+
+    /**
+     * Caches an index, and removes the least recently used indexes if the cache grows over its maximum size.
+     *
+     * @param key the key of the index
+     * @param index the index
+     */
+    void write(final String key, final Index index) {
+        final Path file = directory.resolve(key + INDEX_SUFFIX);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            // Written to a temporary file first, so a concurrent read never sees a partial index
+            synchronized (this) {
+                tempFile = Files.createTempFile(directory, key, ".tmp");
+                writing.add(tempFile);
+            }
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                new IndexWriter(outputStream).write(index, INDEX_VERSION);
+            }
+            // Not while the cache is cleared or evicted
+            synchronized (this) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                writing.remove(tempFile);
+            }
+            tempFile = null;
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot cache annotation index %s", file);
+        } finally {
+            if (tempFile != null) {
+                synchronized (this) {
+                    writing.remove(tempFile);
+                }
+                delete(tempFile);
+            }
+        }
+        evict();
+    }
+
+    /**
+     * Removes all the cached indexes, and any temporary file left over by a write that did not complete. Indexes
+     * being written are cached once their write completes.
+     *
+     * @return the number of indexes removed
+     * @throws IOException if the cache directory cannot be read
+     */
+    public synchronized int clear() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (writing.contains(file)) {
+                    continue;
+                }
+                if (delete(file) && file.getFileName().toString().endsWith(INDEX_SUFFIX)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private synchronized void evict() {
+        final List<CachedIndex> cached = new ArrayList<CachedIndex>();
+        long size = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + INDEX_SUFFIX)) {
+            for (Path file : files) {
+                final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                cached.add(new CachedIndex(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                size += attributes.size();
+            }
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot read annotation index cache %s", directory);
+            return;
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        Collections.sort(cached, new Comparator<CachedIndex>() {
+            @Override
+            public int compare(final CachedIndex o1, final CachedIndex o2) {
+                return Long.compare(o1.lastUsed, o2.lastUsed);
+            }
+        });
+        for (CachedIndex index : cached) {
+            if (size <= maxSize) {
+                break;
+            }
+            if (delete(index.file)) {
+                size -= index.size;
+            }
+        }
+    }
+
+    private static boolean delete(final Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot delete cached annotation index %s", file);
+            return false;
+        }
+    }
+
+    private static final class CachedIndex {
+        private final Path file;
+        private final long size;
+        private final long lastUsed;
+
+        private CachedIndex(final Path file, final long size, final long lastUsed) {
+            this.file = file;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -22,12 +22,13 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentUtils;
-import org.jboss.as.server.deployment.module.ResourceRoot;
 
 /**
  * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
@@ -37,6 +38,22 @@ import org.jboss.as.server.deployment.module.ResourceRoot;
  */
 public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
+    private final AnnotationIndexCache cache;
+    private final ForkJoinPool pool;
+
+    public AnnotationIndexProcessor() {
+        this(null, null);
+    }
+
+    /**
+     * @param cache the cache of the annotation indexes, or {@code null} if they are not cached
+     * @param pool the pool the resource roots are indexed on, or {@code null} to index them on the deployment thread
+     */
+    public AnnotationIndexProcessor(final AnnotationIndexCache cache, final ForkJoinPool pool) {
+        this.cache = cache;
+        this.pool = pool;
+    }
+
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
      * found in this deployment and attach it to the deployment unit context.
@@ -47,9 +64,7 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
-        for (ResourceRoot resourceRoot : DeploymentUtils.allResourceRoots(deploymentUnit)) {
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
-        }
+        ResourceRootIndexer.indexResourceRoots(DeploymentUtils.allResourceRoots(deploymentUnit), cache, pool);
     }
 
     public void undeploy(final DeploymentUnit context) {
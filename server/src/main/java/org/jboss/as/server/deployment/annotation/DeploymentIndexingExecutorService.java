@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.server.deployment.Services;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.wildfly.common.cpu.ProcessorInfo;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Provides the pool on which the resource roots of deployments are indexed concurrently, see
+ * {@link ResourceRootIndexer}.
+ * <p>
+ * The size of the pool defaults to the number of processors, and can be set with the
+ * {@code jboss.as.deployment.indexing.pool-size} system property. A size of 1 indexes everything serially on the
+ * deployment thread.
+ */
+public final class DeploymentIndexingExecutorService implements Service<ForkJoinPool> {
+
+    /**
+     * The service name for this service.
+     */
+    public static final ServiceName SERVICE_NAME = Services.JBOSS_DEPLOYMENT.append("indexing-executor");
+
+    private static final String POOL_SIZE_PROPERTY = "jboss.as.deployment.indexing.pool-size";
+
+    static final int POOL_SIZE = getPoolSize();
+
+    private static int getPoolSize() {
+        int poolSize = ProcessorInfo.availableProcessors();
+        final String value = WildFlySecurityManager.getPropertyPrivileged(POOL_SIZE_PROPERTY, null);
+        if (value != null && value.length() > 0) {
+            try {
+                poolSize = Math.max(Integer.decode(value), 1);
+            } catch (NumberFormatException ex) {
+                ServerLogger.ROOT_LOGGER.failedToParseCommandLineInteger(POOL_SIZE_PROPERTY, value);
+            }
+        }
+        return poolSize;
+    }
+
+    private final int poolSize;
+    private ForkJoinPool pool;
+
+    public static void install(ServiceTarget target) {
+        if (POOL_SIZE > 1) {
+            target.addService(SERVICE_NAME, new DeploymentIndexingExecutorService(POOL_SIZE))
+                    .setInitialMode(ServiceController.Mode.ON_DEMAND).install();
+        }
+    }
+
+    DeploymentIndexingExecutorService(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    @Override
+    public synchronized void start(StartContext context) throws StartException {
+        final ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = doPrivileged(new PrivilegedAction<ForkJoinPool.ForkJoinWorkerThreadFactory>() {
+            public ForkJoinPool.ForkJoinWorkerThreadFactory run() {
+                return new IndexingThreadFactory("Deployment Indexing -- ");
+            }
+        });
+        pool = new ForkJoinPool(poolSize, threadFactory, null, false);
+    }
+
+    @Override
+    public synchronized void stop(StopContext context) {
+        // The deployments using the pool have stopped, so no task is left running
+        pool.shutdown();
+        pool = null;
+    }
+
+    @Override
+    public synchronized ForkJoinPool getValue() throws IllegalStateException, IllegalArgumentException {
+        return pool;
+    }
+
+    /**
+     * Creates the worker threads like a {@link org.jboss.threads.JBossThreadFactory}: in the access control context
+     * in which the factory was created, and with the class loader of the server as their context class loader rather
+     * than that of the deployment which happens to start them.
+     */
+    private static final class IndexingThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+        private final AccessControlContext creatingContext;
+        private final ClassLoader contextClassLoader;
+
+        private IndexingThreadFactory(final String namePrefix) {
+            this.namePrefix = namePrefix;
+            this.creatingContext = AccessController.getContext();
+            this.contextClassLoader = DeploymentIndexingExecutorService.class.getClassLoader();
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+            return doPrivileged(new PrivilegedAction<ForkJoinWorkerThread>() {
+                public ForkJoinWorkerThread run() {
+                    final ForkJoinWorkerThread thread = new IndexingThread(pool);
+                    thread.setName(namePrefix + threadCount.incrementAndGet());
+                    thread.setContextClassLoader(contextClassLoader);
+                    return thread;
+                }
+            }, creatingContext);
+        }
+    }
+
+    private static final class IndexingThread extends ForkJoinWorkerThread {
+
+        private IndexingThread(final ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+}
@@ -19,19 +19,33 @@
  * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
  * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
  */
-
 package org.jboss.as.server.deployment.annotation;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexReader;
 import org.jboss.jandex.Indexer;
@@ -42,25 +56,92 @@ import org.jboss.vfs.VisitorAttributes;
 import org.jboss.vfs.util.SuffixMatchFilter;
 
 /**
- * Utility class for indexing a resource root
+ * Utility class for indexing a resource root.
+ * <p>
+ * Given a pool, resource roots are indexed concurrently on it, and the class files of large resource roots are indexed
+ * in batches, concurrently, whose indexes are then merged. Without a pool everything is indexed serially on the calling
+ * thread. The server's pool is provided by the {@link DeploymentIndexingExecutorService}. The indexes can be cached on
+ * disk, see {@link AnnotationIndexCache}.
  */
 public class ResourceRootIndexer {
 
+    /** The number of class files of a resource root above which it is indexed in batches */
+    static final int BATCH_SIZE = 256;
+
     /**
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
-        if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
+        indexResourceRoots(Collections.singletonList(resourceRoot), null);
+    }
+
+    /**
+     * Creates and attaches the annotation index to resource roots, if it has not already been attached.
+     *
+     * @param resourceRoots the resource roots
+     * @param cache the cache of the indexes, or {@code null} if indexes are not cached
+     */
+    public static void indexResourceRoots(final Collection<ResourceRoot> resourceRoots, final AnnotationIndexCache cache) throws DeploymentUnitProcessingException {
+        indexResourceRoots(resourceRoots, cache, null);
+    }
+
+    /**
+     * Creates and attaches the annotation index to resource roots, if it has not already been attached. The resource
+     * roots are indexed concurrently on the pool.
+     *
+     * @param resourceRoots the resource roots
+     * @param cache the cache of the indexes, or {@code null} if indexes are not cached
+     * @param pool the pool the resource roots are indexed on, or {@code null} to index them on the calling thread
+     */
+    public static void indexResourceRoots(final Collection<ResourceRoot> resourceRoots, final AnnotationIndexCache cache, final ForkJoinPool pool) throws DeploymentUnitProcessingException {
+        final Set<ResourceRoot> indexed = Collections.newSetFromMap(new IdentityHashMap<ResourceRoot, Boolean>());
+        final List<IndexTask> tasks = new ArrayList<IndexTask>();
+        for (ResourceRoot resourceRoot : resourceRoots) {
+            if (indexed.add(resourceRoot) && !readIndex(resourceRoot)) {
+                tasks.add(new IndexTask(resourceRoot, cache));
+            }
+        }
+        if (tasks.isEmpty()) {
             return;
         }
 
+        if (pool == null) {
+            for (IndexTask task : tasks) {
+                task.compute();
+            }
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+
+        for (IndexTask task : tasks) {
+            if (task.failure != null) {
+                throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(task.failure);
+            }
+        }
+    }
+
+    /**
+     * Attaches the annotation index of a resource root that has one already, or that does not need to be indexed.
+     *
+     * @return {@code true} if the resource root does not need to be indexed, {@code false} otherwise
+     */
+    private static boolean readIndex(final ResourceRoot resourceRoot) {
+        if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
+            return true;
+        }
+
         VirtualFile indexFile = resourceRoot.getRoot().getChild(ModuleIndexBuilder.INDEX_LOCATION);
         if (indexFile.exists()) {
             try {
                 IndexReader reader = new IndexReader(indexFile.openStream());
                 resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, reader.read());
                 ServerLogger.DEPLOYMENT_LOGGER.tracef("Found and read index at: %s", indexFile);
-                return;
+                return true;
             } catch (Exception e) {
                 ServerLogger.DEPLOYMENT_LOGGER.cannotLoadAnnotationIndex(indexFile.getPathName());
             }
@@ -68,10 +149,10 @@ public class ResourceRootIndexer {
 
         // if this flag is present and set to false then do not index the resource
         Boolean shouldIndexResource = resourceRoot.getAttachment(Attachments.INDEX_RESOURCE_ROOT);
-        if (shouldIndexResource != null && !shouldIndexResource) {
-            return;
-        }
+        return shouldIndexResource != null && !shouldIndexResource;
+    }
 
+    private static Index index(final ResourceRoot resourceRoot, final AnnotationIndexCache cache) throws Exception {
         final List<String> indexIgnorePathList = resourceRoot.getAttachment(Attachments.INDEX_IGNORE_PATHS);
         final Set<String> indexIgnorePaths;
         if (indexIgnorePathList != null && !indexIgnorePathList.isEmpty()) {
@@ -81,33 +162,155 @@ public class ResourceRootIndexer {
         }
 
         final VirtualFile virtualFile = resourceRoot.getRoot();
-        final Indexer indexer = new Indexer();
+        final VisitorAttributes visitorAttributes = new VisitorAttributes();
+        visitorAttributes.setLeavesOnly(true);
+        visitorAttributes.setRecurseFilter(new VirtualFileFilter() {
+            public boolean accepts(VirtualFile file) {
+                return indexIgnorePaths == null || !indexIgnorePaths.contains(file.getPathNameRelativeTo(virtualFile));
+            }
+        });
+
+        final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
+        if (cache == null) {
+            return indexClasses(virtualFile, classChildren);
+        }
+        final String key;
         try {
-            final VisitorAttributes visitorAttributes = new VisitorAttributes();
-            visitorAttributes.setLeavesOnly(true);
-            visitorAttributes.setRecurseFilter(new VirtualFileFilter() {
-                public boolean accepts(VirtualFile file) {
-                    return indexIgnorePaths == null || !indexIgnorePaths.contains(file.getPathNameRelativeTo(virtualFile));
-                }
-            });
+            final File archive = getArchive(resourceRoot);
+            // Hashing an archive reads it once, rather than opening each of its class files
+            key = archive != null ? cache.getKey(archive, indexIgnorePaths) : cache.getKey(virtualFile, classChildren);
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot compute the cache key of archive %s", virtualFile);
+            return indexClasses(virtualFile, classChildren);
+        }
+        Index index = cache.read(key);
+        if (index != null) {
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Found cached index for archive %s", virtualFile);
+            return index;
+        }
+        index = indexClasses(virtualFile, classChildren);
+        cache.write(key, index);
+        return index;
+    }
 
-            final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
-            for (VirtualFile classFile : classChildren) {
-                InputStream inputStream = null;
-                try {
-                    inputStream = classFile.openStream();
-                    indexer.index(inputStream);
-                } catch (Exception e) {
-                    ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e);
-                } finally {
-                    VFSUtils.safeClose(inputStream);
+    /**
+     * Gets the archive a resource root is mounted from.
+     *
+     * @return the archive, or {@code null} if the resource root is not mounted from an archive
+     */
+    private static File getArchive(final ResourceRoot resourceRoot) throws IOException {
+        if (resourceRoot.getMountHandle() == null) {
+            return null;
+        }
+        // The physical file of the mount point of an archive is the archive itself
+        final File file = resourceRoot.getRoot().getPhysicalFile();
+        return file.isFile() ? file : null;
+    }
+
+    private static Index indexClasses(final VirtualFile virtualFile, final List<VirtualFile> classChildren) {
+        // Only split the class files in batches if they can be indexed concurrently
+        if (classChildren.size() <= BATCH_SIZE || !ForkJoinTask.inForkJoinPool()) {
+            return indexBatch(virtualFile, classChildren);
+        }
+        final List<BatchIndexTask> batches = new ArrayList<BatchIndexTask>();
+        for (int i = 0; i < classChildren.size(); i += BATCH_SIZE) {
+            batches.add(new BatchIndexTask(virtualFile, classChildren.subList(i, Math.min(i + BATCH_SIZE, classChildren.size()))));
+        }
+        ForkJoinTask.invokeAll(batches);
+        final List<Index> indexes = new ArrayList<Index>(batches.size());
+        for (BatchIndexTask batch : batches) {
+            indexes.add(batch.join());
+        }
+        return merge(indexes);
+    }
+
+    private static Index indexBatch(final VirtualFile virtualFile, final List<VirtualFile> classFiles) {
+        final Indexer indexer = new Indexer();
+        for (VirtualFile classFile : classFiles) {
+            InputStream inputStream = null;
+            try {
+                inputStream = classFile.openStream();
+                indexer.index(inputStream);
+            } catch (Exception e) {
+                ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e);
+            } finally {
+                VFSUtils.safeClose(inputStream);
+            }
+        }
+        return indexer.complete();
+    }
+
+    /**
+     * Merges the indexes of batches of class files, in the same way a single {@link Indexer} indexing the batches in
+     * order would.
+     */
+    private static Index merge(final List<Index> indexes) {
+        final Map<DotName, List<AnnotationInstance>> annotations = new HashMap<DotName, List<AnnotationInstance>>();
+        final Map<DotName, List<ClassInfo>> subclasses = new HashMap<DotName, List<ClassInfo>>();
+        final Map<DotName, List<ClassInfo>> implementors = new HashMap<DotName, List<ClassInfo>>();
+        final Map<DotName, ClassInfo> classes = new HashMap<DotName, ClassInfo>();
+        for (Index index : indexes) {
+            for (ClassInfo classInfo : index.getKnownClasses()) {
+                classes.put(classInfo.name(), classInfo);
+                for (Map.Entry<DotName, List<AnnotationInstance>> entry : classInfo.annotations().entrySet()) {
+                    getList(annotations, entry.getKey()).addAll(entry.getValue());
+                }
+                if (classInfo.superName() != null) {
+                    getList(subclasses, classInfo.superName()).add(classInfo);
                 }
+                for (DotName interfaceName : classInfo.interfaceNames()) {
+                    getList(implementors, interfaceName).add(classInfo);
+                }
+            }
+        }
+        return Index.create(annotations, subclasses, implementors, classes);
+    }
+
+    private static <T> List<T> getList(final Map<DotName, List<T>> map, final DotName name) {
+        List<T> list = map.get(name);
+        if (list == null) {
+            list = new ArrayList<T>();
+            map.put(name, list);
+        }
+        return list;
+    }
+
+    private static final class IndexTask extends RecursiveAction {
+
+        private final ResourceRoot resourceRoot;
+        private final AnnotationIndexCache cache;
+        private volatile Throwable failure;
+
+        private IndexTask(final ResourceRoot resourceRoot, final AnnotationIndexCache cache) {
+            this.resourceRoot = resourceRoot;
+            this.cache = cache;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                final Index index = index(resourceRoot, cache);
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", resourceRoot.getRoot());
+            } catch (Throwable t) {
+                failure = t;
             }
-            final Index index = indexer.complete();
-            resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
-            ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
-        } catch (Throwable t) {
-            throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
+        }
+    }
+
+    private static final class BatchIndexTask extends RecursiveTask<Index> {
+
+        private final VirtualFile virtualFile;
+        private final List<VirtualFile> classFiles;
+
+        private BatchIndexTask(final VirtualFile virtualFile, final List<VirtualFile> classFiles) {
+            this.virtualFile = virtualFile;
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        protected Index compute() {
+            return indexBatch(virtualFile, classFiles);
         }
     }
 }
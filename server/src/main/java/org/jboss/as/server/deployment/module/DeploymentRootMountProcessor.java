@@ -38,14 +38,21 @@ import org.jboss.as.server.deployment.MountType;
 import org.jboss.vfs.VFS;
 import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Deployment processor responsible for mounting and attaching the resource root for this deployment.
+ * <p>
+ * Archives are mounted as zip archives, or served from a memory mapping of the archive if the
+ * {@code jboss.as.deployment.mapped-mount} system property is {@code true}, or is a comma separated list of runtime
+ * names including the name of the deployment.
  *
  * @author John Bailey
  */
 public class DeploymentRootMountProcessor implements DeploymentUnitProcessor {
 
+    private static final String MAPPED_MOUNT_PROPERTY = "jboss.as.deployment.mapped-mount";
+
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         if(deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT) != null) {
@@ -85,6 +92,8 @@ public class DeploymentRootMountProcessor implements DeploymentUnitProcessor {
                     type = MountType.EXPANDED;
                 } else if (deploymentName.endsWith(".xml")) {
                     type = MountType.REAL;
+                } else if (isMappedMount(deploymentName)) {
+                    type = MountType.MAPPED;
                 } else {
                     type = MountType.ZIP;
                 }
@@ -105,6 +114,22 @@ public class DeploymentRootMountProcessor implements DeploymentUnitProcessor {
         deploymentUnit.putAttachment(Attachments.MODULE_SPECIFICATION, new ModuleSpecification());
     }
 
+    private static boolean isMappedMount(final String deploymentName) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(MAPPED_MOUNT_PROPERTY, null);
+        if (value == null) {
+            return false;
+        }
+        if (Boolean.parseBoolean(value.trim())) {
+            return true;
+        }
+        for (String name : value.split(",")) {
+            if (name.trim().equals(deploymentName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void undeploy(DeploymentUnit context) {
         final ResourceRoot resourceRoot = context.removeAttachment(Attachments.DEPLOYMENT_ROOT);
         if (resourceRoot != null) {
@@ -31,16 +31,21 @@ import static java.util.jar.Attributes.Name.SPECIFICATION_VERSION;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 
 import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.as.server.deployment.AttachmentKey;
 import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.ConcurrentDeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
-import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentUtils;
 import org.jboss.as.server.deployment.Services;
 
@@ -50,7 +55,12 @@ import org.jboss.as.server.deployment.Services;
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  * @author Stuart Douglas
  */
-public final class ManifestExtensionListProcessor implements DeploymentUnitProcessor {
+public final class ManifestExtensionListProcessor implements ConcurrentDeploymentUnitProcessor {
+
+    private static final Set<AttachmentKey<?>> READ_ATTACHMENTS = Collections.unmodifiableSet(new HashSet<AttachmentKey<?>>(Arrays.<AttachmentKey<?>>asList(
+            Attachments.DEPLOYMENT_ROOT, Attachments.RESOURCE_ROOTS, Attachments.MANIFEST)));
+    private static final Set<AttachmentKey<?>> WRITTEN_ATTACHMENTS = Collections.unmodifiableSet(new HashSet<AttachmentKey<?>>(Arrays.<AttachmentKey<?>>asList(
+            Attachments.EXTENSION_LIST_ENTRIES, Attachments.NEXT_PHASE_DEPS)));
 
     /** {@inheritDoc} */
     public void deploy(final DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
@@ -104,4 +114,14 @@ public final class ManifestExtensionListProcessor implements DeploymentUnitProce
     /** {@inheritDoc} */
     public void undeploy(final DeploymentUnit context) {
     }
+
+    /** {@inheritDoc} */
+    public Set<AttachmentKey<?>> getReadAttachments() {
+        return READ_ATTACHMENTS;
+    }
+
+    /** {@inheritDoc} */
+    public Set<AttachmentKey<?>> getWrittenAttachments() {
+        return WRITTEN_ATTACHMENTS;
+    }
 }
@@ -1273,6 +1273,10 @@ public interface ServerLogger extends BasicLogger {
     @Message(id = 264, value = "Cannot specify both admin-only and start-mode")
     OperationFailedException cannotSpecifyBothAdminOnlyAndStartMode();
 
+    @LogMessage(level = INFO)
+    @Message(id = 265, value = "Deployment %s spent %d ms in deployment unit processors, the slowest being %s")
+    void deploymentProcessorTimings(String deployment, long millis, String slowest);
+
     ////////////////////////////////////////////////
     //Messages without IDs
 
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.operations;
+
+import java.io.IOException;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexCache;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Handler to remove the cached annotation indexes of deployment resource roots.
+ */
+public class ClearAnnotationIndexCacheHandler implements OperationStepHandler {
+
+    public static final String OPERATION_NAME = "clear-annotation-index-cache";
+
+    public static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(OPERATION_NAME,
+                ServerDescriptions.getResourceDescriptionResolver("annotation-index"))
+                .setRuntimeOnly()
+                .setReplyType(ModelType.INT)
+                .build();
+
+    private final AnnotationIndexCache cache;
+
+    public static ClearAnnotationIndexCacheHandler createOperation(final AnnotationIndexCache cache) {
+        return new ClearAnnotationIndexCacheHandler(cache);
+    }
+
+    private ClearAnnotationIndexCacheHandler(final AnnotationIndexCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        int removed = 0;
+        // The cache is null if it is disabled
+        if (cache != null) {
+            try {
+                removed = cache.clear();
+            } catch (IOException e) {
+                throw new OperationFailedException(e);
+            }
+        }
+        context.getResult().set(removed);
+    }
+}
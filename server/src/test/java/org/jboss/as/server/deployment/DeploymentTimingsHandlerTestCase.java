@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOY_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PHASE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROCESSOR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.UNDEPLOY_TIME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Tests of the {@link DeploymentTimingsHandler}.
+ */
+public class DeploymentTimingsHandlerTestCase {
+
+    @Test
+    public void testReadDeploymentTimings() throws Exception {
+        final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(null, "test.war", Mockito.mock(ServiceRegistry.class));
+        final DeploymentUnitProcessorTimings timings = DeploymentUnitProcessorTimings.get(deploymentUnit);
+        final DeploymentUnitProcessor processor = new ServiceLoaderProcessor();
+        timings.recordDeploy(Phase.PARSE, processor, 1000L);
+        timings.recordDeploy(Phase.PARSE, processor, 500L);
+        timings.recordUndeploy(Phase.PARSE, processor, 200L);
+
+        final ModelNode result = execute(deploymentUnit, ServiceController.State.UP);
+        assertEquals(ModelType.LIST, result.getType());
+        final List<ModelNode> list = result.asList();
+        assertEquals(1, list.size());
+        final ModelNode timing = list.get(0);
+        assertEquals("test.war", timing.get(DEPLOYMENT).asString());
+        assertEquals(Phase.PARSE.name(), timing.get(PHASE).asString());
+        assertEquals(ServiceLoaderProcessor.class.getName(), timing.get(PROCESSOR).asString());
+        assertEquals(1500L, timing.get(DEPLOY_TIME).asLong());
+        assertEquals(200L, timing.get(UNDEPLOY_TIME).asLong());
+    }
+
+    @Test
+    public void testSubDeploymentTimings() throws Exception {
+        final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(null, "test.ear", Mockito.mock(ServiceRegistry.class));
+        final DeploymentUnit subDeploymentUnit = new DeploymentUnitImpl(deploymentUnit, "test.war", Mockito.mock(ServiceRegistry.class));
+        deploymentUnit.addToAttachmentList(Attachments.SUB_DEPLOYMENTS, subDeploymentUnit);
+        DeploymentUnitProcessorTimings.get(deploymentUnit).recordDeploy(Phase.STRUCTURE, new ServiceLoaderProcessor(), 10L);
+        DeploymentUnitProcessorTimings.get(subDeploymentUnit).recordDeploy(Phase.PARSE, new ServiceLoaderProcessor(), 20L);
+
+        final List<ModelNode> list = execute(deploymentUnit, ServiceController.State.UP).asList();
+        assertEquals(2, list.size());
+        assertEquals("test.ear", list.get(0).get(DEPLOYMENT).asString());
+        assertFalse(list.get(0).hasDefined(UNDEPLOY_TIME));
+        assertEquals("test.war", list.get(1).get(DEPLOYMENT).asString());
+        assertEquals(20L, list.get(1).get(DEPLOY_TIME).asLong());
+    }
+
+    @Test
+    public void testNotDeployed() throws Exception {
+        final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(null, "test.war", Mockito.mock(ServiceRegistry.class));
+        DeploymentUnitProcessorTimings.get(deploymentUnit).recordDeploy(Phase.PARSE, new ServiceLoaderProcessor(), 10L);
+
+        final ModelNode result = execute(deploymentUnit, ServiceController.State.DOWN);
+        assertEquals(ModelType.LIST, result.getType());
+        assertEquals(0, result.asList().size());
+    }
+
+    private static ModelNode execute(final DeploymentUnit deploymentUnit, final ServiceController.State state) throws Exception {
+        final Resource resource = Resource.Factory.create();
+        resource.getModel().get(RUNTIME_NAME).set(deploymentUnit.getName());
+
+        final ServiceController<?> controller = Mockito.mock(ServiceController.class);
+        Mockito.doReturn(state).when(controller).getState();
+        Mockito.doReturn(deploymentUnit).when(controller).getValue();
+        final ServiceRegistry registry = Mockito.mock(ServiceRegistry.class);
+        Mockito.doReturn(controller).when(registry).getService(Services.deploymentUnitName(deploymentUnit.getName()));
+
+        final ModelNode result = new ModelNode();
+        final OperationContext context = Mockito.mock(OperationContext.class);
+        Mockito.when(context.readResource(PathAddress.EMPTY_ADDRESS)).thenReturn(resource);
+        Mockito.when(context.resolveExpressions(Mockito.any(ModelNode.class))).thenAnswer(new Answer<ModelNode>() {
+            @Override
+            public ModelNode answer(final InvocationOnMock invocation) throws Throwable {
+                return (ModelNode) invocation.getArguments()[0];
+            }
+        });
+        Mockito.when(context.getServiceRegistry(false)).thenReturn(registry);
+        Mockito.when(context.getResult()).thenReturn(result);
+
+        DeploymentTimingsHandler.INSTANCE.execute(context, new ModelNode());
+
+        // The timings are read in a runtime step
+        final ArgumentCaptor<OperationStepHandler> step = ArgumentCaptor.forClass(OperationStepHandler.class);
+        Mockito.verify(context).addStep(step.capture(), Mockito.eq(OperationContext.Stage.RUNTIME));
+        step.getValue().execute(context, new ModelNode());
+        return result;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.msc.service.ServiceRegistry;
+import org.jboss.msc.service.StartException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests of the concurrent execution of the processors of a phase by the {@link DeploymentUnitProcessorGraph}.
+ */
+public class DeploymentUnitProcessorGraphTestCase {
+
+    private static final AttachmentKey<String> A = AttachmentKey.create(String.class);
+    private static final AttachmentKey<String> B = AttachmentKey.create(String.class);
+    private static final AttachmentKey<String> C = AttachmentKey.create(String.class);
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+    private ExecutorService executor;
+    private DeploymentUnit deploymentUnit;
+    private DeploymentPhaseContext phaseContext;
+
+    @Before
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        deploymentUnit = new DeploymentUnitImpl(null, "test.war", Mockito.mock(ServiceRegistry.class));
+        phaseContext = Mockito.mock(DeploymentPhaseContext.class);
+    }
+
+    @After
+    public void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSerialPhase() {
+        // A single processor declaring its attachments cannot run concurrently with anything
+        assertNull(DeploymentUnitProcessorGraph.create(register(new TestProcessor("p0", keys(), keys(A)), new BarrierProcessor("p1"))));
+    }
+
+    @Test
+    public void testOrderingAcrossBarrier() throws Exception {
+        // p0 and p1 do not conflict, so they have to run at the same time to get through the barrier
+        final CyclicBarrier together = new CyclicBarrier(2);
+        final DeploymentUnitProcessorGraph graph = DeploymentUnitProcessorGraph.create(register(
+                new TestProcessor("p0", keys(), keys(A), together),
+                new TestProcessor("p1", keys(), keys(B), together),
+                new BarrierProcessor("p2"),
+                new TestProcessor("p3", keys(A), keys(C)),
+                new TestProcessor("p4", keys(B), keys())));
+        assertNotNull(graph);
+
+        graph.deploy(deploymentUnit, Phase.PARSE, phaseContext, DeploymentUnitProcessorTimings.get(deploymentUnit), executor);
+
+        assertEquals(10, events.size());
+        assertBefore("end p0", "start p2");
+        assertBefore("end p1", "start p2");
+        assertBefore("end p2", "start p3");
+        assertBefore("end p2", "start p4");
+    }
+
+    @Test
+    public void testConflictingProcessorsNeverOverlap() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<RegisteredDeploymentUnitProcessor> processors = new ArrayList<RegisteredDeploymentUnitProcessor>();
+        for (int i = 0; i < 16; i++) {
+            // Every processor writes A, or reads A while the previous one writes it
+            final Set<AttachmentKey<?>> reads = i % 2 == 0 ? keys() : keys(A);
+            final Set<AttachmentKey<?>> writes = i % 2 == 0 ? keys(A) : keys(A, B);
+            processors.add(new RegisteredDeploymentUnitProcessor(i, new TestProcessor("p" + i, reads, writes) {
+                @Override
+                void work() throws Exception {
+                    final int count = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(count, Math::max);
+                    Thread.sleep(5);
+                    running.decrementAndGet();
+                }
+            }, null));
+        }
+        // An independent processor which may run alongside them
+        processors.add(new RegisteredDeploymentUnitProcessor(16, new TestProcessor("p16", keys(), keys(C)), null));
+        final DeploymentUnitProcessorGraph graph = DeploymentUnitProcessorGraph.create(processors);
+        assertNotNull(graph);
+
+        for (int i = 0; i < 10; i++) {
+            events.clear();
+            graph.deploy(deploymentUnit, Phase.PARSE, phaseContext, DeploymentUnitProcessorTimings.get(deploymentUnit), executor);
+            assertEquals(1, maxRunning.get());
+            for (int j = 1; j < 16; j++) {
+                assertBefore("end p" + (j - 1), "start p" + j);
+            }
+        }
+    }
+
+    @Test
+    public void testFailureUndeploysCompletedProcessors() throws Exception {
+        final CountDownLatch p0Completed = new CountDownLatch(1);
+        final DeploymentUnitProcessorGraph graph = DeploymentUnitProcessorGraph.create(register(
+                new TestProcessor("p0", keys(), keys(A)) {
+                    @Override
+                    void work() {
+                        p0Completed.countDown();
+                    }
+                },
+                new TestProcessor("p1", keys(), keys(B)) {
+                    @Override
+                    void work() throws Exception {
+                        assertTrue(p0Completed.await(10, TimeUnit.SECONDS));
+                        throw new DeploymentUnitProcessingException("p1");
+                    }
+                },
+                new TestProcessor("p2", keys(B), keys()),
+                new TestProcessor("p3", keys(), keys(C))));
+        assertNotNull(graph);
+
+        try {
+            graph.deploy(deploymentUnit, Phase.PARSE, phaseContext, DeploymentUnitProcessorTimings.get(deploymentUnit), executor);
+            fail("p1 should have failed the phase");
+        } catch (StartException expected) {
+            // expected
+        }
+
+        // p2 depends on the failed processor, so it is never started
+        assertFalse(events.contains("start p2"));
+        // Only the completed processors are undeployed, in reverse order of priority
+        assertFalse(events.contains("undeploy p1"));
+        final List<String> undeployed = new ArrayList<String>();
+        for (String event : events) {
+            if (event.startsWith("undeploy")) {
+                undeployed.add(event);
+            }
+        }
+        assertEquals(Arrays.asList("undeploy p3", "undeploy p0"), undeployed);
+        assertBefore("end p3", "undeploy p3");
+    }
+
+    private void assertBefore(String first, String second) {
+        final int firstIndex = events.indexOf(first);
+        final int secondIndex = events.indexOf(second);
+        assertTrue(events.toString(), firstIndex >= 0);
+        assertTrue(events.toString(), secondIndex >= 0);
+        assertTrue(events.toString(), firstIndex < secondIndex);
+    }
+
+    private static List<RegisteredDeploymentUnitProcessor> register(DeploymentUnitProcessor... processors) {
+        final List<RegisteredDeploymentUnitProcessor> list = new ArrayList<RegisteredDeploymentUnitProcessor>();
+        for (int i = 0; i < processors.length; i++) {
+            list.add(new RegisteredDeploymentUnitProcessor(i, processors[i], null));
+        }
+        return list;
+    }
+
+    private static Set<AttachmentKey<?>> keys(AttachmentKey<?>... keys) {
+        return new HashSet<AttachmentKey<?>>(Arrays.asList(keys));
+    }
+
+    private class BarrierProcessor implements DeploymentUnitProcessor {
+
+        final String name;
+
+        BarrierProcessor(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+            events.add("start " + name);
+            events.add("end " + name);
+        }
+
+        @Override
+        public void undeploy(DeploymentUnit context) {
+            events.add("undeploy " + name);
+        }
+    }
+
+    private class TestProcessor extends BarrierProcessor implements ConcurrentDeploymentUnitProcessor {
+
+        private final Set<AttachmentKey<?>> reads;
+        private final Set<AttachmentKey<?>> writes;
+        private final CyclicBarrier barrier;
+
+        TestProcessor(String name, Set<AttachmentKey<?>> reads, Set<AttachmentKey<?>> writes) {
+            this(name, reads, writes, null);
+        }
+
+        TestProcessor(String name, Set<AttachmentKey<?>> reads, Set<AttachmentKey<?>> writes, CyclicBarrier barrier) {
+            super(name);
+            this.reads = reads;
+            this.writes = writes;
+            this.barrier = barrier;
+        }
+
+        @Override
+        public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+            events.add("start " + name);
+            try {
+                work();
+            } catch (DeploymentUnitProcessingException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new DeploymentUnitProcessingException(e);
+            }
+            events.add("end " + name);
+        }
+
+        void work() throws Exception {
+            if (barrier != null) {
+                barrier.await(10, TimeUnit.SECONDS);
+            }
+        }
+
+        @Override
+        public Set<AttachmentKey<?>> getReadAttachments() {
+            return reads;
+        }
+
+        @Override
+        public Set<AttachmentKey<?>> getWrittenAttachments() {
+            return writes;
+        }
+    }
+}
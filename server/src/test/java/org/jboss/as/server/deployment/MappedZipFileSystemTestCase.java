@@ -0,0 +1,227 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.vfs.TempFileProvider;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the {@link MappedZipFileSystem}.
+ */
+public class MappedZipFileSystemTestCase {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ScheduledExecutorService executor;
+    private TempFileProvider tempFileProvider;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        tempFileProvider = TempFileProvider.create("test", executor, true);
+    }
+
+    @After
+    public void tearDown() {
+        VFSUtils.safeClose(tempFileProvider);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testEntries() throws Exception {
+        final byte[] classBytes = new byte[100000];
+        for (int i = 0; i < classBytes.length; i++) {
+            classBytes[i] = (byte) (i % 31);
+        }
+        final File archive = temporaryFolder.newFile("test.war");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+            out.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            out.write("Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            // No entry for the WEB-INF/classes/org directory
+            out.putNextEntry(new ZipEntry("WEB-INF/"));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("WEB-INF/classes/org/Test.class"));
+            out.write(classBytes);
+            out.closeEntry();
+            final byte[] stored = "stored".getBytes(StandardCharsets.UTF_8);
+            final ZipEntry entry = new ZipEntry("index.html");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(stored.length);
+            final CRC32 crc = new CRC32();
+            crc.update(stored);
+            entry.setCrc(crc.getValue());
+            out.putNextEntry(entry);
+            out.write(stored);
+            out.closeEntry();
+        }
+
+        final VirtualFile mountPoint = VFS.getChild("mapped/test.war");
+        final MappedZipFileSystem fileSystem = new MappedZipFileSystem(archive, tempFileProvider);
+        final Closeable handle = VFS.mount(mountPoint, fileSystem);
+        try {
+            assertEquals(names("META-INF", "WEB-INF", "index.html"), names(mountPoint.getChildren()));
+            assertTrue(mountPoint.getChild("WEB-INF/classes/org").isDirectory());
+            assertEquals(names("Test.class"), names(mountPoint.getChild("WEB-INF/classes/org").getChildren()));
+
+            final VirtualFile classFile = mountPoint.getChild("WEB-INF/classes/org/Test.class");
+            assertTrue(classFile.isFile());
+            assertEquals(classBytes.length, classFile.getSize());
+            assertArrayEquals(classBytes, read(classFile.openStream()));
+            assertArrayEquals(classBytes, Files.readAllBytes(classFile.getPhysicalFile().toPath()));
+            assertEquals("stored", new String(read(mountPoint.getChild("index.html").openStream()), StandardCharsets.UTF_8));
+            assertFalse(mountPoint.getChild("missing.html").exists());
+        } finally {
+            VFSUtils.safeClose(handle, fileSystem);
+        }
+    }
+
+    @Test
+    public void testSignedArchiveRejected() throws Exception {
+        final File archive = temporaryFolder.newFile("signed.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+            out.putNextEntry(new ZipEntry("META-INF/SIGNER.SF"));
+            out.closeEntry();
+        }
+        try {
+            new MappedZipFileSystem(archive, tempFileProvider);
+            fail("Signed archive mapped");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void testMalformedCentralDirectoryRejected() throws Exception {
+        final File archive = temporaryFolder.newFile("malformed.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+            out.putNextEntry(new ZipEntry("org/Test.class"));
+            out.write(new byte[10]);
+            out.closeEntry();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(archive, "rw")) {
+            // The end record has no comment, so it is the last 22 bytes of the archive
+            file.seek(file.length() - 22 + 16);
+            final int directoryOffset = Integer.reverseBytes(file.readInt());
+            // A name length running past the end of the archive
+            file.seek(directoryOffset + 28);
+            file.writeShort(0xffff);
+        }
+        try {
+            new MappedZipFileSystem(archive, tempFileProvider);
+            fail("Malformed archive mapped");
+        } catch (ZipException expected) {
+        }
+    }
+
+    @Test
+    public void testOpenStreamsKeptAfterClose() throws Exception {
+        final byte[] content = "content".getBytes(StandardCharsets.UTF_8);
+        final File archive = temporaryFolder.newFile("close.war");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+            out.putNextEntry(new ZipEntry("index.html"));
+            out.write(content);
+            out.closeEntry();
+        }
+
+        final VirtualFile mountPoint = VFS.getChild("mapped/close.war");
+        final MappedZipFileSystem fileSystem = new MappedZipFileSystem(archive, tempFileProvider);
+        final Closeable handle = VFS.mount(mountPoint, fileSystem);
+        final InputStream in;
+        try {
+            in = mountPoint.getChild("index.html").openStream();
+        } finally {
+            VFSUtils.safeClose(handle, fileSystem);
+        }
+        // The mapping is released once the last stream is closed
+        assertArrayEquals(content, read(in));
+        try {
+            fileSystem.openInputStream(mountPoint, mountPoint.getChild("index.html"));
+            fail("Stream opened from a closed file system");
+        } catch (IOException expected) {
+        }
+        assertTrue(archive.delete());
+    }
+
+    private static List<String> names(final String... names) {
+        final List<String> list = new ArrayList<>();
+        Collections.addAll(list, names);
+        Collections.sort(list);
+        return list;
+    }
+
+    private static List<String> names(final List<VirtualFile> files) {
+        final List<String> list = new ArrayList<>();
+        for (VirtualFile file : files) {
+            list.add(file.getName());
+        }
+        Collections.sort(list);
+        return list;
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the {@link AnnotationIndexCache}.
+ */
+public class AnnotationIndexCacheTestCase {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReadWrite() throws Exception {
+        final AnnotationIndexCache cache = new AnnotationIndexCache(temporaryFolder.getRoot().toPath(), Long.MAX_VALUE);
+        assertNull(cache.read("a"));
+        cache.write("a", createIndex());
+        final Index index = cache.read("a");
+        assertNotNull(index);
+        assertEquals(0, index.getKnownClasses().size());
+        assertEquals(1, cache.clear());
+        assertNull(cache.read("a"));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        final Path directory = temporaryFolder.getRoot().toPath();
+        new AnnotationIndexCache(directory, Long.MAX_VALUE).write("a", createIndex());
+        final long size = Files.size(directory.resolve("a.idx"));
+
+        // Room for two indexes
+        final AnnotationIndexCache cache = new AnnotationIndexCache(directory, 2 * size);
+        Files.setLastModifiedTime(directory.resolve("a.idx"), FileTime.fromMillis(1000));
+        cache.write("b", createIndex());
+        Files.setLastModifiedTime(directory.resolve("b.idx"), FileTime.fromMillis(2000));
+        // Reading a makes b the least recently used index
+        assertNotNull(cache.read("a"));
+        cache.write("c", createIndex());
+
+        assertNull(cache.read("b"));
+        assertNotNull(cache.read("a"));
+        assertNotNull(cache.read("c"));
+        assertEquals(2, cache.clear());
+    }
+
+    @Test
+    public void testClearWhileWriting() throws Exception {
+        final AnnotationIndexCache cache = new AnnotationIndexCache(temporaryFolder.getRoot().toPath(), Long.MAX_VALUE);
+        final int threads = 4;
+        final int writes = 50;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final int thread = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < writes; j++) {
+                        cache.write(thread + "-" + j, createIndex());
+                    }
+                }));
+            }
+            int cleared = 0;
+            for (Future<?> future : futures) {
+                while (!future.isDone()) {
+                    cleared += cache.clear();
+                }
+                future.get();
+            }
+            // Every index written is removed, and counted, exactly once
+            cleared += cache.clear();
+            assertEquals(threads * writes, cleared);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testArchiveKey() throws Exception {
+        final AnnotationIndexCache cache = new AnnotationIndexCache(temporaryFolder.getRoot().toPath(), Long.MAX_VALUE);
+        final File archive = temporaryFolder.newFile("a.jar");
+        Files.write(archive.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        final File copy = temporaryFolder.newFile("b.jar");
+        Files.write(copy.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        final File other = temporaryFolder.newFile("c.jar");
+        Files.write(other.toPath(), "other".getBytes(StandardCharsets.UTF_8));
+
+        final String key = cache.getKey(archive, null);
+        // Keyed by the content of the archive, not by its name
+        assertEquals(key, cache.getKey(copy, null));
+        assertNotEquals(key, cache.getKey(other, null));
+        // Different paths not indexed give different indexes of the same archive
+        final String ignoredKey = cache.getKey(archive, Arrays.asList("b", "a"));
+        assertNotEquals(key, ignoredKey);
+        assertEquals(ignoredKey, cache.getKey(copy, Arrays.asList("a", "b")));
+    }
+
+    private static Index createIndex() {
+        return Index.create(Collections.<DotName, List<AnnotationInstance>>emptyMap(), Collections.<DotName, List<ClassInfo>>emptyMap(),
+                Collections.<DotName, List<ClassInfo>>emptyMap(), Collections.<DotName, ClassInfo>emptyMap());
+    }
+}
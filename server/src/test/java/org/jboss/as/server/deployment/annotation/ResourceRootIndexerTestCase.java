@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.vfs.VFS;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the {@link ResourceRootIndexer}.
+ */
+public class ResourceRootIndexerTestCase {
+
+    /** The number of class files indexed, enough for several batches */
+    private static final int CLASS_COUNT = ResourceRootIndexer.BATCH_SIZE * 3 + 10;
+    /** The number of class files also copied to a second path, with the same class names */
+    private static final int DUPLICATE_COUNT = ResourceRootIndexer.BATCH_SIZE / 2;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testBatchesMergedLikeSingleIndexer() throws Exception {
+        final File root = temporaryFolder.newFolder("classes");
+        final List<Path> classFiles = copyClassFiles(root.toPath());
+        assertTrue(classFiles.size() > ResourceRootIndexer.BATCH_SIZE);
+
+        final Indexer indexer = new Indexer();
+        for (Path classFile : classFiles) {
+            try (InputStream in = Files.newInputStream(classFile)) {
+                indexer.index(in);
+            }
+        }
+        final Index expected = indexer.complete();
+
+        final DeploymentIndexingExecutorService service = new DeploymentIndexingExecutorService(4);
+        service.start(null);
+        try {
+            final ResourceRoot resourceRoot = new ResourceRoot(VFS.getChild(root.getAbsolutePath()), null);
+            ResourceRootIndexer.indexResourceRoots(Collections.singletonList(resourceRoot), null, service.getValue());
+            assertIndexEquals(expected, resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX));
+        } finally {
+            service.stop(null);
+        }
+    }
+
+    /**
+     * Copies class files of the server to a directory, a number of them twice under different paths.
+     *
+     * @return the copied class files
+     */
+    private static List<Path> copyClassFiles(final Path target) throws Exception {
+        final Path source = Paths.get(ResourceRootIndexer.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final List<Path> sourceFiles = new ArrayList<Path>();
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                if (file.getFileName().toString().endsWith(".class")) {
+                    sourceFiles.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(sourceFiles);
+
+        final List<Path> copies = new ArrayList<Path>();
+        for (int i = 0; i < Math.min(CLASS_COUNT, sourceFiles.size()); i++) {
+            final Path relative = source.relativize(sourceFiles.get(i));
+            copies.add(copy(sourceFiles.get(i), target.resolve(relative)));
+            if (i < DUPLICATE_COUNT) {
+                copies.add(copy(sourceFiles.get(i), target.resolve("duplicate").resolve(relative)));
+            }
+        }
+        return copies;
+    }
+
+    private static Path copy(final Path source, final Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return Files.copy(source, target);
+    }
+
+    private static void assertIndexEquals(final Index expected, final Index actual) {
+        assertEquals(classNames(expected.getKnownClasses()), classNames(actual.getKnownClasses()));
+        for (ClassInfo classInfo : expected.getKnownClasses()) {
+            for (DotName annotationName : classInfo.annotations().keySet()) {
+                assertEquals(annotationName.toString(), targets(expected.getAnnotations(annotationName)), targets(actual.getAnnotations(annotationName)));
+            }
+            if (classInfo.superName() != null) {
+                assertEquals(classInfo.superName().toString(), classNames(expected.getKnownDirectSubclasses(classInfo.superName())),
+                        classNames(actual.getKnownDirectSubclasses(classInfo.superName())));
+            }
+            for (DotName interfaceName : classInfo.interfaceNames()) {
+                assertEquals(interfaceName.toString(), classNames(expected.getKnownDirectImplementors(interfaceName)),
+                        classNames(actual.getKnownDirectImplementors(interfaceName)));
+            }
+        }
+    }
+
+    /**
+     * Gets the names of classes, in order and including duplicates.
+     */
+    private static List<String> classNames(final Iterable<ClassInfo> classes) {
+        final List<String> names = new ArrayList<String>();
+        for (ClassInfo classInfo : classes) {
+            names.add(classInfo.name().toString());
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private static List<String> targets(final List<AnnotationInstance> annotations) {
+        final List<String> targets = new ArrayList<String>();
+        for (AnnotationInstance annotation : annotations) {
+            targets.add(String.valueOf(annotation.target()));
+        }
+        Collections.sort(targets);
+        return targets;
+    }
+}